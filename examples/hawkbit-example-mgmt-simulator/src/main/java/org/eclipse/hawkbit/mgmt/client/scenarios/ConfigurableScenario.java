@@ -137,7 +137,7 @@ public class ConfigurableScenario {
     private void deleteDistributionSets() {
         PagedList<MgmtDistributionSet> distributionSets;
         do {
-            distributionSets = distributionSetResource.getDistributionSets(0, PAGE_SIZE, null, null).getBody();
+            distributionSets = distributionSetResource.getDistributionSets(0, PAGE_SIZE, null, null, null, null).getBody();
             distributionSets.getContent().parallelStream()
                     .forEach(set -> distributionSetResource.deleteDistributionSet(set.getDsId()));
         } while (distributionSets.getTotal() > PAGE_SIZE);
@@ -157,7 +157,7 @@ public class ConfigurableScenario {
     private void deleteTargets() {
         PagedList<MgmtTarget> targets;
         do {
-            targets = targetResource.getTargets(0, PAGE_SIZE, null, null).getBody();
+            targets = targetResource.getTargets(0, PAGE_SIZE, null, null, null, null).getBody();
             targets.getContent().parallelStream()
                     .forEach(target -> targetResource.deleteTarget(target.getControllerId()));
         } while (targets.getTotal() > PAGE_SIZE);
@@ -175,7 +175,7 @@ public class ConfigurableScenario {
     }
 
     private void runRollouts(final Scenario scenario) {
-        distributionSetResource.getDistributionSets(0, scenario.getDistributionSets(), null, null).getBody()
+        distributionSetResource.getDistributionSets(0, scenario.getDistributionSets(), null, null, null, null).getBody()
                 .getContent().forEach(set -> runRollout(set, scenario));
 
     }
@@ -200,8 +200,8 @@ public class ConfigurableScenario {
                 LOGGER.warn("Interrupted!");
                 Thread.currentThread().interrupt();
             }
-        } while (targetResource.getTargets(0, 1, null, "updateStatus==IN_SYNC").getBody().getTotal() < scenario
-                .getTargets());
+        } while (targetResource.getTargets(0, 1, null, "updateStatus==IN_SYNC", null, null).getBody()
+                .getTotal() < scenario.getTargets());
         LOGGER.info("Run rollout for set {} -> Done", set.getDsId());
     }
 
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.SeekableDbArtifact;
+
+/**
+ * A {@link DbArtifact} which is stored as a file. The binary is served by a
+ * {@link FileChannel} so range downloads read from the requested offset
+ * instead of skipping through the file.
+ */
+public class ArtifactFilesystem extends DbArtifact implements SeekableDbArtifact {
+
+    private final Path file;
+
+    /**
+     * @param file
+     *            the file of the artifact binary
+     */
+    public ArtifactFilesystem(final Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public InputStream getFileInputStream() {
+        try {
+            return Files.newInputStream(file, StandardOpenOption.READ);
+        } catch (final IOException e) {
+            throw new ArtifactStoreException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SeekableByteChannel openChannel() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+}
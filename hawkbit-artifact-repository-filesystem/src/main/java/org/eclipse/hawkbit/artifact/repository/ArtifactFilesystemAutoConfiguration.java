@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto configuration for the {@link ArtifactFilesystemRepository}. Only active
+ * if {@code hawkbit.artifact.repository.filesystem.enabled} is set, in that case
+ * it runs before the MongoDB auto configuration so that the filesystem
+ * repository is used even if both are on the classpath.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hawkbit.artifact.repository.filesystem", name = "enabled")
+@ConditionalOnMissingBean(value = ArtifactRepository.class)
+@AutoConfigureBefore(name = "org.eclipse.hawkbit.artifact.repository.ArtifactStoreAutoConfiguration")
+@EnableConfigurationProperties(ArtifactFilesystemProperties.class)
+public class ArtifactFilesystemAutoConfiguration {
+
+    /**
+     * @param artifactFilesystemProperties
+     *            the artifact file system properties
+     * @return Filesystem based {@link ArtifactRepository} implementation.
+     */
+    @Bean
+    public ArtifactRepository artifactRepository(final ArtifactFilesystemProperties artifactFilesystemProperties) {
+        return new ArtifactFilesystemRepository(artifactFilesystemProperties);
+    }
+}
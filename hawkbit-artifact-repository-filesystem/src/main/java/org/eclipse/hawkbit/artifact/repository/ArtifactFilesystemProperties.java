@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties of the {@link ArtifactFilesystemRepository}.
+ */
+@ConfigurationProperties("hawkbit.artifact.repository.filesystem")
+public class ArtifactFilesystemProperties {
+
+    /**
+     * Enables the filesystem artifact repository. If disabled the MongoDB
+     * artifact repository stays in use even if both are on the classpath.
+     */
+    private boolean enabled;
+
+    /**
+     * Base path of the artifact repository. Might be a mounted network
+     * filesystem that is shared by all nodes of a cluster.
+     */
+    private String path = "./artifactrepo";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(final String path) {
+        this.path = path;
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+
+/**
+ * {@link ArtifactRepository} implementation which stores the artifacts on a
+ * (network) filesystem. The artifacts are content addressed by their SHA1 hash
+ * and sharded into two directory levels by the first four characters of the
+ * hash, e.g. {@code <basePath>/1a/2b/1a2b...}. The hashes and the content type
+ * are kept in a properties file next to the binary.
+ *
+ * Uploads are written into a temporary file within the base path while the
+ * hashes are calculated and are moved atomically to their final location,
+ * i.e. a reader never sees a partially written artifact.
+ */
+public class ArtifactFilesystemRepository implements ArtifactRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactFilesystemRepository.class);
+
+    private static final String TEMP_DIRECTORY = "tmp";
+
+    private static final String METADATA_SUFFIX = ".properties";
+
+    private static final String MD5 = "md5";
+
+    private static final String CONTENT_TYPE = "contentType";
+
+    private static final Pattern SHA1_PATTERN = Pattern.compile("^[0-9a-f]{40}$");
+
+    private final ArtifactFilesystemProperties artifactResourceProperties;
+
+    /**
+     * Constructor.
+     *
+     * @param artifactResourceProperties
+     *            the properties which holds the base path of the repository
+     */
+    public ArtifactFilesystemRepository(final ArtifactFilesystemProperties artifactResourceProperties) {
+        this.artifactResourceProperties = artifactResourceProperties;
+    }
+
+    @Override
+    public DbArtifact store(final InputStream content, final String filename, final String contentType) {
+        return store(content, filename, contentType, null);
+    }
+
+    @Override
+    public DbArtifact store(final InputStream content, final String filename, final String contentType,
+            final DbArtifactHash hash) {
+        LOG.debug("storing file {} of content {}", filename, contentType);
+
+        Path tempFile = null;
+        try {
+            final Path tempDirectory = Files.createDirectories(getBasePath().resolve(TEMP_DIRECTORY));
+            tempFile = Files.createTempFile(tempDirectory, "upload", null);
+
+            // Exception squid:S2070 - not used for hashing sensitive
+            // data
+            @SuppressWarnings("squid:S2070")
+            final MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            @SuppressWarnings("squid:S2070")
+            final MessageDigest md5 = MessageDigest.getInstance("MD5");
+
+            // both hashes are calculated while the upload is written
+            try (final OutputStream os = new DigestOutputStream(
+                    new DigestOutputStream(Files.newOutputStream(tempFile), sha1), md5)) {
+                ByteStreams.copy(content, os);
+            }
+
+            final DbArtifactHash calculated = new DbArtifactHash(
+                    BaseEncoding.base16().lowerCase().encode(sha1.digest()),
+                    BaseEncoding.base16().lowerCase().encode(md5.digest()));
+            checkHashes(hash, calculated);
+
+            final Path file = getFile(calculated.getSha1());
+            if (Files.exists(file)) {
+                LOG.info("file with sha1 hash {} already exists in repository", calculated.getSha1());
+            } else {
+                commit(tempFile, file, calculated, contentType);
+            }
+
+            return map(file, calculated, contentType);
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            throw new ArtifactStoreException(e.getMessage(), e);
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    private static void checkHashes(final DbArtifactHash provided, final DbArtifactHash calculated) {
+        if (provided == null) {
+            return;
+        }
+        if (provided.getSha1() != null && !provided.getSha1().equalsIgnoreCase(calculated.getSha1())) {
+            throw new HashNotMatchException("The given sha1 hash " + provided.getSha1()
+                    + " not matching the calculated sha1 hash " + calculated.getSha1(), HashNotMatchException.SHA1);
+        }
+        if (provided.getMd5() != null && !provided.getMd5().equalsIgnoreCase(calculated.getMd5())) {
+            throw new HashNotMatchException("The given md5 hash " + provided.getMd5()
+                    + " not matching the calculated md5 hash " + calculated.getMd5(), HashNotMatchException.MD5);
+        }
+    }
+
+    private void commit(final Path tempFile, final Path file, final DbArtifactHash hashes, final String contentType)
+            throws IOException {
+        Files.createDirectories(file.getParent());
+
+        // the metadata is committed first as the binary marks the artifact
+        // as existing
+        final Properties metadata = new Properties();
+        metadata.setProperty(MD5, hashes.getMd5());
+        if (contentType != null) {
+            metadata.setProperty(CONTENT_TYPE, contentType);
+        }
+        final Path tempMetadata = Files.createTempFile(tempFile.getParent(), "metadata", null);
+        try {
+            try (final OutputStream os = Files.newOutputStream(tempMetadata)) {
+                metadata.store(os, null);
+            }
+            Files.move(tempMetadata, getMetadataFile(file), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            deleteTempFile(tempMetadata);
+        }
+
+        // a concurrent upload of the same binary might have won, as the
+        // content is identical it is fine to replace it
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void deleteBySha1(final String sha1Hash) {
+        final Path file = getFile(sha1Hash);
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(getMetadataFile(file));
+        } catch (final IOException e) {
+            throw new ArtifactStoreException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public DbArtifact getArtifactBySha1(final String sha1) {
+        final Path file = getFile(sha1);
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
+
+        final Properties metadata = new Properties();
+        final Path metadataFile = getMetadataFile(file);
+        if (Files.exists(metadataFile)) {
+            try (final InputStream is = Files.newInputStream(metadataFile)) {
+                metadata.load(is);
+            } catch (final IOException e) {
+                throw new ArtifactStoreException(e.getMessage(), e);
+            }
+        }
+
+        return map(file, new DbArtifactHash(sha1.toLowerCase(), metadata.getProperty(MD5)),
+                metadata.getProperty(CONTENT_TYPE));
+    }
+
+    private static ArtifactFilesystem map(final Path file, final DbArtifactHash hashes, final String contentType) {
+        final ArtifactFilesystem artifact = new ArtifactFilesystem(file);
+        artifact.setArtifactId(hashes.getSha1());
+        artifact.setHashes(hashes);
+        artifact.setContentType(contentType);
+        try {
+            artifact.setSize(Files.size(file));
+        } catch (final IOException e) {
+            throw new ArtifactStoreException(e.getMessage(), e);
+        }
+        return artifact;
+    }
+
+    private Path getBasePath() {
+        return Paths.get(artifactResourceProperties.getPath());
+    }
+
+    /**
+     * @return the sharded location of the artifact or {@code null} if the
+     *         given hash is not a valid SHA1 hash
+     */
+    private Path getFile(final String sha1) {
+        if (sha1 == null) {
+            return null;
+        }
+        final String hash = sha1.toLowerCase();
+        if (!SHA1_PATTERN.matcher(hash).matches()) {
+            LOG.warn("{} is not a valid sha1 hash", sha1);
+            return null;
+        }
+        return getBasePath().resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static Path getMetadataFile(final Path file) {
+        return file.resolveSibling(file.getFileName() + METADATA_SUFFIX);
+    }
+
+    private static void deleteTempFile(final Path tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (final IOException e) {
+            LOG.error("Could not delete temporary file: {}", tempFile, e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.artifact.repository.model.SeekableDbArtifact;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Component Tests - Repository")
+@Stories("Artifact Store Filesystem")
+public class ArtifactFilesystemRepositoryTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private ArtifactFilesystemRepository artifactRepositoryUnderTest;
+
+    @Before
+    public void setUp() {
+        final ArtifactFilesystemProperties properties = new ArtifactFilesystemProperties();
+        properties.setPath(folder.getRoot().getAbsolutePath());
+        artifactRepositoryUnderTest = new ArtifactFilesystemRepository(properties);
+    }
+
+    @Test
+    @Description("Verfies that an artifact is stored in the sha1 sharded layout and can be retrieved with its hashes.")
+    public void storeAndRetrieveArtifact() throws IOException, NoSuchAlgorithmException {
+        final byte[] content = randomBytes(1024);
+        final String sha1 = hash("SHA-1", content);
+        final String md5 = hash("MD5", content);
+
+        final DbArtifact stored = artifactRepositoryUnderTest.store(new ByteArrayInputStream(content), "file.bin",
+                "application/octet-stream");
+
+        assertThat(stored.getHashes().getSha1()).isEqualTo(sha1);
+        assertThat(stored.getHashes().getMd5()).isEqualTo(md5);
+        assertThat(stored.getSize()).isEqualTo(1024L);
+        assertThat(Files.exists(folder.getRoot().toPath().resolve(sha1.substring(0, 2))
+                .resolve(sha1.substring(2, 4)).resolve(sha1))).isTrue();
+
+        final DbArtifact found = artifactRepositoryUnderTest.getArtifactBySha1(sha1);
+        assertThat(found).isInstanceOf(SeekableDbArtifact.class);
+        assertThat(found.getHashes().getMd5()).isEqualTo(md5);
+        assertThat(found.getContentType()).isEqualTo("application/octet-stream");
+        try (InputStream is = found.getFileInputStream()) {
+            assertThat(ByteStreams.toByteArray(is)).isEqualTo(content);
+        }
+        try (SeekableByteChannel channel = ((SeekableDbArtifact) found).openChannel()) {
+            assertThat(channel).isInstanceOf(FileChannel.class);
+            assertThat(channel.size()).isEqualTo(1024L);
+        }
+    }
+
+    @Test
+    @Description("Verfies that the same binary is stored only once and that no temporary files are left behind.")
+    public void storeSameArtifactTwice() throws IOException {
+        final byte[] content = randomBytes(512);
+
+        final DbArtifact first = artifactRepositoryUnderTest.store(new ByteArrayInputStream(content), "a.bin", null);
+        final DbArtifact second = artifactRepositoryUnderTest.store(new ByteArrayInputStream(content), "b.bin", null);
+
+        assertThat(second.getHashes().getSha1()).isEqualTo(first.getHashes().getSha1());
+        try (Stream<Path> tempFiles = Files.list(folder.getRoot().toPath().resolve("tmp"))) {
+            assertThat(tempFiles.count()).isEqualTo(0L);
+        }
+    }
+
+    @Test
+    @Description("Verfies that an artifact with a not matching hash is rejected and not stored.")
+    public void storeWithWrongHashFails() throws IOException, NoSuchAlgorithmException {
+        final byte[] content = randomBytes(256);
+
+        try {
+            artifactRepositoryUnderTest.store(new ByteArrayInputStream(content), "file.bin", null,
+                    new DbArtifactHash(null, "0123456789abcdef0123456789abcdef"));
+            fail("HashNotMatchException expected");
+        } catch (final HashNotMatchException e) {
+            assertThat(e.getHashFunction()).isEqualTo(HashNotMatchException.MD5);
+        }
+        assertThat(artifactRepositoryUnderTest.getArtifactBySha1(hash("SHA-1", content))).isNull();
+    }
+
+    @Test
+    @Description("Verfies that a deleted artifact cannot be retrieved anymore.")
+    public void deleteArtifact() throws IOException {
+        final DbArtifact stored = artifactRepositoryUnderTest.store(new ByteArrayInputStream(randomBytes(128)),
+                "file.bin", null);
+
+        artifactRepositoryUnderTest.deleteBySha1(stored.getHashes().getSha1());
+
+        assertThat(artifactRepositoryUnderTest.getArtifactBySha1(stored.getHashes().getSha1())).isNull();
+    }
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String hash(final String algorithm, final byte[] content) throws NoSuchAlgorithmException {
+        return BaseEncoding.base16().lowerCase().encode(MessageDigest.getInstance(algorithm).digest(content));
+    }
+}
@@ -9,36 +9,41 @@
 package org.eclipse.hawkbit.artifact.repository;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.security.DigestOutputStream;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Date;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDbFactory;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.gridfs.GridFsOperations;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 
 import com.google.common.io.BaseEncoding;
-import com.google.common.io.ByteStreams;
 import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
 import com.mongodb.MongoClientException;
 import com.mongodb.MongoException;
+import com.mongodb.gridfs.GridFS;
 import com.mongodb.gridfs.GridFSDBFile;
 import com.mongodb.gridfs.GridFSFile;
+import com.mongodb.gridfs.GridFSInputFile;
 
 /**
  * The file management which looks up all the file in the file tore.
@@ -67,11 +72,73 @@ public class ArtifactStore implements ArtifactRepository {
 
     private static final String ID = "_id";
 
-    @Autowired
-    private GridFsOperations gridFs;
+    /**
+     * The mongoDB field which holds the time the file was created.
+     */
+    private static final String UPLOAD_DATE = "uploadDate";
+
+    private static final String PROVISIONAL_FILENAME_PREFIX = "upload-";
+
+    /**
+     * Provisional files older than this are left over by uploads that have
+     * been interrupted by a crash. Long enough to keep the files of uploads
+     * that are still running on other nodes.
+     */
+    private static final long STALE_PROVISIONAL_FILE_AGE = TimeUnit.DAYS.toMillis(1);
+
+    private final MongoDbFactory gridFsDbFactory;
+
+    private final GridFsOperations gridFs;
 
     MongoTemplate mongoTemplate;
 
+    /**
+     * Constructor. The {@link GridFsOperations} for reading and deleting and
+     * the {@link GridFS} for the uploads are both created on the given
+     * database and the default bucket, so that the stored files are found
+     * again.
+     *
+     * @param mongoDbFactory
+     *            to access the database
+     * @param converter
+     *            to convert the queries
+     * @param gridFsDatabase
+     *            name of the database for the files or <code>null</code> for
+     *            the database of the factory
+     */
+    public ArtifactStore(final MongoDbFactory mongoDbFactory, final MongoConverter converter,
+            final String gridFsDatabase) {
+        this.gridFsDbFactory = new GridFsMongoDbFactory(mongoDbFactory, gridFsDatabase);
+        this.gridFs = new GridFsTemplate(gridFsDbFactory, converter, GridFS.DEFAULT_BUCKET);
+    }
+
+    /**
+     * Deletes the provisional files that have been left over by uploads which
+     * have been interrupted by a crash of the node, as these are not removed
+     * by the upload itself.
+     */
+    @PostConstruct
+    void deleteStaleProvisionalFiles() {
+        try {
+            deleteProvisionalFilesOlderThan(STALE_PROVISIONAL_FILE_AGE);
+        } catch (final MongoException e) {
+            LOGGER.warn("Could not delete stale provisional files", e);
+        }
+    }
+
+    /**
+     * Deletes the provisional files of uploads that have been started before
+     * the given time.
+     * 
+     * @param ageMillis
+     *            minimum age of the provisional files to delete
+     */
+    void deleteProvisionalFilesOlderThan(final long ageMillis) {
+        gridFs.delete(new Query().addCriteria(Criteria.where(FILENAME)
+                .regex("^" + PROVISIONAL_FILENAME_PREFIX).and(UPLOAD_DATE)
+                .lte(new Date(System.currentTimeMillis() - ageMillis))));
+    }
+
     /**
      * Retrieves a {@link GridFSDBFile} from the store by it's SHA1 hash.
      *
@@ -93,7 +160,9 @@ public class ArtifactStore implements ArtifactRepository {
      * @return The gridfs file object or {@code null} if no file exists.
      */
     public DbArtifact getArtifactByMd5(final String md5Hash) {
-        return map(gridFs.findOne(new Query().addCriteria(Criteria.where(MD5).is(md5Hash))));
+        // provisional files of running uploads are not yet committed
+        return map(gridFs.findOne(new Query().addCriteria(
+                Criteria.where(MD5).is(md5Hash).and(FILENAME).not().regex("^" + PROVISIONAL_FILENAME_PREFIX))));
     }
 
     @Override
@@ -104,21 +173,94 @@ public class ArtifactStore implements ArtifactRepository {
     @Override
     public DbArtifact store(final InputStream content, final String filename, final String contentType,
             final DbArtifactHash hash) {
-        File tempFile = null;
+        LOGGER.debug("storing file {} of content {}", filename, contentType);
+
+        // the upload is stored under a provisional file name as the sha1
+        // hash is only known after the content has been read
+        final String provisionalFilename = PROVISIONAL_FILENAME_PREFIX + UUID.randomUUID().toString();
         try {
-            LOGGER.debug("storing file {} of content {}", filename, contentType);
-            tempFile = File.createTempFile("uploadFile", null);
-            try (final BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(tempFile))) {
-                try (BufferedInputStream bis = new BufferedInputStream(content)) {
-                    return store(bis, contentType, bos, tempFile, hash);
-                }
-            }
-        } catch (final IOException | MongoException e1) {
-            throw new ArtifactStoreException(e1.getMessage(), e1);
-        } finally {
-            if (tempFile != null && !tempFile.delete()) {
-                LOGGER.error("Could not delete temporary file: {}", tempFile);
+            // Exception squid:S2070 - not used for hashing sensitive
+            // data
+            @SuppressWarnings("squid:S2070")
+            final MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            @SuppressWarnings("squid:S2070")
+            final MessageDigest md5 = MessageDigest.getInstance("MD5");
+
+            final GridFS gridFS = new GridFS(gridFsDbFactory.getDb(), GridFS.DEFAULT_BUCKET);
+            final GridFSInputFile provisional;
+            try (final InputStream digestStream = new DigestInputStream(
+                    new DigestInputStream(new BufferedInputStream(content), sha1), md5)) {
+                provisional = gridFS.createFile(digestStream, provisionalFilename, true);
+                provisional.setContentType(contentType);
+                provisional.setMetaData(new BasicDBObject());
+                register(gridFS, provisional);
+                provisional.save();
             }
+
+            return commit(provisional, new DbArtifactHash(BaseEncoding.base16().lowerCase().encode(sha1.digest()),
+                    BaseEncoding.base16().lowerCase().encode(md5.digest())), hash);
+        } catch (final IOException | NoSuchAlgorithmException | MongoException e) {
+            deleteProvisional(provisionalFilename);
+            throw new ArtifactStoreException(e.getMessage(), e);
+        } catch (final HashNotMatchException e) {
+            deleteProvisional(provisionalFilename);
+            throw e;
+        }
+    }
+
+    /**
+     * Registers the provisional file before its chunks are written. GridFS
+     * writes the file document after the chunks only, so without it the
+     * chunks of an upload that is interrupted by a crash could not be found by
+     * {@link #deleteStaleProvisionalFiles()}. The document is completed when
+     * the file is saved.
+     */
+    private static void register(final GridFS gridFS, final GridFSInputFile provisional) {
+        gridFS.getDB().getCollection(gridFS.getBucketName() + ".files")
+                .insert(new BasicDBObject(ID, provisional.getId()).append(FILENAME, provisional.getFilename())
+                        .append(UPLOAD_DATE, provisional.getUploadDate()));
+    }
+
+    private DbArtifact commit(final GridFSFile provisional, final DbArtifactHash calculated,
+            final DbArtifactHash provided) {
+        checkHashes(provided, calculated);
+
+        // check if file exists, not tenant specific.
+        final GridFSDBFile existing = gridFs
+                .findOne(new Query().addCriteria(Criteria.where(FILENAME).is(calculated.getSha1())));
+        if (existing != null) {
+            LOGGER.info("file with sha1 hash {} already exists in database, increase reference counter",
+                    calculated.getSha1());
+            deleteProvisional(provisional.getFilename());
+            existing.save();
+            return map(existing);
+        }
+
+        provisional.put(FILENAME, calculated.getSha1());
+        provisional.getMetaData().put(SHA1, calculated.getSha1());
+        provisional.save();
+        return map(provisional);
+    }
+
+    private static void checkHashes(final DbArtifactHash provided, final DbArtifactHash calculated) {
+        if (provided == null) {
+            return;
+        }
+        if (provided.getSha1() != null && !provided.getSha1().equalsIgnoreCase(calculated.getSha1())) {
+            throw new HashNotMatchException("The given sha1 hash " + provided.getSha1()
+                    + " not matching the calculated sha1 hash " + calculated.getSha1(), HashNotMatchException.SHA1);
+        }
+        if (provided.getMd5() != null && !provided.getMd5().equalsIgnoreCase(calculated.getMd5())) {
+            throw new HashNotMatchException("The given md5 hash " + provided.getMd5()
+                    + " not matching the calculated md5 hash " + calculated.getMd5(), HashNotMatchException.MD5);
+        }
+    }
+
+    private void deleteProvisional(final String provisionalFilename) {
+        try {
+            gridFs.delete(new Query().addCriteria(Criteria.where(FILENAME).is(provisionalFilename)));
+        } catch (final MongoException e) {
+            LOGGER.error("Could not delete provisional file: {}", provisionalFilename, e);
         }
     }
 
@@ -142,60 +284,6 @@ public class ArtifactStore implements ArtifactRepository {
 
     }
 
-    private DbArtifact store(final InputStream content, final String contentType, final OutputStream os,
-            final File tempFile, final DbArtifactHash hash) {
-        final GridFsArtifact storedArtifact;
-        try {
-            final String sha1Hash = computeSHA1Hash(content, os, hash != null ? hash.getSha1() : null);
-            // upload if it does not exist already, check if file exists, not
-            // tenant specific.
-            final GridFSDBFile result = gridFs.findOne(new Query().addCriteria(Criteria.where(FILENAME).is(sha1Hash)));
-            if (null == result) {
-                try (FileInputStream inputStream = new FileInputStream(tempFile)) {
-                    final BasicDBObject metadata = new BasicDBObject();
-                    metadata.put(SHA1, sha1Hash);
-                    storedArtifact = map(gridFs.store(inputStream, sha1Hash, contentType, metadata));
-                }
-            } else {
-                LOGGER.info("file with sha1 hash {} already exists in database, increase reference counter", sha1Hash);
-                result.save();
-                storedArtifact = map(result);
-            }
-        } catch (final NoSuchAlgorithmException | IOException e) {
-            throw new ArtifactStoreException(e.getMessage(), e);
-        }
-
-        if (hash != null && hash.getMd5() != null
-                && !storedArtifact.getHashes().getMd5().equalsIgnoreCase(hash.getMd5())) {
-            throw new HashNotMatchException("The given md5 hash " + hash.getMd5()
-                    + " not matching the calculated md5 hash " + storedArtifact.getHashes().getMd5(),
-                    HashNotMatchException.MD5);
-        }
-
-        return storedArtifact;
-
-    }
-
-    private static String computeSHA1Hash(final InputStream stream, final OutputStream os, final String providedSHA1Sum)
-            throws NoSuchAlgorithmException, IOException {
-        String sha1Hash;
-        // compute digest
-        // Exception squid:S2070 - not used for hashing sensitive
-        // data
-        @SuppressWarnings("squid:S2070")
-        final MessageDigest md = MessageDigest.getInstance("SHA-1");
-        try (final DigestOutputStream dos = new DigestOutputStream(os, md)) {
-            ByteStreams.copy(stream, dos);
-        }
-        sha1Hash = BaseEncoding.base16().lowerCase().encode(md.digest());
-        if (providedSHA1Sum != null && !providedSHA1Sum.equalsIgnoreCase(sha1Hash)) {
-            throw new HashNotMatchException(
-                    "The given sha1 hash " + providedSHA1Sum + " not matching the calculated sha1 hash " + sha1Hash,
-                    HashNotMatchException.SHA1);
-        }
-        return sha1Hash;
-    }
-
     /**
      * Maps a list of {@link GridFSDBFile} to paged list of {@link DbArtifact}s.
      *
@@ -240,4 +328,38 @@ public class ArtifactStore implements ArtifactRepository {
         artifact.setHashes(new DbArtifactHash(fsFile.getFilename(), fsFile.getMD5()));
         return artifact;
     }
+
+    /**
+     * {@link MongoDbFactory} which returns the configured GridFS database by
+     * default.
+     */
+    private static final class GridFsMongoDbFactory implements MongoDbFactory {
+
+        private final MongoDbFactory mongoDbFactory;
+
+        private final String gridFsDatabase;
+
+        private GridFsMongoDbFactory(final MongoDbFactory mongoDbFactory, final String gridFsDatabase) {
+            this.mongoDbFactory = mongoDbFactory;
+            this.gridFsDatabase = gridFsDatabase;
+        }
+
+        @Override
+        public DB getDb() {
+            if (gridFsDatabase == null || gridFsDatabase.isEmpty()) {
+                return mongoDbFactory.getDb();
+            }
+            return mongoDbFactory.getDb(gridFsDatabase);
+        }
+
+        @Override
+        public DB getDb(final String dbName) {
+            return mongoDbFactory.getDb(dbName);
+        }
+
+        @Override
+        public PersistenceExceptionTranslator getExceptionTranslator() {
+            return mongoDbFactory.getExceptionTranslator();
+        }
+    }
 }
@@ -9,8 +9,11 @@
 package org.eclipse.hawkbit.artifact.repository;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
 
 /**
  * Auto configuration for the {@link ArtifactStore}.
@@ -20,10 +23,17 @@ import org.springframework.context.annotation.Configuration;
 public class ArtifactStoreAutoConfiguration {
 
     /**
+     * @param mongoDbFactory
+     *            to access the database
+     * @param mongoTemplate
+     *            for the converter of the queries
+     * @param mongoProperties
+     *            for the GridFS database
      * @return Default {@link ArtifactRepository} implementation.
      */
     @Bean
-    public ArtifactRepository artifactRepository() {
-        return new ArtifactStore();
+    public ArtifactRepository artifactRepository(final MongoDbFactory mongoDbFactory,
+            final MongoTemplate mongoTemplate, final MongoProperties mongoProperties) {
+        return new ArtifactStore(mongoDbFactory, mongoTemplate.getConverter(), mongoProperties.getGridFsDatabase());
     }
 }
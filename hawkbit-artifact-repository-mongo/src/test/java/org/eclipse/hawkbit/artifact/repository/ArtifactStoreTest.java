@@ -9,8 +9,12 @@
 package org.eclipse.hawkbit.artifact.repository;
 
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -21,6 +25,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.gridfs.GridFsOperations;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
@@ -44,6 +52,12 @@ public class ArtifactStoreTest {
     @Autowired
     private GridFsOperations gridFs;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoDbFactory mongoDbFactory;
+
     @Test
     @Description("Ensures that search by SHA1 hash (which is used by hawkBit as artifact ID) finds the expected results.")
     public void findArtifactBySHA1Hash() throws NoSuchAlgorithmException {
@@ -70,6 +84,82 @@ public class ArtifactStoreTest {
                 BaseEncoding.base16().lowerCase().encode(digestInputStream.getMessageDigest().digest()))).isNotNull();
     }
 
+    @Test
+    @Description("Ensures that artifacts stored in a separate GridFS database are found and deleted again.")
+    public void storeInSeparateGridFsDatabase() throws NoSuchAlgorithmException {
+        final ArtifactStore separateStore = new ArtifactStore(mongoDbFactory, mongoTemplate.getConverter(),
+                "separateGridFs");
+
+        final DigestInputStream digestInputStream = digestInputStream(generateInputStream(128), "SHA-1");
+        separateStore.store(digestInputStream, "separate.bin", "application/octet-stream");
+        final String sha1 = BaseEncoding.base16().lowerCase().encode(digestInputStream.getMessageDigest().digest());
+
+        assertThat(separateStore.getArtifactBySha1(sha1)).isNotNull();
+        assertThat(artifactStoreUnderTest.getArtifactBySha1(sha1)).isNull();
+
+        separateStore.deleteBySha1(sha1);
+        assertThat(separateStore.getArtifactBySha1(sha1)).isNull();
+    }
+
+    @Test
+    @Description("Ensures that the search by MD5 hash does not find provisional files of running uploads.")
+    public void findArtifactByMD5HashIgnoresProvisionalFiles() throws NoSuchAlgorithmException {
+        final DigestInputStream digestInputStream = digestInputStream(generateInputStream(128), "MD5");
+        gridFs.store(digestInputStream, "upload-running");
+        final String md5 = BaseEncoding.base16().lowerCase().encode(digestInputStream.getMessageDigest().digest());
+
+        assertThat(artifactStoreUnderTest.getArtifactByMd5(md5)).isNull();
+        artifactStoreUnderTest.deleteProvisionalFilesOlderThan(0);
+    }
+
+    @Test
+    @Description("Ensures that an upload which is aborted while the content is read leaves neither a file nor any "
+            + "chunks in the store.")
+    public void abortedUploadLeavesNoFile() {
+        final long files = mongoTemplate.getCollection("fs.files").count();
+        final long chunks = mongoTemplate.getCollection("fs.chunks").count();
+
+        // fails after several chunks have been written
+        final InputStream aborted = new SequenceInputStream(generateInputStream(1024 * 1024), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+        try {
+            artifactStoreUnderTest.store(aborted, "aborted.bin", "application/octet-stream");
+            fail("aborted upload was stored");
+        } catch (final ArtifactStoreException e) {
+            assertThat(e.getCause()).isNotNull();
+        }
+
+        assertThat(gridFs.find(provisionalFiles())).isEmpty();
+        assertThat(mongoTemplate.getCollection("fs.files").count()).isEqualTo(files);
+        assertThat(mongoTemplate.getCollection("fs.chunks").count()).isEqualTo(chunks);
+    }
+
+    @Test
+    @Description("Ensures that stale provisional files of crashed uploads are deleted while recent provisional "
+            + "files and stored artifacts are kept.")
+    public void staleProvisionalFilesAreDeleted() {
+        artifactStoreUnderTest.store(generateInputStream(128), "stored.bin", "application/octet-stream");
+        final long artifacts = gridFs.find(new Query()).size() - gridFs.find(provisionalFiles()).size();
+        gridFs.store(generateInputStream(512 * 1024), "upload-crashed");
+        final long chunks = mongoTemplate.getCollection("fs.chunks").count();
+
+        artifactStoreUnderTest.deleteProvisionalFilesOlderThan(60000);
+        assertThat(gridFs.find(provisionalFiles())).hasSize(1);
+
+        artifactStoreUnderTest.deleteProvisionalFilesOlderThan(0);
+        assertThat(gridFs.find(provisionalFiles())).isEmpty();
+        assertThat(gridFs.find(new Query())).hasSize((int) artifacts);
+        assertThat(mongoTemplate.getCollection("fs.chunks").count()).isLessThan(chunks);
+    }
+
+    private static Query provisionalFiles() {
+        return new Query().addCriteria(Criteria.where("filename").regex("^upload-"));
+    }
+
     private static ByteArrayInputStream generateInputStream(final int length) {
         final byte[] bytes = new byte[length];
         new Random().nextBytes(bytes);
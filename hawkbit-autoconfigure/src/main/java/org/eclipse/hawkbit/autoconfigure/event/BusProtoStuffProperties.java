@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties for the protostuff message converter of the event bus.
+ *
+ */
+@ConfigurationProperties("hawkbit.bus.protostuff")
+public class BusProtoStuffProperties {
+
+    /**
+     * Set to <code>true</code> to send registered events with their type ID
+     * header only. Nodes of older versions read the class name header, so
+     * enable this only if all nodes of the cluster have been upgraded.
+     */
+    private boolean typeIdOnly = false;
+
+    public boolean isTypeIdOnly() {
+        return typeIdOnly;
+    }
+
+    public void setTypeIdOnly(final boolean typeIdOnly) {
+        this.typeIdOnly = typeIdOnly;
+    }
+}
@@ -17,6 +17,7 @@ import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.bus.ConditionalOnBusEnabled;
 import org.springframework.cloud.bus.ServiceMatcher;
 import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
@@ -116,14 +117,16 @@ public class EventPublisherAutoConfiguration {
 
     @ConditionalOnBusEnabled
     @ConditionalOnClass({ Schema.class, ProtostuffIOUtil.class })
+    @EnableConfigurationProperties(BusProtoStuffProperties.class)
     protected static class BusProtoStuffAutoConfiguration {
         /**
-         * 
+         * @param properties
+         *            of the converter
          * @return the protostuff io message converter
          */
         @Bean
-        public MessageConverter busProtoBufConverter() {
-            return new BusProtoStuffMessageConverter();
+        public MessageConverter busProtoBufConverter(final BusProtoStuffProperties properties) {
+            return new BusProtoStuffMessageConverter(properties.isTypeIdOnly());
         }
 
     }
@@ -13,6 +13,8 @@ import static org.springframework.context.annotation.AdviceMode.ASPECTJ;
 import static org.springframework.core.Ordered.HIGHEST_PRECEDENCE;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.annotation.PostConstruct;
 import javax.servlet.Filter;
@@ -42,11 +44,16 @@ import org.eclipse.hawkbit.security.HttpControllerPreAuthenticatedGatewaySecurit
 import org.eclipse.hawkbit.security.HttpControllerPreAuthenticatedSecurityHeaderFilter;
 import org.eclipse.hawkbit.security.HttpDownloadAuthenticationFilter;
 import org.eclipse.hawkbit.security.PreAuthTokenSourceTrustAuthenticationProvider;
+import org.eclipse.hawkbit.security.RateLimiter;
+import org.eclipse.hawkbit.security.RequestRateLimiter;
+import org.eclipse.hawkbit.security.RequestRateLimiter.RequestType;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.boot.context.embedded.FilterRegistrationBean;
@@ -220,20 +227,55 @@ public class SecurityManagedConfiguration {
         }
     }
 
+    /**
+     * Rate limiter of the {@link DosFilter}.
+     *
+     * @return the {@link RequestRateLimiter} with the configured limits
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RequestRateLimiter requestRateLimiter() {
+        return new RequestRateLimiter(securityProperties.getDos().getFilter());
+    }
+
+    /**
+     * Exports the allowed, throttled and evicted clients of the
+     * {@link DosFilter} per request type.
+     *
+     * @param requestRateLimiter
+     *            of the filter
+     * @return the metrics of the filter
+     */
+    @Bean
+    public PublicMetrics dosFilterMetrics(final RequestRateLimiter requestRateLimiter) {
+        return () -> {
+            final List<Metric<?>> metrics = new ArrayList<>();
+            for (final RequestType type : RequestType.values()) {
+                final RateLimiter limiter = requestRateLimiter.getRateLimiter(type);
+                final String prefix = "hawkbit.security.dos." + type.name().toLowerCase() + ".";
+                metrics.add(new Metric<>(prefix + "allowed", limiter.getAllowed()));
+                metrics.add(new Metric<>(prefix + "throttled", limiter.getThrottled()));
+                metrics.add(new Metric<>(prefix + "evicted", limiter.getEvicted()));
+            }
+            return metrics;
+        };
+    }
+
     /**
      * Filter to protect the SP server against denial of service attacks.
      *
+     * @param requestRateLimiter
+     *            which limits the requests per client
      * @return he spring filter registration bean for registering an denial of
      *         service protection filter in the filter chain
      */
     @Bean
     @Order(50)
-    public FilterRegistrationBean dosFilter() {
+    public FilterRegistrationBean dosFilter(final RequestRateLimiter requestRateLimiter) {
 
         final FilterRegistrationBean filterRegBean = new FilterRegistrationBean();
 
-        filterRegBean.setFilter(new DosFilter(securityProperties.getDos().getFilter().getMaxRead(),
-                securityProperties.getDos().getFilter().getMaxWrite(),
+        filterRegBean.setFilter(new DosFilter(requestRateLimiter,
                 securityProperties.getDos().getFilter().getWhitelist(), securityProperties.getClients().getBlacklist(),
                 securityProperties.getClients().getRemoteIpHeader()));
         filterRegBean.addUrlPatterns("/{tenant}/controller/v1/*", "/rest/*");
@@ -255,10 +297,12 @@ public class SecurityManagedConfiguration {
         // Exclude the URLs for downloading artifacts, so no eTag is generated
         // in the ShallowEtagHeaderFilter, just using the SH1 hash of the
         // artifact itself as 'ETag', because otherwise the file will be copied
-        // in memory!
+        // in memory! The DDI controller base resource calculates its eTag
+        // itself without rendering the response.
         filterRegBean.setFilter(new ExcludePathAwareShallowETagFilter(
                 "/rest/v1/softwaremodules/{smId}/artifacts/{artId}/download", "/{tenant}/controller/artifacts/**",
-                "/{targetid}/softwaremodules/{softwareModuleId}/artifacts/**"));
+                "/{targetid}/softwaremodules/{softwareModuleId}/artifacts/**",
+                "/{tenant}/controller/v1/{controllerId}"));
 
         return filterRegBean;
     }
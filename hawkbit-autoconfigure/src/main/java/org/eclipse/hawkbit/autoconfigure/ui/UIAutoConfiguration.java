@@ -8,13 +8,15 @@
  */
 package org.eclipse.hawkbit.autoconfigure.ui;
 
+import java.util.concurrent.ScheduledExecutorService;
+
 import org.eclipse.hawkbit.DistributedResourceBundleMessageSource;
 import org.eclipse.hawkbit.ui.push.DelayedEventBusPushStrategy;
 import org.eclipse.hawkbit.ui.push.EventPushStrategy;
 import org.eclipse.hawkbit.ui.push.HawkbitEventProvider;
+import org.eclipse.hawkbit.ui.push.UIEventDispatcher;
 import org.eclipse.hawkbit.ui.push.UIEventProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.vaadin.spring.annotation.EnableVaadinExtensions;
@@ -53,22 +55,35 @@ public class UIAutoConfiguration {
         return new HawkbitEventProvider();
     }
 
+    /**
+     * The dispatcher which collects the events for the UIs of all sessions
+     * once per tenant.
+     * 
+     * @param eventProvider
+     *            with the supported events
+     * @param executorService
+     *            to run the periodic dispatch
+     * 
+     * @return the dispatcher bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public UIEventDispatcher uiEventDispatcher(final UIEventProvider eventProvider,
+            final ScheduledExecutorService executorService) {
+        return new UIEventDispatcher(eventProvider, executorService);
+    }
+
     /**
      * The UI scoped event push strategy. Session scope is necessary, that every
      * UI has an own strategy.
      * 
-     * @param applicationContext
-     *            the context to add the listener
-     * 
      * @return the provider bean
      */
     @Bean
     @ConditionalOnMissingBean
     @UIScope
-    public EventPushStrategy eventPushStrategy(final ConfigurableApplicationContext applicationContext) {
-        final DelayedEventBusPushStrategy delayedEventBusPushStrategy = new DelayedEventBusPushStrategy();
-        applicationContext.addApplicationListener(delayedEventBusPushStrategy);
-        return delayedEventBusPushStrategy;
+    public EventPushStrategy eventPushStrategy() {
+        return new DelayedEventBusPushStrategy();
     }
 
 }
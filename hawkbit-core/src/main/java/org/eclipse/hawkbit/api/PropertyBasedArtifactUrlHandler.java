@@ -8,12 +8,13 @@
  */
 package org.eclipse.hawkbit.api;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
 
@@ -39,25 +40,65 @@ import com.google.common.net.UrlEscapers;
  */
 public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
-    private static final String PROTOCOL_PLACEHOLDER = "protocol";
-    private static final String CONTROLLER_ID_PLACEHOLDER = "controllerId";
-    private static final String TARGET_ID_BASE10_PLACEHOLDER = "targetId";
-    private static final String TARGET_ID_BASE62_PLACEHOLDER = "targetIdBase62";
-    private static final String IP_PLACEHOLDER = "ip";
-    private static final String PORT_PLACEHOLDER = "port";
-    private static final String HOSTNAME_PLACEHOLDER = "hostname";
-    private static final String ARTIFACT_FILENAME_PLACEHOLDER = "artifactFileName";
-    private static final String ARTIFACT_SHA1_PLACEHOLDER = "artifactSHA1";
-    private static final String ARTIFACT_ID_BASE10_PLACEHOLDER = "artifactId";
-    private static final String ARTIFACT_ID_BASE62_PLACEHOLDER = "artifactIdBase62";
-    private static final String TENANT_PLACEHOLDER = "tenant";
-    private static final String TENANT_ID_BASE10_PLACEHOLDER = "tenantId";
-    private static final String TENANT_ID_BASE62_PLACEHOLDER = "tenantIdBase62";
-    private static final String SOFTWARE_MODULE_ID_BASE10_PLACDEHOLDER = "softwareModuleId";
-    private static final String SOFTWARE_MODULE_ID_BASE62_PLACDEHOLDER = "softwareModuleIdBase62";
+    private static final String PORT_PREFIX = ":";
+
+    /**
+     * The supported placeholders with the functions to resolve their value.
+     */
+    private enum Placeholder {
+        PROTOCOL("protocol", (protocol, placeholder) -> protocol.getProtocol()),
+        CONTROLLER_ID("controllerId", (protocol, placeholder) -> placeholder.getControllerId()),
+        TARGET_ID_BASE10("targetId", (protocol, placeholder) -> String.valueOf(placeholder.getTargetId())),
+        TARGET_ID_BASE62("targetIdBase62",
+                (protocol, placeholder) -> Base62Util.fromBase10(placeholder.getTargetId())),
+        IP("ip", (protocol, placeholder) -> protocol.getIp()),
+        PORT("port",
+                (protocol, placeholder) -> protocol.getPort() == null ? null : String.valueOf(protocol.getPort())),
+        HOSTNAME("hostname", (protocol, placeholder) -> protocol.getHostname()),
+        ARTIFACT_FILENAME("artifactFileName",
+                (protocol, placeholder) -> UrlEscapers.urlFragmentEscaper()
+                        .escape(placeholder.getSoftwareData().getFilename())),
+        ARTIFACT_SHA1("artifactSHA1", (protocol, placeholder) -> placeholder.getSoftwareData().getSha1Hash()),
+        ARTIFACT_ID_BASE10("artifactId",
+                (protocol, placeholder) -> String.valueOf(placeholder.getSoftwareData().getArtifactId())),
+        ARTIFACT_ID_BASE62("artifactIdBase62",
+                (protocol, placeholder) -> Base62Util.fromBase10(placeholder.getSoftwareData().getArtifactId())),
+        TENANT("tenant", (protocol, placeholder) -> placeholder.getTenant()),
+        TENANT_ID_BASE10("tenantId", (protocol, placeholder) -> String.valueOf(placeholder.getTenantId())),
+        TENANT_ID_BASE62("tenantIdBase62",
+                (protocol, placeholder) -> Base62Util.fromBase10(placeholder.getTenantId())),
+        SOFTWARE_MODULE_ID_BASE10("softwareModuleId",
+                (protocol, placeholder) -> String.valueOf(placeholder.getSoftwareData().getSoftwareModuleId())),
+        SOFTWARE_MODULE_ID_BASE62("softwareModuleIdBase62",
+                (protocol, placeholder) -> Base62Util.fromBase10(placeholder.getSoftwareData().getSoftwareModuleId()));
+
+        private final String key;
+        private final BiFunction<UrlProtocol, URLPlaceholder, String> value;
+
+        Placeholder(final String key, final BiFunction<UrlProtocol, URLPlaceholder, String> value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final Map<String, Placeholder> PLACEHOLDERS;
+
+    static {
+        final Map<String, Placeholder> placeholders = new HashMap<>();
+        for (final Placeholder placeholder : Placeholder.values()) {
+            placeholders.put(placeholder.key, placeholder);
+        }
+        PLACEHOLDERS = Collections.unmodifiableMap(placeholders);
+    }
 
     private final ArtifactUrlHandlerProperties urlHandlerProperties;
 
+    /**
+     * The compiled URL patterns by pattern. The protocols are mutable
+     * properties, so they are compiled on first use of a pattern.
+     */
+    private final Map<String, UrlTemplate> templates = new ConcurrentHashMap<>();
+
     /**
      * @param urlHandlerProperties
      *            for URL generation configuration
@@ -68,55 +109,90 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
     @Override
     public List<ArtifactUrl> getUrls(final URLPlaceholder placeholder, final ApiType api) {
+        final List<ArtifactUrl> urls = new ArrayList<>(urlHandlerProperties.getProtocols().size());
+        final StringBuilder url = new StringBuilder(128);
 
-        return urlHandlerProperties.getProtocols().entrySet().stream()
-                .filter(entry -> entry.getValue().getSupports().contains(api))
-                .filter(entry -> entry.getValue().isEnabled())
-                .map(entry -> new ArtifactUrl(entry.getValue().getProtocol().toUpperCase(), entry.getValue().getRel(),
-                        generateUrl(entry.getValue(), placeholder)))
-                .collect(Collectors.toList());
-
+        for (final UrlProtocol protocol : urlHandlerProperties.getProtocols().values()) {
+            if (!protocol.isEnabled() || !protocol.getSupports().contains(api)) {
+                continue;
+            }
+            url.setLength(0);
+            templates.computeIfAbsent(protocol.getRef(), UrlTemplate::new).render(protocol, placeholder, url);
+            urls.add(new ArtifactUrl(protocol.getProtocol().toUpperCase(), protocol.getRel(), url.toString()));
+        }
+        return urls;
     }
 
-    private static String generateUrl(final UrlProtocol protocol, final URLPlaceholder placeholder) {
-        final Set<Entry<String, String>> entrySet = getReplaceMap(protocol, placeholder).entrySet();
+    /**
+     * URL pattern split into literal and placeholder segments once, i.e.
+     * rendering only appends the segments instead of searching and replacing
+     * every placeholder in the pattern for every URL.
+     */
+    private static final class UrlTemplate {
+        private final List<Object> segments = new ArrayList<>();
 
-        String urlPattern = protocol.getRef();
+        private UrlTemplate(final String pattern) {
+            final StringBuilder literal = new StringBuilder();
+            int position = 0;
+            while (position < pattern.length()) {
+                final int open = pattern.indexOf('{', position);
+                final int close = open < 0 ? -1 : pattern.indexOf('}', open);
+                if (close < 0) {
+                    literal.append(pattern, position, pattern.length());
+                    break;
+                }
+
+                literal.append(pattern, position, open);
+                final Placeholder placeholder = PLACEHOLDERS.get(pattern.substring(open + 1, close));
+                if (placeholder == null) {
+                    // unknown placeholders are kept as they are
+                    literal.append(pattern, open, close + 1);
+                } else if (placeholder == Placeholder.PORT) {
+                    addPort(literal);
+                } else {
+                    addLiteral(literal);
+                    segments.add(placeholder);
+                }
+                position = close + 1;
+            }
+            addLiteral(literal);
+        }
 
-        for (final Entry<String, String> entry : entrySet) {
-            if (entry.getKey().equals(PORT_PLACEHOLDER)) {
-                urlPattern = urlPattern.replace(":{" + entry.getKey() + "}",
-                        Strings.isNullOrEmpty(entry.getValue()) ? "" : (":" + entry.getValue()));
+        /**
+         * The port is only supported with its prefix, i.e. {@code :{port}},
+         * which is omitted if no port is configured.
+         */
+        private void addPort(final StringBuilder literal) {
+            final int length = literal.length();
+            if (length > 0 && literal.charAt(length - 1) == PORT_PREFIX.charAt(0)) {
+                literal.setLength(length - 1);
+                addLiteral(literal);
+                segments.add(Placeholder.PORT);
             } else {
-                urlPattern = urlPattern.replace("{" + entry.getKey() + "}", entry.getValue());
+                literal.append('{').append(Placeholder.PORT.key).append('}');
             }
         }
-        return urlPattern;
-    }
 
-    private static Map<String, String> getReplaceMap(final UrlProtocol protocol, final URLPlaceholder placeholder) {
-        final Map<String, String> replaceMap = new HashMap<>();
-        replaceMap.put(IP_PLACEHOLDER, protocol.getIp());
-        replaceMap.put(HOSTNAME_PLACEHOLDER, protocol.getHostname());
-        replaceMap.put(ARTIFACT_FILENAME_PLACEHOLDER,
-                UrlEscapers.urlFragmentEscaper().escape(placeholder.getSoftwareData().getFilename()));
-        replaceMap.put(ARTIFACT_SHA1_PLACEHOLDER, placeholder.getSoftwareData().getSha1Hash());
-        replaceMap.put(PROTOCOL_PLACEHOLDER, protocol.getProtocol());
-        replaceMap.put(PORT_PLACEHOLDER, protocol.getPort() == null ? null : String.valueOf(protocol.getPort()));
-        replaceMap.put(TENANT_PLACEHOLDER, placeholder.getTenant());
-        replaceMap.put(TENANT_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getTenantId()));
-        replaceMap.put(TENANT_ID_BASE62_PLACEHOLDER, Base62Util.fromBase10(placeholder.getTenantId()));
-        replaceMap.put(CONTROLLER_ID_PLACEHOLDER, placeholder.getControllerId());
-        replaceMap.put(TARGET_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getTargetId()));
-        replaceMap.put(TARGET_ID_BASE62_PLACEHOLDER, Base62Util.fromBase10(placeholder.getTargetId()));
-        replaceMap.put(ARTIFACT_ID_BASE62_PLACEHOLDER,
-                Base62Util.fromBase10(placeholder.getSoftwareData().getArtifactId()));
-        replaceMap.put(ARTIFACT_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getSoftwareData().getArtifactId()));
-        replaceMap.put(SOFTWARE_MODULE_ID_BASE10_PLACDEHOLDER,
-                String.valueOf(placeholder.getSoftwareData().getSoftwareModuleId()));
-        replaceMap.put(SOFTWARE_MODULE_ID_BASE62_PLACDEHOLDER,
-                Base62Util.fromBase10(placeholder.getSoftwareData().getSoftwareModuleId()));
-        return replaceMap;
-    }
+        private void addLiteral(final StringBuilder literal) {
+            if (literal.length() > 0) {
+                segments.add(literal.toString());
+                literal.setLength(0);
+            }
+        }
 
+        private void render(final UrlProtocol protocol, final URLPlaceholder placeholder, final StringBuilder url) {
+            for (final Object segment : segments) {
+                if (segment == Placeholder.PORT) {
+                    final String port = Placeholder.PORT.value.apply(protocol, placeholder);
+                    if (!Strings.isNullOrEmpty(port)) {
+                        url.append(PORT_PREFIX).append(port);
+                    }
+                } else if (segment instanceof Placeholder) {
+                    url.append(((Placeholder) segment).value.apply(protocol, placeholder));
+                } else {
+                    url.append((String) segment);
+                }
+            }
+        }
+    }
 }
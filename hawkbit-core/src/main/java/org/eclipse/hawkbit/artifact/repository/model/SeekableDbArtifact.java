@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository.model;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Optional capability of a {@link DbArtifact} that allows random access to
+ * the binary. Consumers can position the channel directly at the requested
+ * offset instead of skipping through the {@link DbArtifact#getFileInputStream()}
+ * which makes range requests independent of the offset. If the returned
+ * channel is a {@link FileChannel} it is read with
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+ */
+@FunctionalInterface
+public interface SeekableDbArtifact {
+
+    /**
+     * Opens a new read only channel on the binary of the artifact. The caller
+     * is responsible for closing the channel.
+     *
+     * @return the opened channel
+     * @throws IOException
+     *             if the channel could not be opened
+     */
+    SeekableByteChannel openChannel() throws IOException;
+
+}
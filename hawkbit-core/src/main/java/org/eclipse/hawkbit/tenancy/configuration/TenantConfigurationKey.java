@@ -13,6 +13,7 @@ import java.util.Optional;
 
 import org.eclipse.hawkbit.ControllerPollProperties;
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationBooleanValidator;
+import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationIntegerValidator;
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationPollingDurationValidator;
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationStringValidator;
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationValidator;
@@ -68,7 +69,37 @@ public enum TenantConfigurationKey {
     /**
      * boolean value {@code true} {@code false}.
      */
-    ANONYMOUS_DOWNLOAD_MODE_ENABLED("anonymous.download.enabled", "hawkbit.server.download.anonymous.enabled", Boolean.class, Boolean.FALSE.toString(), TenantConfigurationBooleanValidator.class);
+    ANONYMOUS_DOWNLOAD_MODE_ENABLED("anonymous.download.enabled", "hawkbit.server.download.anonymous.enabled", Boolean.class, Boolean.FALSE.toString(), TenantConfigurationBooleanValidator.class),
+
+    /**
+     * boolean value {@code true} {@code false} which enables the compaction
+     * of the status history of closed actions.
+     */
+    ACTION_STATUS_RETENTION_ENABLED("action.status.retention.enabled", "hawkbit.server.repository.actionStatusRetention.enabled", Boolean.class, Boolean.FALSE.toString(), TenantConfigurationBooleanValidator.class),
+
+    /**
+     * integer value which holds the number of oldest status entries that are
+     * kept for a closed action.
+     */
+    ACTION_STATUS_RETENTION_KEEP_FIRST("action.status.retention.keepFirst", "hawkbit.server.repository.actionStatusRetention.keepFirst", Integer.class, "1", TenantConfigurationIntegerValidator.class),
+
+    /**
+     * integer value which holds the number of latest status entries that are
+     * kept for a closed action.
+     */
+    ACTION_STATUS_RETENTION_KEEP_LAST("action.status.retention.keepLast", "hawkbit.server.repository.actionStatusRetention.keepLast", Integer.class, "10", TenantConfigurationIntegerValidator.class),
+
+    /**
+     * boolean value {@code true} {@code false} which defines if the download
+     * progress entries of closed actions are dropped.
+     */
+    ACTION_STATUS_RETENTION_DROP_DOWNLOAD("action.status.retention.dropDownload", "hawkbit.server.repository.actionStatusRetention.dropDownload", Boolean.class, Boolean.TRUE.toString(), TenantConfigurationBooleanValidator.class),
+
+    /**
+     * integer value which holds the number of days after which the complete
+     * status history of a closed action is purged, {@code 0} to keep it.
+     */
+    ACTION_STATUS_RETENTION_MAX_AGE_DAYS("action.status.retention.maxAgeDays", "hawkbit.server.repository.actionStatusRetention.maxAgeDays", Integer.class, "0", TenantConfigurationIntegerValidator.class);
 
     private final String keyName;
     private final String defaultKeyName;
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.tenancy.configuration.validator;
+
+/**
+ * specific tenant configuration validator, which validates that the given value
+ * is a non negative integer.
+ */
+public class TenantConfigurationIntegerValidator implements TenantConfigurationValidator {
+
+    @Override
+    public void validate(final Object tenantConfigurationValue) {
+        TenantConfigurationValidator.super.validate(tenantConfigurationValue);
+
+        if ((Integer) tenantConfigurationValue < 0) {
+            throw new TenantConfigurationValidatorException("The given configuration value must not be negative");
+        }
+    }
+
+    @Override
+    public Class<?> validateToClass() {
+        return Integer.class;
+    }
+
+}
@@ -121,4 +121,21 @@ public class PropertyBasedArtifactUrlHandlerTest {
                 TEST_PROTO + "://127.0.0.1:5683/fws/" + TENANT + "/" + TARGETID_BASE62 + "/" + ARTIFACTID_BASE62)),
                 urls);
     }
+
+    @Test
+    @Description("Tests that the port is omitted if not configured and unknown placeholders are kept as they are.")
+    public void urlGenerationWithoutPort() {
+        final UrlProtocol proto = new UrlProtocol();
+        proto.setHostname("example.com");
+        proto.setPort(null);
+        proto.setProtocol(TEST_PROTO);
+        proto.setRel(TEST_REL);
+        proto.setRef("{protocol}://{hostname}:{port}/{tenant}/{unknown}/{artifactFileName}");
+        properties.getProtocols().put(TEST_PROTO, proto);
+
+        final List<ArtifactUrl> urls = urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI);
+
+        assertEquals(Lists.newArrayList(new ArtifactUrl(TEST_PROTO.toUpperCase(), TEST_REL,
+                TEST_PROTO + "://example.com/" + TENANT + "/{unknown}/" + FILENAME)), urls);
+    }
 }
@@ -43,6 +43,13 @@ public final class DdiRestConstants {
      */
     public static final String CONFIG_DATA_ACTION = "configData";
 
+    /**
+     * Request parameter of the controller base resource with the maximum time
+     * in seconds the request waits for a change of the resource (long
+     * polling).
+     */
+    public static final String LONG_POLL_WAIT = "wait";
+
     private DdiRestConstants() {
         // constant class, private constructor.
     }
@@ -28,6 +28,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * REST resource handling for root controller CRUD operations.
@@ -53,7 +54,9 @@ public interface DdiRootControllerRestApi {
             @PathVariable("softwareModuleId") final Long softwareModuleId);
 
     /**
-     * Root resource for an individual {@link Target}.
+     * Root resource for an individual {@link Target}. The response carries an
+     * entity tag, requests with a matching <code>If-None-Match</code> header
+     * are answered with {@link HttpStatus#NOT_MODIFIED}.
      *
      * @param tenant
      *            of the request
@@ -68,6 +71,27 @@ public interface DdiRootControllerRestApi {
     ResponseEntity<DdiControllerBase> getControllerBase(@PathVariable("tenant") final String tenant,
             @PathVariable("controllerId") final String controllerId);
 
+    /**
+     * Root resource for an individual {@link Target} in long polling mode. If
+     * the request contains an <code>If-None-Match</code> header that matches
+     * the current state of the resource the response is deferred until the
+     * state changes or the given time is over.
+     *
+     * @param tenant
+     *            of the request
+     * @param controllerId
+     *            of the target that matches to controller id
+     * @param wait
+     *            maximum time in seconds to wait for a change
+     * @return the deferred response which is {@link HttpStatus#NOT_MODIFIED}
+     *         if the resource has not changed in time
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/{controllerId}", params = DdiRestConstants.LONG_POLL_WAIT, produces = {
+            "application/hal+json", MediaType.APPLICATION_JSON_VALUE })
+    DeferredResult<ResponseEntity<DdiControllerBase>> getControllerBaseLongPoll(
+            @PathVariable("tenant") final String tenant, @PathVariable("controllerId") final String controllerId,
+            @RequestParam(DdiRestConstants.LONG_POLL_WAIT) final long wait);
+
     /**
      * Handles GET {@link DdiArtifact} download request. This could be full or
      * partial (as specified by RFC7233 (Range Requests)) download request.
@@ -9,11 +9,11 @@
 package org.eclipse.hawkbit.ddi.rest.resource;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletResponse;
@@ -31,11 +31,15 @@ import org.eclipse.hawkbit.ddi.json.model.DdiControllerBase;
 import org.eclipse.hawkbit.ddi.json.model.DdiPolling;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
 import org.eclipse.hawkbit.repository.SystemManagement;
-import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor.ArtifactDescriptor;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetPollInfo;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.hateoas.Link;
+import org.springframework.web.util.UriUtils;
 
 import com.google.common.base.Charsets;
 
@@ -43,16 +47,30 @@ import com.google.common.base.Charsets;
  * Utility class for the DDI API.
  */
 public final class DataConversionHelper {
+
+    // link templates relative to the controller base resource, see the
+    // mappings of DdiRootControllerRestApi
+    private static final String DEPLOYMENT_BASE_PATH = "/" + DdiRestConstants.DEPLOYMENT_BASE_ACTION + "/";
+    private static final String DEPLOYMENT_BASE_ETAG_PARAM = "?c=";
+    private static final String CANCEL_ACTION_PATH = "/" + DdiRestConstants.CANCEL_ACTION + "/";
+    private static final String CONFIG_DATA_PATH = "/" + DdiRestConstants.CONFIG_DATA_ACTION;
+
     // utility class, private constructor.
     private DataConversionHelper() {
 
     }
 
-    static List<DdiChunk> createChunks(final Target target, final Action uAction,
+    static List<DdiChunk> createChunks(final Target target, final DeploymentDescriptor descriptor,
             final ArtifactUrlHandler artifactUrlHandler, final SystemManagement systemManagement) {
-        return uAction.getDistributionSet().getModules().stream()
-                .map(module -> new DdiChunk(mapChunkLegacyKeys(module.getType().getKey()), module.getVersion(),
-                        module.getName(), createArtifacts(target, module, artifactUrlHandler, systemManagement)))
+        final TenantMetaData tenantMetaData = systemManagement.getCachedTenantMetadata();
+
+        return descriptor.getModules().stream()
+                .map(module -> new DdiChunk(mapChunkLegacyKeys(module.getTypeKey()), module.getVersion(),
+                        module.getName(),
+                        module.getArtifacts().stream()
+                                .map(artifact -> createArtifact(target, artifactUrlHandler, module.getId(), artifact,
+                                        tenantMetaData))
+                                .collect(Collectors.toList())))
                 .collect(Collectors.toList());
 
     }
@@ -85,23 +103,27 @@ public final class DataConversionHelper {
             final org.eclipse.hawkbit.repository.model.SoftwareModule module,
             final ArtifactUrlHandler artifactUrlHandler, final SystemManagement systemManagement) {
 
+        final TenantMetaData tenantMetaData = systemManagement.getCachedTenantMetadata();
+
         return module.getArtifacts().stream()
-                .map(artifact -> createArtifact(target, artifactUrlHandler, artifact, systemManagement))
+                .map(artifact -> createArtifact(target, artifactUrlHandler, module.getId(),
+                        new ArtifactDescriptor(artifact.getId(), artifact.getFilename(), artifact.getSha1Hash(),
+                                artifact.getMd5Hash(), artifact.getSize()),
+                        tenantMetaData))
                 .collect(Collectors.toList());
     }
 
     private static DdiArtifact createArtifact(final Target target, final ArtifactUrlHandler artifactUrlHandler,
-            final Artifact artifact, final SystemManagement systemManagement) {
+            final Long moduleId, final ArtifactDescriptor artifact, final TenantMetaData tenantMetaData) {
         final DdiArtifact file = new DdiArtifact();
         file.setHashes(new DdiArtifactHash(artifact.getSha1Hash(), artifact.getMd5Hash()));
         file.setFilename(artifact.getFilename());
         file.setSize(artifact.getSize());
 
         artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
-                        new SoftwareData(artifact.getSoftwareModule().getId(), artifact.getFilename(), artifact.getId(),
-                                artifact.getSha1Hash())),
+                .getUrls(new URLPlaceholder(tenantMetaData.getTenant(), tenantMetaData.getId(),
+                        target.getControllerId(), target.getId(),
+                        new SoftwareData(moduleId, artifact.getFilename(), artifact.getId(), artifact.getSha1Hash())),
                         ApiType.DDI)
                 .forEach(entry -> file.add(new Link(entry.getRef()).withRel(entry.getRel())));
 
@@ -109,51 +131,104 @@ public final class DataConversionHelper {
 
     }
 
-    static DdiControllerBase fromTarget(final Target target, final Optional<Action> action,
-            final String defaultControllerPollTime, final TenantAware tenantAware) {
+    static DdiControllerBase fromTarget(final TargetPollInfo target, final String defaultControllerPollTime,
+            final TenantAware tenantAware) {
         final DdiControllerBase result = new DdiControllerBase(
                 new DdiConfig(new DdiPolling(defaultControllerPollTime)));
 
-        if (action.isPresent()) {
-            if (action.get().isCancelingOrCanceled()) {
-                result.add(linkTo(
-                        methodOn(DdiRootController.class, tenantAware.getCurrentTenant()).getControllerCancelAction(
-                                tenantAware.getCurrentTenant(), target.getControllerId(), action.get().getId()))
-                                        .withRel(DdiRestConstants.CANCEL_ACTION));
+        if (!target.hasActiveAction() && !target.isRequestControllerAttributes()) {
+            return result;
+        }
+
+        final String controllerUri = controllerBaseUri(tenantAware.getCurrentTenant(), target.getControllerId());
+
+        if (target.hasActiveAction()) {
+            if (target.isActionCancelingOrCanceled()) {
+                result.add(new Link(controllerUri + CANCEL_ACTION_PATH + target.getActionId(),
+                        DdiRestConstants.CANCEL_ACTION));
             } else {
                 // we need to add the hashcode here of the actionWithStatus
                 // because the action might
                 // have changed from 'soft' to 'forced' type and we need to
                 // change the payload of the
                 // response because of eTags.
-                result.add(linkTo(methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                        .getControllerBasedeploymentAction(tenantAware.getCurrentTenant(), target.getControllerId(),
-                                action.get().getId(), calculateEtag(action.get())))
-                                        .withRel(DdiRestConstants.DEPLOYMENT_BASE_ACTION));
+                result.add(new Link(controllerUri + DEPLOYMENT_BASE_PATH + target.getActionId()
+                        + DEPLOYMENT_BASE_ETAG_PARAM + calculateEtag(target), DdiRestConstants.DEPLOYMENT_BASE_ACTION));
             }
         }
 
-        if (target.getTargetInfo().isRequestControllerAttributes()) {
-            result.add(linkTo(methodOn(DdiRootController.class, tenantAware.getCurrentTenant()).putConfigData(null,
-                    tenantAware.getCurrentTenant(), target.getControllerId()))
-                            .withRel(DdiRestConstants.CONFIG_DATA_ACTION));
+        if (target.isRequestControllerAttributes()) {
+            result.add(new Link(controllerUri + CONFIG_DATA_PATH, DdiRestConstants.CONFIG_DATA_ACTION));
         }
         return result;
     }
 
     /**
-     * Calculates an etag for the given {@link Action} based on the entities
-     * hashcode and the {@link Action#isHitAutoForceTime(long)} to reflect a
-     * force switch.
+     * Resolves the URI of the controller base resource against the current
+     * request. The links of the controller base are appended to it as plain
+     * strings, which saves a controller proxy and a URI template expansion per
+     * link.
+     *
+     * @param tenant
+     *            of the controller
+     * @param controllerId
+     *            of the controller
+     * @return the URI of the controller base resource
+     */
+    private static String controllerBaseUri(final String tenant, final String controllerId) {
+        try {
+            return linkTo(DdiRootController.class, tenant).toString() + '/'
+                    + UriUtils.encodePathSegment(controllerId, StandardCharsets.UTF_8.name());
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Calculates the strong entity tag of the {@link DdiControllerBase} that
+     * {@link #fromTarget(TargetPollInfo, String, TenantAware)} creates for the
+     * given {@link TargetPollInfo}, i.e. of the oldest active action with its
+     * status, type and force state, the configuration data request and the
+     * polling time. The tag does not depend on the node that has calculated
+     * it.
+     *
+     * @param target
+     *            to calculate the entity tag for
+     * @param defaultControllerPollTime
+     *            the polling time of the controller
+     * @return the quoted entity tag
+     */
+    static String calculateControllerBaseEtag(final TargetPollInfo target, final String defaultControllerPollTime) {
+        final StringBuilder etag = new StringBuilder("\"");
+        if (target.hasActiveAction()) {
+            etag.append(target.getActionId()).append(target.isActionCancelingOrCanceled() ? 'c' : 'd')
+                    .append(target.getActionStatus() == null ? "" : target.getActionStatus().ordinal()).append('.')
+                    .append(target.getActionType() == null ? "" : target.getActionType().ordinal())
+                    .append(target.isActionHitAutoForceTime(System.currentTimeMillis()) ? 'f' : 's');
+        }
+        etag.append('-').append(target.isRequestControllerAttributes() ? 'a' : 'n').append('-')
+                .append(defaultControllerPollTime).append('"');
+        return etag.toString();
+    }
+
+    /**
+     * Calculates an etag for the oldest active action of the given
+     * {@link TargetPollInfo} based on the action ID, status and type and the
+     * {@link TargetPollInfo#isActionHitAutoForceTime(long)} to reflect a force
+     * switch.
      * 
-     * @param action
+     * @param target
      *            to calculate the etag for
      * @return the etag
      */
-    private static int calculateEtag(final Action action) {
+    private static int calculateEtag(final TargetPollInfo target) {
         final int prime = 31;
-        int result = action.hashCode();
-        result = prime * result + (action.isHitAutoForceTime(System.currentTimeMillis()) ? 1231 : 1237);
+        int result = target.getActionId().hashCode();
+        // ordinals instead of the identity hash codes of the enums keep the
+        // etag stable across nodes and restarts
+        result = prime * result + (target.getActionStatus() == null ? 0 : target.getActionStatus().ordinal() + 1);
+        result = prime * result + (target.getActionType() == null ? 0 : target.getActionType().ordinal() + 1);
+        result = prime * result + (target.isActionHitAutoForceTime(System.currentTimeMillis()) ? 1231 : 1237);
         return result;
     }
 
@@ -33,13 +33,11 @@ import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.WebApplicationContext;
 
 /**
  * The {@link DdiArtifactStoreController} of the HawkBit server controller API
@@ -49,7 +47,6 @@ import org.springframework.web.context.WebApplicationContext;
  * legacy controllers that can not be fed with a download URI at runtime.
  */
 @RestController
-@Scope(WebApplicationContext.SCOPE_REQUEST)
 public class DdiArtifactStoreController implements DdiDlArtifactStoreControllerRestApi {
 
     private static final Logger LOG = LoggerFactory.getLogger(DdiArtifactStoreController.class);
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Long polling configuration of the DDI controller base resource.
+ *
+ */
+@ConfigurationProperties("hawkbit.server.ddi.longpoll")
+public class DdiLongPollProperties {
+
+    /**
+     * Set to <code>false</code> to answer long polling requests immediately
+     * like regular polls.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound in seconds of the time a controller can wait for a change.
+     */
+    private long maxWait = 300;
+
+    /**
+     * Maximum number of waiting requests of this node. Further requests are
+     * answered immediately.
+     */
+    private int maxWaiting = 10000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(final long maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public int getMaxWaiting() {
+        return maxWaiting;
+    }
+
+    public void setMaxWaiting(final int maxWaiting) {
+        this.maxWaiting = maxWaiting;
+    }
+}
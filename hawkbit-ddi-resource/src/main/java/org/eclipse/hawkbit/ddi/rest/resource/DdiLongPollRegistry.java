@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.ddi.json.model.DdiControllerBase;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Registry of the long polling requests of the DDI controller base resource
+ * that are waiting for a change of their target. The requests are woken up by
+ * assignment, cancel and target update events of all nodes and check then on
+ * the async executor if the state of their target has changed indeed.
+ * Requests that are not woken up by a change are answered by their timeout
+ * result.
+ */
+@Component
+@EnableConfigurationProperties(DdiLongPollProperties.class)
+public class DdiLongPollRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DdiLongPollRegistry.class);
+
+    private final ConcurrentMap<String, WaitingPoll> byControllerId = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, WaitingPoll> byTargetId = new ConcurrentHashMap<>();
+
+    private final DdiLongPollProperties properties;
+
+    private final Executor executor;
+
+    /**
+     * Constructor.
+     *
+     * @param properties
+     *            of the long polling
+     * @param executor
+     *            to check the waiting requests on
+     */
+    @Autowired
+    public DdiLongPollRegistry(final DdiLongPollProperties properties,
+            @Qualifier("asyncExecutor") final Executor executor) {
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    /**
+     * @return <code>true</code> if long polling is enabled
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Registers a waiting request of the given target and checks the target
+     * once for changes that happened before the registration. A request that
+     * is still waiting for the same target is answered by its timeout result.
+     *
+     * @param tenant
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @param targetId
+     *            of the target
+     * @param waitSeconds
+     *            requested time to wait, limited by
+     *            {@link DdiLongPollProperties#getMaxWait()}
+     * @param timeoutResult
+     *            of the request if the target has not changed in time
+     * @param changedResult
+     *            calculates the result of the request if the target has
+     *            changed or returns <code>null</code> otherwise
+     * @return the deferred result of the request, which is already set to
+     *         the timeout result if the maximum number of waiting requests is
+     *         reached
+     */
+    public DeferredResult<ResponseEntity<DdiControllerBase>> waitForChange(final String tenant,
+            final String controllerId, final Long targetId, final long waitSeconds,
+            final ResponseEntity<DdiControllerBase> timeoutResult,
+            final Supplier<ResponseEntity<DdiControllerBase>> changedResult) {
+        final DeferredResult<ResponseEntity<DdiControllerBase>> result = new DeferredResult<>(
+                TimeUnit.SECONDS.toMillis(Math.min(waitSeconds, properties.getMaxWait())), timeoutResult);
+
+        if (byControllerId.size() >= properties.getMaxWaiting()) {
+            result.setResult(timeoutResult);
+            return result;
+        }
+
+        final WaitingPoll poll = new WaitingPoll(controllerKey(tenant, controllerId),
+                targetKey(tenant, targetId), result, timeoutResult, changedResult);
+        result.onCompletion(() -> {
+            byControllerId.remove(poll.controllerKey, poll);
+            byTargetId.remove(poll.targetKey, poll);
+        });
+
+        final WaitingPoll replaced = byControllerId.put(poll.controllerKey, poll);
+        byTargetId.put(poll.targetKey, poll);
+        if (replaced != null) {
+            replaced.result.setResult(replaced.timeoutResult);
+        }
+
+        // changes committed after the caller has read the state of the target
+        // but before the poll was registered have fired their events already
+        wakeUp(poll);
+
+        return result;
+    }
+
+    /**
+     * Wakes up the waiting requests of the targets the distribution set has
+     * been assigned to.
+     *
+     * @param event
+     *            the assignment
+     */
+    @EventListener(classes = TargetAssignDistributionSetEvent.class)
+    public void onAssignment(final TargetAssignDistributionSetEvent event) {
+        if (byControllerId.isEmpty()) {
+            return;
+        }
+
+        event.getActions().keySet().forEach(controllerId -> wakeUp(
+                byControllerId.get(controllerKey(event.getTenant(), controllerId))));
+    }
+
+    /**
+     * Wakes up the waiting request of the target whose assignment has been
+     * canceled.
+     *
+     * @param event
+     *            the cancellation
+     */
+    @EventListener(classes = CancelTargetAssignmentEvent.class)
+    public void onCancel(final CancelTargetAssignmentEvent event) {
+        if (byControllerId.isEmpty()) {
+            return;
+        }
+
+        wakeUp(byControllerId.get(controllerKey(event.getTenant(), event.getControllerId())));
+    }
+
+    /**
+     * Wakes up the waiting request of the updated target, e.g. after its
+     * attributes have been requested.
+     *
+     * @param event
+     *            the update
+     */
+    @EventListener(classes = TargetUpdatedEvent.class)
+    public void onTargetUpdate(final TargetUpdatedEvent event) {
+        if (byTargetId.isEmpty()) {
+            return;
+        }
+
+        wakeUp(byTargetId.get(targetKey(event.getTenant(), event.getEntityId())));
+    }
+
+    private void wakeUp(final WaitingPoll poll) {
+        if (poll == null || poll.result.isSetOrExpired()) {
+            return;
+        }
+
+        try {
+            executor.execute(poll::check);
+        } catch (final RejectedExecutionException e) {
+            LOG.warn("Check of waiting poll {} rejected, poll is answered by timeout.", poll.controllerKey, e);
+        }
+    }
+
+    private static String controllerKey(final String tenant, final String controllerId) {
+        return tenant.toUpperCase() + "|" + controllerId;
+    }
+
+    private static String targetKey(final String tenant, final Long targetId) {
+        return tenant.toUpperCase() + "|" + targetId;
+    }
+
+    private static final class WaitingPoll {
+        private final String controllerKey;
+        private final String targetKey;
+        private final DeferredResult<ResponseEntity<DdiControllerBase>> result;
+        private final ResponseEntity<DdiControllerBase> timeoutResult;
+        private final Supplier<ResponseEntity<DdiControllerBase>> changedResult;
+        private final SecurityContext securityContext;
+        private final RequestAttributes requestAttributes;
+
+        private WaitingPoll(final String controllerKey, final String targetKey,
+                final DeferredResult<ResponseEntity<DdiControllerBase>> result,
+                final ResponseEntity<DdiControllerBase> timeoutResult,
+                final Supplier<ResponseEntity<DdiControllerBase>> changedResult) {
+            this.controllerKey = controllerKey;
+            this.targetKey = targetKey;
+            this.result = result;
+            this.timeoutResult = timeoutResult;
+            this.changedResult = changedResult;
+            this.securityContext = SecurityContextHolder.createEmptyContext();
+            this.securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+            this.requestAttributes = RequestContextHolder.getRequestAttributes();
+        }
+
+        private void check() {
+            if (result.isSetOrExpired()) {
+                return;
+            }
+
+            final SecurityContext previousContext = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(securityContext);
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                final ResponseEntity<DdiControllerBase> changed = changedResult.get();
+                if (changed != null) {
+                    result.setResult(changed);
+                }
+            } catch (final RuntimeException e) {
+                result.setErrorResult(e);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+                SecurityContextHolder.setContext(previousContext);
+            }
+        }
+    }
+}
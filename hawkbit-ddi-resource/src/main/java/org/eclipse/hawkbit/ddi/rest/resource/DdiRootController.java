@@ -27,6 +27,7 @@ import org.eclipse.hawkbit.ddi.json.model.DdiDeployment;
 import org.eclipse.hawkbit.ddi.json.model.DdiDeployment.HandlingType;
 import org.eclipse.hawkbit.ddi.json.model.DdiDeploymentBase;
 import org.eclipse.hawkbit.ddi.json.model.DdiResult.FinalResult;
+import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRootControllerRestApi;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
@@ -39,8 +40,10 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetPollInfo;
 import org.eclipse.hawkbit.rest.util.RequestResponseContextHolder;
 import org.eclipse.hawkbit.rest.util.RestResourceConversionHelper;
 import org.eclipse.hawkbit.security.HawkbitSecurityProperties;
@@ -50,14 +53,14 @@ import org.hibernate.validator.constraints.NotEmpty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Scope;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * The {@link DdiRootController} of the hawkBit server DDI API that is queried
@@ -67,7 +70,6 @@ import org.springframework.web.context.WebApplicationContext;
  * Transactional (read-write) as all queries at least update the last poll time.
  */
 @RestController
-@Scope(value = WebApplicationContext.SCOPE_REQUEST)
 public class DdiRootController implements DdiRootControllerRestApi {
 
     private static final Logger LOG = LoggerFactory.getLogger(DdiRootController.class);
@@ -100,6 +102,9 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private EntityFactory entityFactory;
 
+    @Autowired
+    private DdiLongPollRegistry longPollRegistry;
+
     @Override
     public ResponseEntity<List<org.eclipse.hawkbit.ddi.json.model.DdiArtifact>> getSoftwareModulesArtifacts(
             @PathVariable("tenant") final String tenant, @PathVariable("controllerId") final String controllerId,
@@ -127,12 +132,59 @@ public class DdiRootController implements DdiRootControllerRestApi {
             @PathVariable("controllerId") final String controllerId) {
         LOG.debug("getControllerBase({})", controllerId);
 
-        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotexist(controllerId, IpUtil
+        final TargetPollInfo target = controllerManagement.findOrRegisterTargetPollInfo(controllerId, IpUtil
                 .getClientIpFromRequest(requestResponseContextHolder.getHttpServletRequest(), securityProperties));
-        return new ResponseEntity<>(
-                DataConversionHelper.fromTarget(target, controllerManagement.findOldestActiveActionByTarget(target),
-                        controllerManagement.getPollingTime(), tenantAware),
-                HttpStatus.OK);
+        final String pollingTime = controllerManagement.getPollingTime();
+        final String etag = DataConversionHelper.calculateControllerBaseEtag(target, pollingTime);
+
+        if (isNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return controllerBaseResponse(target, pollingTime, etag);
+    }
+
+    @Override
+    public DeferredResult<ResponseEntity<DdiControllerBase>> getControllerBaseLongPoll(
+            @PathVariable("tenant") final String tenant, @PathVariable("controllerId") final String controllerId,
+            @RequestParam(DdiRestConstants.LONG_POLL_WAIT) final long wait) {
+        LOG.debug("getControllerBaseLongPoll({}, {})", controllerId, wait);
+
+        final TargetPollInfo target = controllerManagement.findOrRegisterTargetPollInfo(controllerId, IpUtil
+                .getClientIpFromRequest(requestResponseContextHolder.getHttpServletRequest(), securityProperties));
+        final String pollingTime = controllerManagement.getPollingTime();
+        final String etag = DataConversionHelper.calculateControllerBaseEtag(target, pollingTime);
+        final ResponseEntity<DdiControllerBase> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag).build();
+
+        if (!isNotModified(etag) || wait <= 0 || !longPollRegistry.isEnabled()) {
+            final DeferredResult<ResponseEntity<DdiControllerBase>> result = new DeferredResult<>();
+            result.setResult(isNotModified(etag) ? notModified : controllerBaseResponse(target, pollingTime, etag));
+            return result;
+        }
+
+        return longPollRegistry.waitForChange(tenantAware.getCurrentTenant(), controllerId, target.getTargetId(),
+                wait, notModified, () -> {
+                    final TargetPollInfo current = controllerManagement.findTargetPollInfo(controllerId);
+                    if (current == null) {
+                        return null;
+                    }
+                    final String currentPollingTime = controllerManagement.getPollingTime();
+                    final String currentEtag = DataConversionHelper.calculateControllerBaseEtag(current,
+                            currentPollingTime);
+                    return etag.equals(currentEtag) ? null
+                            : controllerBaseResponse(current, currentPollingTime, currentEtag);
+                });
+    }
+
+    private boolean isNotModified(final String etag) {
+        final String ifNoneMatch = requestResponseContextHolder.getHttpServletRequest()
+                .getHeader(HttpHeaders.IF_NONE_MATCH);
+        return ifNoneMatch != null && RestResourceConversionHelper.matchesHttpHeader(ifNoneMatch, etag);
+    }
+
+    private ResponseEntity<DdiControllerBase> controllerBaseResponse(final TargetPollInfo target,
+            final String pollingTime, final String etag) {
+        return ResponseEntity.ok().eTag(etag).body(DataConversionHelper.fromTarget(target, pollingTime, tenantAware));
     }
 
     @Override
@@ -246,7 +298,9 @@ public class DdiRootController implements DdiRootControllerRestApi {
 
         if (!action.isCancelingOrCanceled()) {
 
-            final List<DdiChunk> chunks = DataConversionHelper.createChunks(target, action, artifactUrlHandler,
+            final DeploymentDescriptor descriptor = controllerManagement
+                    .findDeploymentDescriptor(action.getDistributionSet().getId());
+            final List<DdiChunk> chunks = DataConversionHelper.createChunks(target, descriptor, artifactUrlHandler,
                     systemManagement);
 
             final HandlingType handlingType = action.isForce() ? HandlingType.FORCED : HandlingType.ATTEMPT;
@@ -28,6 +28,9 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.eclipse.hawkbit.ddi.rest.resource.DdiArtifactDownloadTest.DownloadTestConfiguration;
@@ -48,6 +51,8 @@ import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MvcResult;
 
 import com.google.common.base.Charsets;
@@ -565,6 +570,58 @@ public class DdiArtifactDownloadTest extends AbstractRestIntegrationTestWithMong
                 .isEqualTo(new String(artifact.getMd5Hash() + "  file1.tar.bz2").getBytes(Charsets.US_ASCII));
     }
 
+    @Test
+    @WithUser(principal = "anonymous", authorities = "ROLE_CONTROLLER_ANONYMOUS", allSpPermissions = true)
+    @Description("Ensures that concurrent range downloads of different artifacts are written to their own response, "
+            + "i.e. that the singleton controllers resolve the request and response of the current thread.")
+    public void concurrentRangeDownloadsUseTheirOwnResponse() throws Exception {
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        final Long moduleId = ds.findFirstModuleByType(osType).getId();
+        final byte[][] randoms = { RandomUtils.nextBytes(5 * 1024), RandomUtils.nextBytes(7 * 1024) };
+        final Artifact[] artifacts = {
+                artifactManagement.createArtifact(new ByteArrayInputStream(randoms[0]), moduleId, "file1", false),
+                artifactManagement.createArtifact(new ByteArrayInputStream(randoms[1]), moduleId, "file2", false) };
+
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        final String tenant = tenantAware.getCurrentTenant();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> downloads = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                final Artifact artifact = artifacts[i % 2];
+                final byte[] random = randoms[i % 2];
+                final int start = i * 10;
+                downloads.add(executor.submit(() -> {
+                    SecurityContextHolder.setContext(securityContext);
+                    try {
+                        final MvcResult result = mvc
+                                .perform(get("/{tenant}/controller/artifacts/v1/filename/{filename}", tenant,
+                                        artifact.getFilename()).header("Range",
+                                                "bytes=" + start + "-" + (start + 99)))
+                                .andExpect(status().isPartialContent())
+                                .andExpect(header().string("ETag", artifact.getSha1Hash()))
+                                .andExpect(header().longValue("Content-Length", 100))
+                                .andExpect(header().string("Content-Range",
+                                        "bytes " + start + "-" + (start + 99) + "/" + random.length))
+                                .andExpect(header().string("Content-Disposition",
+                                        "attachment;filename=" + artifact.getFilename()))
+                                .andReturn();
+                        assertThat(result.getResponse().getContentAsByteArray())
+                                .isEqualTo(Arrays.copyOfRange(random, start, start + 100));
+                        return null;
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            for (final Future<?> download : downloads) {
+                download.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     public static class DownloadTestConfiguration {
 
         @Bean
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.rest.AbstractRestIntegrationTest;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.management.ThreadMXBean;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+/**
+ * Measures the throughput of the root poll resource through MockMvc and the
+ * bytes allocated per poll. The benchmark is not part of the default build,
+ * run it by {@code mvn test -Pbenchmark -pl hawkbit-ddi-resource} and compare
+ * the logged polls per second and bytes per poll of two revisions on the same
+ * machine.
+ *
+ * MockMvc handles the requests in the calling thread, so the allocations are
+ * taken from the allocation counter of that thread. Work which is handed over
+ * to other threads, e.g. asynchronous event listeners, is not included.
+ *
+ * The number of polls can be changed by the system properties
+ * {@code hawkbit.benchmark.warmupPolls} and {@code hawkbit.benchmark.polls}.
+ */
+@Features("Benchmarks - Direct Device Integration API")
+@Stories("Root Poll Resource")
+public class DdiRootControllerPollBenchmark extends AbstractRestIntegrationTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DdiRootControllerPollBenchmark.class);
+
+    private static final int TARGETS = 100;
+
+    private final int warmupPolls = Integer.getInteger("hawkbit.benchmark.warmupPolls", 2_000);
+
+    private final int polls = Integer.getInteger("hawkbit.benchmark.polls", 10_000);
+
+    @Test
+    @Description("Measures the polls per second of targets without and with an open action, i.e. of responses "
+            + "without links and with a deployment base link.")
+    public void pollThroughput() throws Exception {
+        final List<Target> targets = targetManagement.createTargets(testdataFactory.generateTargets(TARGETS, "poll"));
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        deploymentManagement.assignDistributionSet(ds, targets.subList(0, TARGETS / 2));
+
+        poll(warmupPolls);
+
+        final long allocatedBefore = allocatedBytes();
+        final long start = System.nanoTime();
+        poll(polls);
+        final long duration = System.nanoTime() - start;
+        final long allocated = allocatedBytes() - allocatedBefore;
+
+        final double pollsPerSecond = polls * (double) TimeUnit.SECONDS.toNanos(1) / duration;
+        LOG.info("{} polls of {} targets in {} ms: {} polls/s, {} bytes allocated per poll", polls, TARGETS,
+                TimeUnit.NANOSECONDS.toMillis(duration), String.format("%.1f", pollsPerSecond), allocated / polls);
+        assertThat(pollsPerSecond).isGreaterThan(0);
+        assertThat(allocated).isGreaterThan(0);
+    }
+
+    private static long allocatedBytes() {
+        return ((ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private void poll(final int count) throws Exception {
+        final String tenant = tenantAware.getCurrentTenant();
+        for (int i = 0; i < count; i++) {
+            mvc.perform(get("/{tenant}/controller/v1/{controllerId}", tenant, "poll" + i % TARGETS))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -15,21 +15,30 @@ import static org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpre
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.eclipse.hawkbit.ddi.json.model.DdiControllerBase;
+import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
 import org.eclipse.hawkbit.im.authentication.SpPermission;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetPollInfo;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
 import org.eclipse.hawkbit.repository.test.util.WithUser;
@@ -42,7 +51,13 @@ import org.eclipse.hawkbit.util.IpUtil;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
@@ -58,6 +73,9 @@ public class DdiRootControllerTest extends AbstractRestIntegrationTestWithMongoD
     @Autowired
     private HawkbitSecurityProperties securityProperties;
 
+    @Autowired
+    private DdiLongPollRegistry longPollRegistry;
+
     @Test
     @Description("Ensures that targets cannot be created e.g. in plug'n play scenarios when tenant does not exists but can be created if the tenant exists.")
     @WithUser(tenantId = "tenantDoesNotExists", allSpPermissions = true, authorities = { CONTROLLER_ROLE,
@@ -279,6 +297,137 @@ public class DdiRootControllerTest extends AbstractRestIntegrationTestWithMongoD
         securityProperties.getClients().setTrackRemoteIp(true);
     }
 
+    @Test
+    @Description("Ensures that a long polling request with a matching etag waits until a distribution set is assigned to the target and that it is answered immediately otherwise.")
+    public void rootRsLongPollWaitsForAssignment() throws Exception {
+        final String etag = mvc.perform(get("/{tenant}/controller/v1/4712", tenantAware.getCurrentTenant()))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader("ETag");
+
+        // no etag, no waiting
+        final MvcResult immediate = mvc
+                .perform(get("/{tenant}/controller/v1/4712", tenantAware.getCurrentTenant())
+                        .param(DdiRestConstants.LONG_POLL_WAIT, "30"))
+                .andExpect(request().asyncStarted()).andReturn();
+        mvc.perform(asyncDispatch(immediate)).andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+
+        final MvcResult waiting = mvc
+                .perform(get("/{tenant}/controller/v1/4712", tenantAware.getCurrentTenant())
+                        .param(DdiRestConstants.LONG_POLL_WAIT, "30").header("If-None-Match", etag))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        deploymentManagement.assignDistributionSet(ds.getId(), new String[] { "4712" });
+        final Action action = deploymentManagement
+                .findActiveActionsByTarget(targetManagement.findTargetByControllerID("4712")).get(0);
+
+        final String etagWithUpdate = mvc.perform(asyncDispatch(waiting)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.deploymentBase.href",
+                        startsWith("http://localhost/" + tenantAware.getCurrentTenant()
+                                + "/controller/v1/4712/deploymentBase/" + action.getId())))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etagWithUpdate).isNotEqualTo(etag);
+    }
+
+    @Test
+    @Description("Ensures that a long poll is answered if the target has been changed after the controller has read "
+            + "its state but before the poll was registered, i.e. the event of the change was missed.")
+    public void rootRsLongPollSeesAssignmentBeforeRegistration() throws Exception {
+        final String etag = mvc.perform(get("/{tenant}/controller/v1/4713", tenantAware.getCurrentTenant()))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+        final Target target = targetManagement.findTargetByControllerID("4713");
+
+        // the assignment is committed and its event is published while no
+        // poll is registered yet
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        deploymentManagement.assignDistributionSet(ds.getId(), new String[] { "4713" });
+
+        final DeferredResult<ResponseEntity<DdiControllerBase>> result = longPollRegistry.waitForChange(
+                tenantAware.getCurrentTenant(), "4713", target.getId(), 30,
+                ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build(), () -> {
+                    final TargetPollInfo current = controllerManagement.findTargetPollInfo("4713");
+                    final String currentEtag = DataConversionHelper.calculateControllerBaseEtag(current,
+                            controllerManagement.getPollingTime());
+                    return etag.equals(currentEtag) ? null : ResponseEntity.ok().eTag(currentEtag).build();
+                });
+
+        for (int i = 0; i < 100 && !result.hasResult(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(result.hasResult()).isTrue();
+        @SuppressWarnings("unchecked")
+        final ResponseEntity<DdiControllerBase> response = (ResponseEntity<DdiControllerBase>) result.getResult();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    @Description("Ensures that concurrent polls and long polls of different targets are answered with the state "
+            + "and etag of their own target, i.e. that the singleton controller resolves the current request.")
+    public void concurrentPollsAreAnsweredForTheirOwnTarget() throws Exception {
+        final int targets = 8;
+        final String[] etags = new String[targets];
+        final Long[] actionIds = new Long[targets];
+        for (int i = 0; i < targets; i++) {
+            final String controllerId = "poll-" + i;
+            mvc.perform(get("/{tenant}/controller/v1/{controllerId}", tenantAware.getCurrentTenant(), controllerId))
+                    .andExpect(status().isOk());
+            final DistributionSet ds = testdataFactory.createDistributionSet(controllerId);
+            deploymentManagement.assignDistributionSet(ds.getId(), new String[] { controllerId });
+            actionIds[i] = deploymentManagement
+                    .findActiveActionsByTarget(targetManagement.findTargetByControllerID(controllerId)).get(0)
+                    .getId();
+            etags[i] = mvc
+                    .perform(get("/{tenant}/controller/v1/{controllerId}", tenantAware.getCurrentTenant(),
+                            controllerId))
+                    .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+        }
+
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        final String tenant = tenantAware.getCurrentTenant();
+        final ExecutorService executor = Executors.newFixedThreadPool(targets);
+        try {
+            final List<Future<?>> polls = new ArrayList<>();
+            for (int i = 0; i < targets; i++) {
+                final String controllerId = "poll-" + i;
+                final String etag = etags[i];
+                final Long actionId = actionIds[i];
+                // every thread polls its own target only, as the polls
+                // update the target
+                polls.add(executor.submit(() -> {
+                    SecurityContextHolder.setContext(securityContext);
+                    try {
+                        for (int poll = 0; poll < 5; poll++) {
+                            mvc.perform(get("/{tenant}/controller/v1/{controllerId}", tenant, controllerId)
+                                    .header("If-None-Match", etag)).andExpect(status().isNotModified())
+                                    .andExpect(header().string("ETag", etag));
+
+                            final MvcResult longPoll = mvc
+                                    .perform(get("/{tenant}/controller/v1/{controllerId}", tenant, controllerId)
+                                            .param(DdiRestConstants.LONG_POLL_WAIT, "30"))
+                                    .andExpect(request().asyncStarted()).andReturn();
+                            mvc.perform(asyncDispatch(longPoll)).andExpect(status().isOk())
+                                    .andExpect(header().string("ETag", etag))
+                                    .andExpect(jsonPath("$._links.deploymentBase.href", startsWith("http://localhost/"
+                                            + tenant + "/controller/v1/" + controllerId + "/deploymentBase/"
+                                            + actionId)));
+                        }
+                        return null;
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            for (final Future<?> poll : polls) {
+                poll.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     @Description("Controller trys to finish an update process after it has been finished by an error action status.")
     public void tryToFinishAnUpdateProcessAfterItHasBeenFinished() throws Exception {
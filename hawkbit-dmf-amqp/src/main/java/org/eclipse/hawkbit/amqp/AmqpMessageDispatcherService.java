@@ -9,9 +9,10 @@
 package org.eclipse.hawkbit.amqp;
 
 import java.net.URI;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.api.ApiType;
@@ -25,13 +26,20 @@ import org.eclipse.hawkbit.dmf.json.model.Artifact;
 import org.eclipse.hawkbit.dmf.json.model.ArtifactHash;
 import org.eclipse.hawkbit.dmf.json.model.DownloadAndUpdateRequest;
 import org.eclipse.hawkbit.dmf.json.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor.ArtifactDescriptor;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor.ModuleDescriptor;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -49,11 +57,16 @@ import org.springframework.context.event.EventListener;
  */
 public class AmqpMessageDispatcherService extends BaseAmqpService {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AmqpMessageDispatcherService.class);
+
+    private static final int TARGET_BATCH_SIZE = 500;
+
     private final ArtifactUrlHandler artifactUrlHandler;
     private final AmqpSenderService amqpSenderService;
     private final SystemSecurityContext systemSecurityContext;
     private final SystemManagement systemManagement;
     private final TargetManagement targetManagement;
+    private final ControllerManagement controllerManagement;
     private final ServiceMatcher serviceMatcher;
 
     /**
@@ -71,6 +84,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
      *            the systemManagement
      * @param targetManagement
      *            to access target information
+     * @param controllerManagement
+     *            to access the deployment descriptors
      * @param serviceMatcher
      *            to check in cluster case if the message is from the same
      *            cluster node
@@ -78,40 +93,71 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     public AmqpMessageDispatcherService(final RabbitTemplate rabbitTemplate, final AmqpSenderService amqpSenderService,
             final ArtifactUrlHandler artifactUrlHandler, final SystemSecurityContext systemSecurityContext,
             final SystemManagement systemManagement, final TargetManagement targetManagement,
-            final ServiceMatcher serviceMatcher) {
+            final ControllerManagement controllerManagement, final ServiceMatcher serviceMatcher) {
         super(rabbitTemplate);
         this.artifactUrlHandler = artifactUrlHandler;
         this.amqpSenderService = amqpSenderService;
         this.systemSecurityContext = systemSecurityContext;
         this.systemManagement = systemManagement;
         this.targetManagement = targetManagement;
+        this.controllerManagement = controllerManagement;
         this.serviceMatcher = serviceMatcher;
     }
 
     /**
      * Method to send a message to a RabbitMQ Exchange after the Distribution
-     * set has been assign to a Target.
+     * set has been assign to Targets. The targets are loaded in batches and the
+     * tenant metadata is resolved once per event.
      *
      * @param assignedEvent
      *            the object to be send.
      */
     @EventListener(classes = TargetAssignDistributionSetEvent.class)
     public void targetAssignDistributionSet(final TargetAssignDistributionSetEvent assignedEvent) {
-        if (isFromSelf(assignedEvent)) {
+        if (isFromSelf(assignedEvent) || assignedEvent.getActions().isEmpty()) {
+            return;
+        }
+
+        final Map<String, Long> actions = assignedEvent.getActions();
+        final TenantMetaData tenantMetaData = systemManagement.getCachedTenantMetadata();
+        final DeploymentDescriptor descriptor = findDeploymentDescriptor(assignedEvent.getDistributionSetId());
+        if (descriptor == null) {
+            LOG.warn("Distribution set {} of the assignment to {} targets does not exist anymore, no messages sent",
+                    assignedEvent.getDistributionSetId(), actions.size());
             return;
         }
+        final List<String> controllerIds = new ArrayList<>(actions.keySet());
 
-        sendUpdateMessageToTarget(assignedEvent.getTenant(),
-                targetManagement.findTargetByControllerID(assignedEvent.getControllerId()), assignedEvent.getActionId(),
-                assignedEvent.getModules());
+        for (int i = 0; i < controllerIds.size(); i += TARGET_BATCH_SIZE) {
+            targetManagement
+                    .findTargetByControllerID(
+                            controllerIds.subList(i, Math.min(i + TARGET_BATCH_SIZE, controllerIds.size())))
+                    .forEach(target -> sendUpdateMessageToTarget(assignedEvent.getTenant(), tenantMetaData, target,
+                            actions.get(target.getControllerId()), descriptor));
+        }
     }
 
     void sendUpdateMessageToTarget(final String tenant, final Target target, final Long actionId,
-            final Collection<org.eclipse.hawkbit.repository.model.SoftwareModule> modules) {
+            final Long distributionSetId) {
         if (target == null) {
             return;
         }
+        final DeploymentDescriptor descriptor = findDeploymentDescriptor(distributionSetId);
+        if (descriptor == null) {
+            LOG.warn("Distribution set {} of action {} does not exist anymore, no update message sent to {}",
+                    distributionSetId, actionId, target.getControllerId());
+            return;
+        }
+        sendUpdateMessageToTarget(tenant, systemManagement.getCachedTenantMetadata(), target, actionId, descriptor);
+    }
+
+    private DeploymentDescriptor findDeploymentDescriptor(final Long distributionSetId) {
+        return systemSecurityContext
+                .runAsSystem(() -> controllerManagement.findDeploymentDescriptor(distributionSetId));
+    }
 
+    private void sendUpdateMessageToTarget(final String tenant, final TenantMetaData tenantMetaData,
+            final Target target, final Long actionId, final DeploymentDescriptor descriptor) {
         final URI targetAdress = target.getTargetInfo().getAddress();
         if (!IpUtil.isAmqpUri(targetAdress)) {
             return;
@@ -123,9 +169,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         final String targetSecurityToken = systemSecurityContext.runAsSystem(target::getSecurityToken);
         downloadAndUpdateRequest.setTargetSecurityToken(targetSecurityToken);
 
-        for (final org.eclipse.hawkbit.repository.model.SoftwareModule softwareModule : modules) {
-            final SoftwareModule amqpSoftwareModule = convertToAmqpSoftwareModule(target, softwareModule);
-            downloadAndUpdateRequest.addSoftwareModule(amqpSoftwareModule);
+        for (final ModuleDescriptor module : descriptor.getModules()) {
+            downloadAndUpdateRequest.addSoftwareModule(convertToAmqpSoftwareModule(tenantMetaData, target, module));
         }
 
         final Message message = getMessageConverter().toMessage(downloadAndUpdateRequest,
@@ -146,8 +191,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             return;
         }
 
-        sendCancelMessageToTarget(cancelEvent.getTenant(), cancelEvent.getEntity().getControllerId(),
-                cancelEvent.getActionId(), cancelEvent.getEntity().getTargetInfo().getAddress());
+        sendCancelMessageToTarget(cancelEvent.getTenant(), cancelEvent.getControllerId(), cancelEvent.getActionId(),
+                cancelEvent.getAddress() != null ? URI.create(cancelEvent.getAddress()) : null);
     }
 
     private boolean isFromSelf(final RemoteApplicationEvent event) {
@@ -180,37 +225,38 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return messageProperties;
     }
 
-    private SoftwareModule convertToAmqpSoftwareModule(final Target target,
-            final org.eclipse.hawkbit.repository.model.SoftwareModule softwareModule) {
+    private SoftwareModule convertToAmqpSoftwareModule(final TenantMetaData tenantMetaData, final Target target,
+            final ModuleDescriptor module) {
         final SoftwareModule amqpSoftwareModule = new SoftwareModule();
-        amqpSoftwareModule.setModuleId(softwareModule.getId());
-        amqpSoftwareModule.setModuleType(softwareModule.getType().getKey());
-        amqpSoftwareModule.setModuleVersion(softwareModule.getVersion());
+        amqpSoftwareModule.setModuleId(module.getId());
+        amqpSoftwareModule.setModuleType(module.getTypeKey());
+        amqpSoftwareModule.setModuleVersion(module.getVersion());
 
-        final List<Artifact> artifacts = convertArtifacts(target, softwareModule.getArtifacts());
+        final List<Artifact> artifacts = convertArtifacts(tenantMetaData, target, module);
         amqpSoftwareModule.setArtifacts(artifacts);
         return amqpSoftwareModule;
     }
 
-    private List<Artifact> convertArtifacts(final Target target,
-            final List<org.eclipse.hawkbit.repository.model.Artifact> localArtifacts) {
-        if (localArtifacts.isEmpty()) {
+    private List<Artifact> convertArtifacts(final TenantMetaData tenantMetaData, final Target target,
+            final ModuleDescriptor module) {
+        if (module.getArtifacts().isEmpty()) {
             return Collections.emptyList();
         }
 
-        return localArtifacts.stream().map(localArtifact -> convertArtifact(target, localArtifact))
+        return module.getArtifacts().stream()
+                .map(localArtifact -> convertArtifact(tenantMetaData, target, module.getId(), localArtifact))
                 .collect(Collectors.toList());
     }
 
-    private Artifact convertArtifact(final Target target,
-            final org.eclipse.hawkbit.repository.model.Artifact localArtifact) {
+    private Artifact convertArtifact(final TenantMetaData tenantMetaData, final Target target, final Long moduleId,
+            final ArtifactDescriptor localArtifact) {
         final Artifact artifact = new Artifact();
 
         artifact.setUrls(artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
-                        new SoftwareData(localArtifact.getSoftwareModule().getId(), localArtifact.getFilename(),
-                                localArtifact.getId(), localArtifact.getSha1Hash())),
+                .getUrls(new URLPlaceholder(tenantMetaData.getTenant(), tenantMetaData.getId(),
+                        target.getControllerId(), target.getId(),
+                        new SoftwareData(moduleId, localArtifact.getFilename(), localArtifact.getId(),
+                                localArtifact.getSha1Hash())),
                         ApiType.DMF)
                 .stream().collect(Collectors.toMap(e -> e.getProtocol(), e -> e.getRef())));
 
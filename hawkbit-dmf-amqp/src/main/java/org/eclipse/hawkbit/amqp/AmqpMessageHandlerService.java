@@ -195,7 +195,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         }
 
         amqpMessageDispatcherService.sendUpdateMessageToTarget(action.getTenant(), action.getTarget(), action.getId(),
-                action.getDistributionSet().getModules());
+                action.getDistributionSet().getId());
     }
 
     /**
@@ -36,7 +36,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaArtifact;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModule;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModuleType;
 import org.eclipse.hawkbit.repository.model.Artifact;
-import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetCredentials;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
 import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
@@ -106,9 +106,6 @@ public class AmqpControllerAuthenticationTest {
     @Mock
     private ControllerManagement controllerManagementMock;
 
-    @Mock
-    private Target targteMock;
-
     private static final TenantConfigurationValue<Boolean> CONFIG_VALUE_FALSE = TenantConfigurationValue
             .<Boolean> builder().value(Boolean.FALSE).build();
 
@@ -136,11 +133,9 @@ public class AmqpControllerAuthenticationTest {
                 .thenReturn(CONFIG_VALUE_FALSE);
 
         final ControllerManagement controllerManagement = mock(ControllerManagement.class);
-        when(controllerManagement.findByControllerId(anyString())).thenReturn(targteMock);
-        when(controllerManagement.findByTargetId(any(Long.class))).thenReturn(targteMock);
-
-        when(targteMock.getSecurityToken()).thenReturn(CONTROLLER_ID);
-        when(targteMock.getControllerId()).thenReturn(CONTROLLER_ID);
+        final TargetCredentials credentials = new TargetCredentials(TARGET_ID, CONTROLLER_ID, CONTROLLER_ID);
+        when(controllerManagement.findCredentialsByControllerId(anyString())).thenReturn(credentials);
+        when(controllerManagement.findCredentialsByTargetId(any(Long.class))).thenReturn(credentials);
 
         final SecurityContextTenantAware tenantAware = new SecurityContextTenantAware();
         final SystemSecurityContext systemSecurityContext = new SystemSecurityContext(tenantAware);
@@ -15,10 +15,13 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -111,10 +114,11 @@ public class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
         when(tenantMetaData.getId()).thenReturn(TENANT_ID);
         when(tenantMetaData.getTenant()).thenReturn(TENANT);
 
-        when(systemManagement.getTenantMetadata()).thenReturn(tenantMetaData);
+        when(systemManagement.getCachedTenantMetadata()).thenReturn(tenantMetaData);
 
         amqpMessageDispatcherService = new AmqpMessageDispatcherService(rabbitTemplate, senderService,
-                artifactUrlHandlerMock, systemSecurityContext, systemManagement, targetManagement, serviceMatcher);
+                artifactUrlHandlerMock, systemSecurityContext, systemManagement, targetManagement, controllerManagement,
+                serviceMatcher);
 
     }
 
@@ -135,9 +139,23 @@ public class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
                 downloadAndUpdateRequest.getSoftwareModules().isEmpty());
     }
 
+    @Test
+    @Description("Verfies that no download and install event is sent if the distribution set does not exist anymore")
+    public void testSendNoDownloadRequestForMissingDistributionSet() {
+        final Action action = createAction(testdataFactory.createDistributionSet(UUID.randomUUID().toString()));
+        final DistributionSet missing = Mockito.mock(DistributionSet.class);
+        when(missing.getId()).thenReturn(Long.MAX_VALUE);
+        when(missing.getTenant()).thenReturn(action.getTenant());
+
+        amqpMessageDispatcherService.targetAssignDistributionSet(new TargetAssignDistributionSetEvent(missing,
+                Collections.singletonList(action), serviceMatcher.getServiceId()));
+
+        verify(senderService, never()).sendMessage(any(Message.class), any(URI.class));
+    }
+
     private Message getCaptureAdressEvent(final TargetAssignDistributionSetEvent targetAssignDistributionSetEvent) {
         final Target target = targetManagement
-                .findTargetByControllerID(targetAssignDistributionSetEvent.getControllerId());
+                .findTargetByControllerID(targetAssignDistributionSetEvent.getActions().keySet().iterator().next());
         final Message sendMessage = createArgumentCapture(target.getTargetInfo().getAddress());
         return sendMessage;
     }
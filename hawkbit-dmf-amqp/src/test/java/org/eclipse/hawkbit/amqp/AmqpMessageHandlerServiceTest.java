@@ -21,7 +21,6 @@ import java.lang.reflect.Field;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
-import java.util.Collection;
 import java.util.Optional;
 
 import org.eclipse.hawkbit.api.HostnameResolver;
@@ -381,7 +380,7 @@ public class AmqpMessageHandlerServiceTest {
         final ArgumentCaptor<Long> actionIdCaptor = ArgumentCaptor.forClass(Long.class);
 
         verify(amqpMessageDispatcherServiceMock, times(1)).sendUpdateMessageToTarget(tenantCaptor.capture(),
-                targetCaptor.capture(), actionIdCaptor.capture(), Matchers.any(Collection.class));
+                targetCaptor.capture(), actionIdCaptor.capture(), Matchers.eq(1L));
         final String tenant = tenantCaptor.getValue();
         final String controllerId = targetCaptor.getValue().getControllerId();
         final Long actionId = actionIdCaptor.getValue();
@@ -16,6 +16,7 @@ import javax.validation.constraints.NotNull;
 import org.springframework.hateoas.ResourceSupport;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -36,8 +37,10 @@ public class PagedList<T> extends ResourceSupport {
 
     @JsonProperty
     private final List<T> content;
+    @JsonProperty("total")
+    private final Long total;
     @JsonProperty
-    private final long total;
+    private final String next;
     private final int size;
 
     /**
@@ -51,10 +54,31 @@ public class PagedList<T> extends ResourceSupport {
      * @throws NullPointerException
      *             in case {@code content} is {@code null}.
      */
+    public PagedList(@NotNull final List<T> content, final long total) {
+        this(content, Long.valueOf(total), null);
+    }
+
+    /**
+     * creates a new paged list of a keyset paged request with the given
+     * {@code content}, {@code total} and {@code next} cursor.
+     *
+     * @param content
+     *            the actual content of the list
+     * @param total
+     *            the total amount of elements or <code>null</code> if they
+     *            have not been counted
+     * @param next
+     *            the cursor of the next page or <code>null</code> if this is
+     *            the last page
+     * @throws NullPointerException
+     *             in case {@code content} is {@code null}.
+     */
     @JsonCreator
-    public PagedList(@JsonProperty("content") @NotNull final List<T> content, @JsonProperty("total") final long total) {
+    public PagedList(@JsonProperty("content") @NotNull final List<T> content, @JsonProperty("total") final Long total,
+            @JsonProperty("next") final String next) {
         this.size = content.size();
         this.total = total;
+        this.next = next;
         this.content = content;
     }
 
@@ -66,10 +90,31 @@ public class PagedList<T> extends ResourceSupport {
     }
 
     /**
-     * @return the total amount of elements
+     * @return the total amount of elements or <code>-1</code> if they have not
+     *         been counted
+     * @see #isTotalCounted()
      */
+    @JsonIgnore
     public long getTotal() {
-        return total;
+        return total != null ? total : -1;
+    }
+
+    /**
+     * @return <code>true</code> if the total amount of elements has been
+     *         counted, <code>false</code> if the total has been omitted by a
+     *         keyset paged request
+     */
+    @JsonIgnore
+    public boolean isTotalCounted() {
+        return total != null;
+    }
+
+    /**
+     * @return the cursor of the next page of a keyset paged request or
+     *         <code>null</code> if there is no next page
+     */
+    public String getNext() {
+        return next;
     }
 
     public List<T> getContent() {
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2011-2015 Bosch Software Innovations GmbH, Germany. All rights reserved.
+ */
+package org.eclipse.hawkbit.mgmt.json.model.target;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Result of one batch of a bulk target import.
+ *
+ */
+public class MgmtTargetImportBatch {
+
+    @JsonProperty
+    private int batch;
+
+    @JsonProperty
+    private int created;
+
+    @JsonProperty
+    private List<MgmtTargetImportRejection> rejected = new ArrayList<>();
+
+    /**
+     * @return the sequence number of the batch, starting with 1
+     */
+    public int getBatch() {
+        return batch;
+    }
+
+    /**
+     * @param batch
+     *            the batch to set
+     */
+    public void setBatch(final int batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * @return the number of created targets
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    /**
+     * @param created
+     *            the created to set
+     */
+    public void setCreated(final int created) {
+        this.created = created;
+    }
+
+    /**
+     * @return the targets of the batch that have not been created
+     */
+    public List<MgmtTargetImportRejection> getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @param rejected
+     *            the rejected to set
+     */
+    public void setRejected(final List<MgmtTargetImportRejection> rejected) {
+        this.rejected = rejected;
+    }
+}
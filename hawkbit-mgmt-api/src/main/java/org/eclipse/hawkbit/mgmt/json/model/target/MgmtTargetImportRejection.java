@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2011-2015 Bosch Software Innovations GmbH, Germany. All rights reserved.
+ */
+package org.eclipse.hawkbit.mgmt.json.model.target;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A target of a bulk import that has not been created.
+ *
+ */
+@JsonInclude(Include.NON_NULL)
+public class MgmtTargetImportRejection {
+
+    @JsonProperty
+    private Long line;
+
+    @JsonProperty
+    private String controllerId;
+
+    @JsonProperty
+    private String reason;
+
+    /**
+     * @return the line of the import, only set if the line could not be
+     *         read
+     */
+    public Long getLine() {
+        return line;
+    }
+
+    /**
+     * @param line
+     *            the line to set
+     */
+    public void setLine(final Long line) {
+        this.line = line;
+    }
+
+    /**
+     * @return the controllerId
+     */
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    /**
+     * @param controllerId
+     *            the controllerId to set
+     */
+    public void setControllerId(final String controllerId) {
+        this.controllerId = controllerId;
+    }
+
+    /**
+     * @return the reason
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * @param reason
+     *            the reason to set
+     */
+    public void setReason(final String reason) {
+        this.reason = reason;
+    }
+}
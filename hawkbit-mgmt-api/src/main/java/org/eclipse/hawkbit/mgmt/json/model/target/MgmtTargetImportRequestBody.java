@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2011-2015 Bosch Software Innovations GmbH, Germany. All rights reserved.
+ */
+package org.eclipse.hawkbit.mgmt.json.model.target;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Request body of a target within a bulk import, i.e. one line of the
+ * imported newline delimited JSON.
+ *
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MgmtTargetImportRequestBody extends MgmtTargetRequestBody {
+
+    @JsonProperty
+    private Map<String, String> attributes = new HashMap<>();
+
+    /**
+     * @return the controller attributes of the target
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @param attributes
+     *            the controller attributes to set
+     */
+    public void setAttributes(final Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+}
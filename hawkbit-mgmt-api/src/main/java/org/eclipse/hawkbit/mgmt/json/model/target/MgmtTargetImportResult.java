@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2011-2015 Bosch Software Innovations GmbH, Germany. All rights reserved.
+ */
+package org.eclipse.hawkbit.mgmt.json.model.target;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Result of a bulk target import with the results of the single batches.
+ *
+ */
+public class MgmtTargetImportResult {
+
+    @JsonProperty
+    private long created;
+
+    @JsonProperty
+    private long rejected;
+
+    @JsonProperty
+    private List<MgmtTargetImportBatch> batches = new ArrayList<>();
+
+    @JsonProperty
+    private List<MgmtTargetImportRejection> invalidLines = new ArrayList<>();
+
+    /**
+     * @return the total number of created targets
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * @param created
+     *            the created to set
+     */
+    public void setCreated(final long created) {
+        this.created = created;
+    }
+
+    /**
+     * @return the total number of rejected targets and invalid lines
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @param rejected
+     *            the rejected to set
+     */
+    public void setRejected(final long rejected) {
+        this.rejected = rejected;
+    }
+
+    /**
+     * @return the results of the batches
+     */
+    public List<MgmtTargetImportBatch> getBatches() {
+        return batches;
+    }
+
+    /**
+     * @param batches
+     *            the batches to set
+     */
+    public void setBatches(final List<MgmtTargetImportBatch> batches) {
+        this.batches = batches;
+    }
+
+    /**
+     * @return the lines of the import that could not be read
+     */
+    public List<MgmtTargetImportRejection> getInvalidLines() {
+        return invalidLines;
+    }
+
+    /**
+     * @param invalidLines
+     *            the invalidLines to set
+     */
+    public void setInvalidLines(final List<MgmtTargetImportRejection> invalidLines) {
+        this.invalidLines = invalidLines;
+    }
+}
@@ -137,6 +137,24 @@ public final class MgmtRestConstants {
      */
     public static final String REQUEST_PARAMETER_PAGING_OFFSET = "offset";
 
+    /**
+     * Paging http parameter for the cursor of a keyset paged request, i.e.
+     * the {@code next} cursor of the previous page or empty for the first
+     * page. The offset is ignored if a cursor is given.
+     */
+    public static final String REQUEST_PARAMETER_PAGING_CURSOR = "cursor";
+
+    /**
+     * Paging http parameter to skip the count of the total elements of a
+     * keyset paged request.
+     */
+    public static final String REQUEST_PARAMETER_PAGING_COUNT = "count";
+
+    /**
+     * The default of {@link #REQUEST_PARAMETER_PAGING_COUNT}.
+     */
+    public static final String REQUEST_PARAMETER_PAGING_DEFAULT_COUNT = "true";
+
     /**
      * The request parameter for sorting. The value of the sort parameter must
      * be in the following pattern. Example:
@@ -192,6 +210,21 @@ public final class MgmtRestConstants {
 
     public static final String DISTRIBUTIONSETTYPE_V1_MANDATORY_MODULE_TYPES = "mandatorymoduletypes";
 
+    /**
+     * The target URL mapping for the bulk import.
+     */
+    public static final String TARGET_V1_IMPORT = "import";
+
+    /**
+     * Media type of newline delimited JSON, i.e. one JSON object per line.
+     */
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
+    /**
+     * Media type of comma separated values.
+     */
+    public static final String MEDIA_TYPE_CSV = "text/csv";
+
     // constant class, private constructor.
     private MgmtRestConstants() {
 
@@ -8,6 +8,8 @@
  */
 package org.eclipse.hawkbit.mgmt.rest.api;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.eclipse.hawkbit.mgmt.json.model.PagedList;
@@ -17,10 +19,13 @@ import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSet;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtDistributionSetAssigment;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTarget;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetAttributes;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportResult;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetRequestBody;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -58,6 +63,13 @@ public interface MgmtTargetRestApi {
      * @param rsqlParam
      *            the search parameter in the request URL, syntax
      *            {@code q=name==abc}
+     * @param cursorParam
+     *            the cursor of a keyset paged request, i.e. the {@code next}
+     *            cursor of the previous page or empty for the first page. The
+     *            offset is ignored if present.
+     * @param countParam
+     *            <code>false</code> to skip the count of the total elements
+     *            of a keyset paged request
      * @return a list of all targets for a defined or default page request with
      *         status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -68,7 +80,9 @@ public interface MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam);
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_COUNT) final Boolean countParam);
 
     /**
      * Handles the POST request of creating new targets. The request body must
@@ -85,6 +99,31 @@ public interface MgmtTargetRestApi {
             MediaType.APPLICATION_JSON_VALUE }, produces = { "application/hal+json", MediaType.APPLICATION_JSON_VALUE })
     ResponseEntity<List<MgmtTarget>> createTargets(final List<MgmtTargetRequestBody> targets);
 
+    /**
+     * Handles the POST request of importing a large number of targets. The
+     * request body is read as a stream, either as newline delimited JSON with
+     * one target per line or as CSV with the columns
+     * {@code controllerId,name,description,address,securityToken}. The targets
+     * are created in batches, targets that are invalid or already exist are
+     * rejected without failing the import.
+     *
+     * @param contentType
+     *            of the request body
+     * @param targets
+     *            the request body with the targets to be imported
+     * @return the result of the import with the created and rejected targets
+     *         per batch with status OK. In any failure the
+     *         JsonResponseExceptionHandler is handling the response.
+     * @throws IOException
+     *             if the request body cannot be read
+     */
+    @RequestMapping(method = RequestMethod.POST, value = "/" + MgmtRestConstants.TARGET_V1_IMPORT, consumes = {
+            MgmtRestConstants.MEDIA_TYPE_NDJSON, MgmtRestConstants.MEDIA_TYPE_CSV }, produces = {
+                    "application/hal+json", MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<MgmtTargetImportResult> importTargets(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType, final InputStream targets)
+            throws IOException;
+
     /**
      * Handles the PUT request of updating a target. The ID is within the URL
      * path of the request. A given ID in the request body is ignored. It's not
@@ -146,6 +185,13 @@ public interface MgmtTargetRestApi {
      * @param rsqlParam
      *            the search parameter in the request URL, syntax
      *            {@code q=status==pending}
+     * @param cursorParam
+     *            the cursor of a keyset paged request, i.e. the {@code next}
+     *            cursor of the previous page or empty for the first page. The
+     *            offset is ignored if present.
+     * @param countParam
+     *            <code>false</code> to skip the count of the total elements
+     *            of a keyset paged request
      * @return a list of all Actions for a defined or default page request with
      *         status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -156,7 +202,9 @@ public interface MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam);
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_COUNT) final Boolean countParam);
 
     /**
      * Handles the GET request of retrieving a specific Actions of a specific
@@ -48,6 +48,7 @@ public class PagedListTest {
     private void assertListSize(final long knownTotal, final List<String> knownContentList) {
         final PagedList<String> pagedList = new PagedList<>(knownContentList, knownTotal);
         assertThat(pagedList.getTotal()).as("total size is wrong").isEqualTo(knownTotal);
+        assertThat(pagedList.isTotalCounted()).as("total is not counted").isTrue();
         assertThat(pagedList.getSize()).as("list size is wrong").isEqualTo(knownContentList.size());
     }
 
@@ -62,4 +63,16 @@ public class PagedListTest {
         assertListSize(knownTotal, knownContentList);
 
     }
+
+    @Test
+    @Description("Create list of a keyset paged request without total and verify that it is marked as not counted.")
+    public void createListWithoutTotal() {
+        final List<String> knownContentList = new ArrayList<>();
+        knownContentList.add("content1");
+
+        final PagedList<String> pagedList = new PagedList<>(knownContentList, null, "next");
+        assertThat(pagedList.isTotalCounted()).as("total is counted").isFalse();
+        assertThat(pagedList.getTotal()).as("total of not counted list").isEqualTo(-1L);
+        assertThat(pagedList.getNext()).as("next cursor is wrong").isEqualTo("next");
+    }
 }
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportRejection;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportRequestBody;
+import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.exception.InvalidTargetAddressException;
+import org.eclipse.hawkbit.repository.model.Target;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Reads the targets of a bulk import line by line, either as newline
+ * delimited JSON or as CSV with the columns
+ * {@code controllerId,name,description,address,securityToken}. A CSV header
+ * line is skipped. Lines that cannot be read are collected as rejections with
+ * their line number and skipped.
+ */
+class MgmtTargetImportReader implements Iterator<Target> {
+
+    /**
+     * Maximum number of invalid lines that are reported with their reason.
+     */
+    private static final int MAX_REPORTED_INVALID_LINES = 1000;
+
+    private static final ObjectReader JSON_READER = new ObjectMapper().readerFor(MgmtTargetImportRequestBody.class);
+
+    private static final String CSV_HEADER_START = "controllerId";
+
+    private final BufferedReader reader;
+
+    private final EntityFactory entityFactory;
+
+    private final boolean csv;
+
+    private final List<MgmtTargetImportRejection> invalidLines = new ArrayList<>();
+
+    private long invalidLineCount;
+
+    private long lineNumber;
+
+    private Target next;
+
+    MgmtTargetImportReader(final BufferedReader reader, final EntityFactory entityFactory, final boolean csv) {
+        this.reader = reader;
+        this.entityFactory = entityFactory;
+        this.csv = csv;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            final String line = readLine();
+            if (line == null) {
+                return false;
+            }
+            lineNumber++;
+            if (line.trim().isEmpty() || (csv && lineNumber == 1 && line.startsWith(CSV_HEADER_START))) {
+                continue;
+            }
+            next = parseLine(line);
+        }
+        return true;
+    }
+
+    @Override
+    public Target next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Target target = next;
+        next = null;
+        return target;
+    }
+
+    List<MgmtTargetImportRejection> getInvalidLines() {
+        return invalidLines;
+    }
+
+    long getInvalidLineCount() {
+        return invalidLineCount;
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Target parseLine(final String line) {
+        final MgmtTargetImportRequestBody body;
+        try {
+            body = csv ? fromCsv(line) : JSON_READER.readValue(line);
+        } catch (final IOException e) {
+            reject("invalid format: " + e.getMessage());
+            return null;
+        }
+
+        if (body.getControllerId() == null || body.getControllerId().trim().isEmpty()) {
+            reject("controller ID is missing");
+            return null;
+        }
+
+        try {
+            final Target target = MgmtTargetMapper.fromRequest(entityFactory, body);
+            if (body.getAttributes() != null) {
+                target.getTargetInfo().getControllerAttributes().putAll(body.getAttributes());
+            }
+            return target;
+        } catch (final InvalidTargetAddressException e) {
+            reject(e.getMessage());
+            return null;
+        }
+    }
+
+    private void reject(final String reason) {
+        invalidLineCount++;
+        if (invalidLines.size() < MAX_REPORTED_INVALID_LINES) {
+            final MgmtTargetImportRejection rejection = new MgmtTargetImportRejection();
+            rejection.setLine(lineNumber);
+            rejection.setReason(reason);
+            invalidLines.add(rejection);
+        }
+    }
+
+    private static MgmtTargetImportRequestBody fromCsv(final String line) throws IOException {
+        final List<String> values = splitCsv(line);
+        final MgmtTargetImportRequestBody body = new MgmtTargetImportRequestBody();
+        body.setControllerId(valueAt(values, 0));
+        body.setName(valueAt(values, 1));
+        body.setDescription(valueAt(values, 2));
+        body.setAddress(valueAt(values, 3));
+        body.setSecurityToken(valueAt(values, 4));
+        return body;
+    }
+
+    private static String valueAt(final List<String> values, final int index) {
+        if (index >= values.size()) {
+            return null;
+        }
+        final String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits a CSV line by comma, values might be enclosed in double quotes
+     * with escaped quotes ({@code ""}) inside.
+     */
+    private static List<String> splitCsv(final String line) throws IOException {
+        final List<String> values = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IOException("unterminated quote");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -23,6 +23,8 @@ import org.eclipse.hawkbit.mgmt.json.model.MgmtPollStatus;
 import org.eclipse.hawkbit.mgmt.json.model.action.MgmtAction;
 import org.eclipse.hawkbit.mgmt.json.model.action.MgmtActionStatus;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTarget;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportBatch;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportRejection;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetRequestBody;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetRestApi;
@@ -32,6 +34,7 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.PollStatus;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetImportResult;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.rest.data.SortDirection;
 import org.eclipse.hawkbit.util.IpUtil;
@@ -62,7 +65,7 @@ public final class MgmtTargetMapper {
                 .withRel(MgmtRestConstants.TARGET_V1_ATTRIBUTES));
         response.add(linkTo(methodOn(MgmtTargetRestApi.class).getActionHistory(response.getControllerId(), 0,
                 MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
-                ActionFields.ID.getFieldName() + ":" + SortDirection.DESC, null))
+                ActionFields.ID.getFieldName() + ":" + SortDirection.DESC, null, null, null))
                         .withRel(MgmtRestConstants.TARGET_V1_ACTIONS));
     }
 
@@ -190,6 +193,19 @@ public final class MgmtTargetMapper {
         return target;
     }
 
+    static MgmtTargetImportBatch toImportResponse(final TargetImportResult result) {
+        final MgmtTargetImportBatch response = new MgmtTargetImportBatch();
+        response.setBatch(result.getBatch());
+        response.setCreated(result.getCreated().size());
+        response.setRejected(result.getRejected().stream().map(rejected -> {
+            final MgmtTargetImportRejection rejection = new MgmtTargetImportRejection();
+            rejection.setControllerId(rejected.getControllerId());
+            rejection.setReason(rejected.getReason());
+            return rejection;
+        }).collect(Collectors.toList()));
+        return response;
+    }
+
     static List<MgmtActionStatus> toActionStatusRestResponse(final Collection<ActionStatus> actionStatus) {
         if (actionStatus == null) {
             return Collections.emptyList();
@@ -11,6 +11,12 @@ package org.eclipse.hawkbit.mgmt.rest.resource;
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -23,6 +29,8 @@ import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSet;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtDistributionSetAssigment;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTarget;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetAttributes;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportBatch;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportResult;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetRequestBody;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtDistributionSetRestApi;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
@@ -30,6 +38,7 @@ import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetRestApi;
 import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
@@ -45,10 +54,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -84,12 +96,23 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_COUNT) final Boolean countParam) {
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeTargetSortParam(sortParam);
 
+        if (cursorParam != null) {
+            final KeysetSlice<Target> targets = this.targetManagement.findTargetsAfter(rsqlParam,
+                    PagingUtility.parseCursorParam(cursorParam),
+                    new OffsetBasedPageRequest(0, sanitizedLimitParam, sorting), countParam);
+            return new ResponseEntity<>(
+                    PagingUtility.toKeysetPagedList(MgmtTargetMapper.toResponse(targets.getContent()), targets),
+                    HttpStatus.OK);
+        }
+
         final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
         final Slice<Target> findTargetsAll;
         final Long countTargetsAll;
@@ -115,6 +138,35 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
         return new ResponseEntity<>(MgmtTargetMapper.toResponse(createdTargets), HttpStatus.CREATED);
     }
 
+    @Override
+    public ResponseEntity<MgmtTargetImportResult> importTargets(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType, final InputStream targets)
+            throws IOException {
+        final boolean csv = MediaType.parseMediaType(contentType)
+                .isCompatibleWith(MediaType.parseMediaType(MgmtRestConstants.MEDIA_TYPE_CSV));
+        final MgmtTargetImportResult result = new MgmtTargetImportResult();
+
+        try (final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(targets, StandardCharsets.UTF_8))) {
+            final MgmtTargetImportReader importReader = new MgmtTargetImportReader(reader, entityFactory, csv);
+            this.targetManagement.importTargets(importReader, batch -> {
+                final MgmtTargetImportBatch response = MgmtTargetMapper.toImportResponse(batch);
+                result.getBatches().add(response);
+                result.setCreated(result.getCreated() + response.getCreated());
+                result.setRejected(result.getRejected() + response.getRejected().size());
+                LOG.debug("imported batch {} with {} targets", response.getBatch(), response.getCreated());
+            });
+
+            result.setInvalidLines(importReader.getInvalidLines());
+            result.setRejected(result.getRejected() + importReader.getInvalidLineCount());
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        LOG.debug("{} targets imported, {} rejected", result.getCreated(), result.getRejected());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @Override
     public ResponseEntity<MgmtTarget> updateTarget(@PathVariable("controllerId") final String controllerId,
             @RequestBody final MgmtTargetRequestBody targetRest) {
@@ -166,13 +218,23 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_COUNT) final Boolean countParam) {
 
         final Target foundTarget = findTargetWithExceptionIfNotFound(controllerId);
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeActionSortParam(sortParam);
+
+        if (cursorParam != null) {
+            final KeysetSlice<Action> actions = this.deploymentManagement.findActionsByTargetAfter(rsqlParam,
+                    foundTarget, PagingUtility.parseCursorParam(cursorParam),
+                    new OffsetBasedPageRequest(0, sanitizedLimitParam, sorting), countParam);
+            return new ResponseEntity<>(PagingUtility.toKeysetPagedList(
+                    MgmtTargetMapper.toResponse(controllerId, actions.getContent()), actions), HttpStatus.OK);
+        }
         final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
 
         final Slice<Action> activeActions;
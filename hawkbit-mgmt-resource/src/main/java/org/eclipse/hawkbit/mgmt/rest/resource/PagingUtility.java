@@ -8,12 +8,17 @@
  */
 package org.eclipse.hawkbit.mgmt.rest.resource;
 
+import java.util.List;
+
+import org.eclipse.hawkbit.mgmt.json.model.PagedList;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.repository.ActionFields;
 import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.DistributionSetFields;
 import org.eclipse.hawkbit.repository.DistributionSetMetadataFields;
 import org.eclipse.hawkbit.repository.DistributionSetTypeFields;
+import org.eclipse.hawkbit.repository.KeysetCursor;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.RolloutFields;
 import org.eclipse.hawkbit.repository.RolloutGroupFields;
 import org.eclipse.hawkbit.repository.SoftwareModuleFields;
@@ -52,6 +57,18 @@ public final class PagingUtility {
         return pageLimit;
     }
 
+    static KeysetCursor parseCursorParam(final String cursorParam) {
+        if (cursorParam.isEmpty()) {
+            // first page
+            return null;
+        }
+        return KeysetCursor.decode(cursorParam);
+    }
+
+    static <T> PagedList<T> toKeysetPagedList(final List<T> content, final KeysetSlice<?> slice) {
+        return new PagedList<>(content, slice.getTotal(), slice.getNext() != null ? slice.getNext().encode() : null);
+    }
+
     static Sort sanitizeTargetSortParam(final String sortParam) {
         if (sortParam == null) {
             // default
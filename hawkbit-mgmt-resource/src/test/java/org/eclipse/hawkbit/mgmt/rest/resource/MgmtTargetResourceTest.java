@@ -779,6 +779,70 @@ public class MgmtTargetResourceTest extends AbstractRestIntegrationTest {
         assertThat(targetManagement.findTargetByControllerID("id3").getDescription()).isEqualTo("testid3");
     }
 
+    @Test
+    @Description("Verifies that targets are imported from newline delimited JSON and CSV and that invalid lines "
+            + "and existing targets are reported as rejected.")
+    public void importTargetsFromNdjsonAndCsv() throws Exception {
+        final String ndjson = "{\"controllerId\":\"ndjson1\",\"name\":\"first\",\"attributes\":{\"serial\":\"S1\"}}\n"
+                + "\n{\"controllerId\":\"ndjson2\",\"address\":\"http://127.0.0.1\"}\n" + "{broken\n";
+
+        mvc.perform(post(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "/" + MgmtRestConstants.TARGET_V1_IMPORT)
+                .content(ndjson).contentType(MgmtRestConstants.MEDIA_TYPE_NDJSON)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andExpect(jsonPath("$.created", equalTo(2)))
+                .andExpect(jsonPath("$.rejected", equalTo(1)))
+                .andExpect(jsonPath("$.batches[0].batch", equalTo(1)))
+                .andExpect(jsonPath("$.invalidLines[0].line", equalTo(4)));
+
+        final String csv = "controllerId,name,description\n" + "csv1,\"name, quoted\",imported\n" + "ndjson1,again\n";
+
+        mvc.perform(post(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "/" + MgmtRestConstants.TARGET_V1_IMPORT)
+                .content(csv).contentType(MgmtRestConstants.MEDIA_TYPE_CSV)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andExpect(jsonPath("$.created", equalTo(1)))
+                .andExpect(jsonPath("$.batches[0].rejected[0].controllerId", equalTo("ndjson1")));
+
+        assertThat(targetManagement.countTargetsAll()).isEqualTo(3);
+        assertThat(targetManagement.findTargetByControllerIDWithDetails("ndjson1").getTargetInfo()
+                .getControllerAttributes().get("serial")).isEqualTo("S1");
+        assertThat(targetManagement.findTargetByControllerID("ndjson2").getName()).isEqualTo("ndjson2");
+        assertThat(targetManagement.findTargetByControllerID("csv1").getName()).isEqualTo("name, quoted");
+    }
+
+    @Test
+    @Description("Verifies that the targets can be paged through with the keyset cursor and that the count of the "
+            + "total elements can be skipped.")
+    public void getTargetsWithKeysetPagination() throws Exception {
+        final List<Target> targets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            targets.add(new JpaTarget("keyset" + i));
+        }
+        targetManagement.createTargets(targets);
+
+        MvcResult mvcResult = mvc
+                .perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "?limit=2&cursor=&sort=controllerId:DESC"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", equalTo(5))).andExpect(jsonPath("$.size", equalTo(2)))
+                .andExpect(jsonPath("$.content[0].controllerId", equalTo("keyset4"))).andReturn();
+        String next = JsonPath.compile("next").read(mvcResult.getResponse().getContentAsString()).toString();
+
+        mvcResult = mvc
+                .perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING
+                        + "?limit=2&count=false&sort=controllerId:DESC&cursor=" + next))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").doesNotExist())
+                .andExpect(jsonPath("$.content[0].controllerId", equalTo("keyset2"))).andReturn();
+        next = JsonPath.compile("next").read(mvcResult.getResponse().getContentAsString()).toString();
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "?limit=2&sort=controllerId:DESC&cursor=" + next))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.size", equalTo(1)))
+                .andExpect(jsonPath("$.content[0].controllerId", equalTo("keyset0")))
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "?limit=2&sort=name:ASC&cursor=" + next))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", equalTo(SpServerError.SP_REST_PAGING_CURSOR_INVALID.getKey())));
+    }
+
     @Test
     public void createTargetsSingleEntryListReturnsSuccessful() throws Exception {
         final String knownName = "someName";
@@ -39,10 +39,67 @@ public class AutoAssignProperties {
 
     }
 
+    /**
+     * Configuration of the incremental auto assignment of created and updated
+     * targets. The scheduler above remains as reconciliation for changed
+     * target filter queries.
+     */
+    public static class Incremental {
+        // used by @Scheduled annotation which needs constant
+        public static final String PROP_INCREMENTAL_DELAY_PLACEHOLDER = "${hawkbit.autoassign.incremental.fixedDelay:2000}";
+
+        /**
+         * Set to <code>false</code> to assign created and updated targets only
+         * with the next run of the scheduler.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Schedule in milliseconds in which the queued targets are checked.
+         */
+        private long fixedDelay = 2000L;
+
+        /**
+         * Maximum number of queued targets per tenant. Further targets are
+         * dropped and assigned by the next run of the scheduler.
+         */
+        private int maxPending = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getFixedDelay() {
+            return fixedDelay;
+        }
+
+        public void setFixedDelay(final long fixedDelay) {
+            this.fixedDelay = fixedDelay;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(final int maxPending) {
+            this.maxPending = maxPending;
+        }
+    }
+
     private final Scheduler scheduler = new Scheduler();
 
+    private final Incremental incremental = new Incremental();
+
     public Scheduler getScheduler() {
         return scheduler;
     }
 
+    public Incremental getIncremental() {
+        return incremental;
+    }
+
 }
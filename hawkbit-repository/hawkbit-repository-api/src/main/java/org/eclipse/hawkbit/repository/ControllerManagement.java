@@ -25,9 +25,13 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetCredentials;
 import org.eclipse.hawkbit.repository.model.TargetInfo;
+import org.eclipse.hawkbit.repository.model.TargetPollInfo;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationKey;
 import org.hibernate.validator.constraints.NotEmpty;
@@ -145,6 +149,34 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     Target findOrRegisterTargetIfItDoesNotexist(@NotEmpty String controllerId, URI address);
 
+    /**
+     * Retrieves the data that is necessary to answer a poll of the controller
+     * with a single projection query instead of loading the {@link Target} and
+     * its oldest active {@link Action}. Registers the target if it does not
+     * exist yet (plug-and-play) and refreshes its last poll time.
+     *
+     * @param controllerId
+     *            reference
+     * @param address
+     *            the client IP address of the target, might be {@code null}
+     * @return the {@link TargetPollInfo} of the target
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    TargetPollInfo findOrRegisterTargetPollInfo(@NotEmpty String controllerId, URI address);
+
+    /**
+     * Retrieves the data that is necessary to answer a poll of the controller
+     * like {@link #findOrRegisterTargetPollInfo(String, URI)} but neither
+     * registers the target nor refreshes its last poll time.
+     *
+     * @param controllerId
+     *            reference
+     * @return the {@link TargetPollInfo} of the target or <code>null</code>
+     *         if it does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    TargetPollInfo findTargetPollInfo(@NotEmpty String controllerId);
+
     /**
      * Retrieves last {@link Action} for a download of an artifact of given
      * module and target.
@@ -288,6 +320,21 @@ public interface ControllerManagement {
     TargetInfo updateTargetStatus(@NotNull TargetInfo targetInfo, TargetUpdateStatus status, Long lastTargetQuery,
             URI address);
 
+    /**
+     * Finds the {@link DeploymentDescriptor} of a {@link DistributionSet}, i.e.
+     * its modules and artifacts as they are handed out to the controllers.
+     * The descriptor is cached and evicted if the distribution set or the
+     * artifacts of its modules are changed.
+     *
+     * @param distributionSetId
+     *            of the {@link DistributionSet}
+     * @return {@link DeploymentDescriptor} or {@code null} if the
+     *         {@link DistributionSet} does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.IS_SYSTEM_CODE)
+    DeploymentDescriptor findDeploymentDescriptor(@NotNull Long distributionSetId);
+
     /**
      * Finds {@link Target} based on given controller ID returns found Target
      * without details, i.e. NO {@link Target#getTags()} and
@@ -302,6 +349,34 @@ public interface ControllerManagement {
             + SpringEvalExpressions.IS_SYSTEM_CODE)
     Target findByControllerId(@NotEmpty final String controllerId);
 
+    /**
+     * Finds the {@link TargetCredentials} of a {@link Target} for the
+     * authentication of the controller. The credentials are cached for a short
+     * time and evicted if the target is changed or deleted. Only available for
+     * system code as the security token is contained.
+     *
+     * @param controllerId
+     *            to look for.
+     * @return {@link TargetCredentials} or {@code null} if the target does not
+     *         exist
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
+    TargetCredentials findCredentialsByControllerId(@NotEmpty final String controllerId);
+
+    /**
+     * Finds the {@link TargetCredentials} of a {@link Target} for the
+     * authentication of the controller. The credentials are cached for a short
+     * time and evicted if the target is changed or deleted. Only available for
+     * system code as the security token is contained.
+     *
+     * @param targetId
+     *            to look for.
+     * @return {@link TargetCredentials} or {@code null} if the target does not
+     *         exist
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
+    TargetCredentials findCredentialsByTargetId(final long targetId);
+
     /**
      * Finds {@link Target} based on given ID returns found Target without
      * details, i.e. NO {@link Target#getTags()} and {@link Target#getActions()}
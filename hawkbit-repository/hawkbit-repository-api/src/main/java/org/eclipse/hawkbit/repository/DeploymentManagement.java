@@ -16,6 +16,7 @@ import javax.validation.constraints.NotNull;
 import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.exception.InvalidPagingCursorException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -354,6 +355,39 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Slice<Action> findActionsByTarget(@NotNull String rsqlParam, @NotNull Target target, @NotNull Pageable pageable);
 
+    /**
+     * Retrieves the {@link Action}s assigned to a specific {@link Target}
+     * after the given cursor with keyset pagination, i.e. the cost of a page
+     * does not depend on its position in the result. The
+     * {@link Pageable#getOffset()} is ignored.
+     *
+     * @param rsqlParam
+     *            rsql query string or <code>null</code> for all actions of
+     *            the target
+     * @param target
+     *            the target which must be assigned to the actions
+     * @param cursor
+     *            of the previous page or <code>null</code> for the first page
+     * @param pageable
+     *            the sorting and the size of the page
+     * @param count
+     *            <code>true</code> to count the total number of matching
+     *            actions
+     * @return the found actions with the cursor of the next page
+     *
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     * @throws InvalidPagingCursorException
+     *             if the cursor does not match the sorting or a sort field
+     *             cannot be used for keyset pagination
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    KeysetSlice<Action> findActionsByTargetAfter(String rsqlParam, @NotNull Target target, KeysetCursor cursor,
+            @NotNull Pageable pageable, boolean count);
+
     /**
      * Retrieves all {@link Action}s of a specific target ordered by action ID.
      *
@@ -513,6 +547,18 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Action startScheduledAction(@NotNull Long actionId);
 
+    /**
+     * Starting the given scheduled actions together, e.g. in case of roll out
+     * all scheduled actions of a group must be started now. The assignments
+     * are announced in chunks of targets instead of one event per target.
+     *
+     * @param actionIds
+     *            the IDs of the actions to start now.
+     * @return the actions which have been started
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    List<Action> startScheduledActions(@NotNull List<Long> actionIds);
+
     /**
      * All {@link ActionStatus} entries in the repository.
      * 
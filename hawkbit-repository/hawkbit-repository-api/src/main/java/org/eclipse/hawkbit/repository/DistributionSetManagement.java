@@ -19,6 +19,7 @@ import org.eclipse.hawkbit.repository.exception.DistributionSetCreationFailedMis
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.EntityReadOnlyException;
+import org.eclipse.hawkbit.repository.exception.InvalidPagingCursorException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -378,6 +379,38 @@ public interface DistributionSetManagement {
     Page<DistributionSet> findDistributionSetsAll(@NotNull String rsqlParam, @NotNull Pageable pageReq,
             Boolean deleted);
 
+    /**
+     * Retrieves the {@link DistributionSet}s that are not marked as deleted
+     * after the given cursor with keyset pagination, i.e. the cost of a page
+     * does not depend on its position in the result. The
+     * {@link Pageable#getOffset()} is ignored.
+     *
+     * @param rsqlParam
+     *            rsql query string or <code>null</code> for all
+     *            {@link DistributionSet}s
+     * @param cursor
+     *            of the previous page or <code>null</code> for the first page
+     * @param pageReq
+     *            the sorting and the size of the page
+     * @param count
+     *            <code>true</code> to count the total number of matching
+     *            {@link DistributionSet}s
+     * @return the found {@link DistributionSet}s with the cursor of the next
+     *         page
+     *
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     * @throws InvalidPagingCursorException
+     *             if the cursor does not match the sorting or a sort field
+     *             cannot be used for keyset pagination
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY)
+    KeysetSlice<DistributionSet> findDistributionSetsAfter(String rsqlParam, KeysetCursor cursor,
+            @NotNull Pageable pageReq, boolean count);
+
     /**
      * method retrieves all {@link DistributionSet}s from the repository in the
      * following order:
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.hawkbit.repository.exception.InvalidPagingCursorException;
+
+/**
+ * Position of a keyset pagination, i.e. the values of the sort keys and the ID
+ * of the last element of the previous page. The next page is selected by the
+ * sort keys instead of an offset, which keeps the cost of a page independent
+ * of its position in the result.
+ *
+ * The cursor is handed out to clients as opaque token, see {@link #encode()}.
+ * It is bound to the sorting it has been created for.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+    private static final char NULL_VALUE = '-';
+
+    private final int sortSignature;
+
+    private final List<String> values;
+
+    /**
+     * Constructor.
+     *
+     * @param sortSignature
+     *            of the sorting the cursor has been created for
+     * @param values
+     *            of the sort keys of the last element in sort order,
+     *            <code>null</code> for keys without value
+     */
+    public KeysetCursor(final int sortSignature, final List<String> values) {
+        this.sortSignature = sortSignature;
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    /**
+     * @return the signature of the sorting the cursor has been created for
+     */
+    public int getSortSignature() {
+        return sortSignature;
+    }
+
+    /**
+     * @return the values of the sort keys of the last element
+     */
+    public List<String> getValues() {
+        return values;
+    }
+
+    /**
+     * @return the cursor as URL safe token
+     */
+    public String encode() {
+        final StringBuilder token = new StringBuilder(Integer.toHexString(sortSignature));
+        for (final String value : values) {
+            token.append(SEPARATOR);
+            if (value == null) {
+                token.append(NULL_VALUE);
+            } else {
+                token.append(value.length()).append(':').append(value);
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a cursor from a token which has been created by {@link #encode()}.
+     *
+     * @param token
+     *            to read
+     * @return the cursor
+     *
+     * @throws InvalidPagingCursorException
+     *             if the token is not well formed
+     */
+    public static KeysetCursor decode(final String token) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int position = decoded.indexOf(SEPARATOR);
+            if (position < 0) {
+                throw new InvalidPagingCursorException("cursor has no values");
+            }
+            final int sortSignature = Integer.parseUnsignedInt(decoded.substring(0, position), 16);
+
+            final List<String> values = new ArrayList<>();
+            while (position < decoded.length()) {
+                if (decoded.charAt(position) != SEPARATOR) {
+                    throw new InvalidPagingCursorException("cursor is not well formed");
+                }
+                position++;
+                if (decoded.charAt(position) == NULL_VALUE) {
+                    values.add(null);
+                    position++;
+                    continue;
+                }
+                final int lengthEnd = decoded.indexOf(':', position);
+                final int start = lengthEnd + 1;
+                final int end = start + Integer.parseInt(decoded.substring(position, lengthEnd));
+                values.add(decoded.substring(start, end));
+                position = end;
+            }
+            return new KeysetCursor(sortSignature, values);
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidPagingCursorException("cursor is not well formed", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor [sortSignature=" + sortSignature + ", values=" + values + "]";
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * A slice of a keyset pagination with the {@link KeysetCursor} to the next
+ * slice and optionally the total number of elements.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient KeysetCursor next;
+
+    private final Long total;
+
+    /**
+     * Constructor.
+     *
+     * @param content
+     *            of the slice
+     * @param pageable
+     *            the slice has been requested with
+     * @param next
+     *            cursor to the next slice or <code>null</code> if this is the
+     *            last slice
+     * @param total
+     *            number of elements of all slices or <code>null</code> if
+     *            they have not been counted
+     */
+    public KeysetSlice(final List<T> content, final Pageable pageable, final KeysetCursor next, final Long total) {
+        super(content, pageable, next != null);
+        this.next = next;
+        this.total = total;
+    }
+
+    /**
+     * @return the cursor to the next slice or <code>null</code> if this is
+     *         the last slice
+     */
+    public KeysetCursor getNext() {
+        return next;
+    }
+
+    /**
+     * @return the number of elements of all slices or <code>null</code> if
+     *         they have not been counted
+     */
+    public Long getTotal() {
+        return total;
+    }
+}
@@ -33,9 +33,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 public interface ReportManagement {
 
     /**
-     * Data base format.
-     *
-     *
+     * Period into which the report data is grouped.
      *
      * @param <T>
      */
@@ -47,18 +45,26 @@ public interface ReportManagement {
         T format(String s);
 
         /**
-         * h2 format.
-         *
-         * @return String
+         * @param dateTime
+         *            within the period
+         * @return the period which contains the given date time
+         */
+        T period(LocalDateTime dateTime);
+
+        /**
+         * @param dateTime
+         *            within the period
+         * @return the start of the period which contains the given date time
          */
-        String h2Format();
+        LocalDateTime startOfPeriod(LocalDateTime dateTime);
 
         /**
-         * mysql format.
-         *
-         * @return String
+         * @param dateTime
+         *            within the period
+         * @return the start of the period which follows the period of the
+         *         given date time
          */
-        String mySqlFormat();
+        LocalDateTime startOfNextPeriod(LocalDateTime dateTime);
     }
 
     /**
@@ -82,9 +88,7 @@ public interface ReportManagement {
     }
 
     /**
-     * Gives the date format based on DB H2 or mySql.
-     *
-     *
+     * Groups the report data per month.
      *
      */
     public static final class PerMonth implements DateType<LocalDate>, Serializable {
@@ -99,13 +103,18 @@ public interface ReportManagement {
         }
 
         @Override
-        public String h2Format() {
-            return DATE_PATTERN;
+        public LocalDate period(final LocalDateTime dateTime) {
+            return dateTime.toLocalDate().withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDateTime startOfPeriod(final LocalDateTime dateTime) {
+            return period(dateTime).atStartOfDay();
         }
 
         @Override
-        public String mySqlFormat() {
-            return "%Y-%m";
+        public LocalDateTime startOfNextPeriod(final LocalDateTime dateTime) {
+            return startOfPeriod(dateTime).plusMonths(1);
         }
 
     }
@@ -9,6 +9,7 @@
 package org.eclipse.hawkbit.repository;
 
 import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -18,6 +19,337 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties("hawkbit.server.repository")
 public class RepositoryProperties {
 
+    /**
+     * Write-behind configuration of the last poll time and address of targets.
+     */
+    public static class PollWriteBehind {
+        // used by @Scheduled annotation which needs constant
+        public static final String PROP_FLUSH_DELAY_PLACEHOLDER = "${hawkbit.server.repository.pollWriteBehind.flushDelay:5000}";
+
+        /**
+         * Set to <code>true</code> to buffer the last poll time and address of
+         * controllers in memory and write them to the database in batches
+         * instead of updating the target info on every controller request.
+         * Buffered polls publish no target update events, i.e. the poll
+         * status shown in the UI is only refreshed on the next reload.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Delay between two flushes of the buffer in milliseconds.
+         */
+        private long flushDelay = 5000L;
+
+        /**
+         * Maximum number of updates sent to the database in one JDBC batch.
+         */
+        private int batchSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getFlushDelay() {
+            return flushDelay;
+        }
+
+        public void setFlushDelay(final long flushDelay) {
+            this.flushDelay = flushDelay;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    /**
+     * Configuration of the worker pool which runs the periodic checks of the
+     * schedulers, e.g. rollouts and auto assignments, for all tenants.
+     */
+    public static class TenantScheduler {
+
+        /**
+         * Number of threads which run the checks of different tenants in
+         * parallel.
+         */
+        private int poolSize = 4;
+
+        /**
+         * Time in milliseconds a check of a single tenant is expected to take
+         * at most. Checks which take longer are logged and counted as overrun.
+         * The tenant is then skipped for as many following runs as scheduler
+         * periods it has exceeded the budget by.
+         */
+        private long tenantTimeBudget = 10000L;
+
+        /**
+         * Maximum time in milliseconds a scheduler waits for the checks of all
+         * tenants. Checks that are still running afterwards continue in the
+         * background and their tenants are skipped by the next run.
+         */
+        private long maxWait = 300000L;
+
+        /**
+         * Set to <code>true</code> to coordinate the checks of a tenant
+         * between the nodes of a cluster by leases in the database. A tenant
+         * is then checked by one node per period only. The leases last for
+         * the maximum wait time, are renewed while a check is running and
+         * held for one period after the check.
+         */
+        private boolean leaseEnabled = true;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(final int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public long getTenantTimeBudget() {
+            return tenantTimeBudget;
+        }
+
+        public void setTenantTimeBudget(final long tenantTimeBudget) {
+            this.tenantTimeBudget = tenantTimeBudget;
+        }
+
+        public long getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(final long maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public boolean isLeaseEnabled() {
+            return leaseEnabled;
+        }
+
+        public void setLeaseEnabled(final boolean leaseEnabled) {
+            this.leaseEnabled = leaseEnabled;
+        }
+    }
+
+    /**
+     * Cache of the security tokens of the targets for the authentication of
+     * the controllers.
+     */
+    public static class CredentialsCache {
+
+        /**
+         * Time in milliseconds a cached security token is used without reading
+         * the target again. Targets with a changed security token and deleted
+         * targets are evicted immediately. Set to 0 to disable the cache.
+         */
+        private long ttl = 10000L;
+
+        /**
+         * Maximum number of cached targets.
+         */
+        private long maxSize = 100000L;
+
+        public long getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(final long ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final long maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * Cache of the {@link DeploymentDescriptor}s of the distribution sets
+     * which are handed out to the controllers.
+     */
+    public static class DescriptorCache {
+
+        /**
+         * Time in milliseconds a cached descriptor is used without reading the
+         * distribution set again. Changes of distribution sets, software
+         * modules and artifacts on this node and changes of distribution sets
+         * on other nodes are evicted immediately. Set to 0 to disable the
+         * cache.
+         */
+        private long ttl = 60000L;
+
+        /**
+         * Maximum number of cached descriptors.
+         */
+        private long maxSize = 1000L;
+
+        public long getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(final long ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final long maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * Rollup of the report statistics into counters per quarter of an hour
+     * and tenant.
+     */
+    public static class ReportRollup {
+        // used by @Scheduled annotation which needs constant
+        public static final String PROP_ROLLUP_DELAY_PLACEHOLDER = "${hawkbit.server.repository.reportRollup.fixedDelay:300000}";
+
+        /**
+         * Set to <code>false</code> to disable the periodic rollup. The
+         * reports are then calculated from the targets and actions that have
+         * been created since the last rollup.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between two rollups in milliseconds.
+         */
+        private long fixedDelay = 300000L;
+
+        /**
+         * Time span in milliseconds before the last rollup which is counted
+         * again with every rollup, so that entities which are committed late
+         * with an earlier creation time are counted.
+         */
+        private long recountWindow = 86400000L;
+
+        /**
+         * Maximum time span in milliseconds that is rolled up in one run, so
+         * that the first rollup of a tenant does not scan its whole history
+         * at once.
+         */
+        private long maxRollupSpan = 2678400000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public long getRecountWindow() {
+            return recountWindow;
+        }
+
+        public void setRecountWindow(final long recountWindow) {
+            this.recountWindow = recountWindow;
+        }
+
+        public long getMaxRollupSpan() {
+            return maxRollupSpan;
+        }
+
+        public void setMaxRollupSpan(final long maxRollupSpan) {
+            this.maxRollupSpan = maxRollupSpan;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getFixedDelay() {
+            return fixedDelay;
+        }
+
+        public void setFixedDelay(final long fixedDelay) {
+            this.fixedDelay = fixedDelay;
+        }
+    }
+
+    /**
+     * Compaction of the {@link ActionStatus} history of closed actions. The
+     * retention policy itself (enabled, keepFirst, keepLast, dropDownload,
+     * maxAgeDays) is configured per tenant, the properties under the same
+     * prefix are the defaults of the tenants.
+     */
+    public static class ActionStatusRetention {
+        // used by @Scheduled annotation which needs constant
+        public static final String PROP_RETENTION_DELAY_PLACEHOLDER = "${hawkbit.server.repository.actionStatusRetention.fixedDelay:3600000}";
+
+        /**
+         * Delay between two compaction runs in milliseconds.
+         */
+        private long fixedDelay = 3600000L;
+
+        /**
+         * Number of actions that are compacted in one transaction.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Directory the deleted status entries are exported to as gzipped CSV
+         * files before they are deleted. No export if not set.
+         */
+        private String archiveDirectory;
+
+        public long getFixedDelay() {
+            return fixedDelay;
+        }
+
+        public void setFixedDelay(final long fixedDelay) {
+            this.fixedDelay = fixedDelay;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public String getArchiveDirectory() {
+            return archiveDirectory;
+        }
+
+        public void setArchiveDirectory(final String archiveDirectory) {
+            this.archiveDirectory = archiveDirectory;
+        }
+    }
+
+    /**
+     * Bulk import of targets, see
+     * {@link TargetManagement#importTargets(java.util.Iterator, java.util.function.Consumer)}.
+     */
+    public static class TargetImport {
+
+        /**
+         * Number of targets that are inserted in one transaction and
+         * published in one event.
+         */
+        private int batchSize = 1000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
     /**
      * Set to <code>true</code> if the repository has to reject
      * {@link ActionStatus} entries for actions that are closed. Note: if this
@@ -26,6 +358,20 @@ public class RepositoryProperties {
      */
     private boolean rejectActionStatusForClosedAction = false;
 
+    private final PollWriteBehind pollWriteBehind = new PollWriteBehind();
+
+    private final TenantScheduler tenantScheduler = new TenantScheduler();
+
+    private final CredentialsCache credentialsCache = new CredentialsCache();
+
+    private final DescriptorCache descriptorCache = new DescriptorCache();
+
+    private final ReportRollup reportRollup = new ReportRollup();
+
+    private final ActionStatusRetention actionStatusRetention = new ActionStatusRetention();
+
+    private final TargetImport targetImport = new TargetImport();
+
     public boolean isRejectActionStatusForClosedAction() {
         return rejectActionStatusForClosedAction;
     }
@@ -34,4 +380,32 @@ public class RepositoryProperties {
         this.rejectActionStatusForClosedAction = rejectActionStatusForClosedAction;
     }
 
+    public PollWriteBehind getPollWriteBehind() {
+        return pollWriteBehind;
+    }
+
+    public TenantScheduler getTenantScheduler() {
+        return tenantScheduler;
+    }
+
+    public CredentialsCache getCredentialsCache() {
+        return credentialsCache;
+    }
+
+    public DescriptorCache getDescriptorCache() {
+        return descriptorCache;
+    }
+
+    public ReportRollup getReportRollup() {
+        return reportRollup;
+    }
+
+    public ActionStatusRetention getActionStatusRetention() {
+        return actionStatusRetention;
+    }
+
+    public TargetImport getTargetImport() {
+        return targetImport;
+    }
+
 }
@@ -41,10 +41,39 @@ public class RolloutProperties {
 
     }
 
+    /**
+     * Configuration of the in memory action status counters of the running
+     * rollout groups.
+     */
+    public static class StatusCounter {
+
+        /**
+         * Time in milliseconds after which the counters of a rollout group are
+         * reloaded from the database. Status changes that are not reported by
+         * the local node, e.g. by other nodes of a cluster, are considered
+         * after this time at the latest.
+         */
+        private long reconcileInterval = 60000L;
+
+        public long getReconcileInterval() {
+            return reconcileInterval;
+        }
+
+        public void setReconcileInterval(final long reconcileInterval) {
+            this.reconcileInterval = reconcileInterval;
+        }
+    }
+
     private final Scheduler scheduler = new Scheduler();
 
+    private final StatusCounter statusCounter = new StatusCounter();
+
     public Scheduler getScheduler() {
         return scheduler;
     }
 
+    public StatusCounter getStatusCounter() {
+        return statusCounter;
+    }
+
 }
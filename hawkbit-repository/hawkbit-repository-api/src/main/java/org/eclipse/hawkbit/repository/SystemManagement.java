@@ -67,6 +67,26 @@ public interface SystemManagement {
             + SpringEvalExpressions.IS_CONTROLLER)
     TenantMetaData getTenantMetadata();
 
+    /**
+     * Returns {@link TenantMetaData} of {@link TenantAware#getCurrentTenant()}
+     * from a tenant aware cache that is evicted on
+     * {@link #updateTenantMetadata(TenantMetaData)} and
+     * {@link #deleteTenant(String)}. Meant for hot read paths like the
+     * creation of artifact download URLs that need the tenant name and ID
+     * only.
+     *
+     * DISCLAIMER: the returned entity is shared and detached, it must neither
+     * be modified nor be used as reference of other entities. Please use
+     * {@link #getTenantMetadata()} in these cases.
+     *
+     * @return {@link TenantMetaData} of {@link TenantAware#getCurrentTenant()}
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.HAS_AUTH_READ_TARGET + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.HAS_AUTH_TENANT_CONFIGURATION + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.IS_CONTROLLER)
+    TenantMetaData getCachedTenantMetadata();
+
     /**
      * Returns {@link TenantMetaData} of given and current tenant. Creates for
      * new tenants also two {@link SoftwareModuleType} (os and app) and
@@ -10,12 +10,16 @@ package org.eclipse.hawkbit.repository;
 
 import java.net.URI;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.validation.constraints.NotNull;
 
 import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
+import org.eclipse.hawkbit.repository.event.remote.TargetsCreatedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
+import org.eclipse.hawkbit.repository.exception.InvalidPagingCursorException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
@@ -23,6 +27,7 @@ import org.eclipse.hawkbit.repository.model.Tag;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.repository.model.TargetIdName;
+import org.eclipse.hawkbit.repository.model.TargetImportResult;
 import org.eclipse.hawkbit.repository.model.TargetInfo;
 import org.eclipse.hawkbit.repository.model.TargetTag;
 import org.eclipse.hawkbit.repository.model.TargetTagAssignmentResult;
@@ -183,6 +188,23 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_TARGET)
     List<Target> createTargets(@NotNull Collection<Target> targets);
 
+    /**
+     * Imports a large number of {@link Target}s including their address and
+     * controller attributes. The targets are consumed lazily and inserted in
+     * batches of {@link RepositoryProperties.TargetImport#getBatchSize()},
+     * each batch in its own transaction. Targets that are invalid or already
+     * exist are rejected without failing the rest of the batch. Instead of a
+     * created event per target one {@link TargetsCreatedEvent} is published
+     * per batch.
+     *
+     * @param targets
+     *            to be imported, read batch by batch
+     * @param batchListener
+     *            called with the result of every batch after its commit
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_TARGET)
+    void importTargets(@NotNull Iterator<Target> targets, @NotNull Consumer<TargetImportResult> batchListener);
+
     /**
      * Deletes all targets with the given IDs.
      *
@@ -274,6 +296,23 @@ public interface TargetManagement {
     Page<Target> findAllTargetsByTargetFilterQueryAndNonDS(@NotNull Pageable pageRequest, Long distributionSetId,
             @NotNull TargetFilterQuery targetFilterQuery);
 
+    /**
+     * Finds the targets out of the given IDs that match the given
+     * {@link TargetFilterQuery} and that don't have the specified distribution
+     * set in their action history.
+     *
+     * @param targetIds
+     *            technical IDs of the targets to check
+     * @param distributionSetId
+     *            id of the {@link DistributionSet}
+     * @param targetFilterQuery
+     *            {@link TargetFilterQuery}
+     * @return the found {@link Target}s
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    List<Target> findTargetsByIdsAndTargetFilterQueryAndNonDS(@NotNull Collection<Long> targetIds,
+            Long distributionSetId, @NotNull TargetFilterQuery targetFilterQuery);
+
     /**
      * Counts all targets for all the given parameter {@link TargetFilterQuery}
      * and that don't have the specified distribution set in their action
@@ -502,6 +541,36 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Slice<Target> findTargetsAll(@NotNull TargetFilterQuery targetFilterQuery, @NotNull Pageable pageable);
 
+    /**
+     * Retrieves the targets after the given cursor with keyset pagination,
+     * i.e. the cost of a page does not depend on its position in the result.
+     * The {@link Pageable#getOffset()} is ignored.
+     *
+     * @param targetFilterQuery
+     *            in string notation or <code>null</code> for all targets
+     * @param cursor
+     *            of the previous page or <code>null</code> for the first page
+     * @param pageable
+     *            the sorting and the size of the page
+     * @param count
+     *            <code>true</code> to count the total number of matching
+     *            targets
+     *
+     * @return the found {@link Target}s with the cursor of the next page
+     *
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     * @throws InvalidPagingCursorException
+     *             if the cursor does not match the sorting or a sort field
+     *             cannot be used for keyset pagination
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    KeysetSlice<Target> findTargetsAfter(String targetFilterQuery, KeysetCursor cursor, @NotNull Pageable pageable,
+            boolean count);
+
     /**
      * method retrieves all {@link Target}s from the repo in the following
      * order:
@@ -10,25 +10,33 @@ package org.eclipse.hawkbit.repository.event.remote;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
- * TenantAwareEvent that gets sent when a distribution set gets assigned to a
- * target.
+ * TenantAwareEvent that gets sent when a distribution set gets assigned to
+ * targets. One event contains the actions of several targets which have been
+ * assigned together.
+ *
+ * The event used to contain a single action and its entity ID was the action
+ * ID, now the entity ID is the ID of the distribution set. The serialized
+ * event can therefore not be read by nodes of versions which send one event
+ * per action and vice versa, i.e. all nodes of a cluster have to be updated
+ * together.
  */
 public class TargetAssignDistributionSetEvent extends RemoteTenantAwareEvent {
 
     private static final long serialVersionUID = 1L;
 
-    private Long actionId;
-
     private Long distributionSetId;
 
-    private String controllerId;
+    private Map<String, Long> actions = new HashMap<>();
 
     private transient Collection<SoftwareModule> modules;
 
@@ -48,32 +56,39 @@ public class TargetAssignDistributionSetEvent extends RemoteTenantAwareEvent {
      *            the application id.
      */
     public TargetAssignDistributionSetEvent(final Action action, final String applicationId) {
-        this(action.getTenant(), action.getId(), action.getDistributionSet().getId(),
-                action.getTarget().getControllerId(), applicationId);
-        this.modules = action.getDistributionSet().getModules();
-
-    }
-
-    private TargetAssignDistributionSetEvent(final String tenant, final Long actionId, final Long distributionSetId,
-            final String controllerId, final String applicationId) {
-        super(actionId, tenant, applicationId);
-        this.actionId = actionId;
-        this.distributionSetId = distributionSetId;
-        this.controllerId = controllerId;
+        this(action.getDistributionSet(), Collections.singletonList(action), applicationId);
     }
 
-    public Long getActionId() {
-        return actionId;
-    }
-
-    public String getControllerId() {
-        return controllerId;
+    /**
+     * Constructor.
+     *
+     * @param distributionSet
+     *            the assigned distribution set
+     * @param actions
+     *            the actions of the assigned targets
+     * @param applicationId
+     *            the application id.
+     */
+    public TargetAssignDistributionSetEvent(final DistributionSet distributionSet,
+            final Collection<? extends Action> actions, final String applicationId) {
+        super(distributionSet.getId(), distributionSet.getTenant(), applicationId);
+        this.distributionSetId = distributionSet.getId();
+        this.modules = distributionSet.getModules();
+        actions.forEach(action -> this.actions.put(action.getTarget().getControllerId(), action.getId()));
     }
 
     public Long getDistributionSetId() {
         return distributionSetId;
     }
 
+    /**
+     * @return the IDs of the actions by the controller IDs of the assigned
+     *         targets
+     */
+    public Map<String, Long> getActions() {
+        return actions;
+    }
+
     /**
      * @return modules if Event has been published by same node otherwise empty.
      */
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * TenantAwareEvent that gets sent when targets have been created by a bulk
+ * import. One event contains all targets of an import batch, instead of a
+ * {@link org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent}
+ * per target.
+ */
+public class TargetsCreatedEvent extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private Map<String, Long> targets = new HashMap<>();
+
+    /**
+     * Default constructor.
+     */
+    public TargetsCreatedEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tenant
+     *            the tenant
+     * @param targets
+     *            the IDs of the created targets by their controller IDs
+     * @param applicationId
+     *            the application id.
+     */
+    public TargetsCreatedEvent(final String tenant, final Map<String, Long> targets, final String applicationId) {
+        super(tenant, tenant, applicationId);
+        this.targets.putAll(targets);
+    }
+
+    /**
+     * @return the IDs of the created targets by their controller IDs
+     */
+    public Map<String, Long> getTargets() {
+        return targets;
+    }
+}
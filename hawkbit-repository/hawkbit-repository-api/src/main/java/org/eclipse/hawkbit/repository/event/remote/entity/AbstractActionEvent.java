@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote.entity;
+
+import org.eclipse.hawkbit.repository.model.Action;
+
+/**
+ * Base class of the remote events of an {@link Action}. The events carry the
+ * IDs of the rollout and rollout group of the action, so receivers on other
+ * nodes don't need to reload the action for them. Both are set when the action
+ * is created and are not changed afterwards, so they are valid for the whole
+ * lifetime of the action. Any other data has to be taken from
+ * {@link #getEntity()}.
+ */
+public abstract class AbstractActionEvent extends RemoteEntityEvent<Action> {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long rolloutId;
+
+    private Long rolloutGroupId;
+
+    /**
+     * Default constructor.
+     */
+    protected AbstractActionEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param action
+     *            the action
+     * @param applicationId
+     *            the origin application id
+     */
+    protected AbstractActionEvent(final Action action, final String applicationId) {
+        super(action, applicationId);
+        this.rolloutId = action.getRollout() != null ? action.getRollout().getId() : null;
+        this.rolloutGroupId = action.getRolloutGroup() != null ? action.getRolloutGroup().getId() : null;
+    }
+
+    /**
+     * @return the ID of the rollout of the action or <code>null</code> if the
+     *         action is not part of a rollout
+     */
+    public Long getRolloutId() {
+        return rolloutId;
+    }
+
+    /**
+     * @return the ID of the rollout group of the action or <code>null</code>
+     *         if the action is not part of a rollout
+     */
+    public Long getRolloutGroupId() {
+        return rolloutGroupId;
+    }
+
+}
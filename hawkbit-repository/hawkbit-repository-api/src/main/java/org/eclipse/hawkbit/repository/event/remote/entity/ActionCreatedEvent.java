@@ -13,7 +13,7 @@ import org.eclipse.hawkbit.repository.model.Action;
 /**
  * Defines the remote event of creating a new {@link Action}.
  */
-public class ActionCreatedEvent extends RemoteEntityEvent<Action> {
+public class ActionCreatedEvent extends AbstractActionEvent {
     private static final long serialVersionUID = 1L;
 
     /**
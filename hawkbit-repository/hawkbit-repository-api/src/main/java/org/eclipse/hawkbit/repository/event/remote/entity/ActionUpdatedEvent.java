@@ -13,7 +13,7 @@ import org.eclipse.hawkbit.repository.model.Action;
 /**
  * Defines the remote event of updated a {@link Action}.
  */
-public class ActionUpdatedEvent extends RemoteEntityEvent<Action> {
+public class ActionUpdatedEvent extends AbstractActionEvent {
     private static final long serialVersionUID = 1L;
 
     /**
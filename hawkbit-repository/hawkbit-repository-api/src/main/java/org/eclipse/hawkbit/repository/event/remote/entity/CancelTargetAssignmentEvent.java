@@ -12,7 +12,13 @@ import org.eclipse.hawkbit.repository.model.Target;
 
 /**
  * Event that gets sent when the assignment of a distribution set to a target
- * gets canceled.
+ * gets canceled. The event carries the controller ID and address of the
+ * target, so the cancel message can be sent without reloading the target.
+ * While the controller ID never changes, the address is a snapshot taken when
+ * the assignment was canceled. The target might report another address until
+ * the event is received, in that case the cancel message goes to the address
+ * the target had at the time of the cancellation, just like an update message
+ * sent at that time.
  */
 public class CancelTargetAssignmentEvent extends RemoteEntityEvent<Target> {
 
@@ -20,6 +26,10 @@ public class CancelTargetAssignmentEvent extends RemoteEntityEvent<Target> {
 
     private Long actionId;
 
+    private String controllerId;
+
+    private String address;
+
     /**
      * Default constructor.
      */
@@ -40,6 +50,10 @@ public class CancelTargetAssignmentEvent extends RemoteEntityEvent<Target> {
     public CancelTargetAssignmentEvent(final Target baseEntity, final Long actionId, final String applicationId) {
         super(baseEntity, applicationId);
         this.actionId = actionId;
+        this.controllerId = baseEntity.getControllerId();
+        if (baseEntity.getTargetInfo() != null && baseEntity.getTargetInfo().getAddress() != null) {
+            this.address = baseEntity.getTargetInfo().getAddress().toString();
+        }
     }
 
     /**
@@ -49,4 +63,19 @@ public class CancelTargetAssignmentEvent extends RemoteEntityEvent<Target> {
         return actionId;
     }
 
+    /**
+     * @return the controller ID of the target
+     */
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    /**
+     * @return the address of the target at the time the assignment was
+     *         canceled or <code>null</code> if it was not known
+     */
+    public String getAddress() {
+        return address;
+    }
+
 }
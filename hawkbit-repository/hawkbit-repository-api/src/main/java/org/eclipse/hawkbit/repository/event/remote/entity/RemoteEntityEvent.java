@@ -55,6 +55,25 @@ public class RemoteEntityEvent<E extends TenantAwareBaseEntity> extends RemoteId
         this.entity = baseEntity;
     }
 
+    /**
+     * Constructor for events of entities which have not been loaded. The
+     * entity is loaded on the first call of {@link #getEntity()}.
+     *
+     * @param entityId
+     *            the ID of the entity
+     * @param tenant
+     *            the tenant of the entity
+     * @param entityClass
+     *            the class name of the entity
+     * @param applicationId
+     *            the origin application id
+     */
+    protected RemoteEntityEvent(final Long entityId, final String tenant, final String entityClass,
+            final String applicationId) {
+        super(entityId, tenant, applicationId);
+        this.entityClass = entityClass;
+    }
+
     /**
      * @return the entityClass
      */
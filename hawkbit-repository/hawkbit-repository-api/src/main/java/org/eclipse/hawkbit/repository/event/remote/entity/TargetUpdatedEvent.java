@@ -10,6 +10,8 @@ package org.eclipse.hawkbit.repository.event.remote.entity;
 
 import org.eclipse.hawkbit.repository.model.Target;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Defines the remote event for updating a {@link Target}.
  *
@@ -18,6 +20,8 @@ public class TargetUpdatedEvent extends RemoteEntityEvent<Target> {
 
     private static final long serialVersionUID = 1L;
 
+    private transient boolean pollUpdate;
+
     /**
      * Default constructor.
      */
@@ -37,4 +41,52 @@ public class TargetUpdatedEvent extends RemoteEntityEvent<Target> {
         super(baseEntity, applicationId);
     }
 
+    /**
+     * Constructor.
+     * 
+     * @param baseEntity
+     *            Target entity
+     * @param applicationId
+     *            the origin application id
+     * @param pollUpdate
+     *            <code>true</code> if only the last poll time of the target
+     *            has changed
+     */
+    public TargetUpdatedEvent(final Target baseEntity, final String applicationId, final boolean pollUpdate) {
+        super(baseEntity, applicationId);
+        this.pollUpdate = pollUpdate;
+    }
+
+    /**
+     * Constructor for updates which have been written without loading the
+     * target, e.g. the last poll time.
+     * 
+     * @param tenant
+     *            the tenant of the target
+     * @param targetId
+     *            the ID of the target
+     * @param entityClass
+     *            the class name of the target entity
+     * @param applicationId
+     *            the origin application id
+     * @param pollUpdate
+     *            <code>true</code> if only the last poll time of the target
+     *            has changed
+     */
+    public TargetUpdatedEvent(final String tenant, final Long targetId, final String entityClass,
+            final String applicationId, final boolean pollUpdate) {
+        super(targetId, tenant, entityClass, applicationId);
+        this.pollUpdate = pollUpdate;
+    }
+
+    /**
+     * @return <code>true</code> if only the last poll time of the target has
+     *         changed. Only known on the node which published the event, the
+     *         flag is not sent to the other nodes.
+     */
+    @JsonIgnore
+    public boolean isPollUpdate() {
+        return pollUpdate;
+    }
+
 }
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.exception;
+
+import org.eclipse.hawkbit.exception.AbstractServerRtException;
+import org.eclipse.hawkbit.exception.SpServerError;
+
+/**
+ * Exception which is thrown when a keyset pagination cursor cannot be read or
+ * does not match the sorting of the query.
+ */
+public class InvalidPagingCursorException extends AbstractServerRtException {
+
+    /**
+     *
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message
+     *            the message for this exception
+     */
+    public InvalidPagingCursorException(final String message) {
+        super(message, SpServerError.SP_REST_PAGING_CURSOR_INVALID);
+    }
+
+    /**
+     *
+     * @param message
+     *            the message for this exception
+     * @param cause
+     *            the cause for this exception
+     */
+    public InvalidPagingCursorException(final String message, final Throwable cause) {
+        super(message, SpServerError.SP_REST_PAGING_CURSOR_INVALID, cause);
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the {@link SoftwareModule}s and {@link Artifact}s of a
+ * {@link DistributionSet} as they are handed out to the controllers for a
+ * deployment. The descriptor does not contain any target specific data, i.e.
+ * it is shared by all targets the {@link DistributionSet} is deployed to.
+ *
+ */
+public class DeploymentDescriptor implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Long distributionSetId;
+    private final List<ModuleDescriptor> modules;
+
+    /**
+     * Constructor.
+     *
+     * @param distributionSetId
+     *            of the described {@link DistributionSet}
+     * @param modules
+     *            of the {@link DistributionSet}
+     */
+    public DeploymentDescriptor(final Long distributionSetId, final List<ModuleDescriptor> modules) {
+        this.distributionSetId = distributionSetId;
+        this.modules = Collections.unmodifiableList(new ArrayList<>(modules));
+    }
+
+    public Long getDistributionSetId() {
+        return distributionSetId;
+    }
+
+    public List<ModuleDescriptor> getModules() {
+        return modules;
+    }
+
+    @Override
+    public String toString() {
+        return "DeploymentDescriptor [distributionSetId=" + distributionSetId + ", modules=" + modules + "]";
+    }
+
+    /**
+     * Snapshot of a {@link SoftwareModule} with its {@link Artifact}s.
+     */
+    public static class ModuleDescriptor implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Long id;
+        private final String typeKey;
+        private final String name;
+        private final String version;
+        private final List<ArtifactDescriptor> artifacts;
+
+        /**
+         * Constructor.
+         *
+         * @param id
+         *            of the {@link SoftwareModule}
+         * @param typeKey
+         *            key of the {@link SoftwareModuleType}
+         * @param name
+         *            of the {@link SoftwareModule}
+         * @param version
+         *            of the {@link SoftwareModule}
+         * @param artifacts
+         *            of the {@link SoftwareModule}
+         */
+        public ModuleDescriptor(final Long id, final String typeKey, final String name, final String version,
+                final List<ArtifactDescriptor> artifacts) {
+            this.id = id;
+            this.typeKey = typeKey;
+            this.name = name;
+            this.version = version;
+            this.artifacts = Collections.unmodifiableList(new ArrayList<>(artifacts));
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTypeKey() {
+            return typeKey;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public List<ArtifactDescriptor> getArtifacts() {
+            return artifacts;
+        }
+
+        @Override
+        public String toString() {
+            return "ModuleDescriptor [id=" + id + ", typeKey=" + typeKey + ", name=" + name + ", version=" + version
+                    + ", artifacts=" + artifacts + "]";
+        }
+    }
+
+    /**
+     * Snapshot of an {@link Artifact}.
+     */
+    public static class ArtifactDescriptor implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Long id;
+        private final String filename;
+        private final String sha1Hash;
+        private final String md5Hash;
+        private final Long size;
+
+        /**
+         * Constructor.
+         *
+         * @param id
+         *            of the {@link Artifact}
+         * @param filename
+         *            of the {@link Artifact}
+         * @param sha1Hash
+         *            of the {@link Artifact} binary
+         * @param md5Hash
+         *            of the {@link Artifact} binary
+         * @param size
+         *            of the {@link Artifact} binary
+         */
+        public ArtifactDescriptor(final Long id, final String filename, final String sha1Hash, final String md5Hash,
+                final Long size) {
+            this.id = id;
+            this.filename = filename;
+            this.sha1Hash = sha1Hash;
+            this.md5Hash = md5Hash;
+            this.size = size;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        public String getSha1Hash() {
+            return sha1Hash;
+        }
+
+        public String getMd5Hash() {
+            return md5Hash;
+        }
+
+        public Long getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "ArtifactDescriptor [id=" + id + ", filename=" + filename + ", sha1Hash=" + sha1Hash + "]";
+        }
+    }
+}
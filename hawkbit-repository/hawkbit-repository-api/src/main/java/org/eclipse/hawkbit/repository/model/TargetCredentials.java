@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * The identity and a SHA-256 hash of the security token of a {@link Target}
+ * which are necessary to authenticate a controller. The plain security token
+ * is not kept, so the credentials can be cached and compared with the hash of
+ * the token presented by a controller.
+ *
+ */
+public class TargetCredentials implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Long targetId;
+    private final String controllerId;
+    private final String securityTokenHash;
+
+    /**
+     * Constructor.
+     *
+     * @param targetId
+     *            technical ID of the target
+     * @param controllerId
+     *            of the target
+     * @param securityToken
+     *            of the target, only its hash is kept
+     */
+    public TargetCredentials(final Long targetId, final String controllerId, final String securityToken) {
+        this.targetId = targetId;
+        this.controllerId = controllerId;
+        this.securityTokenHash = hashSecurityToken(securityToken);
+    }
+
+    /**
+     * @param securityToken
+     *            to hash
+     * @return the hex encoded SHA-256 hash of the token or <code>null</code>
+     *         if the token is <code>null</code>
+     */
+    public static String hashSecurityToken(final String securityToken) {
+        if (securityToken == null) {
+            return null;
+        }
+        return Hashing.sha256().hashString(securityToken, StandardCharsets.UTF_8).toString();
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    public String getSecurityTokenHash() {
+        return securityTokenHash;
+    }
+
+    @Override
+    public String toString() {
+        return "TargetCredentials [targetId=" + targetId + ", controllerId=" + controllerId + "]";
+    }
+}
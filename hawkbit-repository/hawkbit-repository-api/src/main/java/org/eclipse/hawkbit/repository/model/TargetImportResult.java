@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of one batch of a bulk {@link Target} import.
+ */
+public class TargetImportResult {
+
+    private final int batch;
+    private final List<String> created;
+    private final List<Rejected> rejected;
+
+    /**
+     * Constructor.
+     *
+     * @param batch
+     *            sequence number of the batch within the import, starting
+     *            with 1
+     * @param created
+     *            controller IDs of the created targets
+     * @param rejected
+     *            targets of the batch that have not been created
+     */
+    public TargetImportResult(final int batch, final List<String> created, final List<Rejected> rejected) {
+        this.batch = batch;
+        this.created = created;
+        this.rejected = rejected;
+    }
+
+    public int getBatch() {
+        return batch;
+    }
+
+    /**
+     * @return controller IDs of the created targets
+     */
+    public List<String> getCreated() {
+        return Collections.unmodifiableList(created);
+    }
+
+    /**
+     * @return targets of the batch that have not been created
+     */
+    public List<Rejected> getRejected() {
+        return Collections.unmodifiableList(rejected);
+    }
+
+    /**
+     * A target that has not been created together with the reason.
+     */
+    public static class Rejected {
+        private final String controllerId;
+        private final String reason;
+
+        /**
+         * Constructor.
+         *
+         * @param controllerId
+         *            of the rejected target, might be <code>null</code>
+         * @param reason
+         *            why the target has been rejected
+         */
+        public Rejected(final String controllerId, final String reason) {
+            this.controllerId = controllerId;
+            this.reason = reason;
+        }
+
+        public String getControllerId() {
+            return controllerId;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.io.Serializable;
+
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+
+/**
+ * A read-only view on a {@link Target} with the data that is necessary to
+ * answer a poll of the controller, i.e. the oldest active {@link Action} and
+ * the configuration flags of the {@link TargetInfo}. It is retrieved with a
+ * single projection query instead of loading the entities.
+ *
+ */
+public class TargetPollInfo implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Long targetId;
+    private final String controllerId;
+    private final String securityToken;
+    private final TargetUpdateStatus updateStatus;
+    private final boolean requestControllerAttributes;
+    private final Long actionId;
+    private final Status actionStatus;
+    private final ActionType actionType;
+    private final long actionForcedTime;
+
+    /**
+     * Constructor.
+     *
+     * @param targetId
+     *            technical ID of the target
+     * @param controllerId
+     *            of the target
+     * @param securityToken
+     *            of the target
+     * @param updateStatus
+     *            of the target
+     * @param requestControllerAttributes
+     *            <code>true</code> if the controller has to send its
+     *            attributes
+     * @param actionId
+     *            of the oldest active action or <code>null</code> if there is
+     *            none
+     * @param actionStatus
+     *            of the oldest active action, might be <code>null</code>
+     * @param actionType
+     *            of the oldest active action, might be <code>null</code>
+     * @param actionForcedTime
+     *            of the oldest active action, might be <code>null</code>
+     */
+    public TargetPollInfo(final Long targetId, final String controllerId, final String securityToken,
+            final TargetUpdateStatus updateStatus, final boolean requestControllerAttributes, final Long actionId,
+            final Status actionStatus, final ActionType actionType, final Long actionForcedTime) {
+        this.targetId = targetId;
+        this.controllerId = controllerId;
+        this.securityToken = securityToken;
+        this.updateStatus = updateStatus;
+        this.requestControllerAttributes = requestControllerAttributes;
+        this.actionId = actionId;
+        this.actionStatus = actionStatus;
+        this.actionType = actionType;
+        this.actionForcedTime = actionForcedTime != null ? actionForcedTime : RepositoryModelConstants.NO_FORCE_TIME;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    public String getSecurityToken() {
+        return securityToken;
+    }
+
+    public TargetUpdateStatus getUpdateStatus() {
+        return updateStatus;
+    }
+
+    public boolean isRequestControllerAttributes() {
+        return requestControllerAttributes;
+    }
+
+    /**
+     * @return <code>true</code> if the target has an active {@link Action}
+     */
+    public boolean hasActiveAction() {
+        return actionId != null;
+    }
+
+    public Long getActionId() {
+        return actionId;
+    }
+
+    public Status getActionStatus() {
+        return actionStatus;
+    }
+
+    public ActionType getActionType() {
+        return actionType;
+    }
+
+    public long getActionForcedTime() {
+        return actionForcedTime;
+    }
+
+    /**
+     * @return <code>true</code> if the oldest active action is in canceling
+     *         or canceled state
+     * @see Action#isCancelingOrCanceled()
+     */
+    public boolean isActionCancelingOrCanceled() {
+        return Status.CANCELING.equals(actionStatus) || Status.CANCELED.equals(actionStatus);
+    }
+
+    /**
+     * @param hitTimeMillis
+     *            the time to check
+     * @return <code>true</code> if the oldest active action is time forced
+     *         and the forced time has been reached
+     * @see Action#isHitAutoForceTime(long)
+     */
+    public boolean isActionHitAutoForceTime(final long hitTimeMillis) {
+        if (ActionType.TIMEFORCED.equals(actionType)) {
+            return hitTimeMillis >= actionForcedTime;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "TargetPollInfo [targetId=" + targetId + ", controllerId=" + controllerId + ", actionId=" + actionId
+                + ", actionStatus=" + actionStatus + "]";
+    }
+}
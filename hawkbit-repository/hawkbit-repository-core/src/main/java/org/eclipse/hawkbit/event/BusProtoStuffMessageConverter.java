@@ -8,7 +8,11 @@
  */
 package org.eclipse.hawkbit.event;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.commons.lang3.ClassUtils;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.bus.event.RemoteApplicationEvent;
@@ -30,18 +34,46 @@ import io.protostuff.runtime.RuntimeSchema;
  * A customize message converter for the spring cloud events. The converter is
  * registered for the application/binary+protostuff type.
  *
+ * The class of the event is sent as numeric type ID of the {@link EventType}
+ * registry and as class name, which is read by nodes of older versions. The
+ * class name of registered events can be omitted once all nodes of a cluster
+ * read the type ID. Events which are not registered are sent with their class
+ * name only. The class name does not help if the fields of an event have
+ * changed, e.g. of the {@link TargetAssignDistributionSetEvent}. The
+ * serialization buffer is reused per thread.
+ *
  */
 public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
 
     public static final MimeType APPLICATION_BINARY_PROTOSTUFF = new MimeType("application", "binary+protostuff");
     private static final Logger LOG = LoggerFactory.getLogger(BusProtoStuffMessageConverter.class);
     private static final String DEFAULT_CLASS_FIELD_NAME = "__Class__";
+    private static final String DEFAULT_TYPE_FIELD_NAME = "__Type__";
+
+    private static final ThreadLocal<LinkedBuffer> BUFFER = ThreadLocal.withInitial(LinkedBuffer::allocate);
+
+    private final Map<String, Class<?>> classCache = new ConcurrentHashMap<>();
+
+    private final boolean typeIdOnly;
 
     /**
-     * Constructor.
+     * Constructor which sends the type ID and the class name of registered
+     * events.
      */
     public BusProtoStuffMessageConverter() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param typeIdOnly
+     *            <code>true</code> to send the type ID of registered events
+     *            without class name, which can be read by upgraded nodes only
+     */
+    public BusProtoStuffMessageConverter(final boolean typeIdOnly) {
         super(APPLICATION_BINARY_PROTOSTUFF);
+        this.typeIdOnly = typeIdOnly;
     }
 
     @Override
@@ -55,11 +87,9 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
         final Object payload = message.getPayload();
 
         try {
-            final Class<?> deserializeClass = ClassUtils
-                    .getClass(message.getHeaders().get(DEFAULT_CLASS_FIELD_NAME).toString());
+            final Class<?> deserializeClass = getDeserializeClass(message.getHeaders());
             if (payload instanceof byte[]) {
-                @SuppressWarnings("unchecked")
-                final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema(deserializeClass);
+                final Schema<Object> schema = getSchema(deserializeClass);
                 final Object deserializeEvent = schema.newMessage();
                 ProtobufIOUtil.mergeFrom((byte[]) message.getPayload(), deserializeEvent, schema);
                 return deserializeEvent;
@@ -72,14 +102,46 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
         return null;
     }
 
+    private Class<?> getDeserializeClass(final MessageHeaders headers) throws ClassNotFoundException {
+        final Object typeId = headers.get(DEFAULT_TYPE_FIELD_NAME);
+        if (typeId != null) {
+            final int id = typeId instanceof Number ? ((Number) typeId).intValue()
+                    : Integer.parseInt(typeId.toString());
+            final Class<?> eventType = EventType.from(id);
+            if (eventType != null) {
+                return eventType;
+            }
+            // sent by a node of a newer version, the class name is the only
+            // chance to read it
+            LOG.debug("Unknown event type {}, falling back to the class name", typeId);
+        }
+
+        final Object className = headers.get(DEFAULT_CLASS_FIELD_NAME);
+        if (className == null) {
+            throw new ClassNotFoundException(typeId == null ? "Message has neither event type nor class header"
+                    : "Unknown event type " + typeId);
+        }
+        final Class<?> cached = classCache.get(className.toString());
+        if (cached != null) {
+            return cached;
+        }
+        final Class<?> eventClass = ClassUtils.getClass(className.toString());
+        classCache.put(className.toString(), eventClass);
+        return eventClass;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Schema<Object> getSchema(final Class<?> clazz) {
+        return (Schema<Object>) RuntimeSchema.getSchema(clazz);
+    }
+
     @Override
     protected Object convertToInternal(final Object payload, final MessageHeaders headers,
             final Object conversionHint) {
         checkIfHeaderMutable(headers);
         final Class<? extends Object> serializeClass = payload.getClass();
-        @SuppressWarnings("unchecked")
-        final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema(serializeClass);
-        final LinkedBuffer buffer = LinkedBuffer.allocate();
+        final Schema<Object> schema = getSchema(serializeClass);
+        final LinkedBuffer buffer = BUFFER.get();
         final byte[] serializeByte;
         try {
             serializeByte = ProtostuffIOUtil.toByteArray(payload, schema, buffer);
@@ -87,7 +149,13 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
             buffer.clear();
         }
 
-        headers.put(DEFAULT_CLASS_FIELD_NAME, serializeClass.getName());
+        final Integer typeId = EventType.idOf(serializeClass);
+        if (typeId != null) {
+            headers.put(DEFAULT_TYPE_FIELD_NAME, typeId);
+        }
+        if (typeId == null || !typeIdOnly) {
+            headers.put(DEFAULT_CLASS_FIELD_NAME, serializeClass.getName());
+        }
         return serializeByte;
     }
 
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetTagDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetSecurityTokenChangedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetTagDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetsCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetTagCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetTagUpdateEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdateEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetTagCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetTagUpdateEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+
+/**
+ * Registry of the remote events with a compact numeric type ID which is sent
+ * in the message header instead of the class name. The IDs are part of the
+ * wire format between the nodes of a cluster, i.e. an ID must never be changed
+ * or reused. New events are added with a new ID.
+ */
+public final class EventType {
+
+    private static final Map<Integer, Class<?>> TYPES;
+
+    private static final Map<Class<?>, Integer> IDS;
+
+    static {
+        final Map<Integer, Class<?>> types = new HashMap<>();
+
+        // target
+        types.put(1, TargetCreatedEvent.class);
+        types.put(2, TargetUpdatedEvent.class);
+        types.put(3, TargetDeletedEvent.class);
+        types.put(4, CancelTargetAssignmentEvent.class);
+        types.put(5, TargetAssignDistributionSetEvent.class);
+        types.put(21, TargetsCreatedEvent.class);
+        types.put(22, TargetSecurityTokenChangedEvent.class);
+
+        // target tag
+        types.put(6, TargetTagCreatedEvent.class);
+        types.put(7, TargetTagUpdateEvent.class);
+        types.put(8, TargetTagDeletedEvent.class);
+
+        // action
+        types.put(9, ActionCreatedEvent.class);
+        types.put(10, ActionUpdatedEvent.class);
+
+        // distribution set
+        types.put(11, DistributionSetCreatedEvent.class);
+        types.put(12, DistributionSetUpdateEvent.class);
+        types.put(13, DistributionSetDeletedEvent.class);
+
+        // distribution set tag
+        types.put(14, DistributionSetTagCreatedEvent.class);
+        types.put(15, DistributionSetTagUpdateEvent.class);
+        types.put(16, DistributionSetTagDeletedEvent.class);
+
+        // rollout
+        types.put(17, RolloutUpdatedEvent.class);
+        types.put(18, RolloutGroupCreatedEvent.class);
+        types.put(19, RolloutGroupUpdatedEvent.class);
+
+        // download
+        types.put(20, DownloadProgressEvent.class);
+
+        final Map<Class<?>, Integer> ids = new HashMap<>();
+        types.forEach((id, type) -> ids.put(type, id));
+
+        TYPES = Collections.unmodifiableMap(types);
+        IDS = Collections.unmodifiableMap(ids);
+    }
+
+    private EventType() {
+        // utility class
+    }
+
+    /**
+     * @param typeId
+     *            the type ID of the event
+     * @return the event class or <code>null</code> if the ID is not known
+     */
+    public static Class<?> from(final int typeId) {
+        return TYPES.get(typeId);
+    }
+
+    /**
+     * @param eventClass
+     *            the event class
+     * @return the type ID of the event class or <code>null</code> if the class
+     *         is not registered
+     */
+    public static Integer idOf(final Class<?> eventClass) {
+        return IDS.get(eventClass);
+    }
+
+}
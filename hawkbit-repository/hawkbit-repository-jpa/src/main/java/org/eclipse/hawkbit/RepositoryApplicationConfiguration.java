@@ -11,8 +11,10 @@ package org.eclipse.hawkbit;
 import java.util.Map;
 
 import javax.persistence.EntityManager;
+import javax.sql.DataSource;
 
 import org.eclipse.hawkbit.repository.ArtifactManagement;
+import org.eclipse.hawkbit.repository.AutoAssignProperties;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
@@ -21,6 +23,7 @@ import org.eclipse.hawkbit.repository.ReportManagement;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.RolloutGroupManagement;
 import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.RolloutProperties;
 import org.eclipse.hawkbit.repository.SoftwareManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TagManagement;
@@ -30,6 +33,7 @@ import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.TenantStatsManagement;
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManagerHolder;
+import org.eclipse.hawkbit.repository.jpa.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.JpaArtifactManagement;
 import org.eclipse.hawkbit.repository.jpa.JpaControllerManagement;
 import org.eclipse.hawkbit.repository.jpa.JpaDeploymentManagement;
@@ -48,13 +52,28 @@ import org.eclipse.hawkbit.repository.jpa.JpaTenantStatsManagement;
 import org.eclipse.hawkbit.repository.jpa.aspects.ExceptionMappingAspectHandler;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignChecker;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignScheduler;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignTargetQueue;
+import org.eclipse.hawkbit.repository.jpa.cache.DeploymentDescriptorCache;
+import org.eclipse.hawkbit.repository.jpa.cache.TargetCredentialsCache;
 import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactionManager;
 import org.eclipse.hawkbit.repository.jpa.event.JpaEventEntityManager;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.importer.TargetBulkImporter;
 import org.eclipse.hawkbit.repository.jpa.model.helper.AfterTransactionCommitExecutorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SystemSecurityContextHolder;
+import org.eclipse.hawkbit.repository.jpa.model.helper.TargetPollBufferHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.TenantAwareHolder;
+import org.eclipse.hawkbit.repository.jpa.polling.TargetPollBuffer;
+import org.eclipse.hawkbit.repository.jpa.report.ReportRollupScheduler;
+import org.eclipse.hawkbit.repository.jpa.report.ReportRollupStore;
+import org.eclipse.hawkbit.repository.jpa.retention.ActionStatusCompactor;
+import org.eclipse.hawkbit.repository.jpa.retention.ActionStatusRetentionScheduler;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounter;
+import org.eclipse.hawkbit.repository.jpa.scheduler.LeaseManager;
+import org.eclipse.hawkbit.repository.jpa.scheduler.TenantTaskExecutor;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLQueryPlanCacheMetrics;
 import org.eclipse.hawkbit.repository.jpa.rsql.RsqlParserValidationOracle;
 import org.eclipse.hawkbit.repository.model.helper.SystemManagementHolder;
 import org.eclipse.hawkbit.repository.model.helper.TenantConfigurationManagementHolder;
@@ -66,12 +85,16 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.orm.jpa.JpaBaseConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.orm.jpa.EntityScan;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.vendor.AbstractJpaVendorAdapter;
 import org.springframework.orm.jpa.vendor.EclipseLinkJpaVendorAdapter;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -91,7 +114,7 @@ import com.google.common.collect.Maps;
 @EnableAspectJAutoProxy
 @Configuration
 @ComponentScan
-@EnableConfigurationProperties(RepositoryProperties.class)
+@EnableConfigurationProperties({ RepositoryProperties.class, AutoAssignProperties.class })
 @EnableScheduling
 @EntityScan("org.eclipse.hawkbit.repository.jpa.model")
 public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
@@ -173,6 +196,69 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return AfterTransactionCommitExecutorHolder.getInstance();
     }
 
+    /**
+     * @return the singleton instance of the {@link TargetPollBufferHolder}
+     */
+    @Bean
+    public TargetPollBufferHolder targetPollBufferHolder() {
+        return TargetPollBufferHolder.getInstance();
+    }
+
+    /**
+     * {@link TargetPollBuffer} bean.
+     *
+     * @param dataSource
+     *            to write the buffered polls to
+     * @param transactionManager
+     *            to run transactions
+     * @param repositoryProperties
+     *            for the write-behind configuration
+     * @return a new {@link TargetPollBuffer}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TargetPollBuffer targetPollBuffer(final DataSource dataSource,
+            final PlatformTransactionManager transactionManager, final RepositoryProperties repositoryProperties) {
+        return new TargetPollBuffer(new JdbcTemplate(dataSource), transactionManager, repositoryProperties);
+    }
+
+    /**
+     * {@link TargetCredentialsCache} bean.
+     *
+     * @param repositoryProperties
+     *            for the cache configuration
+     * @return a new {@link TargetCredentialsCache}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TargetCredentialsCache targetCredentialsCache(final RepositoryProperties repositoryProperties) {
+        return new TargetCredentialsCache(repositoryProperties);
+    }
+
+    /**
+     * {@link DeploymentDescriptorCache} bean.
+     *
+     * @param repositoryProperties
+     *            for the cache configuration
+     * @return a new {@link DeploymentDescriptorCache}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public DeploymentDescriptorCache deploymentDescriptorCache(final RepositoryProperties repositoryProperties) {
+        return new DeploymentDescriptorCache(repositoryProperties);
+    }
+
+    /**
+     * {@link RSQLQueryPlanCacheMetrics} bean.
+     *
+     * @return a new {@link RSQLQueryPlanCacheMetrics}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RSQLQueryPlanCacheMetrics rsqlQueryPlanCacheMetrics() {
+        return new RSQLQueryPlanCacheMetrics();
+    }
+
     /**
      * Defines the validation processor bean.
      *
@@ -439,24 +525,211 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     }
 
     /**
-     * {@link AutoAssignScheduler} bean.
+     * {@link LeaseManager} bean.
+     *
+     * @param dataSource
+     *            to access the lease table
+     * @param transactionManager
+     *            to acquire the leases in their own transaction
+     * @return a new {@link LeaseManager}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LeaseManager leaseManager(final DataSource dataSource,
+            final PlatformTransactionManager transactionManager) {
+        return new LeaseManager(new JdbcTemplate(dataSource), transactionManager);
+    }
+
+    /**
+     * {@link ReportRollupStore} bean.
+     *
+     * @param dataSource
+     *            to access the rollup tables
+     * @param transactionManager
+     *            to run transactions
+     * @param repositoryProperties
+     *            for the recount window and the time span of a rollup
+     * @return a new {@link ReportRollupStore}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReportRollupStore reportRollupStore(final DataSource dataSource,
+            final PlatformTransactionManager transactionManager, final RepositoryProperties repositoryProperties) {
+        return new ReportRollupStore(new JdbcTemplate(dataSource), transactionManager, repositoryProperties);
+    }
+
+    /**
+     * {@link ReportRollupScheduler} bean.
      *
+     * @param tenantTaskExecutor
+     *            to run the rollup for all tenants
+     * @param reportRollupStore
+     *            to roll up a tenant
      * @param tenantAware
-     *            to run as specific tenant
+     *            to get the tenant of the rollup
+     * @param repositoryProperties
+     *            for the period of the rollup
+     * @return a new {@link ReportRollupScheduler}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    public ReportRollupScheduler reportRollupScheduler(final TenantTaskExecutor tenantTaskExecutor,
+            final ReportRollupStore reportRollupStore, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        return new ReportRollupScheduler(tenantTaskExecutor, reportRollupStore, tenantAware, repositoryProperties);
+    }
+
+    /**
+     * {@link ActionStatusCompactor} bean.
+     *
+     * @param dataSource
+     *            to access the action status tables
+     * @param transactionManager
+     *            to run transactions
+     * @param tenantConfigurationManagement
+     *            to read the retention policy of the tenants
+     * @param repositoryProperties
+     *            for the compaction configuration
+     * @return a new {@link ActionStatusCompactor}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ActionStatusCompactor actionStatusCompactor(final DataSource dataSource,
+            final PlatformTransactionManager transactionManager,
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final RepositoryProperties repositoryProperties) {
+        return new ActionStatusCompactor(new JdbcTemplate(dataSource), transactionManager,
+                tenantConfigurationManagement, repositoryProperties);
+    }
+
+    /**
+     * {@link TargetBulkImporter} bean.
+     *
+     * @param dataSource
+     *            to access the target tables
+     * @param transactionManager
+     *            to run transactions
+     * @param tenantAware
+     *            to get the tenant of the import
+     * @param systemSecurityContext
+     *            to read the security tokens of the imported targets
+     * @param auditorAware
+     *            to get the creator of the targets
+     * @param applicationContext
+     *            to publish the created events
+     * @param repositoryProperties
+     *            for the batch size
+     * @return a new {@link TargetBulkImporter}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TargetBulkImporter targetBulkImporter(final DataSource dataSource,
+            final PlatformTransactionManager transactionManager, final TenantAware tenantAware,
+            final SystemSecurityContext systemSecurityContext, final AuditorAware<String> auditorAware,
+            final ApplicationContext applicationContext, final RepositoryProperties repositoryProperties) {
+        return new TargetBulkImporter(new JdbcTemplate(dataSource), transactionManager, tenantAware,
+                systemSecurityContext, auditorAware, applicationContext, repositoryProperties);
+    }
+
+    /**
+     * {@link ActionStatusRetentionScheduler} bean.
+     *
+     * @param tenantTaskExecutor
+     *            to run the compaction for all tenants
+     * @param actionStatusCompactor
+     *            to compact a tenant
+     * @param tenantAware
+     *            to get the tenant of the compaction
+     * @param repositoryProperties
+     *            for the period of the compaction
+     * @return a new {@link ActionStatusRetentionScheduler}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    // don't active the retention scheduler in test, the tests compact on
+    // their own
+    @Profile("!test")
+    public ActionStatusRetentionScheduler actionStatusRetentionScheduler(final TenantTaskExecutor tenantTaskExecutor,
+            final ActionStatusCompactor actionStatusCompactor, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        return new ActionStatusRetentionScheduler(tenantTaskExecutor, actionStatusCompactor, tenantAware,
+                repositoryProperties);
+    }
+
+    /**
+     * {@link TenantTaskExecutor} bean.
+     *
      * @param systemManagement
      *            to find all tenants
      * @param systemSecurityContext
      *            to run as system
+     * @param leaseManager
+     *            to coordinate the checks within a cluster
+     * @param repositoryProperties
+     *            for the pool configuration
+     * @return a new {@link TenantTaskExecutor}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TenantTaskExecutor tenantTaskExecutor(final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final LeaseManager leaseManager,
+            final RepositoryProperties repositoryProperties) {
+        return new TenantTaskExecutor(systemManagement, systemSecurityContext, leaseManager, repositoryProperties);
+    }
+
+    /**
+     * {@link RolloutGroupStatusCounter} bean.
+     *
+     * @param actionRepository
+     *            to load the counters
+     * @param rolloutProperties
+     *            for the reconcile interval
+     * @param afterCommit
+     *            to apply status changes after commit
+     * @return a new {@link RolloutGroupStatusCounter}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RolloutGroupStatusCounter rolloutGroupStatusCounter(final ActionRepository actionRepository,
+            final RolloutProperties rolloutProperties, final AfterTransactionCommitExecutor afterCommit) {
+        return new RolloutGroupStatusCounter(actionRepository, rolloutProperties, afterCommit);
+    }
+
+    /**
+     * {@link AutoAssignScheduler} bean.
+     *
+     * @param tenantTaskExecutor
+     *            to run the check for all tenants
      * @param autoAssignChecker
      *            to run a check as tenant
+     * @param autoAssignProperties
+     *            for the period of the check
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
     @ConditionalOnMissingBean
-    public AutoAssignScheduler autoAssignScheduler(final TenantAware tenantAware,
-            final SystemManagement systemManagement, final SystemSecurityContext systemSecurityContext,
-            final AutoAssignChecker autoAssignChecker) {
-        return new AutoAssignScheduler(tenantAware, systemManagement, systemSecurityContext, autoAssignChecker);
+    public AutoAssignScheduler autoAssignScheduler(final TenantTaskExecutor tenantTaskExecutor,
+            final AutoAssignChecker autoAssignChecker, final AutoAssignProperties autoAssignProperties) {
+        return new AutoAssignScheduler(tenantTaskExecutor, autoAssignChecker, autoAssignProperties);
+    }
+
+    /**
+     * {@link AutoAssignTargetQueue} bean.
+     *
+     * @param autoAssignChecker
+     *            to check the queued targets
+     * @param systemSecurityContext
+     *            to run the check as system for a tenant
+     * @param autoAssignProperties
+     *            for the queue configuration
+     * @return a new {@link AutoAssignTargetQueue}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AutoAssignTargetQueue autoAssignTargetQueue(final AutoAssignChecker autoAssignChecker,
+            final SystemSecurityContext systemSecurityContext, final AutoAssignProperties autoAssignProperties) {
+        return new AutoAssignTargetQueue(autoAssignChecker, systemSecurityContext, autoAssignProperties);
     }
 
 }
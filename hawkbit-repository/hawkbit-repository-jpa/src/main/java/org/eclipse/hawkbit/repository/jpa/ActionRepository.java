@@ -20,6 +20,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModule;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -406,4 +407,35 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(a.rolloutGroup.id, a.status , COUNT(a.target)) FROM JpaAction a WHERE a.rolloutGroup.id IN ?1 GROUP BY a.rolloutGroup.id, a.status")
     List<TotalTargetCountActionStatus> getStatusCountByRolloutGroupId(List<Long> rolloutGroupId);
 
+    /**
+     * Increments the number of {@link ActionStatus} entries of the given
+     * {@link Action}. Has to be called for every {@link ActionStatus} that is
+     * added to an existing action.
+     *
+     * @param actionId
+     *            of the {@link Action}
+     * @return number of updated actions
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE sp_action SET status_count = status_count + 1 WHERE id = ?1", nativeQuery = true)
+    int incrementStatusCount(Long actionId);
+
+    /**
+     * Increments the number of {@link ActionStatus} entries of the given
+     * {@link Action} if it is below the given maximum. The check and the
+     * increment are an atomic operation.
+     *
+     * @param actionId
+     *            of the {@link Action}
+     * @param maxStatusCount
+     *            the maximum number of entries
+     * @return <code>0</code> if the maximum is reached or the action does not
+     *         exist
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE sp_action SET status_count = status_count + 1 WHERE id = ?1 AND status_count < ?2", nativeQuery = true)
+    int incrementStatusCount(Long actionId, int maxStatusCount);
+
 }
@@ -45,6 +45,32 @@ public class EclipseLinkTargetInfoRepository implements TargetInfoRepository {
 
     }
 
+    @Override
+    @Modifying
+    @Transactional(isolation = Isolation.READ_UNCOMMITTED)
+    public boolean updateLastTargetQuery(final Long targetId, final long lastTargetQuery, final String address) {
+        // the address of a target rarely changes, so the first statement
+        // updates the poll time of nearly all polls
+        final Query query = entityManager.createQuery(address != null
+                ? "update JpaTargetInfo ti set ti.lastTargetQuery = :lastTargetQuery where ti.targetId = :targetId and ti.address = :address"
+                : "update JpaTargetInfo ti set ti.lastTargetQuery = :lastTargetQuery where ti.targetId = :targetId");
+        query.setParameter("lastTargetQuery", lastTargetQuery);
+        query.setParameter("targetId", targetId);
+        if (address != null) {
+            query.setParameter("address", address);
+        }
+        if (query.executeUpdate() > 0 || address == null) {
+            return false;
+        }
+
+        final Query addressQuery = entityManager.createQuery(
+                "update JpaTargetInfo ti set ti.lastTargetQuery = :lastTargetQuery, ti.address = :address where ti.targetId = :targetId");
+        addressQuery.setParameter("lastTargetQuery", lastTargetQuery);
+        addressQuery.setParameter("targetId", targetId);
+        addressQuery.setParameter("address", address);
+        return addressQuery.executeUpdate() > 0;
+    }
+
     @Override
     @Modifying
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
@@ -24,6 +24,8 @@ import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.GridFSDBFileNotFoundException;
 import org.eclipse.hawkbit.repository.exception.InvalidMD5HashException;
 import org.eclipse.hawkbit.repository.exception.InvalidSHA1HashException;
+import org.eclipse.hawkbit.repository.jpa.cache.DeploymentDescriptorCache;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaArtifact;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModule;
 import org.eclipse.hawkbit.repository.model.Artifact;
@@ -57,6 +59,12 @@ public class JpaArtifactManagement implements ArtifactManagement {
     @Autowired
     private ArtifactRepository artifactRepository;
 
+    @Autowired
+    private DeploymentDescriptorCache deploymentDescriptorCache;
+
+    @Autowired
+    private AfterTransactionCommitExecutor afterCommit;
+
     private static Artifact checkForExistingArtifact(final String filename, final boolean overrideExisting,
             final SoftwareModule softwareModule) {
         if (softwareModule.getArtifactByFilename(filename).isPresent()) {
@@ -138,6 +146,7 @@ public class JpaArtifactManagement implements ArtifactManagement {
         ((JpaSoftwareModule) existing.getSoftwareModule()).removeArtifact(existing);
         softwareModuleRepository.save((JpaSoftwareModule) existing.getSoftwareModule());
         localArtifactRepository.delete(id);
+        evictDeploymentDescriptors(existing.getSoftwareModule());
     }
 
     @Override
@@ -186,9 +195,19 @@ public class JpaArtifactManagement implements ArtifactManagement {
         artifact.setSize(result.getSize());
 
         LOG.debug("storing new artifact into repository {}", artifact);
+        evictDeploymentDescriptors(softwareModule);
         return localArtifactRepository.save(artifact);
     }
 
+    /**
+     * The module might be part of any distribution set, so all cached
+     * descriptors of the tenant are evicted once the change is committed.
+     */
+    private void evictDeploymentDescriptors(final SoftwareModule softwareModule) {
+        final String tenant = softwareModule.getTenant();
+        afterCommit.afterCommit(() -> deploymentDescriptorCache.evictTenant(tenant));
+    }
+
     @Override
     @Modifying
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
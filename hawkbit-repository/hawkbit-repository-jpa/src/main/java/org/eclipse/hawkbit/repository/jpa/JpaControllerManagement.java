@@ -12,21 +12,27 @@ import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.ToManyAttributeEntriesException;
 import org.eclipse.hawkbit.repository.exception.TooManyStatusEntriesException;
+import org.eclipse.hawkbit.repository.jpa.cache.DeploymentDescriptorCache;
+import org.eclipse.hawkbit.repository.jpa.cache.TargetCredentialsCache;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus_;
@@ -35,16 +41,25 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModule;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
+import org.eclipse.hawkbit.repository.jpa.polling.TargetPollBuffer;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.specifications.ActionSpecifications;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor.ArtifactDescriptor;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor.ModuleDescriptor;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.TargetCredentials;
 import org.eclipse.hawkbit.repository.model.TargetInfo;
+import org.eclipse.hawkbit.repository.model.TargetPollInfo;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
-import org.eclipse.hawkbit.repository.model.TenantConfiguration;
+import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
 import org.eclipse.hawkbit.security.HawkbitSecurityProperties;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
@@ -52,8 +67,10 @@ import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
@@ -72,6 +89,12 @@ public class JpaControllerManagement implements ControllerManagement {
     private static final Logger LOG = LoggerFactory.getLogger(ControllerManagement.class);
     private static final Logger LOG_DOS = LoggerFactory.getLogger("server-security.dos");
 
+    /**
+     * Cache of the {@link JpaTenantConfigurationManagement} which is evicted on
+     * every configuration change.
+     */
+    private static final String TENANT_CONFIGURATION_CACHE = "tenantConfiguration";
+
     @Autowired
     private EntityManager entityManager;
 
@@ -96,9 +119,6 @@ public class JpaControllerManagement implements ControllerManagement {
     @Autowired
     private RepositoryProperties repositoryProperties;
 
-    @Autowired
-    private TenantConfigurationRepository tenantConfigurationRepository;
-
     @Autowired
     private TenantConfigurationManagement tenantConfigurationManagement;
 
@@ -114,16 +134,91 @@ public class JpaControllerManagement implements ControllerManagement {
     @Autowired
     private ApplicationContext applicationContext;
 
+    @Autowired
+    private AfterTransactionCommitExecutor afterCommit;
+
+    @Autowired
+    private TargetPollBuffer targetPollBuffer;
+
+    @Autowired
+    private TargetCredentialsCache targetCredentialsCache;
+
+    @Autowired
+    private DistributionSetRepository distributionSetRepository;
+
+    @Autowired
+    private DeploymentDescriptorCache deploymentDescriptorCache;
+
+    @Autowired
+    private TenancyCacheManager cacheManager;
+
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
     @Override
     public String getPollingTime() {
         final TenantConfigurationKey configurationKey = TenantConfigurationKey.POLLING_TIME_INTERVAL;
-        final Class<String> propertyType = String.class;
-        JpaTenantConfigurationManagement.validateTenantConfigurationDataType(configurationKey, propertyType);
-        final TenantConfiguration tenantConfiguration = tenantConfigurationRepository
-                .findByKey(configurationKey.getKeyName());
+
+        // look into the tenant aware configuration cache first to avoid the
+        // system context switch on every poll, the cache is evicted by the
+        // tenant configuration management on every change
+        final Cache cache = cacheManager.getCache(TENANT_CONFIGURATION_CACHE);
+        if (cache != null) {
+            @SuppressWarnings("unchecked")
+            final TenantConfigurationValue<String> cachedValue = cache.get(configurationKey.getKeyName(),
+                    TenantConfigurationValue.class);
+            if (cachedValue != null) {
+                return cachedValue.getValue();
+            }
+        }
 
         return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
-                .buildTenantConfigurationValueByKey(configurationKey, propertyType, tenantConfiguration).getValue());
+                .getConfigurationValue(configurationKey, String.class).getValue());
+    }
+
+    @Override
+    @Modifying
+    @Transactional(isolation = Isolation.READ_UNCOMMITTED)
+    public TargetPollInfo findOrRegisterTargetPollInfo(final String controllerId, final URI address) {
+        final TargetPollInfo pollInfo = findTargetPollInfo(controllerId);
+
+        if (pollInfo == null) {
+            findOrRegisterTargetIfItDoesNotexist(controllerId, address);
+            return findTargetPollInfo(controllerId);
+        }
+
+        if (pollInfo.getUpdateStatus() == TargetUpdateStatus.UNKNOWN) {
+            // the status switch from UNKNOWN to REGISTERED is written through
+            // the entity to publish its update event
+            updateLastTargetQuery(controllerId, address);
+        } else if (targetPollBuffer.isEnabled()) {
+            targetPollBuffer.record(tenantAware.getCurrentTenant(), pollInfo.getTargetId(),
+                    System.currentTimeMillis(), address);
+        } else {
+            final boolean addressChanged = targetInfoRepository.updateLastTargetQuery(pollInfo.getTargetId(),
+                    System.currentTimeMillis(), address != null ? address.toString() : null);
+            // the bulk update bypasses the entity listeners, the target is
+            // loaded only by the listeners which need it
+            final String tenant = tenantAware.getCurrentTenant();
+            afterCommit.afterCommit(() -> eventPublisher.publishEvent(new TargetUpdatedEvent(tenant,
+                    pollInfo.getTargetId(), JpaTarget.class.getName(), applicationContext.getId(), !addressChanged)));
+        }
+
+        return pollInfo;
+    }
+
+    @Override
+    public TargetPollInfo findTargetPollInfo(final String controllerId) {
+        final List<Object[]> result = targetRepository.findPollInfoByControllerId(controllerId,
+                new PageRequest(0, 1));
+
+        if (result.isEmpty()) {
+            return null;
+        }
+
+        final Object[] row = result.get(0);
+        return new TargetPollInfo((Long) row[0], controllerId, (String) row[1], (TargetUpdateStatus) row[2],
+                (Boolean) row[3], (Long) row[4], (Status) row[5], (ActionType) row[6], (Long) row[7]);
     }
 
     @Override
@@ -235,6 +330,7 @@ public class JpaControllerManagement implements ControllerManagement {
     @Transactional(isolation = Isolation.READ_COMMITTED)
     public Action addCancelActionStatus(final ActionStatus actionStatus) {
         final JpaAction action = (JpaAction) actionStatus.getAction();
+        final Status oldStatus = action.getStatus();
 
         checkForToManyStatusEntries(action);
         action.setStatus(actionStatus.getStatus());
@@ -256,6 +352,7 @@ public class JpaControllerManagement implements ControllerManagement {
         }
         actionRepository.save(action);
         actionStatusRepository.save((JpaActionStatus) actionStatus);
+        rolloutGroupStatusCounter.statusChanged(action, oldStatus);
 
         return action;
     }
@@ -306,6 +403,7 @@ public class JpaControllerManagement implements ControllerManagement {
         LOG.debug("addUpdateActionStatus for action {}", actionId);
 
         final JpaAction action = actionRepository.findById(actionId);
+        final Status oldStatus = action.getStatus();
         JpaTarget target = (JpaTarget) action.getTarget();
         // check for a potential DOS attack
         checkForToManyStatusEntries(action);
@@ -330,7 +428,9 @@ public class JpaControllerManagement implements ControllerManagement {
 
         LOG.debug("addUpdateActionStatus {} for target {} is finished.", action, target.getId());
 
-        return actionRepository.save(action);
+        final Action savedAction = actionRepository.save(action);
+        rolloutGroupStatusCounter.statusChanged(action, oldStatus);
+        return savedAction;
     }
 
     private void handleErrorOnAction(final JpaAction mergedAction, final JpaTarget mergedTarget) {
@@ -341,17 +441,18 @@ public class JpaControllerManagement implements ControllerManagement {
     }
 
     private void checkForToManyStatusEntries(final JpaAction action) {
-        if (securityProperties.getDos().getMaxStatusEntriesPerAction() > 0) {
-
-            final Long statusCount = actionStatusRepository.countByAction(action);
+        final int maxStatusEntries = securityProperties.getDos().getMaxStatusEntriesPerAction();
+        if (maxStatusEntries <= 0) {
+            actionRepository.incrementStatusCount(action.getId());
+            return;
+        }
 
-            if (statusCount >= securityProperties.getDos().getMaxStatusEntriesPerAction()) {
-                LOG_DOS.error(
-                        "Potential denial of service (DOS) attack identfied. More status entries in the system than permitted ({})!",
-                        securityProperties.getDos().getMaxStatusEntriesPerAction());
-                throw new TooManyStatusEntriesException(
-                        String.valueOf(securityProperties.getDos().getMaxStatusEntriesPerAction()));
-            }
+        // the maintained counter replaces a count query on the status entries
+        if (actionRepository.incrementStatusCount(action.getId(), maxStatusEntries) == 0) {
+            LOG_DOS.error(
+                    "Potential denial of service (DOS) attack identfied. More status entries in the system than permitted ({})!",
+                    maxStatusEntries);
+            throw new TooManyStatusEntriesException(String.valueOf(maxStatusEntries));
         }
     }
 
@@ -447,6 +548,7 @@ public class JpaControllerManagement implements ControllerManagement {
             // document that the status has been retrieved
             actionStatusRepository
                     .save(new JpaActionStatus(action, Status.RETRIEVED, System.currentTimeMillis(), message));
+            actionRepository.incrementStatusCount(action.getId());
 
             // don't change the action status itself in case the action is in
             // canceling state otherwise
@@ -454,7 +556,9 @@ public class JpaControllerManagement implements ControllerManagement {
             // cancel job anymore.
             if (!action.isCancelingOrCanceled()) {
                 final JpaAction actionMerge = entityManager.merge(action);
+                final Status oldStatus = actionMerge.getStatus();
                 actionMerge.setStatus(Status.RETRIEVED);
+                rolloutGroupStatusCounter.statusChanged(actionMerge, oldStatus);
                 return actionRepository.save(actionMerge);
             }
         }
@@ -465,6 +569,7 @@ public class JpaControllerManagement implements ControllerManagement {
     @Modifying
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
     public ActionStatus addInformationalActionStatus(final ActionStatus statusMessage) {
+        actionRepository.incrementStatusCount(statusMessage.getAction().getId());
         return actionStatusRepository.save((JpaActionStatus) statusMessage);
     }
 
@@ -472,6 +577,14 @@ public class JpaControllerManagement implements ControllerManagement {
     @Modifying
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
     public TargetInfo updateLastTargetQuery(final TargetInfo target, final URI address) {
+        // the status switch from UNKNOWN to REGISTERED is written
+        // synchronously, plain polls are written behind if enabled
+        if (targetPollBuffer.isEnabled() && target.getUpdateStatus() != TargetUpdateStatus.UNKNOWN) {
+            targetPollBuffer.record(target.getTarget().getTenant(), target.getTarget().getId(),
+                    System.currentTimeMillis(), address);
+            return target;
+        }
+
         return updateTargetStatus(target, null, System.currentTimeMillis(), address);
     }
 
@@ -492,4 +605,35 @@ public class JpaControllerManagement implements ControllerManagement {
         return targetRepository.findOne(targetId);
     }
 
+    @Override
+    public TargetCredentials findCredentialsByControllerId(final String controllerId) {
+        return targetCredentialsCache.getByControllerId(tenantAware.getCurrentTenant(), controllerId,
+                () -> targetRepository.findCredentialsByControllerId(controllerId));
+    }
+
+    @Override
+    public TargetCredentials findCredentialsByTargetId(final long targetId) {
+        return targetCredentialsCache.getByTargetId(tenantAware.getCurrentTenant(), targetId,
+                () -> targetRepository.findCredentialsById(targetId));
+    }
+
+    @Override
+    public DeploymentDescriptor findDeploymentDescriptor(final Long distributionSetId) {
+        return deploymentDescriptorCache.get(tenantAware.getCurrentTenant(), distributionSetId, () -> {
+            final DistributionSet distributionSet = distributionSetRepository.findOne(distributionSetId);
+            return distributionSet == null ? null : toDeploymentDescriptor(distributionSet);
+        });
+    }
+
+    private static DeploymentDescriptor toDeploymentDescriptor(final DistributionSet distributionSet) {
+        return new DeploymentDescriptor(distributionSet.getId(), distributionSet.getModules().stream()
+                .map(module -> new ModuleDescriptor(module.getId(), module.getType().getKey(), module.getName(),
+                        module.getVersion(),
+                        module.getArtifacts().stream()
+                                .map(artifact -> new ArtifactDescriptor(artifact.getId(), artifact.getFilename(),
+                                        artifact.getSha1Hash(), artifact.getMd5Hash(), artifact.getSize()))
+                                .collect(Collectors.toList())))
+                .collect(Collectors.toList()));
+    }
+
 }
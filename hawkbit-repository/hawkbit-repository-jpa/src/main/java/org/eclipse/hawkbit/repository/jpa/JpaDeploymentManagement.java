@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,6 +31,8 @@ import javax.validation.constraints.NotNull;
 
 import org.eclipse.hawkbit.repository.ActionFields;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.KeysetCursor;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
@@ -51,6 +54,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -98,6 +102,11 @@ import com.google.common.collect.Lists;
 public class JpaDeploymentManagement implements DeploymentManagement {
     private static final Logger LOG = LoggerFactory.getLogger(JpaDeploymentManagement.class);
 
+    /**
+     * Maximum number of targets in one {@link TargetAssignDistributionSetEvent}.
+     */
+    private static final int ASSIGNMENT_EVENT_CHUNK_SIZE = 1000;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -134,6 +143,12 @@ public class JpaDeploymentManagement implements DeploymentManagement {
     @Autowired
     private VirtualPropertyReplacer virtualPropertyReplacer;
 
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
+    @Autowired
+    private NoCountPagingRepository criteriaNoCountDao;
+
     @Override
     @Transactional(isolation = Isolation.READ_COMMITTED)
     @Modifying
@@ -277,6 +292,7 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         // not active before and the manual assignment which has been done
         // cancels the
         targetIds.forEach(tIds -> actionRepository.switchStatus(Status.CANCELED, tIds, false, Status.SCHEDULED));
+        rolloutGroupStatusCounter.evictAll();
 
         // set assigned distribution set and TargetUpdateStatus
         final String currentUser;
@@ -313,15 +329,24 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         // detaching as it is not necessary to persist the set itself
         entityManager.detach(set);
 
-        sendDistributionSetAssignmentEvent(targets, targetIdsCancellList, targetIdsToActions);
+        sendDistributionSetAssignmentEvent(set, targets, targetIdsCancellList, targetIdsToActions);
 
         return result;
     }
 
-    private void sendDistributionSetAssignmentEvent(final List<JpaTarget> targets, final Set<Long> targetIdsCancellList,
-            final Map<String, JpaAction> targetIdsToActions) {
-        targets.stream().filter(t -> !!!targetIdsCancellList.contains(t.getId()))
-                .forEach(t -> assignDistributionSetEvent(targetIdsToActions.get(t.getControllerId())));
+    private void sendDistributionSetAssignmentEvent(final JpaDistributionSet set, final List<JpaTarget> targets,
+            final Set<Long> targetIdsCancellList, final Map<String, JpaAction> targetIdsToActions) {
+        final List<JpaAction> actions = targets.stream().filter(t -> !!!targetIdsCancellList.contains(t.getId()))
+                .map(t -> targetIdsToActions.get(t.getControllerId())).collect(Collectors.toList());
+
+        actions.forEach(action -> ((JpaTargetInfo) action.getTarget().getTargetInfo())
+                .setUpdateStatus(TargetUpdateStatus.PENDING));
+
+        // one event per chunk of targets instead of one per target to keep the
+        // load on the event bus low for large assignments
+        Lists.partition(actions, ASSIGNMENT_EVENT_CHUNK_SIZE)
+                .forEach(chunk -> afterCommit.afterCommit(() -> eventPublisher
+                        .publishEvent(new TargetAssignDistributionSetEvent(set, chunk, applicationContext.getId()))));
     }
 
     private static JpaAction createTargetAction(final Map<String, TargetWithActionType> targetsWithActionMap,
@@ -337,6 +362,8 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         actionForTarget.setDistributionSet(set);
         actionForTarget.setRollout(rollout);
         actionForTarget.setRolloutGroup(rolloutGroup);
+        // the initial running status is created together with the action
+        actionForTarget.setStatusCount(1);
         return actionForTarget;
     }
 
@@ -362,11 +389,14 @@ public class JpaDeploymentManagement implements DeploymentManagement {
                 .findByActiveAndTargetIdInAndActionStatusNotEqualToAndDistributionSetRequiredMigrationStep(targetsIds,
                         Action.Status.CANCELING);
         final Set<Long> cancelledTargetIds = activeActions.stream().map(action -> {
+            final Status oldStatus = action.getStatus();
             action.setStatus(Status.CANCELING);
+            rolloutGroupStatusCounter.statusChanged(action, oldStatus);
             // document that the status has been retrieved
 
             actionStatusRepository.save(new JpaActionStatus(action, Status.CANCELING, System.currentTimeMillis(),
                     "manual cancelation requested"));
+            actionRepository.incrementStatusCount(action.getId());
 
             cancelAssignDistributionSetEvent(action.getTarget(), action.getId());
 
@@ -399,11 +429,14 @@ public class JpaDeploymentManagement implements DeploymentManagement {
 
         if (myAction.isActive()) {
             LOG.debug("action ({}) was still active. Change to {}.", action, Status.CANCELING);
+            final Status oldStatus = myAction.getStatus();
             myAction.setStatus(Status.CANCELING);
+            rolloutGroupStatusCounter.statusChanged(myAction, oldStatus);
 
             // document that the status has been retrieved
             actionStatusRepository.save(new JpaActionStatus(myAction, Status.CANCELING, System.currentTimeMillis(),
                     "manual cancelation requested"));
+            actionRepository.incrementStatusCount(myAction.getId());
             final Action saveAction = actionRepository.save(myAction);
             cancelAssignDistributionSetEvent(target, myAction.getId());
 
@@ -449,9 +482,12 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         // document that the status has been retrieved
         actionStatusRepository.save(new JpaActionStatus(mergedAction, Status.CANCELED, System.currentTimeMillis(),
                 "A force quit has been performed."));
+        actionRepository.incrementStatusCount(mergedAction.getId());
 
+        final Status oldStatus = mergedAction.getStatus();
         DeploymentHelper.successCancellation(mergedAction, actionRepository, targetManagement, targetInfoRepository,
                 entityManager);
+        rolloutGroupStatusCounter.statusChanged(mergedAction, oldStatus);
 
         return actionRepository.save(mergedAction);
     }
@@ -468,6 +504,7 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         // created.
         final List<Long> targetIds = targets.stream().map(t -> t.getId()).collect(Collectors.toList());
         actionRepository.switchStatus(Action.Status.CANCELED, targetIds, false, Action.Status.SCHEDULED);
+        rolloutGroupStatusCounter.evictAll();
         targets.forEach(target -> {
             final JpaAction action = new JpaAction();
             action.setTarget(target);
@@ -490,24 +527,75 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         final JpaAction action = actionRepository.findById(actionId);
 
         // check if we need to override running update actions
-        final Set<Long> overrideObsoleteUpdateActions = overrideObsoleteUpdateActions(
+        final Set<Long> cancelledTargetIds = overrideObsoleteUpdateActions(
                 Collections.singletonList(action.getTarget().getId()));
 
+        final JpaAction savedAction = startScheduledAction(action);
+
+        // in case we canceled an action before for this target, then don't fire
+        // assignment event
+        if (savedAction.isActive() && !cancelledTargetIds.contains(savedAction.getTarget().getId())) {
+            assignDistributionSetEvent(savedAction);
+        }
+        return savedAction;
+    }
+
+    @Override
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED)
+    public List<Action> startScheduledActions(final List<Long> actionIds) {
+        final List<JpaAction> actions = Lists.newArrayList(actionRepository.findAll(actionIds));
+
+        // check if we need to override running update actions
+        final Set<Long> cancelledTargetIds = overrideObsoleteUpdateActions(
+                actions.stream().map(action -> action.getTarget().getId()).collect(Collectors.toList()));
+
+        final List<Action> startedActions = new ArrayList<>(actions.size());
+        final Map<Long, List<JpaAction>> assignedActionsBySet = new LinkedHashMap<>();
+        actions.forEach(action -> {
+            final JpaAction savedAction = startScheduledAction(action);
+            startedActions.add(savedAction);
+            // targets with a canceled action get the assignment after the
+            // cancellation
+            if (savedAction.isActive() && !cancelledTargetIds.contains(savedAction.getTarget().getId())) {
+                assignedActionsBySet.computeIfAbsent(savedAction.getDistributionSet().getId(), id -> new ArrayList<>())
+                        .add(savedAction);
+            }
+        });
+
+        // one event per chunk of targets instead of one per target as for the
+        // assignment of a distribution set
+        assignedActionsBySet.values()
+                .forEach(assignedActions -> Lists.partition(assignedActions, ASSIGNMENT_EVENT_CHUNK_SIZE)
+                        .forEach(chunk -> afterCommit.afterCommit(() -> eventPublisher.publishEvent(
+                                new TargetAssignDistributionSetEvent(chunk.get(0).getDistributionSet(), chunk,
+                                        applicationContext.getId())))));
+
+        return startedActions;
+    }
+
+    private JpaAction startScheduledAction(final JpaAction action) {
+        final Status oldStatus = action.getStatus();
+
         if (action.getTarget().getAssignedDistributionSet() != null && action.getDistributionSet().getId()
                 .equals(action.getTarget().getAssignedDistributionSet().getId())) {
             // the target has already the distribution set assigned, we don't
             // need to start the scheduled action, just finish it.
             action.setStatus(Status.FINISHED);
             action.setActive(false);
+            rolloutGroupStatusCounter.statusChanged(action, oldStatus);
             setSkipActionStatus(action);
+            actionRepository.incrementStatusCount(action.getId());
             return actionRepository.save(action);
         }
 
         action.setActive(true);
         action.setStatus(Status.RUNNING);
+        rolloutGroupStatusCounter.statusChanged(action, oldStatus);
         final JpaAction savedAction = actionRepository.save(action);
 
         setRunningActionStatus(savedAction, null);
+        actionRepository.incrementStatusCount(savedAction.getId());
 
         final JpaTarget target = (JpaTarget) savedAction.getTarget();
 
@@ -517,11 +605,6 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         targetRepository.save(target);
         targetInfoRepository.save(targetInfo);
 
-        // in case we canceled an action before for this target, then don't fire
-        // assignment event
-        if (!overrideObsoleteUpdateActions.contains(savedAction.getId())) {
-            assignDistributionSetEvent(savedAction);
-        }
         return savedAction;
     }
 
@@ -598,6 +681,17 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         return convertAcPage(actions, pageable);
     }
 
+    @Override
+    public KeysetSlice<Action> findActionsByTargetAfter(final String rsqlParam, final Target target,
+            final KeysetCursor cursor, final Pageable pageable, final boolean count) {
+        final Specification<JpaAction> spec = rsqlParam != null ? createSpecificationFor(target, rsqlParam)
+                : (root, query, cb) -> cb.equal(root.get(JpaAction_.target), target);
+        final KeysetSlice<JpaAction> actions = criteriaNoCountDao.findAllAfter(spec, cursor, pageable, count,
+                JpaAction.class);
+        return new KeysetSlice<>(Collections.unmodifiableList(actions.getContent()), pageable, actions.getNext(),
+                actions.getTotal());
+    }
+
     private Specification<JpaAction> createSpecificationFor(final Target target, final String rsqlParam) {
         final Specification<JpaAction> spec = RSQLUtility.parse(rsqlParam, ActionFields.class, virtualPropertyReplacer);
         return (root, query, cb) -> cb.and(spec.toPredicate(root, query, cb),
@@ -25,6 +25,8 @@ import org.eclipse.hawkbit.repository.DistributionSetFields;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.DistributionSetMetadataFields;
 import org.eclipse.hawkbit.repository.DistributionSetTypeFields;
+import org.eclipse.hawkbit.repository.KeysetCursor;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TagManagement;
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
@@ -117,6 +119,9 @@ public class JpaDistributionSetManagement implements DistributionSetManagement {
     @Autowired
     private VirtualPropertyReplacer virtualPropertyReplacer;
 
+    @Autowired
+    private NoCountPagingRepository criteriaNoCountDao;
+
     @Override
     public DistributionSet findDistributionSetByIdWithDetails(final Long distid) {
         return distributionSetRepository.findOne(DistributionSetSpecification.byId(distid));
@@ -366,6 +371,22 @@ public class JpaDistributionSetManagement implements DistributionSetManagement {
         return convertDsPage(findByCriteriaAPI(pageReq, specList), pageReq);
     }
 
+    @Override
+    public KeysetSlice<DistributionSet> findDistributionSetsAfter(final String rsqlParam, final KeysetCursor cursor,
+            final Pageable pageReq, final boolean count) {
+        final List<Specification<JpaDistributionSet>> specList = new ArrayList<>(2);
+        specList.add(DistributionSetSpecification.isDeleted(false));
+        if (rsqlParam != null) {
+            specList.add(RSQLUtility.parse(rsqlParam, DistributionSetFields.class, virtualPropertyReplacer));
+        }
+
+        final KeysetSlice<JpaDistributionSet> sets = criteriaNoCountDao
+                .findAllAfter(SpecificationsBuilder.combineWithAnd(specList), cursor, pageReq, count,
+                        JpaDistributionSet.class);
+        return new KeysetSlice<>(Collections.unmodifiableList(sets.getContent()), pageReq, sets.getNext(),
+                sets.getTotal());
+    }
+
     @Override
     public Page<DistributionSet> findDistributionSetsAllOrderedByLinkTarget(final Pageable pageable,
             final DistributionSetFilterBuilder distributionSetFilterBuilder, final String assignedOrInstalled) {
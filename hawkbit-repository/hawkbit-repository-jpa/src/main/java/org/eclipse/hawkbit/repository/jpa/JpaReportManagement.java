@@ -9,9 +9,9 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -20,13 +20,14 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
-import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.ListJoin;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.eclipse.hawkbit.repository.ReportManagement;
@@ -36,6 +37,8 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
+import org.eclipse.hawkbit.repository.jpa.report.ReportRollupStore;
+import org.eclipse.hawkbit.repository.jpa.report.ReportRollupStore.Series;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.report.model.DataReportSeries;
 import org.eclipse.hawkbit.repository.report.model.DataReportSeriesItem;
@@ -43,7 +46,6 @@ import org.eclipse.hawkbit.repository.report.model.InnerOuterDataReportSeries;
 import org.eclipse.hawkbit.repository.report.model.SeriesTime;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -56,29 +58,15 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 public class JpaReportManagement implements ReportManagement {
 
-    @Value("${spring.jpa.database}")
-    private String databaseType;
-
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
-
-    private static final String H2_TARGET_CREATED_SQL_TEMPLATE = "SELECT TO_CHAR( DATEADD('second', target0_.created_at / 1000, DATE '1970-01-01'), '%s') AS col_0_0_, count(target0_.controller_id) AS col_1_0_ from sp_target target0_ WHERE TO_CHAR(DATEADD('second', target0_.created_at / 1000, DATE '1970-01-01'),'%s') BETWEEN TO_CHAR('%s', '%s') and TO_CHAR('%s', '%s') AND UPPER(target0_.tenant)=UPPER('%s') GROUP BY TO_CHAR(DATEADD('second', target0_.created_at / 1000, DATE '1970-01-01'), '%s')";
-
-    private static final String H2_CONTROLLER_FRRDBACK_SQL_TEMPLATE = "SELECT TO_CHAR(DATEADD('second', action_.created_at / 1000, DATE '1970-01-01'), '%s') AS col_0_0_, count(action_.id) AS col_1_0_ FROM sp_action action_ WHERE TO_CHAR(DATEADD('second', action_.created_at / 1000, DATE '1970-01-01'), '%s') BETWEEN TO_CHAR('%s', '%s') AND  TO_CHAR('%s', '%s') AND UPPER(action_.tenant)=UPPER('%s') GROUP BY TO_CHAR(DATEADD('second', action_.created_at / 1000, DATE '1970-01-01'), '%s')";
-
-    private static final String MYSQL_TARGET_CREATED_SQL_TEMPLATE = "SELECT DATE_FORMAT(FROM_UNIXTIME(target0_.created_at / 1000), '%s') AS col_0_0_, COUNT(target0_.controller_id) AS col_1_0_ FROM sp_target target0_ WHERE DATE_FORMAT(FROM_UNIXTIME(target0_.created_at / 1000),'%s') BETWEEN DATE_FORMAT('%s', '%s') AND DATE_FORMAT('%s', '%s') AND UPPER(target0_.tenant)=UPPER('%s') GROUP BY DATE_FORMAT(FROM_UNIXTIME(target0_.created_at / 1000), '%s')";
-
-    private static final String MYSQL_CONTROLLER_FRRDBACK_SQL_TEMPLATE = "SELECT DATE_FORMAT(FROM_UNIXTIME(action_.created_at / 1000), '%s') AS col_0_0_, COUNT(action_.id) as col_1_0_ FROM sp_action action_ WHERE DATE_FORMAT(FROM_UNIXTIME(action_.created_at / 1000),'%s') BETWEEN DATE_FORMAT('%s', '%s') AND DATE_FORMAT('%s', '%s') AND UPPER(action_.tenant)=UPPER('%s') GROUP BY DATE_FORMAT(FROM_UNIXTIME(action_.created_at / 1000), '%s')";
-
-    private static final String MYSQL_DB_TYPE = "MYSQL";
-
-    private static final String H2_DB_TYPE = "H2";
-
     @Autowired
     private EntityManager entityManager;
 
     @Autowired
     private TenantAware tenantAware;
 
+    @Autowired
+    private ReportRollupStore reportRollupStore;
+
     @Override
     public DataReportSeries<TargetUpdateStatus> targetStatus() {
 
@@ -114,29 +102,32 @@ public class JpaReportManagement implements ReportManagement {
         final LocalDateTime beforeYear = now.minusYears(1);
 
         final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        final List<DataReportSeriesItem<SeriesTime>> resultList = new ArrayList<>();
-
-        // hours
-        resultList.add(new DataReportSeriesItem<SeriesTime>(SeriesTime.HOUR,
-                entityManager.createQuery(createCountSelectTargetsLastPoll(cb, beforeHour, now)).getSingleResult()));
-        // days
-        resultList.add(new DataReportSeriesItem<SeriesTime>(SeriesTime.DAY, entityManager
-                .createQuery(createCountSelectTargetsLastPoll(cb, beforeDay, beforeHour)).getSingleResult()));
-        // weeks
-        resultList.add(new DataReportSeriesItem<SeriesTime>(SeriesTime.WEEK, entityManager
-                .createQuery(createCountSelectTargetsLastPoll(cb, beforeWeek, beforeDay)).getSingleResult()));
-        // months
-        resultList.add(new DataReportSeriesItem<SeriesTime>(SeriesTime.MONTH, entityManager
-                .createQuery(createCountSelectTargetsLastPoll(cb, beforeMonth, beforeWeek)).getSingleResult()));
-        // years
-        resultList.add(new DataReportSeriesItem<SeriesTime>(SeriesTime.YEAR, entityManager
-                .createQuery(createCountSelectTargetsLastPoll(cb, beforeYear, beforeMonth)).getSingleResult()));
-        // years
-        resultList.add(new DataReportSeriesItem<SeriesTime>(SeriesTime.MORE_THAN_YEAR,
-                entityManager.createQuery(createCountSelectTargetsLastPoll(cb, null, beforeYear)).getSingleResult()));
-        // never
-        resultList.add(new DataReportSeriesItem<SeriesTime>(SeriesTime.NEVER,
-                entityManager.createQuery(createCountSelectTargetsLastPoll(cb, null, null)).getSingleResult()));
+        final CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        final Join<JpaTarget, JpaTargetInfo> targetInfoJoin = targetRoot.join(JpaTarget_.targetInfo);
+        final Path<Long> lastTargetQuery = targetInfoJoin.get(JpaTargetInfo_.lastTargetQuery);
+
+        // all ranges are counted within a single scan of the targets
+        query.multiselect(countTargetsLastPoll(cb, lastTargetQuery, beforeHour, now),
+                countTargetsLastPoll(cb, lastTargetQuery, beforeDay, beforeHour),
+                countTargetsLastPoll(cb, lastTargetQuery, beforeWeek, beforeDay),
+                countTargetsLastPoll(cb, lastTargetQuery, beforeMonth, beforeWeek),
+                countTargetsLastPoll(cb, lastTargetQuery, beforeYear, beforeMonth),
+                countTargetsLastPoll(cb, lastTargetQuery, null, beforeYear),
+                countTargetsLastPoll(cb, lastTargetQuery, null, null));
+
+        // | col1 | col2 | col3 | col4 | col5 | col6 | col7 |
+        // | HOUR | DAY | WEEK | MONTH | YEAR | MORE_THAN_YEAR | NEVER |
+        final Object[] counts = entityManager.createQuery(query).getSingleResult();
+
+        final SeriesTime[] seriesTimes = { SeriesTime.HOUR, SeriesTime.DAY, SeriesTime.WEEK, SeriesTime.MONTH,
+                SeriesTime.YEAR, SeriesTime.MORE_THAN_YEAR, SeriesTime.NEVER };
+        final List<DataReportSeriesItem<SeriesTime>> resultList = new ArrayList<>(seriesTimes.length);
+        for (int i = 0; i < seriesTimes.length; i++) {
+            // the sum of an empty table is null
+            final long count = counts[i] != null ? ((Number) counts[i]).longValue() : 0L;
+            resultList.add(new DataReportSeriesItem<SeriesTime>(seriesTimes[i], count));
+        }
 
         return new DataReportSeries<>("TargetLastPoll", resultList);
     }
@@ -193,93 +184,54 @@ public class JpaReportManagement implements ReportManagement {
     @Override
     public <T extends Serializable> DataReportSeries<T> targetsCreatedOverPeriod(final DateType<T> dateType,
             final LocalDateTime from, final LocalDateTime to) {
-        final Query createNativeQuery = entityManager
-                .createNativeQuery(getTargetsCreatedQueryTemplate(dateType, from, to));
-        final List<Object[]> resultList = createNativeQuery.getResultList();
-
-        final List<DataReportSeriesItem<T>> reportItems = resultList.stream()
-                .map(r -> new DataReportSeriesItem<>(dateType.format((String) r[0]), ((Number) r[1]).longValue()))
-                .collect(Collectors.toList());
-
-        return new DataReportSeries<>("CreatedTargets", reportItems);
-    }
-
-    private String getTargetsCreatedQueryTemplate(final DateType<?> dateType, final LocalDateTime from,
-            final LocalDateTime to) {
-        switch (databaseType) {
-        case H2_DB_TYPE:
-            return String.format(H2_TARGET_CREATED_SQL_TEMPLATE, dateTimeFormatToSqlFormat(dateType),
-                    dateTimeFormatToSqlFormat(dateType), from.format(DATE_FORMAT), dateTimeFormatToSqlFormat(dateType),
-                    to.format(DATE_FORMAT), dateTimeFormatToSqlFormat(dateType), tenantAware.getCurrentTenant(),
-                    dateTimeFormatToSqlFormat(dateType));
-        case MYSQL_DB_TYPE:
-            return String.format(MYSQL_TARGET_CREATED_SQL_TEMPLATE, dateTimeFormatToSqlFormat(dateType),
-                    dateTimeFormatToSqlFormat(dateType), from.toString(), dateTimeFormatToSqlFormat(dateType),
-                    to.toString(), dateTimeFormatToSqlFormat(dateType), tenantAware.getCurrentTenant(),
-                    dateTimeFormatToSqlFormat(dateType));
-        default:
-            return null;
-        }
-    }
-
-    private String getFeedbackReceivedQueryTemplate(final DateType<?> dateType, final LocalDateTime from,
-            final LocalDateTime to) {
-        switch (databaseType) {
-        case H2_DB_TYPE:
-            return String.format(H2_CONTROLLER_FRRDBACK_SQL_TEMPLATE, dateTimeFormatToSqlFormat(dateType),
-                    dateTimeFormatToSqlFormat(dateType), from.format(DATE_FORMAT), dateTimeFormatToSqlFormat(dateType),
-                    to.format(DATE_FORMAT), dateTimeFormatToSqlFormat(dateType), tenantAware.getCurrentTenant(),
-                    dateTimeFormatToSqlFormat(dateType));
-        case MYSQL_DB_TYPE:
-            return String.format(MYSQL_CONTROLLER_FRRDBACK_SQL_TEMPLATE, dateTimeFormatToSqlFormat(dateType),
-                    dateTimeFormatToSqlFormat(dateType), from.toString(), dateTimeFormatToSqlFormat(dateType),
-                    to.toString(), dateTimeFormatToSqlFormat(dateType), tenantAware.getCurrentTenant(),
-                    dateTimeFormatToSqlFormat(dateType));
-        default:
-            return null;
-        }
+        return new DataReportSeries<>("CreatedTargets",
+                countPerPeriod(Series.TARGETS_CREATED, dateType, from, to));
     }
 
     @Override
     public <T extends Serializable> DataReportSeries<T> feedbackReceivedOverTime(final DateType<T> dateType,
             final LocalDateTime from, final LocalDateTime to) {
-        final Query createNativeQuery = entityManager
-                .createNativeQuery(getFeedbackReceivedQueryTemplate(dateType, from, to));
-        @SuppressWarnings("unchecked")
-        final List<Object[]> resultList = createNativeQuery.getResultList();
+        return new DataReportSeries<>("FeedbackRecieved", countPerPeriod(Series.ACTIONS_CREATED, dateType, from, to));
+    }
 
-        final List<DataReportSeriesItem<T>> reportItems = resultList.stream()
-                .map(r -> new DataReportSeriesItem<>(dateType.format((String) r[0]), ((Number) r[1]).longValue()))
+    private <T extends Serializable> List<DataReportSeriesItem<T>> countPerPeriod(final Series series,
+            final DateType<T> dateType, final LocalDateTime from, final LocalDateTime to) {
+        final long start = toEpochMilli(dateType.startOfPeriod(from));
+        final long end = toEpochMilli(dateType.startOfNextPeriod(to));
+
+        // the counters are ordered, so are the periods. The periods start at
+        // the start of a bucket in every time zone
+        final Map<T, Long> countPerPeriod = new LinkedHashMap<>();
+        reportRollupStore.countPerBucket(tenantAware.getCurrentTenant(), series, start, end)
+                .forEach((bucket, count) -> countPerPeriod.merge(
+                        dateType.period(toLocalDateTime(bucket * ReportRollupStore.BUCKET_LENGTH)), count,
+                        Long::sum));
+
+        return countPerPeriod.entrySet().stream()
+                .map(entry -> new DataReportSeriesItem<>(entry.getKey(), entry.getValue()))
                 .collect(Collectors.toList());
+    }
 
-        return new DataReportSeries<>("FeedbackRecieved", reportItems);
+    private static long toEpochMilli(final LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
-    private static CriteriaQuery<Long> createCountSelectTargetsLastPoll(final CriteriaBuilder cb,
-            final LocalDateTime from, final LocalDateTime to) {
+    private static LocalDateTime toLocalDateTime(final long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
 
-        Long start = null;
-        Long end = null;
-        if (from != null) {
-            start = from.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-        }
-        if (to != null) {
-            end = to.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-        }
+    private static Expression<Long> countTargetsLastPoll(final CriteriaBuilder cb,
+            final Path<Long> lastTargetQuery, final LocalDateTime from, final LocalDateTime to) {
 
-        // count select statement
-        final CriteriaQuery<Long> countSelect = cb.createQuery(Long.class);
-        final Root<JpaTarget> countSelectRoot = countSelect.from(JpaTarget.class);
-        final Join<JpaTarget, JpaTargetInfo> targetInfoJoin = countSelectRoot.join(JpaTarget_.targetInfo);
-        countSelect.select(cb.count(countSelectRoot));
-        if (start != null && end != null) {
-            countSelect.where(cb.between(targetInfoJoin.get(JpaTargetInfo_.lastTargetQuery), start, end));
+        final Predicate inRange;
+        if (from != null && to != null) {
+            inRange = cb.between(lastTargetQuery, toEpochMilli(from), toEpochMilli(to));
         } else if (from == null && to != null) {
-            countSelect.where(cb.lessThanOrEqualTo(targetInfoJoin.get(JpaTargetInfo_.lastTargetQuery), end));
+            inRange = cb.lessThanOrEqualTo(lastTargetQuery, toEpochMilli(to));
         } else {
-            countSelect.where(cb.isNull(targetInfoJoin.get(JpaTargetInfo_.lastTargetQuery)));
+            inRange = cb.isNull(lastTargetQuery);
         }
-        return countSelect;
+        return cb.sum(cb.<Long> selectCase().when(inRange, 1L).otherwise(0L));
     }
 
     private static List<InnerOuterDataReportSeries<String>> mapDistirbutionUsageResultToDataReport(
@@ -413,15 +365,4 @@ public class JpaReportManagement implements ReportManagement {
         }
     }
 
-    private String dateTimeFormatToSqlFormat(final DateType<?> datatype) {
-        switch (databaseType) {
-        case H2_DB_TYPE:
-            return datatype.h2Format();
-        case MYSQL_DB_TYPE:
-            return datatype.mySqlFormat();
-        default:
-            return null;
-        }
-    }
-
 }
@@ -17,19 +17,26 @@ import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
 
 import org.eclipse.hawkbit.repository.DeploymentManagement;
-import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
 import org.eclipse.hawkbit.repository.RolloutFields;
 import org.eclipse.hawkbit.repository.RolloutGroupManagement;
 import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout_;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupActionEvaluator;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupConditionEvaluator;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
@@ -59,8 +66,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -81,6 +86,12 @@ import org.springframework.validation.annotation.Validated;
 public class JpaRolloutManagement implements RolloutManagement {
     private static final Logger LOGGER = LoggerFactory.getLogger(RolloutManagement.class);
 
+    /**
+     * Maximum number of targets assigned to a rollout group with one
+     * statement.
+     */
+    private static final int TARGET_ASSIGNMENT_CHUNK_SIZE = 500;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -99,15 +110,15 @@ public class JpaRolloutManagement implements RolloutManagement {
     @Autowired
     private DeploymentManagement deploymentManagement;
 
-    @Autowired
-    private RolloutTargetGroupRepository rolloutTargetGroupRepository;
-
     @Autowired
     private RolloutGroupManagement rolloutGroupManagement;
 
     @Autowired
     private ActionRepository actionRepository;
 
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
     @Autowired
     private ApplicationContext context;
 
@@ -221,13 +232,27 @@ public class JpaRolloutManagement implements RolloutManagement {
         }
     }
 
+    /**
+     * Creates the rollout groups with one transaction per group, so the
+     * created groups and the {@link Rollout#getRolloutGroupsCreated()} counter
+     * are visible while the rollout is still {@link RolloutStatus#CREATING}.
+     * If the creation fails the groups created so far are kept and the rollout
+     * stays {@link RolloutStatus#CREATING}.
+     */
     private Rollout createRolloutGroupsInNewTransaction(final int amountOfGroups,
             final RolloutGroupConditions conditions, final JpaRollout savedRollout) {
         final DefaultTransactionDefinition def = new DefaultTransactionDefinition();
-        def.setName("creatingRollout");
+        def.setName("creatingRolloutGroup");
         def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
-        return new TransactionTemplate(txManager, def)
-                .execute(status -> createRolloutGroups(amountOfGroups, conditions, savedRollout));
+        final TransactionTemplate transaction = new TransactionTemplate(txManager, def);
+
+        final RolloutGroupsCreation creation = new RolloutGroupsCreation(savedRollout, amountOfGroups);
+        while (creation.hasUnassignedTargets()) {
+            if (!transaction.execute(status -> createRolloutGroup(conditions, creation, true))) {
+                break;
+            }
+        }
+        return transaction.execute(status -> completeRolloutGroupsCreation(creation));
     }
 
     /**
@@ -246,45 +271,157 @@ public class JpaRolloutManagement implements RolloutManagement {
      */
     private Rollout createRolloutGroups(final int amountOfGroups, final RolloutGroupConditions conditions,
             final JpaRollout savedRollout) {
-        int pageIndex = 0;
-        int groupIndex = 0;
-        final Long totalCount = savedRollout.getTotalTargets();
-        final int groupSize = (int) Math.ceil((double) totalCount / (double) amountOfGroups);
-        RolloutGroup lastSavedGroup = null;
-        while (pageIndex < totalCount) {
-            groupIndex++;
-            final String nameAndDesc = "group-" + groupIndex;
-            final JpaRolloutGroup group = new JpaRolloutGroup();
-            group.setName(nameAndDesc);
-            group.setDescription(nameAndDesc);
-            group.setRollout(savedRollout);
-            group.setParent(lastSavedGroup);
-            group.setSuccessCondition(conditions.getSuccessCondition());
-            group.setSuccessConditionExp(conditions.getSuccessConditionExp());
-            group.setErrorCondition(conditions.getErrorCondition());
-            group.setErrorConditionExp(conditions.getErrorConditionExp());
-            group.setErrorAction(conditions.getErrorAction());
-            group.setErrorActionExp(conditions.getErrorActionExp());
-
-            final JpaRolloutGroup savedGroup = rolloutGroupRepository.save(group);
-
-            final Slice<Target> targetGroup = targetManagement.findTargetsAll(savedRollout.getTargetFilterQuery(),
-                    new OffsetBasedPageRequest(pageIndex, groupSize, new Sort(Direction.ASC, "id")));
-            savedGroup.setTotalTargets(targetGroup.getContent().size());
-
-            lastSavedGroup = savedGroup;
-
-            targetGroup
-                    .forEach(target -> rolloutTargetGroupRepository.save(new RolloutTargetGroup(savedGroup, target)));
-            eventPublisher.publishEvent(new RolloutGroupCreatedEvent(group, context.getId()));
-            pageIndex += groupSize;
+        final RolloutGroupsCreation creation = new RolloutGroupsCreation(savedRollout, amountOfGroups);
+        while (creation.hasUnassignedTargets()) {
+            if (!createRolloutGroup(conditions, creation, false)) {
+                break;
+            }
         }
+        return completeRolloutGroupsCreation(creation);
+    }
+
+    /**
+     * Creates the next group of the rollout and assigns the next targets of
+     * the filter query to it.
+     *
+     * @param conditions
+     *            the rollout group conditions
+     * @param creation
+     *            the state of the group creation of the rollout
+     * @param updateCreatedCounter
+     *            {@code true} to update the created group counter of the
+     *            rollout in the database, {@code false} if the rollout is
+     *            saved by the same transaction anyway
+     * @return {@code true} if targets have been assigned to the group,
+     *         {@code false} if there are less targets matching the filter
+     *         than counted before
+     */
+    private boolean createRolloutGroup(final RolloutGroupConditions conditions,
+            final RolloutGroupsCreation creation, final boolean updateCreatedCounter) {
+        final JpaRollout savedRollout = creation.rollout;
+        final int groupIndex = creation.groupsCreated + 1;
+        final String nameAndDesc = "group-" + groupIndex;
+        final JpaRolloutGroup group = new JpaRolloutGroup();
+        group.setName(nameAndDesc);
+        group.setDescription(nameAndDesc);
+        // the groups created before and the rollout might have been
+        // committed by another transaction
+        group.setRollout(entityManager.getReference(JpaRollout.class, savedRollout.getId()));
+        group.setParent(creation.lastGroupId == null ? null
+                : entityManager.getReference(JpaRolloutGroup.class, creation.lastGroupId));
+        group.setSuccessCondition(conditions.getSuccessCondition());
+        group.setSuccessConditionExp(conditions.getSuccessConditionExp());
+        group.setErrorCondition(conditions.getErrorCondition());
+        group.setErrorConditionExp(conditions.getErrorConditionExp());
+        group.setErrorAction(conditions.getErrorAction());
+        group.setErrorActionExp(conditions.getErrorActionExp());
+
+        final JpaRolloutGroup savedGroup = rolloutGroupRepository.save(group);
+        // the group has to exist in the database before the targets are
+        // assigned by native statements
+        entityManager.flush();
+
+        int groupTargets = 0;
+        while (groupTargets < creation.groupSize) {
+            final List<Long> targetIds = findTargetIdsAfter(creation.targetFilter, creation.lastTargetId,
+                    Math.min(TARGET_ASSIGNMENT_CHUNK_SIZE, creation.groupSize - groupTargets));
+            if (targetIds.isEmpty()) {
+                break;
+            }
+            insertRolloutTargetGroups(savedGroup.getId(), targetIds);
+            groupTargets += targetIds.size();
+            creation.lastTargetId = targetIds.get(targetIds.size() - 1);
+        }
+        savedGroup.setTotalTargets(groupTargets);
+
+        creation.groupsCreated = groupIndex;
+        creation.assignedTargets += groupTargets;
+        creation.lastGroupId = savedGroup.getId();
 
         savedRollout.setRolloutGroupsCreated(groupIndex);
+        if (updateCreatedCounter) {
+            rolloutRepository.updateRolloutGroupsCreated(savedRollout.getId(), groupIndex);
+        }
+        LOGGER.debug("Created group {} of rollout {} with {} targets, {} of {} targets assigned", groupIndex,
+                savedRollout.getId(), groupTargets, creation.assignedTargets, creation.totalTargets);
+        eventPublisher.publishEvent(new RolloutGroupCreatedEvent(group, context.getId()));
+
+        return groupTargets > 0;
+    }
+
+    private Rollout completeRolloutGroupsCreation(final RolloutGroupsCreation creation) {
+        final JpaRollout savedRollout = creation.rollout;
+        savedRollout.setRolloutGroupsCreated(creation.groupsCreated);
         savedRollout.setStatus(RolloutStatus.READY);
         return rolloutRepository.save(savedRollout);
     }
 
+    /**
+     * State of the group creation of a rollout which is carried from one group
+     * to the next.
+     */
+    private final class RolloutGroupsCreation {
+        private final JpaRollout rollout;
+        private final long totalTargets;
+        private final int groupSize;
+        private final Specification<JpaTarget> targetFilter;
+        private int groupsCreated;
+        private long assignedTargets;
+        private long lastTargetId;
+        private Long lastGroupId;
+
+        private RolloutGroupsCreation(final JpaRollout rollout, final int amountOfGroups) {
+            this.rollout = rollout;
+            this.totalTargets = rollout.getTotalTargets();
+            this.groupSize = (int) Math.ceil((double) totalTargets / (double) amountOfGroups);
+            this.targetFilter = RSQLUtility.parse(rollout.getTargetFilterQuery(), TargetFields.class,
+                    virtualPropertyReplacer);
+        }
+
+        private boolean hasUnassignedTargets() {
+            return assignedTargets < totalTargets;
+        }
+    }
+
+    /**
+     * Keyset pagination over the target filter query, i.e. the next page
+     * starts after the last target ID of the previous page which is
+     * independent of the amount of targets that have already been assigned.
+     */
+    private List<Long> findTargetIdsAfter(final Specification<JpaTarget> targetFilter, final long lastTargetId,
+            final int limit) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        query.select(targetRoot.get(JpaTarget_.id)).distinct(true);
+        query.where(cb.and(targetFilter.toPredicate(targetRoot, query, cb),
+                cb.greaterThan(targetRoot.get(JpaTarget_.id), lastTargetId)));
+        query.orderBy(cb.asc(targetRoot.get(JpaTarget_.id)));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Assigns the given targets to the rollout group with a single multi row
+     * insert instead of persisting a {@link RolloutTargetGroup} per target.
+     */
+    private void insertRolloutTargetGroups(final Long rolloutGroupId, final List<Long> targetIds) {
+        final StringBuilder sql = new StringBuilder(
+                "INSERT INTO sp_rollouttargetgroup (rolloutGroup_Id, target_id) VALUES ");
+        for (int i = 0; i < targetIds.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?1, ?").append(i + 2).append(')');
+        }
+
+        final Query insert = entityManager.createNativeQuery(sql.toString());
+        insert.setParameter(1, rolloutGroupId);
+        for (int i = 0; i < targetIds.size(); i++) {
+            insert.setParameter(i + 2, targetIds.get(i));
+        }
+        insert.executeUpdate();
+    }
+
     @Override
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
     @Modifying
@@ -473,10 +610,24 @@ public class JpaRolloutManagement implements RolloutManagement {
                 // not in error so check finished state, do we need to
                 // start the next group?
                 final RolloutGroupSuccessCondition finishedCondition = rolloutGroup.getSuccessCondition();
-                checkFinishCondition(rollout, rolloutGroup, finishedCondition);
+                if (checkFinishCondition(rollout, rolloutGroup, finishedCondition)) {
+                    // the error state has been checked with counters which
+                    // miss the status changes of other nodes until they are
+                    // reloaded, so it is checked again before the next group
+                    // is started
+                    if (checkErrorStateWithReloadedCounters(rollout, rolloutGroup)) {
+                        LOGGER.info("Rollout {} {} has error, calling error action", rollout.getName(),
+                                rollout.getId());
+                        callErrorAction(rollout, rolloutGroup);
+                        continue;
+                    }
+                    LOGGER.info("Rolloutgroup {} is finished, starting next group", rolloutGroup);
+                    executeRolloutGroupSuccessAction(rollout, rolloutGroup);
+                }
                 if (isRolloutGroupComplete(rollout, rolloutGroup)) {
                     rolloutGroup.setStatus(RolloutGroupStatus.FINISHED);
                     rolloutGroupRepository.save(rolloutGroup);
+                    rolloutGroupStatusCounter.evict(rolloutGroup.getId());
                 }
             }
         }
@@ -523,6 +674,11 @@ public class JpaRolloutManagement implements RolloutManagement {
     }
 
     private boolean isRolloutGroupComplete(final JpaRollout rollout, final JpaRolloutGroup rolloutGroup) {
+        // the counters might lag behind, so the database is only queried if
+        // the group seems to be complete
+        if (rolloutGroupStatusCounter.countOpen(rolloutGroup.getId()) > 0) {
+            return false;
+        }
         final Long actionsLeftForRollout = actionRepository
                 .countByRolloutAndRolloutGroupAndStatusNotAndStatusNotAndStatusNot(rollout, rolloutGroup,
                         Action.Status.ERROR, Action.Status.FINISHED, Action.Status.CANCELED);
@@ -547,6 +703,11 @@ public class JpaRolloutManagement implements RolloutManagement {
         }
     }
 
+    private boolean checkErrorStateWithReloadedCounters(final Rollout rollout, final RolloutGroup rolloutGroup) {
+        rolloutGroupStatusCounter.evict(rolloutGroup.getId());
+        return checkErrorState(rollout, rolloutGroup);
+    }
+
     private boolean checkFinishCondition(final Rollout rollout, final RolloutGroup rolloutGroup,
             final RolloutGroupSuccessCondition finishCondition) {
         LOGGER.trace("Checking finish condition {} on rolloutgroup {}", finishCondition, rolloutGroup);
@@ -554,10 +715,7 @@ public class JpaRolloutManagement implements RolloutManagement {
             final boolean isFinished = context
                     .getBean(finishCondition.getBeanName(), RolloutGroupConditionEvaluator.class)
                     .eval(rollout, rolloutGroup, rolloutGroup.getSuccessConditionExp());
-            if (isFinished) {
-                LOGGER.info("Rolloutgroup {} is finished, starting next group", rolloutGroup);
-                executeRolloutGroupSuccessAction(rollout, rolloutGroup);
-            } else {
+            if (!isFinished) {
                 LOGGER.debug("Rolloutgroup {} is still running", rolloutGroup);
             }
             return isFinished;
@@ -23,6 +23,7 @@ import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactio
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSetType;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModuleType;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantMetaData;
+import org.eclipse.hawkbit.repository.jpa.report.ReportRollupStore;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleType;
 import org.eclipse.hawkbit.repository.model.TenantMetaData;
@@ -31,6 +32,7 @@ import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.data.jpa.repository.Modifying;
@@ -50,12 +52,20 @@ import org.springframework.validation.annotation.Validated;
 @Transactional(readOnly = true, isolation = Isolation.READ_UNCOMMITTED)
 @Validated
 public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, SystemManagement {
+
+    private static final String TENANT_METADATA_CACHE = "tenantMetadata";
+
+    private static final String TENANT_METADATA_CACHE_KEY = "metadata";
+
     @Autowired
     private EntityManager entityManager;
 
     @Autowired
     private TargetRepository targetRepository;
 
+    @Autowired
+    private ReportRollupStore reportRollupStore;
+
     @Autowired
     private TargetFilterQueryRepository targetFilterQueryRepository;
 
@@ -212,7 +222,7 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
     @Modifying
     public void deleteTenant(final String tenant) {
-        cacheManager.evictCaches(tenant);
+        cacheManager.evictCaches(tenant.toUpperCase());
         tenantAware.runAsTenant(tenant, () -> {
             entityManager.setProperty(PersistenceUnitProperties.MULTITENANT_PROPERTY_DEFAULT, tenant.toUpperCase());
             tenantMetaDataRepository.deleteByTenantIgnoreCase(tenant);
@@ -229,6 +239,7 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
             distributionSetTypeRepository.deleteByTenantIgnoreCase(tenant);
             softwareModuleRepository.deleteByTenantIgnoreCase(tenant);
             softwareModuleTypeRepository.deleteByTenantIgnoreCase(tenant);
+            reportRollupStore.deleteByTenant(tenant);
             return null;
         });
     }
@@ -244,6 +255,26 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
         return getTenantMetadata(tenantAware.getCurrentTenant());
     }
 
+    @Override
+    // no transaction on cache hits, the lookup on a miss runs in its own
+    // transactions
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TenantMetaData getCachedTenantMetadata() {
+        final Cache cache = cacheManager.getCache(TENANT_METADATA_CACHE);
+        if (cache == null) {
+            return getTenantMetadata();
+        }
+
+        final TenantMetaData cached = cache.get(TENANT_METADATA_CACHE_KEY, TenantMetaData.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        final TenantMetaData metaData = getTenantMetadata();
+        cache.put(TENANT_METADATA_CACHE_KEY, metaData);
+        return metaData;
+    }
+
     @Override
     @Cacheable(value = "currentTenant", keyGenerator = "currentTenantKeyGenerator", cacheManager = "directCacheManager")
     // set transaction to not supported, due we call this in
@@ -275,6 +306,11 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
             throw new EntityNotFoundException("Metadata does not exist: " + metaData.getId());
         }
 
+        final Cache cache = cacheManager.getCache(TENANT_METADATA_CACHE);
+        if (cache != null) {
+            cache.evict(TENANT_METADATA_CACHE_KEY);
+        }
+
         return tenantMetaDataRepository.save((JpaTenantMetaData) metaData);
     }
 
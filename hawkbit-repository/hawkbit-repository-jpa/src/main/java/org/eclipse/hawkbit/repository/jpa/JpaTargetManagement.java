@@ -13,7 +13,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
@@ -29,13 +32,17 @@ import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.hawkbit.repository.FilterParams;
+import org.eclipse.hawkbit.repository.KeysetCursor;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.TimestampCalculator;
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetSecurityTokenChangedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.importer.TargetBulkImporter;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo;
@@ -47,11 +54,14 @@ import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
 import org.eclipse.hawkbit.repository.jpa.specifications.SpecificationsBuilder;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetCredentials;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.repository.model.TargetIdName;
+import org.eclipse.hawkbit.repository.model.TargetImportResult;
 import org.eclipse.hawkbit.repository.model.TargetTag;
 import org.eclipse.hawkbit.repository.model.TargetTagAssignmentResult;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
@@ -67,6 +77,7 @@ import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.validation.annotation.Validated;
@@ -105,12 +116,18 @@ public class JpaTargetManagement implements TargetManagement {
     @Autowired
     private TenantAware tenantAware;
 
+    @Autowired
+    private SystemSecurityContext systemSecurityContext;
+
     @Autowired
     private AfterTransactionCommitExecutor afterCommit;
 
     @Autowired
     private VirtualPropertyReplacer virtualPropertyReplacer;
 
+    @Autowired
+    private TargetBulkImporter targetBulkImporter;
+
     @Override
     public Target findTargetByControllerID(final String controllerId) {
         return targetRepository.findByControllerId(controllerId);
@@ -176,6 +193,17 @@ public class JpaTargetManagement implements TargetManagement {
         return convertPage(targetRepository.findAll(spec, pageable), pageable);
     }
 
+    @Override
+    public KeysetSlice<Target> findTargetsAfter(final String targetFilterQuery, final KeysetCursor cursor,
+            final Pageable pageable, final boolean count) {
+        final Specification<JpaTarget> spec = targetFilterQuery != null
+                ? RSQLUtility.parse(targetFilterQuery, TargetFields.class, virtualPropertyReplacer) : null;
+        final KeysetSlice<JpaTarget> targets = criteriaNoCountDao.findAllAfter(spec, cursor, pageable, count,
+                JpaTarget.class);
+        return new KeysetSlice<>(Collections.unmodifiableList(targets.getContent()), pageable, targets.getNext(),
+                targets.getTotal());
+    }
+
     @Override
     public List<Target> findTargetsByControllerIDsWithTags(final List<String> controllerIDs) {
         final List<List<String>> partition = Lists.partition(controllerIDs, Constants.MAX_ENTRIES_IN_STATEMENT);
@@ -192,7 +220,16 @@ public class JpaTargetManagement implements TargetManagement {
 
         final JpaTarget toUpdate = (JpaTarget) target;
         toUpdate.setNew(false);
-        return targetRepository.save(toUpdate);
+        final TargetCredentials stored = targetRepository.findCredentialsById(toUpdate.getId());
+        final Target updated = targetRepository.save(toUpdate);
+
+        if (stored != null && !Objects.equals(stored.getSecurityTokenHash(),
+                TargetCredentials.hashSecurityToken(systemSecurityContext.runAsSystem(toUpdate::getSecurityToken)))) {
+            final String tenant = tenantAware.getCurrentTenant();
+            afterCommit.afterCommit(() -> eventPublisher.publishEvent(
+                    new TargetSecurityTokenChangedEvent(tenant, toUpdate.getId(), applicationContext.getId())));
+        }
+        return updated;
     }
 
     @Override
@@ -585,6 +622,24 @@ public class JpaTargetManagement implements TargetManagement {
 
     }
 
+    @Override
+    public List<Target> findTargetsByIdsAndTargetFilterQueryAndNonDS(@NotNull final Collection<Long> targetIds,
+            final Long distributionSetId, @NotNull final TargetFilterQuery targetFilterQuery) {
+        if (targetIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Specification<JpaTarget> spec = RSQLUtility.parse(targetFilterQuery.getQuery(), TargetFields.class,
+                virtualPropertyReplacer);
+
+        return Lists.partition(new ArrayList<>(targetIds), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .map(ids -> targetRepository.findAll((Specification<JpaTarget>) (root, cq, cb) -> cb.and(
+                        TargetSpecifications.hasIdIn(ids).toPredicate(root, cq, cb), spec.toPredicate(root, cq, cb),
+                        TargetSpecifications.hasNotDistributionSetInActions(distributionSetId).toPredicate(root, cq,
+                                cb))))
+                .<Target> flatMap(List::stream).collect(Collectors.toList());
+    }
+
     @Override
     public Long countTargetsByTargetFilterQueryAndNonDS(final Long distributionSetId,
             @NotNull final TargetFilterQuery targetFilterQuery) {
@@ -648,6 +703,15 @@ public class JpaTargetManagement implements TargetManagement {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(value = { "targetsCreatedOverPeriod" }, allEntries = true)
+    public void importTargets(final Iterator<Target> targets, final Consumer<TargetImportResult> batchListener) {
+        // every batch runs in its own transaction, reading the next batch
+        // from the source must not keep a transaction open
+        targetBulkImporter.importTargets(targets, batchListener);
+    }
+
     @Override
     public List<Target> findTargetsByTag(final String tagName) {
         final JpaTargetTag tag = targetTagRepository.findByNameEquals(tagName);
@@ -9,21 +9,36 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.persistence.Entity;
 import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 
+import org.eclipse.hawkbit.repository.KeysetCursor;
+import org.eclipse.hawkbit.repository.KeysetSlice;
+import org.eclipse.hawkbit.repository.exception.InvalidPagingCursorException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
 
 /**
  * Workaround as spring data does not provide a {@link Slice} based
@@ -77,6 +92,205 @@ public class NoCountPagingRepository {
         return noCountDao.findAll(pageable);
     }
 
+    /**
+     * Searches with keyset pagination, i.e. the page starts after the sort
+     * key values of the given cursor instead of an offset. The entity ID is
+     * added as last sort key to make the order unique.
+     *
+     * Only sort fields with a basic value can be used. <code>null</code>
+     * values are expected to be sorted first in ascending order like in H2
+     * and MySQL.
+     *
+     * @param spec
+     *            to search for, might be <code>null</code>
+     * @param cursor
+     *            of the previous page or <code>null</code> for the first page
+     * @param pageable
+     *            sorting and size of the page, the offset is ignored
+     * @param count
+     *            <code>true</code> to count all entities matching the spec
+     * @param domainClass
+     *            of the {@link Entity}
+     *
+     * @return {@link KeysetSlice} of data
+     *
+     * @throws InvalidPagingCursorException
+     *             if the cursor does not match the sorting or a sort field
+     *             cannot be used for keyset pagination
+     */
+    public <T> KeysetSlice<T> findAllAfter(final Specification<T> spec, final KeysetCursor cursor,
+            final Pageable pageable, final boolean count, final Class<T> domainClass) {
+        final List<Order> orders = keysetOrders(pageable.getSort());
+        final int sortSignature = sortSignature(orders);
+        if (cursor != null
+                && (cursor.getSortSignature() != sortSignature || cursor.getValues().size() != orders.size())) {
+            throw new InvalidPagingCursorException("cursor does not match the sorting " + orders);
+        }
+
+        final CriteriaBuilder cb = em.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<T> root = query.from(domainClass);
+
+        final List<Path<Comparable<Object>>> keys = new ArrayList<>(orders.size());
+        final List<javax.persistence.criteria.Order> sorting = new ArrayList<>(orders.size());
+        for (final Order order : orders) {
+            final Path<Comparable<Object>> key = keyPath(root, order.getProperty());
+            keys.add(key);
+            sorting.add(order.isAscending() ? cb.asc(key) : cb.desc(key));
+        }
+
+        final List<Predicate> predicates = new ArrayList<>(2);
+        if (spec != null) {
+            predicates.add(spec.toPredicate(root, query, cb));
+        }
+        if (cursor != null) {
+            predicates.add(after(cb, keys, orders, cursor.getValues()));
+        }
+
+        final List<Selection<?>> selection = new ArrayList<>(keys.size() + 1);
+        selection.add(root);
+        selection.addAll(keys);
+        query.multiselect(selection).where(predicates.toArray(new Predicate[predicates.size()])).orderBy(sorting);
+
+        final List<Tuple> result = em.createQuery(query).setMaxResults(pageable.getPageSize() + 1).getResultList();
+        final boolean hasNext = result.size() > pageable.getPageSize();
+        final List<Tuple> page = hasNext ? result.subList(0, pageable.getPageSize()) : result;
+
+        final List<T> content = new ArrayList<>(page.size());
+        page.forEach(tuple -> content.add(tuple.get(0, domainClass)));
+
+        KeysetCursor next = null;
+        if (hasNext) {
+            final Tuple last = page.get(page.size() - 1);
+            final List<String> values = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                values.add(toCursorValue(last.get(i + 1)));
+            }
+            next = new KeysetCursor(sortSignature, values);
+        }
+
+        return new KeysetSlice<>(content, pageable, next, count ? count(spec, domainClass) : null);
+    }
+
+    private <T> Long count(final Specification<T> spec, final Class<T> domainClass) {
+        final CriteriaBuilder cb = em.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<T> root = query.from(domainClass);
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        return em.createQuery(query).getSingleResult();
+    }
+
+    private static List<Order> keysetOrders(final Sort sort) {
+        final List<Order> orders = new ArrayList<>();
+        boolean unique = false;
+        if (sort != null) {
+            for (final Order order : sort) {
+                orders.add(order);
+                unique |= "id".equals(order.getProperty());
+            }
+        }
+        if (!unique) {
+            orders.add(new Order(Direction.ASC, "id"));
+        }
+        return orders;
+    }
+
+    private static int sortSignature(final List<Order> orders) {
+        final StringBuilder signature = new StringBuilder();
+        orders.forEach(order -> signature.append(order.getProperty()).append(':').append(order.getDirection())
+                .append(','));
+        return signature.toString().hashCode();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Path<Comparable<Object>> keyPath(final Root<?> root, final String property) {
+        Path<?> path = root;
+        try {
+            for (final String attribute : property.split("\\.")) {
+                path = path.get(attribute);
+            }
+        } catch (final IllegalArgumentException | IllegalStateException e) {
+            throw new InvalidPagingCursorException(
+                    "sort field " + property + " cannot be used for keyset pagination", e);
+        }
+
+        final Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(path.getJavaType());
+        if (!String.class.equals(type) && !Long.class.equals(type) && !Integer.class.equals(type)
+                && !Boolean.class.equals(type) && !type.isEnum()) {
+            throw new InvalidPagingCursorException(
+                    "sort field " + property + " cannot be used for keyset pagination");
+        }
+        return (Path<Comparable<Object>>) path;
+    }
+
+    /**
+     * Builds the predicate for the rows after the cursor in sort order, i.e.
+     * {@code (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ...}.
+     */
+    private static Predicate after(final CriteriaBuilder cb, final List<Path<Comparable<Object>>> keys,
+            final List<Order> orders, final List<String> cursorValues) {
+        final List<Predicate> alternatives = new ArrayList<>(keys.size());
+        final List<Predicate> equals = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            final Path<Comparable<Object>> key = keys.get(i);
+            final Comparable<Object> value = toKeyValue(key.getJavaType(), cursorValues.get(i));
+
+            final Predicate beyond = beyond(cb, key, value, orders.get(i).isAscending());
+            if (beyond != null) {
+                final List<Predicate> alternative = new ArrayList<>(equals);
+                alternative.add(beyond);
+                alternatives.add(cb.and(alternative.toArray(new Predicate[alternative.size()])));
+            }
+            equals.add(value == null ? cb.isNull(key) : cb.equal(key, value));
+        }
+        return cb.or(alternatives.toArray(new Predicate[alternatives.size()]));
+    }
+
+    /**
+     * @return the predicate for the key values after the given value in sort
+     *         order or <code>null</code> if there are none, <code>null</code>
+     *         values are first in ascending order
+     */
+    private static Predicate beyond(final CriteriaBuilder cb, final Path<Comparable<Object>> key,
+            final Comparable<Object> value, final boolean ascending) {
+        if (ascending) {
+            return value == null ? cb.isNotNull(key) : cb.greaterThan(key, value);
+        }
+        return value == null ? null : cb.or(cb.lessThan(key, value), cb.isNull(key));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparable<Object> toKeyValue(final Class<?> javaType, final String value) {
+        if (value == null) {
+            return null;
+        }
+        final Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(javaType);
+        try {
+            if (Long.class.equals(type)) {
+                return (Comparable) Long.valueOf(value);
+            } else if (Integer.class.equals(type)) {
+                return (Comparable) Integer.valueOf(value);
+            } else if (Boolean.class.equals(type)) {
+                return (Comparable) Boolean.valueOf(value);
+            } else if (type.isEnum()) {
+                return (Comparable) Enum.valueOf((Class<Enum>) type, value);
+            }
+        } catch (final IllegalArgumentException e) {
+            throw new InvalidPagingCursorException("cursor does not match the sorting", e);
+        }
+        return (Comparable) value;
+    }
+
+    private static String toCursorValue(final Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+    }
+
     /**
      * Repository implementation with disabled count query.
      * 
@@ -49,6 +49,23 @@ public interface RolloutRepository
     int updateLastCheck(@Param("lastCheck") final long lastCheck, @Param("delay") final long delay,
             @Param("status") final RolloutStatus status);
 
+    /**
+     * Updates the {@code rolloutGroupsCreated} field of a {@link Rollout}
+     * without changing its optimistic lock revision, so a rollout which is
+     * still creating its groups can be saved afterwards.
+     *
+     * @param rolloutId
+     *            the ID of the rollout
+     * @param rolloutGroupsCreated
+     *            the number of groups created so far
+     * @return the count of the updated rows
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JpaRollout r SET r.rolloutGroupsCreated = :rolloutGroupsCreated WHERE r.id = :rolloutId")
+    int updateRolloutGroupsCreated(@Param("rolloutId") final Long rolloutId,
+            @Param("rolloutGroupsCreated") final int rolloutGroupsCreated);
+
     /**
      * Retrieves all {@link Rollout} for a specific {@code lastCheck} time and
      * for a specific status.
@@ -44,6 +44,22 @@ public interface TargetInfoRepository {
     @Query("update JpaTargetInfo ti set ti.updateStatus = :status where ti.targetId in :targets and ti.updateStatus != :status")
     void setTargetUpdateStatus(@Param("status") TargetUpdateStatus status, @Param("targets") List<Long> targets);
 
+    /**
+     * Sets the last poll time and, if given, the address of a target by a
+     * single update without loading the target.
+     *
+     * @param targetId
+     *            of the target
+     * @param lastTargetQuery
+     *            time of the poll
+     * @param address
+     *            of the target or <code>null</code> to keep the current one
+     * @return <code>true</code> if the address of the target has changed
+     */
+    @Modifying
+    @Transactional(isolation = Isolation.READ_UNCOMMITTED)
+    boolean updateLastTargetQuery(Long targetId, long lastTargetQuery, String address);
+
     /**
      * Save entity and evict cache with it.
      *
@@ -18,6 +18,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaTargetTag;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Tag;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetCredentials;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.model.TargetWithActionStatus;
 import org.springframework.cache.annotation.CacheEvict;
@@ -49,6 +50,47 @@ public interface TargetRepository extends BaseEntityRepository<JpaTarget, Long>,
     @EntityGraph(value = "Target.detail", type = EntityGraphType.LOAD)
     JpaTarget findByControllerId(String controllerID);
 
+    /**
+     * Retrieves the credentials of a target without loading the entity.
+     *
+     * @param controllerID
+     *            to search for
+     * @return the {@link TargetCredentials} or <code>null</code> if the target
+     *         does not exist
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TargetCredentials(t.id, t.controllerId, t.securityToken) FROM JpaTarget t WHERE t.controllerId = :controllerId")
+    TargetCredentials findCredentialsByControllerId(@Param("controllerId") String controllerID);
+
+    /**
+     * Retrieves the credentials of a target without loading the entity.
+     *
+     * @param targetId
+     *            to search for
+     * @return the {@link TargetCredentials} or <code>null</code> if the target
+     *         does not exist
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TargetCredentials(t.id, t.controllerId, t.securityToken) FROM JpaTarget t WHERE t.id = :targetId")
+    TargetCredentials findCredentialsById(@Param("targetId") Long targetId);
+
+    /**
+     * Retrieves the data that is necessary to answer a poll of the controller
+     * in one projection query, i.e. target ID, security token, update status,
+     * request attributes flag and ID, status, type and forced time of the
+     * active actions ordered by the action ID. The first row contains the
+     * oldest active action. The action columns are <code>null</code> if there
+     * is no active action.
+     *
+     * @param controllerID
+     *            to search for
+     * @param pageable
+     *            to limit the result to the oldest active action
+     * @return list of found rows, empty if the target does not exist
+     */
+    @Query("SELECT t.id, t.securityToken, ti.updateStatus, ti.requestControllerAttributes, a.id, a.status, a.actionType, a.forcedTime "
+            + "FROM JpaTarget t JOIN t.targetInfo ti LEFT JOIN t.actions a ON a.active = true "
+            + "WHERE t.controllerId = :controllerId ORDER BY a.id ASC")
+    List<Object[]> findPollInfoByControllerId(@Param("controllerId") String controllerID, Pageable pageable);
+
     /**
      * Finds targets by given list of {@link Target#getControllerId()}s.
      *
@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -108,6 +109,50 @@ public class AutoAssignChecker {
 
     }
 
+    /**
+     * Checks only the given targets against all target filter queries with an
+     * auto assign distribution set, e.g. targets that have been created or
+     * updated recently. The full {@link #check()} remains necessary for
+     * changes of the filter queries themselves.
+     *
+     * @param targetIds
+     *            technical IDs of the targets to check
+     */
+    public void checkTargets(final Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return;
+        }
+
+        Page<TargetFilterQuery> filterQueries;
+        PageRequest pageRequest = new PageRequest(0, PAGE_SIZE);
+        do {
+            filterQueries = targetFilterQueryManagement.findTargetFilterQueryWithAutoAssignDS(pageRequest);
+            for (final TargetFilterQuery filterQuery : filterQueries) {
+                checkTargetsByTargetFilterQueryAndAssignDS(filterQuery, targetIds);
+            }
+            pageRequest = new PageRequest(pageRequest.getPageNumber() + 1, PAGE_SIZE);
+        } while (filterQueries.hasNext());
+    }
+
+    private void checkTargetsByTargetFilterQueryAndAssignDS(final TargetFilterQuery targetFilterQuery,
+            final Collection<Long> targetIds) {
+        final Long dsId = targetFilterQuery.getAutoAssignDistributionSet().getId();
+        final String actionMessage = String.format(ACTION_MESSAGE, targetFilterQuery.getName());
+        try {
+            transactionTemplate.execute(status -> {
+                final List<TargetWithActionType> targets = toTargetsWithActionType(
+                        targetManagement.findTargetsByIdsAndTargetFilterQueryAndNonDS(targetIds, dsId,
+                                targetFilterQuery));
+                if (!targets.isEmpty()) {
+                    deploymentManagement.assignDistributionSet(dsId, targets, actionMessage);
+                }
+                return targets.size();
+            });
+        } catch (PersistenceException | AbstractServerRtException e) {
+            LOGGER.error("Error during auto assign check of target filter query " + targetFilterQuery.getId(), e);
+        }
+    }
+
     /**
      * Fetches the distribution set, gets all controllerIds and assigns the DS
      * to them. Catches PersistenceException and own exceptions derived from
@@ -172,8 +217,12 @@ public class AutoAssignChecker {
         Page<Target> targets = targetManagement.findAllTargetsByTargetFilterQueryAndNonDS(new PageRequest(0, count),
                 dsId, targetFilterQuery);
 
-        return targets.getContent().stream().map(t -> new TargetWithActionType(t.getControllerId(),
-                Action.ActionType.FORCED, RepositoryModelConstants.NO_FORCE_TIME)).collect(Collectors.toList());
+        return toTargetsWithActionType(targets.getContent());
+    }
+
+    private static List<TargetWithActionType> toTargetsWithActionType(final List<Target> targets) {
+        return targets.stream().map(t -> new TargetWithActionType(t.getControllerId(), Action.ActionType.FORCED,
+                RepositoryModelConstants.NO_FORCE_TIME)).collect(Collectors.toList());
     }
 
 }
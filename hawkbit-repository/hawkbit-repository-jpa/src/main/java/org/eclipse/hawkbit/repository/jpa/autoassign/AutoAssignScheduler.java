@@ -8,12 +8,10 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
-import java.util.List;
-
 import org.eclipse.hawkbit.repository.AutoAssignProperties;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.jpa.scheduler.TenantTaskExecutor;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
-import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -30,63 +28,40 @@ public class AutoAssignScheduler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignScheduler.class);
 
-    private final TenantAware tenantAware;
-
-    private final SystemManagement systemManagement;
-
-    private final SystemSecurityContext systemSecurityContext;
+    private final TenantTaskExecutor tenantTaskExecutor;
 
     private final AutoAssignChecker autoAssignChecker;
 
+    private final AutoAssignProperties autoAssignProperties;
+
     /**
      * Instantiates a new AutoAssignScheduler
      * 
-     * @param tenantAware
-     *            to run as specific tenant
-     * @param systemManagement
-     *            to find all tenants
-     * @param systemSecurityContext
-     *            to run as system
+     * @param tenantTaskExecutor
+     *            to run the check for all tenants
      * @param autoAssignChecker
      *            to run a check as tenant
+     * @param autoAssignProperties
+     *            for the period of the check
      */
-    public AutoAssignScheduler(TenantAware tenantAware, SystemManagement systemManagement,
-            SystemSecurityContext systemSecurityContext, AutoAssignChecker autoAssignChecker) {
-        this.tenantAware = tenantAware;
-        this.systemManagement = systemManagement;
-        this.systemSecurityContext = systemSecurityContext;
+    public AutoAssignScheduler(final TenantTaskExecutor tenantTaskExecutor,
+            final AutoAssignChecker autoAssignChecker, final AutoAssignProperties autoAssignProperties) {
+        this.tenantTaskExecutor = tenantTaskExecutor;
         this.autoAssignChecker = autoAssignChecker;
+        this.autoAssignProperties = autoAssignProperties;
     }
 
     /**
      * Scheduler method called by the spring-async mechanism. Retrieves all
      * tenants from the {@link SystemManagement#findTenants()} and runs for each
      * tenant the auto assignments defined in the target filter queries
-     * {@link SystemSecurityContext}.
+     * {@link SystemSecurityContext}. The tenants are checked in parallel by
+     * the {@link TenantTaskExecutor}.
      */
     @Scheduled(initialDelayString = AutoAssignProperties.Scheduler.PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = AutoAssignProperties.Scheduler.PROP_SCHEDULER_DELAY_PLACEHOLDER)
     public void autoAssignScheduler() {
         LOGGER.debug("auto assign schedule checker has been triggered.");
-        // run this code in system code privileged to have the necessary
-        // permission to query and create entities.
-        systemSecurityContext.runAsSystem(() -> {
-            // workaround eclipselink that is currently not possible to
-            // execute a query without multitenancy if MultiTenant
-            // annotation is used.
-            // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
-            // iterate through all tenants and execute the rollout check for
-            // each tenant separately.
-            final List<String> tenants = systemManagement.findTenants();
-            LOGGER.info("Checking target filter queries for tenants: {}", tenants.size());
-            for (final String tenant : tenants) {
-                tenantAware.runAsTenant(tenant, () -> {
-
-                    autoAssignChecker.check();
-
-                    return null;
-                });
-            }
-            return null;
-        });
+        tenantTaskExecutor.runForAllTenants("autoassign", autoAssignProperties.getScheduler().getFixedDelay(),
+                autoAssignChecker::check);
     }
 }
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.repository.AutoAssignProperties;
+import org.eclipse.hawkbit.repository.AutoAssignProperties.Incremental;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetsCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Queues created and updated targets and checks them periodically against the
+ * target filter queries with an auto assign distribution set. New targets get
+ * their distribution set within seconds instead of with the next full check of
+ * the {@link AutoAssignScheduler}, which remains as reconciliation.
+ *
+ * Only events that originate from this node are queued, i.e. every target is
+ * checked by the node that changed it. Updates that only change the last poll
+ * time of a target are not queued, as every poll of a controller publishes
+ * one. Targets which exceed the queue limit and filters on the last poll time
+ * are left to the {@link AutoAssignScheduler}.
+ */
+public class AutoAssignTargetQueue implements PublicMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignTargetQueue.class);
+
+    private static final String METRIC_PREFIX = "hawkbit.autoassign.queue.";
+
+    private final Map<String, Set<Long>> pending = new ConcurrentHashMap<>();
+
+    private final AutoAssignChecker autoAssignChecker;
+
+    private final SystemSecurityContext systemSecurityContext;
+
+    private final Incremental properties;
+
+    private final AtomicLong checked = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param autoAssignChecker
+     *            to check the queued targets
+     * @param systemSecurityContext
+     *            to run the check as system for a tenant
+     * @param autoAssignProperties
+     *            for the queue configuration
+     */
+    public AutoAssignTargetQueue(final AutoAssignChecker autoAssignChecker,
+            final SystemSecurityContext systemSecurityContext, final AutoAssignProperties autoAssignProperties) {
+        this.autoAssignChecker = autoAssignChecker;
+        this.systemSecurityContext = systemSecurityContext;
+        this.properties = autoAssignProperties.getIncremental();
+    }
+
+    /**
+     * Queues the target of the given event for the next check.
+     *
+     * @param event
+     *            the {@link TargetCreatedEvent}
+     */
+    @EventListener(classes = TargetCreatedEvent.class)
+    public void onTargetCreated(final TargetCreatedEvent event) {
+        queue(event);
+    }
+
+    /**
+     * Queues the target of the given event for the next check unless only
+     * its last poll time has changed.
+     *
+     * @param event
+     *            the {@link TargetUpdatedEvent}
+     */
+    @EventListener(classes = TargetUpdatedEvent.class)
+    public void onTargetUpdated(final TargetUpdatedEvent event) {
+        if (event.isPollUpdate()) {
+            return;
+        }
+        queue(event);
+    }
+
+    private void queue(final RemoteIdEvent event) {
+        if (!properties.isEnabled() || event.getTenant() == null || event.getEntityId() == null
+                || !isFromThisNode(event)) {
+            return;
+        }
+
+        queue(event.getTenant(), Collections.singleton(event.getEntityId()));
+    }
+
+    /**
+     * Queues the targets of a bulk import for the next check.
+     *
+     * @param event
+     *            the {@link TargetsCreatedEvent}
+     */
+    @EventListener(classes = TargetsCreatedEvent.class)
+    public void onTargetsCreated(final TargetsCreatedEvent event) {
+        if (!properties.isEnabled() || event.getTenant() == null || !isFromThisNode(event)) {
+            return;
+        }
+
+        queue(event.getTenant(), event.getTargets().values());
+    }
+
+    private void queue(final String tenant, final Collection<Long> targetIds) {
+        pending.compute(tenant, (key, queuedIds) -> {
+            final Set<Long> queued = queuedIds != null ? queuedIds : new HashSet<>();
+            for (final Long targetId : targetIds) {
+                if (queued.size() < properties.getMaxPending()) {
+                    queued.add(targetId);
+                } else {
+                    dropped.incrementAndGet();
+                }
+            }
+            return queued;
+        });
+    }
+
+    private static boolean isFromThisNode(final RemoteApplicationEvent event) {
+        final String applicationId = EventPublisherHolder.getInstance().getApplicationId();
+        return applicationId == null || applicationId.equals(event.getOriginService());
+    }
+
+    /**
+     * Checks the queued targets of all tenants. Scheduled by the spring-async
+     * mechanism.
+     */
+    @Scheduled(initialDelayString = Incremental.PROP_INCREMENTAL_DELAY_PLACEHOLDER, fixedDelayString = Incremental.PROP_INCREMENTAL_DELAY_PLACEHOLDER)
+    public void checkQueuedTargets() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        for (final String tenant : new ArrayList<>(pending.keySet())) {
+            // the set is only modified within compute, so after the removal it
+            // is owned by this thread and new targets go into a new set
+            final Set<Long> targetIds = pending.remove(tenant);
+            if (targetIds == null || targetIds.isEmpty()) {
+                continue;
+            }
+
+            LOGGER.debug("Checking {} changed targets of tenant {} for auto assignment", targetIds.size(), tenant);
+            try {
+                systemSecurityContext.runAsSystemAsTenant(() -> {
+                    autoAssignChecker.checkTargets(targetIds);
+                    return null;
+                }, tenant);
+                checked.addAndGet(targetIds.size());
+            } catch (final RuntimeException e) {
+                LOGGER.error("Auto assignment of changed targets failed for tenant " + tenant, e);
+            }
+        }
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>(3);
+        metrics.add(new Metric<>(METRIC_PREFIX + "size",
+                pending.values().stream().mapToInt(Collection::size).sum()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "checked", checked.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "dropped", dropped.get()));
+        return metrics;
+    }
+}
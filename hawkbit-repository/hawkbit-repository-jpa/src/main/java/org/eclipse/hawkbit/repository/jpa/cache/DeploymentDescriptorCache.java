@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.RepositoryProperties.DescriptorCache;
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdateEvent;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.context.event.EventListener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Cache of the {@link DeploymentDescriptor}s by tenant and distribution set
+ * ID. All targets of a rollout fetch the same descriptor, so only the target
+ * specific download URLs have to be created per request.
+ *
+ * Entries expire after the configured time and are evicted on
+ * {@link DistributionSetUpdateEvent}s and {@link DistributionSetDeletedEvent}s
+ * of all nodes. Changed artifacts evict all descriptors of the tenant through
+ * {@link #evictTenant(String)} as the module might be part of any
+ * distribution set.
+ */
+public class DeploymentDescriptorCache implements PublicMetrics {
+
+    private static final String METRIC_PREFIX = "hawkbit.repository.descriptor.cache.";
+
+    private final Cache<Key, DeploymentDescriptor> descriptors;
+
+    private final boolean enabled;
+
+    /**
+     * Constructor.
+     *
+     * @param repositoryProperties
+     *            for the cache configuration
+     */
+    public DeploymentDescriptorCache(final RepositoryProperties repositoryProperties) {
+        final DescriptorCache properties = repositoryProperties.getDescriptorCache();
+        this.enabled = properties.getTtl() > 0;
+        this.descriptors = CacheBuilder.newBuilder().expireAfterWrite(properties.getTtl(), TimeUnit.MILLISECONDS)
+                .maximumSize(properties.getMaxSize()).recordStats().build();
+    }
+
+    /**
+     * @param tenant
+     *            of the distribution set
+     * @param distributionSetId
+     *            of the distribution set
+     * @param loader
+     *            to read the descriptor if it is not cached
+     * @return the cached or loaded descriptor or <code>null</code> if the
+     *         distribution set does not exist
+     */
+    public DeploymentDescriptor get(final String tenant, final Long distributionSetId,
+            final Supplier<DeploymentDescriptor> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        final Key key = new Key(tenant, distributionSetId);
+        final DeploymentDescriptor cached = descriptors.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final DeploymentDescriptor descriptor = loader.get();
+        if (descriptor != null) {
+            descriptors.put(key, descriptor);
+        }
+        return descriptor;
+    }
+
+    /**
+     * Evicts all descriptors of the given tenant.
+     *
+     * @param tenant
+     *            to evict
+     */
+    public void evictTenant(final String tenant) {
+        if (!enabled) {
+            return;
+        }
+
+        final String upperCaseTenant = tenant.toUpperCase();
+        descriptors.asMap().keySet().removeIf(key -> key.tenant.equals(upperCaseTenant));
+    }
+
+    /**
+     * Evicts the descriptor of the changed or deleted distribution set.
+     *
+     * @param event
+     *            the {@link DistributionSetUpdateEvent} or
+     *            {@link DistributionSetDeletedEvent}
+     */
+    @EventListener(classes = { DistributionSetUpdateEvent.class, DistributionSetDeletedEvent.class })
+    public void onDistributionSetChanged(final RemoteIdEvent event) {
+        if (!enabled || event.getTenant() == null || event.getEntityId() == null) {
+            return;
+        }
+
+        descriptors.invalidate(new Key(event.getTenant(), event.getEntityId()));
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final CacheStats stats = descriptors.stats();
+        final List<Metric<?>> metrics = new ArrayList<>(4);
+        metrics.add(new Metric<>(METRIC_PREFIX + "size", descriptors.size()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "hits", stats.hitCount()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "misses", stats.missCount()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "hitRate", stats.hitRate()));
+        return metrics;
+    }
+
+    private static final class Key {
+        private final String tenant;
+        private final Long distributionSetId;
+
+        private Key(final String tenant, final Long distributionSetId) {
+            this.tenant = tenant.toUpperCase();
+            this.distributionSetId = distributionSetId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * tenant.hashCode() + distributionSetId.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return distributionSetId.equals(other.distributionSetId) && tenant.equals(other.tenant);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.RepositoryProperties.CredentialsCache;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetSecurityTokenChangedEvent;
+import org.eclipse.hawkbit.repository.model.TargetCredentials;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.context.event.EventListener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Short-lived cache of the {@link TargetCredentials} which are read on every
+ * authenticated controller request. Entries expire after the configured time
+ * and are evicted on {@link TargetSecurityTokenChangedEvent}s and
+ * {@link TargetDeletedEvent}s of all nodes, so a changed security token is
+ * used immediately. Other updates of the target, e.g. by its polls, keep the
+ * entries. The credentials only contain a hash of the security token.
+ *
+ * The credentials are cached by tenant and controller ID. A second index maps
+ * the technical ID of the target to the controller ID, as the events only
+ * contain the technical ID.
+ */
+public class TargetCredentialsCache implements PublicMetrics {
+
+    private static final String METRIC_PREFIX = "hawkbit.repository.credentials.cache.";
+
+    private final Cache<Key, TargetCredentials> byControllerId;
+
+    private final Cache<Key, String> controllerIdByTargetId;
+
+    private final boolean enabled;
+
+    /**
+     * Constructor.
+     *
+     * @param repositoryProperties
+     *            for the cache configuration
+     */
+    public TargetCredentialsCache(final RepositoryProperties repositoryProperties) {
+        final CredentialsCache properties = repositoryProperties.getCredentialsCache();
+        this.enabled = properties.getTtl() > 0;
+        this.byControllerId = CacheBuilder.newBuilder().expireAfterWrite(properties.getTtl(), TimeUnit.MILLISECONDS)
+                .maximumSize(properties.getMaxSize()).recordStats().build();
+        this.controllerIdByTargetId = CacheBuilder.newBuilder()
+                .expireAfterWrite(properties.getTtl(), TimeUnit.MILLISECONDS).maximumSize(properties.getMaxSize())
+                .build();
+    }
+
+    /**
+     * @param tenant
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @param loader
+     *            to read the credentials if they are not cached
+     * @return the cached or loaded credentials or <code>null</code> if the
+     *         target does not exist
+     */
+    public TargetCredentials getByControllerId(final String tenant, final String controllerId,
+            final Supplier<TargetCredentials> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        final TargetCredentials cached = byControllerId.getIfPresent(new Key(tenant, controllerId));
+        if (cached != null) {
+            return cached;
+        }
+        return put(tenant, loader.get());
+    }
+
+    /**
+     * @param tenant
+     *            of the target
+     * @param targetId
+     *            technical ID of the target
+     * @param loader
+     *            to read the credentials if they are not cached
+     * @return the cached or loaded credentials or <code>null</code> if the
+     *         target does not exist
+     */
+    public TargetCredentials getByTargetId(final String tenant, final Long targetId,
+            final Supplier<TargetCredentials> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        final String controllerId = controllerIdByTargetId.getIfPresent(new Key(tenant, targetId.toString()));
+        if (controllerId != null) {
+            final TargetCredentials cached = byControllerId.getIfPresent(new Key(tenant, controllerId));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return put(tenant, loader.get());
+    }
+
+    private TargetCredentials put(final String tenant, final TargetCredentials credentials) {
+        // unknown targets are not cached as they might be registered with the
+        // next request
+        if (credentials != null) {
+            controllerIdByTargetId.put(new Key(tenant, credentials.getTargetId().toString()),
+                    credentials.getControllerId());
+            byControllerId.put(new Key(tenant, credentials.getControllerId()), credentials);
+        }
+        return credentials;
+    }
+
+    /**
+     * Evicts the credentials of the changed or deleted target.
+     *
+     * @param event
+     *            the {@link TargetSecurityTokenChangedEvent} or
+     *            {@link TargetDeletedEvent}
+     */
+    @EventListener(classes = { TargetSecurityTokenChangedEvent.class, TargetDeletedEvent.class })
+    public void onTargetChanged(final RemoteIdEvent event) {
+        if (!enabled || event.getTenant() == null || event.getEntityId() == null) {
+            return;
+        }
+
+        final Key targetKey = new Key(event.getTenant(), event.getEntityId().toString());
+        final String controllerId = controllerIdByTargetId.getIfPresent(targetKey);
+        if (controllerId != null) {
+            byControllerId.invalidate(new Key(event.getTenant(), controllerId));
+        }
+        controllerIdByTargetId.invalidate(targetKey);
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final CacheStats stats = byControllerId.stats();
+        final List<Metric<?>> metrics = new ArrayList<>(4);
+        metrics.add(new Metric<>(METRIC_PREFIX + "size", byControllerId.size()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "hits", stats.hitCount()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "misses", stats.missCount()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "hitRate", stats.hitRate()));
+        return metrics;
+    }
+
+    private static final class Key {
+        private final String tenant;
+        private final String id;
+
+        private Key(final String tenant, final String id) {
+            this.tenant = tenant.toUpperCase();
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * tenant.hashCode() + id.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return id.equals(other.id) && tenant.equals(other.tenant);
+        }
+    }
+}
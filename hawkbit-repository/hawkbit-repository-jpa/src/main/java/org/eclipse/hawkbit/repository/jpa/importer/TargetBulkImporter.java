@@ -0,0 +1,348 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.importer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.TargetsCreatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetImportResult;
+import org.eclipse.hawkbit.repository.model.TargetImportResult.Rejected;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Imports targets in batches by JDBC batch statements instead of persisting
+ * every target with its info and attributes through JPA. Every batch is
+ * validated, checked for existing controller IDs and inserted in its own
+ * transaction. A failing batch is rejected as a whole, the import continues
+ * with the next batch.
+ *
+ * The inserts bypass the JPA entity listeners, i.e. instead of a
+ * {@link org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent}
+ * per target one {@link TargetsCreatedEvent} is published per batch.
+ *
+ * The security tokens are read as system code as the importer only needs the
+ * create permission, not the permission to read the tokens.
+ */
+public class TargetBulkImporter implements PublicMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TargetBulkImporter.class);
+
+    private static final String METRIC_PREFIX = "hawkbit.repository.target.import.";
+
+    private static final int MAX_IN_PARAMETERS = 500;
+
+    private static final int CONTROLLER_ID_MAX_SIZE = 64;
+    private static final int NAME_MAX_SIZE = 64;
+    private static final int DESCRIPTION_MAX_SIZE = 512;
+    private static final int SECURITY_TOKEN_MAX_SIZE = 64;
+    private static final int ADDRESS_MAX_SIZE = 512;
+    private static final int ATTRIBUTE_KEY_MAX_SIZE = 32;
+    private static final int ATTRIBUTE_VALUE_MAX_SIZE = 128;
+
+    private static final String EXISTING_SELECT_STATEMENT = "SELECT controller_id FROM sp_target WHERE tenant = ? AND controller_id IN (%s)";
+
+    private static final String ID_SELECT_STATEMENT = "SELECT id, controller_id FROM sp_target WHERE tenant = ? AND controller_id IN (%s)";
+
+    private static final String TARGET_INSERT_STATEMENT = "INSERT INTO sp_target (tenant, created_at, created_by, last_modified_at, last_modified_by, optlock_revision, controller_id, name, description, sec_token) VALUES (?, ?, ?, ?, ?, 1, ?, ?, ?, ?)";
+
+    private static final String TARGET_INFO_INSERT_STATEMENT = "INSERT INTO sp_target_info (target_id, address, update_status, request_controller_attributes) VALUES (?, ?, ?, ?)";
+
+    private static final String ATTRIBUTE_INSERT_STATEMENT = "INSERT INTO sp_target_attributes (target_id, attribute_key, attribute_value) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TenantAware tenantAware;
+
+    private final SystemSecurityContext systemSecurityContext;
+
+    private final AuditorAware<String> auditorAware;
+
+    private final ApplicationContext applicationContext;
+
+    private final int batchSize;
+
+    private final AtomicLong importedTargets = new AtomicLong();
+
+    private final AtomicLong rejectedTargets = new AtomicLong();
+
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param jdbcTemplate
+     *            to access the target tables
+     * @param transactionManager
+     *            to run the batches in their own transaction
+     * @param tenantAware
+     *            to get the tenant of the import
+     * @param systemSecurityContext
+     *            to read the security tokens of the imported targets
+     * @param auditorAware
+     *            to get the creator of the targets
+     * @param applicationContext
+     *            to publish the created events
+     * @param repositoryProperties
+     *            for the batch size
+     */
+    public TargetBulkImporter(final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager,
+            final TenantAware tenantAware, final SystemSecurityContext systemSecurityContext,
+            final AuditorAware<String> auditorAware, final ApplicationContext applicationContext,
+            final RepositoryProperties repositoryProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantAware = tenantAware;
+        this.systemSecurityContext = systemSecurityContext;
+        this.auditorAware = auditorAware;
+        this.applicationContext = applicationContext;
+        this.batchSize = Math.max(1, repositoryProperties.getTargetImport().getBatchSize());
+
+        final DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+        def.setName("importTargets");
+        def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate = new TransactionTemplate(transactionManager, def);
+    }
+
+    /**
+     * Imports the given targets for the current tenant.
+     *
+     * @param targets
+     *            to import, read batch by batch
+     * @param batchListener
+     *            called with the result of every batch
+     */
+    public void importTargets(final Iterator<Target> targets, final Consumer<TargetImportResult> batchListener) {
+        final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+        final String auditor = auditorAware.getCurrentAuditor();
+
+        int batch = 0;
+        final List<Target> chunk = new ArrayList<>(batchSize);
+        while (targets.hasNext()) {
+            chunk.add(targets.next());
+            if (chunk.size() == batchSize || !targets.hasNext()) {
+                batchListener.accept(importBatch(++batch, tenant, auditor, chunk));
+                chunk.clear();
+            }
+        }
+    }
+
+    private TargetImportResult importBatch(final int batch, final String tenant, final String auditor,
+            final List<Target> chunk) {
+        final List<String> tokens = systemSecurityContext.runAsSystem(
+                () -> chunk.stream().map(Target::getSecurityToken).collect(Collectors.toList()));
+
+        final List<Rejected> rejected = new ArrayList<>();
+        final Map<String, ImportTarget> valid = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            final Target target = chunk.get(i);
+            final String reason = validate(target, tokens.get(i));
+            if (reason != null) {
+                rejected.add(new Rejected(target.getControllerId(), reason));
+            } else if (valid.putIfAbsent(target.getControllerId(), new ImportTarget(target, tokens.get(i))) != null) {
+                rejected.add(new Rejected(target.getControllerId(), "duplicate controller ID in import"));
+            }
+        }
+
+        Map<String, Long> created = Collections.emptyMap();
+        if (!valid.isEmpty()) {
+            try {
+                created = transactionTemplate.execute(status -> insert(tenant, auditor, valid, rejected));
+            } catch (final DataAccessException e) {
+                LOGGER.error("Failed to import batch {} of targets for tenant {}", batch, tenant, e);
+                failedBatches.incrementAndGet();
+                valid.keySet().forEach(controllerId -> rejected
+                        .add(new Rejected(controllerId, "batch failed: " + e.getMostSpecificCause().getMessage())));
+            }
+        }
+
+        if (!created.isEmpty()) {
+            // the transaction is already committed, i.e. the targets can be
+            // loaded by the receivers
+            applicationContext.publishEvent(new TargetsCreatedEvent(tenant, created, applicationContext.getId()));
+        }
+
+        importedTargets.addAndGet(created.size());
+        rejectedTargets.addAndGet(rejected.size());
+        return new TargetImportResult(batch, new ArrayList<>(created.keySet()), rejected);
+    }
+
+    private Map<String, Long> insert(final String tenant, final String auditor,
+            final Map<String, ImportTarget> valid, final List<Rejected> rejected) {
+        final Set<String> existing = selectExisting(tenant, valid.keySet());
+        final List<ImportTarget> targets = new ArrayList<>(valid.size());
+        valid.forEach((controllerId, target) -> {
+            if (existing.contains(controllerId)) {
+                rejected.add(new Rejected(controllerId, "target already exists"));
+            } else {
+                targets.add(target);
+            }
+        });
+
+        if (targets.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final long now = System.currentTimeMillis();
+        jdbcTemplate.batchUpdate(TARGET_INSERT_STATEMENT, targets.stream()
+                .map(imported -> new Object[] { tenant, now, auditor, now, auditor,
+                        imported.target.getControllerId(),
+                        imported.target.getName() != null ? imported.target.getName()
+                                : imported.target.getControllerId(),
+                        imported.target.getDescription(), imported.securityToken })
+                .collect(Collectors.toList()));
+
+        final Map<String, Long> ids = selectIds(tenant,
+                targets.stream().map(imported -> imported.target.getControllerId()).collect(Collectors.toList()));
+
+        final List<Object[]> infos = new ArrayList<>(targets.size());
+        final List<Object[]> attributes = new ArrayList<>();
+        for (final ImportTarget imported : targets) {
+            final Target target = imported.target;
+            final Long id = ids.get(target.getControllerId());
+            infos.add(new Object[] { id, addressOf(target), TargetUpdateStatus.UNKNOWN.name(), true });
+            target.getTargetInfo().getControllerAttributes().forEach((key, value) -> attributes.add(new Object[] { id, key, value }));
+        }
+        jdbcTemplate.batchUpdate(TARGET_INFO_INSERT_STATEMENT, infos);
+        if (!attributes.isEmpty()) {
+            jdbcTemplate.batchUpdate(ATTRIBUTE_INSERT_STATEMENT, attributes);
+        }
+
+        // keep the order of the import
+        final Map<String, Long> created = new LinkedHashMap<>();
+        targets.forEach(imported -> created.put(imported.target.getControllerId(),
+                ids.get(imported.target.getControllerId())));
+        return created;
+    }
+
+    private Set<String> selectExisting(final String tenant, final Collection<String> controllerIds) {
+        final Set<String> existing = new HashSet<>();
+        for (final List<String> partition : Lists.partition(new ArrayList<>(controllerIds), MAX_IN_PARAMETERS)) {
+            existing.addAll(jdbcTemplate.queryForList(String.format(EXISTING_SELECT_STATEMENT, placeholders(partition)),
+                    String.class, parameters(tenant, partition)));
+        }
+        return existing;
+    }
+
+    private Map<String, Long> selectIds(final String tenant, final List<String> controllerIds) {
+        final Map<String, Long> ids = new HashMap<>();
+        for (final List<String> partition : Lists.partition(controllerIds, MAX_IN_PARAMETERS)) {
+            jdbcTemplate.query(String.format(ID_SELECT_STATEMENT, placeholders(partition)),
+                    parameters(tenant, partition), rs -> {
+                        ids.put(rs.getString(2), rs.getLong(1));
+                    });
+        }
+        return ids;
+    }
+
+    private static String placeholders(final List<?> values) {
+        return String.join(",", Collections.nCopies(values.size(), "?"));
+    }
+
+    private static Object[] parameters(final String tenant, final List<String> controllerIds) {
+        final Object[] parameters = new Object[controllerIds.size() + 1];
+        parameters[0] = tenant;
+        for (int i = 0; i < controllerIds.size(); i++) {
+            parameters[i + 1] = controllerIds.get(i);
+        }
+        return parameters;
+    }
+
+    private static String addressOf(final Target target) {
+        final URI address = target.getTargetInfo().getAddress();
+        return address != null ? address.toString() : null;
+    }
+
+    private static String validate(final Target target, final String securityToken) {
+        final String controllerId = target.getControllerId();
+        if (controllerId == null || controllerId.trim().isEmpty()) {
+            return "controller ID is missing";
+        }
+        if (controllerId.length() > CONTROLLER_ID_MAX_SIZE) {
+            return "controller ID exceeds " + CONTROLLER_ID_MAX_SIZE + " characters";
+        }
+        if (target.getName() != null && target.getName().length() > NAME_MAX_SIZE) {
+            return "name exceeds " + NAME_MAX_SIZE + " characters";
+        }
+        if (target.getDescription() != null && target.getDescription().length() > DESCRIPTION_MAX_SIZE) {
+            return "description exceeds " + DESCRIPTION_MAX_SIZE + " characters";
+        }
+        if (securityToken == null || securityToken.length() > SECURITY_TOKEN_MAX_SIZE) {
+            return "security token is missing or exceeds " + SECURITY_TOKEN_MAX_SIZE + " characters";
+        }
+        final String address = addressOf(target);
+        if (address != null && address.length() > ADDRESS_MAX_SIZE) {
+            return "address exceeds " + ADDRESS_MAX_SIZE + " characters";
+        }
+        for (final Map.Entry<String, String> attribute : target.getTargetInfo().getControllerAttributes()
+                .entrySet()) {
+            if (attribute.getKey() == null || attribute.getKey().length() > ATTRIBUTE_KEY_MAX_SIZE) {
+                return "attribute key is missing or exceeds " + ATTRIBUTE_KEY_MAX_SIZE + " characters";
+            }
+            if (attribute.getValue() != null && attribute.getValue().length() > ATTRIBUTE_VALUE_MAX_SIZE) {
+                return "value of attribute " + attribute.getKey() + " exceeds " + ATTRIBUTE_VALUE_MAX_SIZE
+                        + " characters";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A valid target of the import with its security token.
+     */
+    private static final class ImportTarget {
+        private final Target target;
+        private final String securityToken;
+
+        private ImportTarget(final Target target, final String securityToken) {
+            this.target = target;
+            this.securityToken = securityToken;
+        }
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>(3);
+        metrics.add(new Metric<>(METRIC_PREFIX + "imported", importedTargets.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "rejected", rejectedTargets.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "failed", failedBatches.get()));
+        return metrics;
+    }
+}
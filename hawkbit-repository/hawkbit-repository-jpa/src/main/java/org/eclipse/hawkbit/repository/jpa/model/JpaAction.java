@@ -47,7 +47,8 @@ import org.eclipse.persistence.descriptors.DescriptorEvent;
  */
 @Table(name = "sp_action", indexes = { @Index(name = "sp_idx_action_01", columnList = "tenant,distribution_set"),
         @Index(name = "sp_idx_action_02", columnList = "tenant,target,active"),
-        @Index(name = "sp_idx_action_prim", columnList = "tenant,id") })
+        @Index(name = "sp_idx_action_prim", columnList = "tenant,id"),
+        @Index(name = "sp_idx_action_03", columnList = "tenant,created_at") })
 @NamedEntityGraphs({ @NamedEntityGraph(name = "Action.ds", attributeNodes = { @NamedAttributeNode("distributionSet") }),
         @NamedEntityGraph(name = "Action.all", attributeNodes = { @NamedAttributeNode("distributionSet"),
                 @NamedAttributeNode(value = "target", subgraph = "target.ds") }, subgraphs = @NamedSubgraph(name = "target.ds", attributeNodes = @NamedAttributeNode("assignedDistributionSet"))) })
@@ -94,6 +95,11 @@ public class JpaAction extends AbstractJpaTenantAwareBaseEntity implements Actio
     @JoinColumn(name = "rollout", foreignKey = @ForeignKey(value = ConstraintMode.CONSTRAINT, name = "fk_action_rollout"))
     private JpaRollout rollout;
 
+    // maintained by ActionRepository#incrementStatusCount, i.e. the value is
+    // only written with the insert of the action
+    @Column(name = "status_count", nullable = false, updatable = false)
+    private int statusCount;
+
     @Override
     public DistributionSet getDistributionSet() {
         return distributionSet;
@@ -178,6 +184,23 @@ public class JpaAction extends AbstractJpaTenantAwareBaseEntity implements Actio
         this.rollout = (JpaRollout) rollout;
     }
 
+    /**
+     * @return number of {@link ActionStatus} entries of this action at the
+     *         time it has been loaded
+     */
+    public int getStatusCount() {
+        return statusCount;
+    }
+
+    /**
+     * @param statusCount
+     *            initial number of {@link ActionStatus} entries of a new
+     *            action
+     */
+    public void setStatusCount(final int statusCount) {
+        this.statusCount = statusCount;
+    }
+
     @Override
     public String toString() {
         return "JpaAction [distributionSet=" + distributionSet.getId() + ", version=" + getOptLockRevision() + ", id="
@@ -43,6 +43,8 @@ import javax.validation.constraints.Size;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.InvalidTargetAddressException;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SystemSecurityContextHolder;
+import org.eclipse.hawkbit.repository.jpa.model.helper.TargetPollBufferHolder;
+import org.eclipse.hawkbit.repository.jpa.polling.TargetPollBuffer;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.PollStatus;
 import org.eclipse.hawkbit.repository.model.Target;
@@ -54,6 +56,7 @@ import org.eclipse.hawkbit.tenancy.configuration.DurationHelper;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationKey;
 import org.eclipse.persistence.annotations.CascadeOnDelete;
 import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.sessions.changesets.ObjectChangeSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Persistable;
@@ -165,11 +168,15 @@ public class JpaTargetInfo implements Persistable<Long>, TargetInfo, EventAwareE
      */
     @Override
     public URI getAddress() {
-        if (address == null) {
+        final TargetPollBuffer pollBuffer = TargetPollBufferHolder.getInstance().getTargetPollBuffer();
+        final String bufferedAddress = pollBuffer != null ? pollBuffer.getAddress(getTenant(), targetId) : null;
+        final String currentAddress = bufferedAddress != null ? bufferedAddress : address;
+
+        if (currentAddress == null) {
             return null;
         }
         try {
-            return URI.create(address);
+            return URI.create(currentAddress);
         } catch (final IllegalArgumentException e) {
             LOG.warn("Invalid address provided. Cloud not be configured to URI", e);
             return null;
@@ -215,11 +222,28 @@ public class JpaTargetInfo implements Persistable<Long>, TargetInfo, EventAwareE
         this.target = target;
     }
 
+    /**
+     * @return the last poll time of the target including a poll that is
+     *         buffered by the {@link TargetPollBuffer} but not yet written to
+     *         the database
+     */
     @Override
     public Long getLastTargetQuery() {
+        final TargetPollBuffer pollBuffer = TargetPollBufferHolder.getInstance().getTargetPollBuffer();
+        final Long bufferedLastTargetQuery = pollBuffer != null
+                ? pollBuffer.getLastTargetQuery(getTenant(), targetId) : null;
+
+        if (bufferedLastTargetQuery != null
+                && (lastTargetQuery == null || bufferedLastTargetQuery > lastTargetQuery)) {
+            return bufferedLastTargetQuery;
+        }
         return lastTargetQuery;
     }
 
+    private String getTenant() {
+        return target != null ? target.getTenant() : null;
+    }
+
     public void setLastTargetQuery(final long lastTargetQuery) {
         this.lastTargetQuery = lastTargetQuery;
     }
@@ -273,7 +297,8 @@ public class JpaTargetInfo implements Persistable<Long>, TargetInfo, EventAwareE
      */
     @Override
     public PollStatus getPollStatus() {
-        if (lastTargetQuery == null) {
+        final Long lastPoll = getLastTargetQuery();
+        if (lastPoll == null) {
             return null;
         }
         return SystemSecurityContextHolder.getInstance().getSystemSecurityContext().runAsSystem(() -> {
@@ -285,7 +310,7 @@ public class JpaTargetInfo implements Persistable<Long>, TargetInfo, EventAwareE
                             .getConfigurationValue(TenantConfigurationKey.POLLING_OVERDUE_TIME_INTERVAL, String.class)
                             .getValue());
             final LocalDateTime currentDate = LocalDateTime.now();
-            final LocalDateTime lastPollDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(lastTargetQuery),
+            final LocalDateTime lastPollDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(lastPoll),
                     ZoneId.systemDefault());
             final LocalDateTime nextPollDate = lastPollDate.plus(pollTime);
             final LocalDateTime overdueDate = nextPollDate.plus(overdueTime);
@@ -338,8 +363,16 @@ public class JpaTargetInfo implements Persistable<Long>, TargetInfo, EventAwareE
 
     @Override
     public void fireUpdateEvent(final DescriptorEvent descriptorEvent) {
-        EventPublisherHolder.getInstance().getEventPublisher().publishEvent(
-                new TargetUpdatedEvent(this.getTarget(), EventPublisherHolder.getInstance().getApplicationId()));
+        EventPublisherHolder.getInstance().getEventPublisher().publishEvent(new TargetUpdatedEvent(this.getTarget(),
+                EventPublisherHolder.getInstance().getApplicationId(), isPollUpdate(descriptorEvent)));
+    }
+
+    // a poll of the controller only changes the last target query, the
+    // address is only part of the change set if it has changed
+    private static boolean isPollUpdate(final DescriptorEvent descriptorEvent) {
+        final ObjectChangeSet changeSet = descriptorEvent.getChangeSet();
+        return changeSet != null && changeSet.getChangedAttributeNames().size() == 1
+                && changeSet.getChangedAttributeNames().contains("lastTargetQuery");
     }
 
     @Override
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model.helper;
+
+import org.eclipse.hawkbit.repository.jpa.polling.TargetPollBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * A singleton bean which holds the {@link TargetPollBuffer} to make pending
+ * poll updates visible to JPA entities which cannot be autowired.
+ *
+ */
+public final class TargetPollBufferHolder {
+
+    private static final TargetPollBufferHolder SINGLETON = new TargetPollBufferHolder();
+
+    @Autowired(required = false)
+    private TargetPollBuffer targetPollBuffer;
+
+    private TargetPollBufferHolder() {
+
+    }
+
+    /**
+     * @return the target poll buffer holder singleton instance
+     */
+    public static TargetPollBufferHolder getInstance() {
+        return SINGLETON;
+    }
+
+    /**
+     * @return the targetPollBuffer or <code>null</code> if none is configured
+     */
+    public TargetPollBuffer getTargetPollBuffer() {
+        return targetPollBuffer;
+    }
+
+}
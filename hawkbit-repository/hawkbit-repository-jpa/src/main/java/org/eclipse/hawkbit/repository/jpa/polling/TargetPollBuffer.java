@@ -0,0 +1,268 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.polling;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.RepositoryProperties.PollWriteBehind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind buffer for the last poll time and address of targets. Every
+ * controller request refreshes the last poll time of the target. Instead of
+ * merging and saving the target info in a dedicated transaction on each
+ * request the latest values are kept in memory per tenant and target and
+ * written to the database in JDBC batches, periodically and on shutdown.
+ *
+ * Only the latest poll of a target is kept, i.e. a controller that polls
+ * several times between two flushes results in a single update.
+ */
+public class TargetPollBuffer implements PublicMetrics, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TargetPollBuffer.class);
+
+    private static final String METRIC_PREFIX = "hawkbit.repository.poll.buffer.";
+
+    // the where clause makes sure that we never overwrite a newer poll time
+    // which has been written synchronously in the meantime
+    private static final String UPDATE_STATEMENT = "UPDATE sp_target_info SET last_target_query = ?, address = COALESCE(?, address) WHERE target_id = ? AND (last_target_query IS NULL OR last_target_query < ?)";
+
+    private final Map<Key, Poll> buffer = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PollWriteBehind properties;
+
+    private final AtomicLong flushes = new AtomicLong();
+
+    private final AtomicLong flushedUpdates = new AtomicLong();
+
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    private volatile long lastFlushDuration;
+
+    /**
+     * Constructor.
+     *
+     * @param jdbcTemplate
+     *            to write the buffered poll times
+     * @param transactionManager
+     *            to run the batches in a transaction
+     * @param repositoryProperties
+     *            for the write-behind configuration
+     */
+    public TargetPollBuffer(final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager,
+            final RepositoryProperties repositoryProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = repositoryProperties.getPollWriteBehind();
+
+        final DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+        def.setName("flushTargetPolls");
+        def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate = new TransactionTemplate(transactionManager, def);
+    }
+
+    /**
+     * @return <code>true</code> if poll times are written behind, otherwise
+     *         the caller has to update the target info synchronously
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Buffers a poll of a target. Older polls of the same target are
+     * replaced.
+     *
+     * @param tenant
+     *            of the target
+     * @param targetId
+     *            technical ID of the target
+     * @param lastTargetQuery
+     *            time of the poll
+     * @param address
+     *            of the target, might be <code>null</code>
+     */
+    public void record(final String tenant, final Long targetId, final long lastTargetQuery, final URI address) {
+        final Poll poll = new Poll(lastTargetQuery, address != null ? address.toString() : null);
+        buffer.merge(new Key(tenant, targetId), poll, Poll::latest);
+    }
+
+    /**
+     * @param tenant
+     *            of the target
+     * @param targetId
+     *            technical ID of the target
+     * @return buffered poll time that is not yet written to the database or
+     *         <code>null</code> if none is pending
+     */
+    public Long getLastTargetQuery(final String tenant, final Long targetId) {
+        final Poll poll = get(tenant, targetId);
+        return poll != null ? poll.lastTargetQuery : null;
+    }
+
+    /**
+     * @param tenant
+     *            of the target
+     * @param targetId
+     *            technical ID of the target
+     * @return buffered address that is not yet written to the database or
+     *         <code>null</code> if none is pending
+     */
+    public String getAddress(final String tenant, final Long targetId) {
+        final Poll poll = get(tenant, targetId);
+        return poll != null ? poll.address : null;
+    }
+
+    private Poll get(final String tenant, final Long targetId) {
+        if (tenant == null || targetId == null || buffer.isEmpty()) {
+            return null;
+        }
+        return buffer.get(new Key(tenant, targetId));
+    }
+
+    /**
+     * @return number of targets with a pending poll update
+     */
+    public int size() {
+        return buffer.size();
+    }
+
+    /**
+     * Writes all buffered polls to the database. Scheduled by the
+     * spring-async mechanism and called on shutdown.
+     */
+    @Scheduled(initialDelayString = PollWriteBehind.PROP_FLUSH_DELAY_PLACEHOLDER, fixedDelayString = PollWriteBehind.PROP_FLUSH_DELAY_PLACEHOLDER)
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        final long start = System.currentTimeMillis();
+        final List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        final List<Map.Entry<Key, Poll>> flushed = new ArrayList<>(properties.getBatchSize());
+
+        for (final Map.Entry<Key, Poll> entry : buffer.entrySet()) {
+            final Poll poll = entry.getValue();
+            batch.add(new Object[] { poll.lastTargetQuery, poll.address, entry.getKey().targetId,
+                    poll.lastTargetQuery });
+            flushed.add(entry);
+
+            if (batch.size() >= properties.getBatchSize()) {
+                writeBatch(batch, flushed);
+            }
+        }
+        writeBatch(batch, flushed);
+
+        lastFlushDuration = System.currentTimeMillis() - start;
+        flushes.incrementAndGet();
+        LOG.debug("Flushed target polls in {} ms, {} pending.", lastFlushDuration, buffer.size());
+    }
+
+    private void writeBatch(final List<Object[]> batch, final Collection<Map.Entry<Key, Poll>> flushed) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_STATEMENT, batch));
+            // only remove the entries which have not been replaced by a newer
+            // poll during the flush
+            flushed.forEach(entry -> buffer.remove(entry.getKey(), entry.getValue()));
+            flushedUpdates.addAndGet(batch.size());
+        } catch (final DataAccessException e) {
+            failedFlushes.incrementAndGet();
+            LOG.error("Failed to flush {} target polls, will retry with the next flush.", batch.size(), e);
+        }
+
+        batch.clear();
+        flushed.clear();
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>(5);
+        metrics.add(new Metric<>(METRIC_PREFIX + "size", buffer.size()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "flushes", flushes.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "flushed", flushedUpdates.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "failed", failedFlushes.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "flush.duration", lastFlushDuration));
+        return metrics;
+    }
+
+    private static final class Key {
+        private final String tenant;
+        private final Long targetId;
+
+        private Key(final String tenant, final Long targetId) {
+            this.tenant = tenant.toUpperCase();
+            this.targetId = targetId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * tenant.hashCode() + targetId.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return targetId.equals(other.targetId) && tenant.equals(other.tenant);
+        }
+    }
+
+    private static final class Poll {
+        private final long lastTargetQuery;
+        private final String address;
+
+        private Poll(final long lastTargetQuery, final String address) {
+            this.lastTargetQuery = lastTargetQuery;
+            this.address = address;
+        }
+
+        private static Poll latest(final Poll current, final Poll update) {
+            if (update.lastTargetQuery < current.lastTargetQuery) {
+                return current;
+            }
+            return update.address != null || current.address == null ? update
+                    : new Poll(update.lastTargetQuery, current.address);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.report;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.RepositoryProperties.ReportRollup;
+import org.eclipse.hawkbit.repository.jpa.scheduler.TenantTaskExecutor;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Scheduler to roll up the report statistics of all tenants into the
+ * {@link ReportRollupStore}.
+ */
+// don't active the rollup scheduler in test, the reports are calculated live
+// from the entities then
+@Profile("!test")
+public class ReportRollupScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportRollupScheduler.class);
+
+    private final TenantTaskExecutor tenantTaskExecutor;
+
+    private final ReportRollupStore reportRollupStore;
+
+    private final TenantAware tenantAware;
+
+    private final ReportRollup properties;
+
+    /**
+     * Constructor.
+     *
+     * @param tenantTaskExecutor
+     *            to run the rollup for all tenants
+     * @param reportRollupStore
+     *            to roll up a tenant
+     * @param tenantAware
+     *            to get the tenant of the rollup
+     * @param repositoryProperties
+     *            for the period of the rollup
+     */
+    public ReportRollupScheduler(final TenantTaskExecutor tenantTaskExecutor,
+            final ReportRollupStore reportRollupStore, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        this.tenantTaskExecutor = tenantTaskExecutor;
+        this.reportRollupStore = reportRollupStore;
+        this.tenantAware = tenantAware;
+        this.properties = repositoryProperties.getReportRollup();
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Rolls up the
+     * statistics of all tenants by the {@link TenantTaskExecutor}.
+     */
+    @Scheduled(initialDelayString = ReportRollup.PROP_ROLLUP_DELAY_PLACEHOLDER, fixedDelayString = ReportRollup.PROP_ROLLUP_DELAY_PLACEHOLDER)
+    public void rollup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LOGGER.debug("report rollup has been triggered.");
+        tenantTaskExecutor.runForAllTenants("reportrollup", properties.getFixedDelay(),
+                () -> reportRollupStore.rollup(tenantAware.getCurrentTenant()));
+    }
+}
@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.report;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.RepositoryProperties.ReportRollup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Store of counters per quarter of an hour and tenant for the statistics of
+ * the {@link org.eclipse.hawkbit.repository.ReportManagement}. Complete
+ * buckets are rolled up periodically into one row per bucket with entities.
+ * The buckets after the last rollup are counted on request with a range query
+ * on the creation time, which is covered by an index. A report reads up to 96
+ * rows per day of its time range, e.g. about 35,000 rows for a year with
+ * entities created in every quarter of an hour, instead of formatting the
+ * creation time of every target or action of the tenant. The rows are summed
+ * up to the periods of the report by the caller, there is no coarser rollup
+ * level.
+ *
+ * The buckets are a quarter of an hour long as the offsets of all time zones
+ * are multiples of it, i.e. the days and months of the reports in the time
+ * zone of the server consist of whole buckets.
+ *
+ * Every rollup counts the buckets of the configured recount window before the
+ * last rollup again, so that entities which are committed late with an earlier
+ * creation time are counted. The first rollup of a tenant starts at its oldest
+ * entity and covers a limited time span per run, the remaining buckets are
+ * counted on request until the following runs have caught up.
+ *
+ * The rollup counts the entities that exist at the time of the rollup. A
+ * bucket keeps the counter of its last rollup, i.e. entities which are deleted
+ * after a bucket has left the recount window remain counted. Entities deleted
+ * earlier are not counted, the same as in the buckets after the last rollup
+ * which are counted on request. The counters of older buckets are creations,
+ * the counters of recent buckets are the created entities which still exist.
+ */
+public class ReportRollupStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportRollupStore.class);
+
+    /**
+     * Length of a rollup bucket in milliseconds.
+     */
+    public static final long BUCKET_LENGTH = TimeUnit.MINUTES.toMillis(15);
+
+    // a bucket is rolled up after this time only, so that entities created by
+    // nodes with a slightly different clock are usually counted with the
+    // first rollup already
+    private static final long ROLLUP_LAG = TimeUnit.MINUTES.toMillis(5);
+
+    private static final String LIVE_STATEMENT = "SELECT FLOOR(created_at / " + BUCKET_LENGTH
+            + "), COUNT(*) FROM %s WHERE tenant = ? AND created_at >= ? AND created_at < ? GROUP BY FLOOR(created_at / "
+            + BUCKET_LENGTH + ")";
+
+    private static final String ROLLUP_SELECT_STATEMENT = "SELECT bucket, counter FROM sp_report_rollup WHERE tenant = ? AND series = ? AND bucket >= ? AND bucket < ?";
+
+    private static final String FIRST_CREATED_STATEMENT = "SELECT MIN(created_at) FROM %s WHERE tenant = ?";
+
+    private static final String ROLLUP_DELETE_STATEMENT = "DELETE FROM sp_report_rollup WHERE tenant = ? AND series = ? AND bucket >= ? AND bucket < ?";
+
+    private static final String ROLLUP_INSERT_STATEMENT = "INSERT INTO sp_report_rollup (tenant, series, bucket, counter) VALUES (?, ?, ?, ?)";
+
+    private static final String WATERMARK_SELECT_STATEMENT = "SELECT rolled_up_to FROM sp_report_watermark WHERE tenant = ? AND series = ?";
+
+    private static final String WATERMARK_INSERT_STATEMENT = "INSERT INTO sp_report_watermark (tenant, series, rolled_up_to) VALUES (?, ?, ?)";
+
+    private static final String WATERMARK_UPDATE_STATEMENT = "UPDATE sp_report_watermark SET rolled_up_to = ? WHERE tenant = ? AND series = ? AND rolled_up_to = ?";
+
+    private static final String DELETE_ROLLUP_STATEMENT = "DELETE FROM sp_report_rollup WHERE tenant = ?";
+
+    private static final String DELETE_WATERMARK_STATEMENT = "DELETE FROM sp_report_watermark WHERE tenant = ?";
+
+    /**
+     * The counted statistics.
+     */
+    public enum Series {
+        /**
+         * Created targets.
+         */
+        TARGETS_CREATED("sp_target"),
+
+        /**
+         * Created actions, i.e. the feedback of the controllers.
+         */
+        ACTIONS_CREATED("sp_action");
+
+        private final String table;
+
+        Series(final String table) {
+            this.table = table;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final long recountBuckets;
+
+    private final long maxBucketsPerRollup;
+
+    /**
+     * Constructor.
+     *
+     * @param jdbcTemplate
+     *            to access the rollup tables
+     * @param transactionManager
+     *            to run the rollup in its own transaction
+     * @param repositoryProperties
+     *            for the recount window and the time span of a rollup
+     */
+    public ReportRollupStore(final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager,
+            final RepositoryProperties repositoryProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        final ReportRollup properties = repositoryProperties.getReportRollup();
+        this.recountBuckets = Math.max(0, properties.getRecountWindow() / BUCKET_LENGTH);
+        this.maxBucketsPerRollup = Math.max(1, properties.getMaxRollupSpan() / BUCKET_LENGTH);
+
+        final DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+        def.setName("reportRollup");
+        def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate = new TransactionTemplate(transactionManager, def);
+    }
+
+    /**
+     * Counts the entities of the given series per bucket.
+     *
+     * @param tenant
+     *            to count for
+     * @param series
+     *            to count
+     * @param from
+     *            start of the time range in milliseconds, inclusive
+     * @param to
+     *            end of the time range in milliseconds, exclusive
+     * @return number of entities per bucket ordered by the bucket, buckets
+     *         without entities are omitted. The key is the start of the bucket
+     *         divided by {@link #BUCKET_LENGTH}.
+     */
+    public Map<Long, Long> countPerBucket(final String tenant, final Series series, final long from, final long to) {
+        final String upperTenant = tenant.toUpperCase();
+        final long rolledUpTo = getRolledUpTo(upperTenant, series);
+        final Map<Long, Long> counts = new TreeMap<>();
+
+        final long fromBucket = Math.floorDiv(from, BUCKET_LENGTH);
+        final long toBucket = Math.min(rolledUpTo, Math.floorDiv(to, BUCKET_LENGTH));
+        if (fromBucket < toBucket) {
+            jdbcTemplate.query(ROLLUP_SELECT_STATEMENT, rs -> {
+                counts.put(rs.getLong(1), rs.getLong(2));
+            }, upperTenant, series.name(), fromBucket, toBucket);
+        }
+
+        final long liveFrom = Math.max(from, rolledUpTo * BUCKET_LENGTH);
+        if (liveFrom < to) {
+            counts.putAll(countLive(upperTenant, series, liveFrom, to));
+        }
+
+        return counts;
+    }
+
+    /**
+     * Rolls up the complete buckets since the last rollup of the given tenant
+     * and counts the buckets of the recount window again. Concurrent rollups
+     * of the same tenant are detected by the watermark and rolled back.
+     *
+     * @param tenant
+     *            to roll up
+     */
+    public void rollup(final String tenant) {
+        final String upperTenant = tenant.toUpperCase();
+        final long rollUpTo = Math.floorDiv(System.currentTimeMillis() - ROLLUP_LAG, BUCKET_LENGTH);
+
+        for (final Series series : Series.values()) {
+            try {
+                transactionTemplate.execute(status -> rollup(upperTenant, series, rollUpTo));
+            } catch (final DataAccessException e) {
+                LOGGER.warn("Rollup of {} failed for tenant {}, will retry with the next rollup.", series, tenant, e);
+            }
+        }
+    }
+
+    private int rollup(final String tenant, final Series series, final long rollUpTo) {
+        final Long rolledUpTo = findRolledUpTo(tenant, series);
+
+        final long from;
+        final long recountFrom;
+        if (rolledUpTo != null) {
+            from = Math.min(rolledUpTo, rollUpTo);
+            recountFrom = Math.max(0L, from - recountBuckets);
+        } else {
+            from = Math.min(findFirstBucket(tenant, series, rollUpTo), rollUpTo);
+            recountFrom = from;
+        }
+        final long to = Math.min(rollUpTo, from + maxBucketsPerRollup);
+
+        final List<Object[]> rows = countLive(tenant, series, recountFrom * BUCKET_LENGTH, to * BUCKET_LENGTH)
+                .entrySet().stream()
+                .map(count -> new Object[] { tenant, series.name(), count.getKey(), count.getValue() })
+                .collect(Collectors.toList());
+
+        if (rolledUpTo == null) {
+            jdbcTemplate.update(WATERMARK_INSERT_STATEMENT, tenant, series.name(), to);
+        } else if (jdbcTemplate.update(WATERMARK_UPDATE_STATEMENT, Math.max(rolledUpTo, to), tenant, series.name(),
+                rolledUpTo) == 0) {
+            LOGGER.debug("Rollup of {} for tenant {} has been done concurrently", series, tenant);
+            return 0;
+        }
+
+        // the watermark row is locked by the update, i.e. the buckets are not
+        // rewritten concurrently
+        jdbcTemplate.update(ROLLUP_DELETE_STATEMENT, tenant, series.name(), recountFrom, to);
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ROLLUP_INSERT_STATEMENT, rows);
+        }
+        LOGGER.debug("Rolled up {} buckets of {} for tenant {}", rows.size(), series, tenant);
+        return rows.size();
+    }
+
+    private long findFirstBucket(final String tenant, final Series series, final long defaultBucket) {
+        final Long firstCreatedAt = jdbcTemplate.queryForObject(String.format(FIRST_CREATED_STATEMENT, series.table),
+                Long.class, tenant);
+        return firstCreatedAt != null ? Math.floorDiv(firstCreatedAt, BUCKET_LENGTH) : defaultBucket;
+    }
+
+    /**
+     * Deletes all counters of the given tenant.
+     *
+     * @param tenant
+     *            to delete
+     */
+    public void deleteByTenant(final String tenant) {
+        jdbcTemplate.update(DELETE_ROLLUP_STATEMENT, tenant.toUpperCase());
+        jdbcTemplate.update(DELETE_WATERMARK_STATEMENT, tenant.toUpperCase());
+    }
+
+    private Map<Long, Long> countLive(final String tenant, final Series series, final long from, final long to) {
+        final Map<Long, Long> counts = new TreeMap<>();
+        jdbcTemplate.query(String.format(LIVE_STATEMENT, series.table), rs -> {
+            counts.put(rs.getLong(1), rs.getLong(2));
+        }, tenant, from, to);
+        return counts;
+    }
+
+    private long getRolledUpTo(final String tenant, final Series series) {
+        final Long rolledUpTo = findRolledUpTo(tenant, series);
+        return rolledUpTo != null ? rolledUpTo : 0L;
+    }
+
+    private Long findRolledUpTo(final String tenant, final Series series) {
+        final List<Long> rolledUpTo = jdbcTemplate.queryForList(WATERMARK_SELECT_STATEMENT, Long.class, tenant,
+                series.name());
+        return rolledUpTo.isEmpty() ? null : rolledUpTo.get(0);
+    }
+}
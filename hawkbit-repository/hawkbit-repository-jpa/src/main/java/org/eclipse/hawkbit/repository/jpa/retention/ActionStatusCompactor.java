@@ -0,0 +1,382 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.retention;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.RepositoryProperties.ActionStatusRetention;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Compacts the {@link org.eclipse.hawkbit.repository.model.ActionStatus}
+ * history of closed actions according to the retention policy of the tenant:
+ * <ul>
+ * <li>the download progress entries are dropped</li>
+ * <li>the first and the last entries are kept, the entries in between are
+ * deleted</li>
+ * <li>the complete history is purged once the action has not been modified
+ * for the configured number of days</li>
+ * </ul>
+ *
+ * The actions are selected by their maintained status counter, or by the
+ * presence of download entries if these are dropped, and processed in
+ * batches, each in its own transaction. The counter is decreased by the number
+ * of entries the deletes have actually removed, so that concurrent runs do not
+ * corrupt it. If an archive directory is
+ * configured the deleted entries are exported as gzipped CSV before the
+ * delete. An export of a batch that is rolled back afterwards is not
+ * reverted, i.e. an entry is archived at least once.
+ */
+public class ActionStatusCompactor implements PublicMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActionStatusCompactor.class);
+
+    private static final String METRIC_PREFIX = "hawkbit.repository.actionstatus.retention.";
+
+    private static final int MAX_IN_PARAMETERS = 500;
+
+    private static final String COMPACT_CANDIDATES_STATEMENT = "SELECT id FROM sp_action WHERE tenant = ? AND active = ? AND status_count > ? AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String COMPACT_DOWNLOAD_CANDIDATES_STATEMENT = "SELECT a.id FROM sp_action a WHERE a.tenant = ? AND a.active = ? AND (a.status_count > ? OR EXISTS (SELECT 1 FROM sp_action_status s WHERE s.action = a.id AND s.status = ?)) AND a.id > ? ORDER BY a.id LIMIT ?";
+
+    private static final String PURGE_CANDIDATES_STATEMENT = "SELECT id FROM sp_action WHERE tenant = ? AND active = ? AND status_count > 0 AND last_modified_at < ? AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String STATUS_SELECT_STATEMENT = "SELECT id, action, status, target_occurred_at FROM sp_action_status WHERE tenant = ? AND action IN (%s) ORDER BY action, id";
+
+    private static final String MESSAGE_SELECT_STATEMENT = "SELECT action_status_id, detail_message FROM sp_action_status_messages WHERE action_status_id IN (%s)";
+
+    // the messages are deleted by the database with the status
+    private static final String STATUS_DELETE_STATEMENT = "DELETE FROM sp_action_status WHERE tenant = ? AND action = ? AND id IN (%s)";
+
+    private static final String COUNT_UPDATE_STATEMENT = "UPDATE sp_action SET status_count = status_count - ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TenantConfigurationManagement tenantConfigurationManagement;
+
+    private final ActionStatusRetention properties;
+
+    private final AtomicLong compactedActions = new AtomicLong();
+
+    private final AtomicLong deletedStatus = new AtomicLong();
+
+    private final AtomicLong archivedStatus = new AtomicLong();
+
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param jdbcTemplate
+     *            to access the action status tables
+     * @param transactionManager
+     *            to run the batches in their own transaction
+     * @param tenantConfigurationManagement
+     *            to read the retention policy of the tenant
+     * @param repositoryProperties
+     *            for the batch size and the archive directory
+     */
+    public ActionStatusCompactor(final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager,
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final RepositoryProperties repositoryProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantConfigurationManagement = tenantConfigurationManagement;
+        this.properties = repositoryProperties.getActionStatusRetention();
+
+        final DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+        def.setName("compactActionStatus");
+        def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate = new TransactionTemplate(transactionManager, def);
+    }
+
+    /**
+     * Applies the retention policy of the current tenant to its closed
+     * actions. Has to be called in the context of the tenant.
+     *
+     * @param tenant
+     *            to compact
+     */
+    public void compact(final String tenant) {
+        if (!getConfigurationValue(TenantConfigurationKey.ACTION_STATUS_RETENTION_ENABLED, Boolean.class)) {
+            return;
+        }
+
+        final Policy policy = new Policy(
+                getConfigurationValue(TenantConfigurationKey.ACTION_STATUS_RETENTION_KEEP_FIRST, Integer.class),
+                getConfigurationValue(TenantConfigurationKey.ACTION_STATUS_RETENTION_KEEP_LAST, Integer.class),
+                getConfigurationValue(TenantConfigurationKey.ACTION_STATUS_RETENTION_DROP_DOWNLOAD, Boolean.class));
+        final int maxAgeDays = getConfigurationValue(TenantConfigurationKey.ACTION_STATUS_RETENTION_MAX_AGE_DAYS,
+                Integer.class);
+        final String upperTenant = tenant.toUpperCase();
+
+        if (maxAgeDays > 0) {
+            final long before = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAgeDays);
+            compact(upperTenant, PURGE_CANDIDATES_STATEMENT, new Object[] { before }, Function.identity());
+        }
+
+        // short histories only contain obsolete entries if downloads are
+        // dropped
+        if (policy.dropDownload) {
+            compact(upperTenant, COMPACT_DOWNLOAD_CANDIDATES_STATEMENT,
+                    new Object[] { policy.keepFirst + policy.keepLast, Status.DOWNLOAD.ordinal() },
+                    policy::selectObsolete);
+        } else {
+            compact(upperTenant, COMPACT_CANDIDATES_STATEMENT, new Object[] { policy.keepFirst + policy.keepLast },
+                    policy::selectObsolete);
+        }
+    }
+
+    private <T extends Serializable> T getConfigurationValue(final TenantConfigurationKey key,
+            final Class<T> type) {
+        return tenantConfigurationManagement.getConfigurationValue(key, type).getValue();
+    }
+
+    private void compact(final String tenant, final String candidateStatement, final Object[] candidateParameters,
+            final Function<List<StatusEntry>, List<StatusEntry>> selector) {
+        long lastActionId = 0;
+        List<Long> actionIds;
+        do {
+            final List<Object> parameters = new ArrayList<>(candidateParameters.length + 4);
+            parameters.add(tenant);
+            parameters.add(false);
+            Collections.addAll(parameters, candidateParameters);
+            parameters.add(lastActionId);
+            parameters.add(properties.getBatchSize());
+            actionIds = jdbcTemplate.queryForList(candidateStatement, Long.class, parameters.toArray());
+            if (actionIds.isEmpty()) {
+                return;
+            }
+            lastActionId = actionIds.get(actionIds.size() - 1);
+
+            final List<Long> batch = actionIds;
+            try {
+                final int deleted = transactionTemplate.execute(status -> compactBatch(tenant, batch, selector));
+                LOGGER.debug("Deleted {} status entries of {} actions of tenant {}", deleted, batch.size(), tenant);
+            } catch (final DataAccessException | UncheckedIOException e) {
+                failedBatches.incrementAndGet();
+                LOGGER.error("Failed to compact the status entries of {} actions of tenant {}, will retry with the next run.",
+                        batch.size(), tenant, e);
+            }
+        } while (actionIds.size() >= properties.getBatchSize());
+    }
+
+    private int compactBatch(final String tenant, final List<Long> actionIds,
+            final Function<List<StatusEntry>, List<StatusEntry>> selector) {
+        final Map<Long, List<StatusEntry>> statusByAction = new LinkedHashMap<>();
+        jdbcTemplate.query(String.format(STATUS_SELECT_STATEMENT, placeholders(actionIds.size())), rs -> {
+            final Number status = (Number) rs.getObject(3);
+            final Number occurredAt = (Number) rs.getObject(4);
+            statusByAction.computeIfAbsent(rs.getLong(2), id -> new ArrayList<>())
+                    .add(new StatusEntry(rs.getLong(1), rs.getLong(2),
+                            status != null ? Status.values()[status.intValue()] : null,
+                            occurredAt != null ? occurredAt.longValue() : null));
+        }, parameters(tenant, actionIds));
+
+        final List<StatusEntry> obsolete = statusByAction.values().stream().map(selector)
+                .flatMap(Collection::stream).collect(Collectors.toList());
+        if (obsolete.isEmpty()) {
+            return 0;
+        }
+
+        if (properties.getArchiveDirectory() != null) {
+            archive(tenant, obsolete);
+        }
+
+        final Map<Long, Integer> deletedPerAction = delete(tenant, obsolete);
+
+        // entries deleted concurrently by another run are not subtracted
+        // twice
+        final List<Object[]> counts = deletedPerAction.entrySet().stream().filter(deleted -> deleted.getValue() > 0)
+                .map(deleted -> new Object[] { deleted.getValue(), deleted.getKey() }).collect(Collectors.toList());
+        if (!counts.isEmpty()) {
+            jdbcTemplate.batchUpdate(COUNT_UPDATE_STATEMENT, counts);
+        }
+
+        final int deleted = deletedPerAction.values().stream().mapToInt(Integer::intValue).sum();
+        compactedActions.addAndGet(counts.size());
+        deletedStatus.addAndGet(deleted);
+        return deleted;
+    }
+
+    /**
+     * Deletes the given entries action by action.
+     *
+     * @return number of entries actually deleted per action
+     */
+    private Map<Long, Integer> delete(final String tenant, final List<StatusEntry> obsolete) {
+        final Map<Long, List<Long>> idsPerAction = new LinkedHashMap<>();
+        obsolete.forEach(entry -> idsPerAction.computeIfAbsent(entry.actionId, id -> new ArrayList<>()).add(entry.id));
+
+        final Map<Long, Integer> deletedPerAction = new HashMap<>();
+        idsPerAction.forEach((actionId, ids) -> {
+            for (final List<Long> chunk : Lists.partition(ids, MAX_IN_PARAMETERS)) {
+                final Object[] parameters = new Object[chunk.size() + 2];
+                parameters[0] = tenant;
+                parameters[1] = actionId;
+                for (int i = 0; i < chunk.size(); i++) {
+                    parameters[i + 2] = chunk.get(i);
+                }
+                final int count = jdbcTemplate.update(String.format(STATUS_DELETE_STATEMENT,
+                        placeholders(chunk.size())), parameters);
+                deletedPerAction.merge(actionId, count, Integer::sum);
+            }
+        });
+        return deletedPerAction;
+    }
+
+    private void archive(final String tenant, final List<StatusEntry> entries) {
+        final Map<Long, List<String>> messages = new HashMap<>();
+        for (final List<StatusEntry> chunk : Lists.partition(entries, MAX_IN_PARAMETERS)) {
+            jdbcTemplate.query(String.format(MESSAGE_SELECT_STATEMENT, placeholders(chunk.size())), rs -> {
+                messages.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+            }, ids(chunk).toArray());
+        }
+
+        final File directory = new File(properties.getArchiveDirectory());
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new UncheckedIOException(new IOException("Cannot create archive directory " + directory));
+        }
+
+        final File file = new File(directory,
+                "action-status-" + tenant + "-" + System.currentTimeMillis() + "-" + entries.get(0).id + ".csv.gz");
+        try (final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(file)), StandardCharsets.UTF_8))) {
+            for (final StatusEntry entry : entries) {
+                writer.write(csv(tenant, entry, messages.getOrDefault(entry.id, Collections.emptyList())));
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        archivedStatus.addAndGet(entries.size());
+    }
+
+    private static String csv(final String tenant, final StatusEntry entry, final List<String> messages) {
+        final StringBuilder line = new StringBuilder();
+        line.append(quote(tenant)).append(',').append(entry.actionId).append(',').append(entry.id).append(',')
+                .append(entry.status != null ? entry.status.name() : "").append(',')
+                .append(entry.occurredAt != null ? entry.occurredAt.toString() : "");
+        messages.forEach(message -> line.append(',').append(quote(message)));
+        return line.append('\n').toString();
+    }
+
+    private static String quote(final String value) {
+        if (value == null) {
+            return "";
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String placeholders(final int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static Object[] parameters(final String tenant, final List<Long> ids) {
+        final Object[] parameters = new Object[ids.size() + 1];
+        parameters[0] = tenant;
+        for (int i = 0; i < ids.size(); i++) {
+            parameters[i + 1] = ids.get(i);
+        }
+        return parameters;
+    }
+
+    private static List<Long> ids(final List<StatusEntry> entries) {
+        return entries.stream().map(entry -> entry.id).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>(4);
+        metrics.add(new Metric<>(METRIC_PREFIX + "actions", compactedActions.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "deleted", deletedStatus.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "archived", archivedStatus.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "failed", failedBatches.get()));
+        return metrics;
+    }
+
+    private static final class Policy {
+        private final int keepFirst;
+        private final int keepLast;
+        private final boolean dropDownload;
+
+        private Policy(final int keepFirst, final int keepLast, final boolean dropDownload) {
+            this.keepFirst = keepFirst;
+            this.keepLast = keepLast;
+            this.dropDownload = dropDownload;
+        }
+
+        private List<StatusEntry> selectObsolete(final List<StatusEntry> history) {
+            final List<StatusEntry> obsolete = new ArrayList<>();
+            final List<StatusEntry> remaining = new ArrayList<>(history.size());
+            history.forEach(entry -> {
+                if (dropDownload && entry.status == Status.DOWNLOAD) {
+                    obsolete.add(entry);
+                } else {
+                    remaining.add(entry);
+                }
+            });
+
+            if (remaining.size() > keepFirst + keepLast) {
+                obsolete.addAll(remaining.subList(keepFirst, remaining.size() - keepLast));
+            }
+            return obsolete;
+        }
+    }
+
+    private static final class StatusEntry {
+        private final long id;
+        private final long actionId;
+        private final Status status;
+        private final Long occurredAt;
+
+        private StatusEntry(final long id, final long actionId, final Status status, final Long occurredAt) {
+            this.id = id;
+            this.actionId = actionId;
+            this.status = status;
+            this.occurredAt = occurredAt;
+        }
+    }
+}
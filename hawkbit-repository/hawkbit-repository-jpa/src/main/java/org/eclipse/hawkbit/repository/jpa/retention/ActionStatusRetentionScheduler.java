@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.retention;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.RepositoryProperties.ActionStatusRetention;
+import org.eclipse.hawkbit.repository.jpa.scheduler.TenantTaskExecutor;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Scheduler to apply the action status retention policy of all tenants by the
+ * {@link ActionStatusCompactor}.
+ */
+public class ActionStatusRetentionScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActionStatusRetentionScheduler.class);
+
+    private final TenantTaskExecutor tenantTaskExecutor;
+
+    private final ActionStatusCompactor actionStatusCompactor;
+
+    private final TenantAware tenantAware;
+
+    private final ActionStatusRetention properties;
+
+    /**
+     * Constructor.
+     *
+     * @param tenantTaskExecutor
+     *            to run the compaction for all tenants
+     * @param actionStatusCompactor
+     *            to compact a tenant
+     * @param tenantAware
+     *            to get the tenant of the compaction
+     * @param repositoryProperties
+     *            for the period of the compaction
+     */
+    public ActionStatusRetentionScheduler(final TenantTaskExecutor tenantTaskExecutor,
+            final ActionStatusCompactor actionStatusCompactor, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        this.tenantTaskExecutor = tenantTaskExecutor;
+        this.actionStatusCompactor = actionStatusCompactor;
+        this.tenantAware = tenantAware;
+        this.properties = repositoryProperties.getActionStatusRetention();
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Compacts the
+     * action status history of all tenants by the {@link TenantTaskExecutor}.
+     * The tenants without an enabled retention policy are skipped.
+     */
+    @Scheduled(initialDelayString = ActionStatusRetention.PROP_RETENTION_DELAY_PLACEHOLDER, fixedDelayString = ActionStatusRetention.PROP_RETENTION_DELAY_PLACEHOLDER)
+    public void compact() {
+        LOGGER.debug("action status retention has been triggered.");
+        tenantTaskExecutor.runForAllTenants("actionstatusretention", properties.getFixedDelay(),
+                () -> actionStatusCompactor.compact(tenantAware.getCurrentTenant()));
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.hawkbit.repository.RolloutProperties;
+import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+
+/**
+ * In memory counters of the {@link Status} of the actions of running
+ * {@link RolloutGroup}s. The counters of a group are loaded with a single
+ * grouped query, updated incrementally after commit with the status changes
+ * of the actions and reloaded from the database after the configured reconcile
+ * interval. Bulk updates which change the status of actions of unknown groups
+ * evict all counters.
+ *
+ * The counters are allowed to lag behind the database, e.g. for status changes
+ * on other nodes of a cluster. Callers should use them to decide in O(1) that
+ * nothing has to be done and verify positive decisions against the database.
+ */
+public class RolloutGroupStatusCounter {
+
+    private final ActionRepository actionRepository;
+
+    private final RolloutProperties rolloutProperties;
+
+    private final AfterTransactionCommitExecutor afterCommit;
+
+    private final Map<Long, Counts> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param actionRepository
+     *            to load the counters
+     * @param rolloutProperties
+     *            for the reconcile interval
+     * @param afterCommit
+     *            to apply status changes after the transaction has been
+     *            committed
+     */
+    public RolloutGroupStatusCounter(final ActionRepository actionRepository,
+            final RolloutProperties rolloutProperties, final AfterTransactionCommitExecutor afterCommit) {
+        this.actionRepository = actionRepository;
+        this.rolloutProperties = rolloutProperties;
+        this.afterCommit = afterCommit;
+    }
+
+    /**
+     * @param rolloutGroupId
+     *            of the group
+     * @return number of actions of the group
+     */
+    public long countTotal(final Long rolloutGroupId) {
+        return get(rolloutGroupId).total;
+    }
+
+    /**
+     * @param rolloutGroupId
+     *            of the group
+     * @param status
+     *            to count
+     * @return number of actions of the group in the given status
+     */
+    public long countByStatus(final Long rolloutGroupId, final Status status) {
+        return get(rolloutGroupId).count(status);
+    }
+
+    /**
+     * @param rolloutGroupId
+     *            of the group
+     * @return number of actions of the group which are not in
+     *         {@link Status#ERROR}, {@link Status#FINISHED} or
+     *         {@link Status#CANCELED}
+     */
+    public long countOpen(final Long rolloutGroupId) {
+        final Counts groupCounts = get(rolloutGroupId);
+        return groupCounts.total - groupCounts.count(Status.ERROR) - groupCounts.count(Status.FINISHED)
+                - groupCounts.count(Status.CANCELED);
+    }
+
+    /**
+     * Applies the status change of an action to the counters of its group
+     * after the current transaction has been committed. Actions which are not
+     * part of a rollout and groups whose counters are not loaded are ignored.
+     *
+     * @param action
+     *            with the new status
+     * @param oldStatus
+     *            of the action before the change
+     */
+    public void statusChanged(final Action action, final Status oldStatus) {
+        final Status newStatus = action.getStatus();
+        if (action.getRolloutGroup() == null || oldStatus == newStatus) {
+            return;
+        }
+        final Long rolloutGroupId = action.getRolloutGroup().getId();
+        afterCommit.afterCommit(() -> counts.computeIfPresent(rolloutGroupId,
+                (id, current) -> current.move(oldStatus, newStatus)));
+    }
+
+    /**
+     * Removes the counters of all groups after the current transaction has
+     * been committed, e.g. after a bulk update of actions.
+     */
+    public void evictAll() {
+        afterCommit.afterCommit(counts::clear);
+    }
+
+    /**
+     * Removes the counters of a group, e.g. if it is finished.
+     *
+     * @param rolloutGroupId
+     *            of the group
+     */
+    public void evict(final Long rolloutGroupId) {
+        counts.remove(rolloutGroupId);
+    }
+
+    private Counts get(final Long rolloutGroupId) {
+        final Counts current = counts.get(rolloutGroupId);
+        if (current != null && isFresh(current)) {
+            return current;
+        }
+
+        // status changes of the group wait for the reload, so they are not
+        // overwritten by it
+        return counts.compute(rolloutGroupId,
+                (id, reloaded) -> reloaded != null && isFresh(reloaded) ? reloaded : load(id));
+    }
+
+    private boolean isFresh(final Counts current) {
+        return System.currentTimeMillis() - current.loadedAt < rolloutProperties.getStatusCounter()
+                .getReconcileInterval();
+    }
+
+    private Counts load(final Long rolloutGroupId) {
+        final Counts loaded = new Counts(System.currentTimeMillis());
+        for (final TotalTargetCountActionStatus statusCount : actionRepository
+                .getStatusCountByRolloutGroupId(rolloutGroupId)) {
+            loaded.add(statusCount.getStatus(), statusCount.getCount());
+        }
+        return loaded;
+    }
+
+    private static final class Counts {
+        private final long loadedAt;
+        private final Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        private long total;
+
+        private Counts(final long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        private void add(final Status status, final long count) {
+            if (status != null) {
+                byStatus.merge(status, count, Long::sum);
+            }
+            total += count;
+        }
+
+        private long count(final Status status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+
+        private Counts move(final Status oldStatus, final Status newStatus) {
+            final Counts moved = new Counts(loadedAt);
+            moved.byStatus.putAll(byStatus);
+            moved.total = total;
+            if (oldStatus != null && moved.count(oldStatus) > 0) {
+                moved.byStatus.merge(oldStatus, -1L, Long::sum);
+                moved.byStatus.merge(newStatus, 1L, Long::sum);
+            }
+            return moved;
+        }
+    }
+}
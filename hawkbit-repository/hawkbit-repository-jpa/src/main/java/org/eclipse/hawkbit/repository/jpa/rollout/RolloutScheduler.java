@@ -8,13 +8,11 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rollout;
 
-import java.util.List;
-
 import org.eclipse.hawkbit.repository.RolloutManagement;
 import org.eclipse.hawkbit.repository.RolloutProperties;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.jpa.scheduler.TenantTaskExecutor;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
-import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,17 +35,11 @@ public class RolloutScheduler {
     private static final Logger LOGGER = LoggerFactory.getLogger(RolloutScheduler.class);
 
     @Autowired
-    private TenantAware tenantAware;
-
-    @Autowired
-    private SystemManagement systemManagement;
+    private TenantTaskExecutor tenantTaskExecutor;
 
     @Autowired
     private RolloutManagement rolloutManagement;
 
-    @Autowired
-    private SystemSecurityContext systemSecurityContext;
-
     @Autowired
     private RolloutProperties rolloutProperties;
 
@@ -55,29 +47,14 @@ public class RolloutScheduler {
      * Scheduler method called by the spring-async mechanism. Retrieves all
      * tenants from the {@link SystemManagement#findTenants()} and runs for each
      * tenant the {@link RolloutManagement#checkRunningRollouts(long)} in the
-     * {@link SystemSecurityContext}.
+     * {@link SystemSecurityContext}. The tenants are checked in parallel by the
+     * {@link TenantTaskExecutor}.
      */
     @Scheduled(initialDelayString = RolloutProperties.Scheduler.PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = RolloutProperties.Scheduler.PROP_SCHEDULER_DELAY_PLACEHOLDER)
     public void rolloutScheduler() {
         LOGGER.debug("rollout schedule checker has been triggered.");
-        // run this code in system code privileged to have the necessary
-        // permission to query and create entities.
-        systemSecurityContext.runAsSystem(() -> {
-            // workaround eclipselink that is currently not possible to
-            // execute a query without multitenancy if MultiTenant
-            // annotation is used.
-            // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
-            // iterate through all tenants and execute the rollout check for
-            // each tenant seperately.
-            final List<String> tenants = systemManagement.findTenants();
-            LOGGER.info("Checking rollouts for {} tenants", tenants.size());
-            for (final String tenant : tenants) {
-                tenantAware.runAsTenant(tenant, () -> {
-                    rolloutManagement.checkRunningRollouts(rolloutProperties.getScheduler().getFixedDelay());
-                    return null;
-                });
-            }
-            return null;
-        });
+        final long fixedDelay = rolloutProperties.getScheduler().getFixedDelay();
+        tenantTaskExecutor.runForAllTenants("rollout", fixedDelay,
+                () -> rolloutManagement.checkRunningRollouts(fixedDelay));
     }
 }
@@ -23,6 +23,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.Lists;
+
 /**
  * Success action which starts the next following {@link RolloutGroup}.
  */
@@ -31,6 +33,11 @@ public class StartNextGroupRolloutGroupSuccessAction implements RolloutGroupActi
 
     private static final Logger logger = LoggerFactory.getLogger(StartNextGroupRolloutGroupSuccessAction.class);
 
+    /**
+     * Maximum number of actions started in one transaction.
+     */
+    private static final int START_ACTIONS_CHUNK_SIZE = 1000;
+
     @Autowired
     private RolloutGroupRepository rolloutGroupRepository;
 
@@ -61,7 +68,8 @@ public class StartNextGroupRolloutGroupSuccessAction implements RolloutGroupActi
                 rolloutGroup, Action.Status.SCHEDULED);
         logger.debug("{} Next actions to start for rollout {} and parent group {}", rolloutGroupActions.size(), rollout,
                 rolloutGroup);
-        rolloutGroupActions.forEach(deploymentManagement::startScheduledAction);
+        Lists.partition(rolloutGroupActions, START_ACTIONS_CHUNK_SIZE)
+                .forEach(deploymentManagement::startScheduledActions);
         logger.debug("{} actions started for rollout {} and parent group {}", rolloutGroupActions.size(), rollout,
                 rolloutGroup);
         if (!rolloutGroupActions.isEmpty()) {
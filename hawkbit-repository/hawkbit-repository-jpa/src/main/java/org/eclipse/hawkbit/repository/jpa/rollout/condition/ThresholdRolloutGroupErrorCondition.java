@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 import org.eclipse.hawkbit.repository.jpa.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounter;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -30,27 +31,42 @@ public class ThresholdRolloutGroupErrorCondition implements RolloutGroupConditio
     @Autowired
     private ActionRepository actionRepository;
 
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
     @Override
     public boolean eval(final Rollout rollout, final RolloutGroup rolloutGroup, final String expression) {
+        final Integer threshold;
+        try {
+            threshold = Integer.valueOf(expression);
+        } catch (final NumberFormatException e) {
+            LOGGER.error("Cannot evaluate condition expression " + expression, e);
+            return false;
+        }
+
+        // the counters might lag behind, so the database is only queried if
+        // the threshold seems to be exceeded
+        if (!isExceeded(rolloutGroupStatusCounter.countTotal(rolloutGroup.getId()),
+                rolloutGroupStatusCounter.countByStatus(rolloutGroup.getId(), Action.Status.ERROR), threshold)) {
+            return false;
+        }
+
         final Long totalGroup = actionRepository.countByRolloutAndRolloutGroup((JpaRollout) rollout,
                 (JpaRolloutGroup) rolloutGroup);
         final Long error = actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
                 rolloutGroup.getId(), Action.Status.ERROR);
-        try {
-            final Integer threshold = Integer.valueOf(expression);
-
-            if (totalGroup == 0) {
-                // in case e.g. targets has been deleted we don't have any
-                // actions left for this group, so the group is finished
-                return false;
-            }
+        return isExceeded(totalGroup, error, threshold);
+    }
 
-            // calculate threshold
-            return ((float) error / (float) totalGroup) > ((float) threshold / 100F);
-        } catch (final NumberFormatException e) {
-            LOGGER.error("Cannot evaluate condition expression " + expression, e);
+    private static boolean isExceeded(final long totalGroup, final long error, final int threshold) {
+        if (totalGroup == 0) {
+            // in case e.g. targets has been deleted we don't have any
+            // actions left for this group, so the group is finished
             return false;
         }
+
+        // calculate threshold
+        return ((float) error / (float) totalGroup) > ((float) threshold / 100F);
     }
 
 }
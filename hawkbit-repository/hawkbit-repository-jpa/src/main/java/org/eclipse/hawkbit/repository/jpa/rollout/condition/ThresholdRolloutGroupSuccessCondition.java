@@ -9,6 +9,7 @@
 package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 
 import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounter;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -28,6 +29,9 @@ public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupCondit
     @Autowired
     private ActionRepository actionRepository;
 
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
     @Override
     public boolean eval(final Rollout rollout, final RolloutGroup rolloutGroup, final String expression) {
 
@@ -38,17 +42,29 @@ public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupCondit
             return true;
         }
 
-        final long finished = this.actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
-                rolloutGroup.getId(), Action.Status.FINISHED);
+        final Integer threshold;
         try {
-            final Integer threshold = Integer.valueOf(expression);
-            // calculate threshold
-            return ((float) finished / (float) totalGroup) >= ((float) threshold / 100F);
-
+            threshold = Integer.valueOf(expression);
         } catch (final NumberFormatException e) {
             LOGGER.error("Cannot evaluate condition expression " + expression, e);
             return false;
         }
+
+        // the counters might lag behind, so the database is only queried if
+        // the threshold seems to be reached
+        if (!isReached(totalGroup,
+                rolloutGroupStatusCounter.countByStatus(rolloutGroup.getId(), Action.Status.FINISHED), threshold)) {
+            return false;
+        }
+
+        final long finished = this.actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
+                rolloutGroup.getId(), Action.Status.FINISHED);
+        return isReached(totalGroup, finished, threshold);
+    }
+
+    private static boolean isReached(final long totalGroup, final long finished, final int threshold) {
+        // calculate threshold
+        return ((float) finished / (float) totalGroup) >= ((float) threshold / 100F);
     }
 
 }
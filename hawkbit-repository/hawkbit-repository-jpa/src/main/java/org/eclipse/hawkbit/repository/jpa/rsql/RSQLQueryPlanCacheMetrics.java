@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import com.google.common.cache.CacheStats;
+
+/**
+ * Publishes the size and the hit and miss counts of the query plan cache of
+ * {@link RSQLUtility}.
+ */
+public class RSQLQueryPlanCacheMetrics implements PublicMetrics {
+
+    private static final String METRIC_PREFIX = "hawkbit.repository.rsql.cache.";
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final CacheStats stats = RSQLUtility.getQueryPlanCacheStats();
+        final List<Metric<?>> metrics = new ArrayList<>(4);
+        metrics.add(new Metric<>(METRIC_PREFIX + "size", RSQLUtility.getQueryPlanCacheSize()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "hits", stats.hitCount()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "misses", stats.missCount()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "hitRate", stats.hitRate()));
+        return metrics;
+    }
+}
@@ -13,7 +13,9 @@ import static org.eclipse.hawkbit.repository.FieldNameProvider.SUB_ATTRIBUTE_SEP
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -38,6 +40,10 @@ import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.data.jpa.domain.Specification;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
 import cz.jirutka.rsql.parser.RSQLParser;
 import cz.jirutka.rsql.parser.RSQLParserException;
 import cz.jirutka.rsql.parser.ast.AndNode;
@@ -84,6 +90,18 @@ public final class RSQLUtility {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RSQLUtility.class);
 
+    private static final int MAX_CACHED_QUERY_PLANS = 1000;
+
+    private static final RSQLParser PARSER = createParser();
+
+    /**
+     * Parsed and validated queries by field enum and normalized RSQL string.
+     * Queries of target filters, rollouts and paged lists are evaluated again
+     * and again, i.e. for the count and the data query of every page.
+     */
+    private static final Cache<QueryPlanKey, QueryPlan<?>> QUERY_PLANS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_QUERY_PLANS).recordStats().build();
+
     /**
      * private constructor due utility class.
      */
@@ -126,12 +144,40 @@ public final class RSQLUtility {
         parseRsql(rsql);
     }
 
+    /**
+     * @return the statistics of the query plan cache
+     */
+    static CacheStats getQueryPlanCacheStats() {
+        return QUERY_PLANS.stats();
+    }
+
+    /**
+     * @return the number of cached query plans
+     */
+    static long getQueryPlanCacheSize() {
+        return QUERY_PLANS.size();
+    }
+
+    /**
+     * Removes all cached query plans, i.e. the next evaluation of every query
+     * parses it again.
+     */
+    static void invalidateQueryPlanCache() {
+        QUERY_PLANS.invalidateAll();
+    }
+
+    private static RSQLParser createParser() {
+        // the parser creates a new parser instance for every query and can
+        // be shared
+        final Set<ComparisonOperator> operators = RSQLOperators.defaultOperators();
+        operators.add(new ComparisonOperator("=li=", false));
+        return new RSQLParser(operators);
+    }
+
     private static Node parseRsql(final String rsql) {
         try {
             LOGGER.debug("parsing rsql string {}", rsql);
-            final Set<ComparisonOperator> operators = RSQLOperators.defaultOperators();
-            operators.add(new ComparisonOperator("=li=", false));
-            return new RSQLParser(operators).parse(rsql);
+            return PARSER.parse(rsql);
         } catch (final IllegalArgumentException e) {
             throw new RSQLParameterSyntaxException("rsql filter must not be null", e);
         } catch (final RSQLParserException e) {
@@ -139,6 +185,21 @@ public final class RSQLUtility {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static <A extends Enum<A> & FieldNameProvider> QueryPlan<A> getQueryPlan(final String rsql,
+            final Class<A> enumType) {
+        final QueryPlanKey key = new QueryPlanKey(enumType, rsql);
+        final QueryPlan<?> cached = QUERY_PLANS.getIfPresent(key);
+        if (cached != null) {
+            return (QueryPlan<A>) cached;
+        }
+
+        // invalid queries throw here and are not cached
+        final QueryPlan<A> plan = new QueryPlan<>(parseRsql(rsql), enumType);
+        QUERY_PLANS.put(key, plan);
+        return plan;
+    }
+
     private static final class RSQLSpecification<A extends Enum<A> & FieldNameProvider, T> implements Specification<T> {
 
         private final String rsql;
@@ -155,11 +216,11 @@ public final class RSQLUtility {
         @Override
         public Predicate toPredicate(final Root<T> root, final CriteriaQuery<?> query, final CriteriaBuilder cb) {
 
-            final Node rootNode = parseRsql(rsql);
+            final QueryPlan<A> plan = getQueryPlan(rsql, enumType);
 
-            final JpqQueryRSQLVisitor<A, T> jpqQueryRSQLVisitor = new JpqQueryRSQLVisitor<>(root, cb, enumType,
+            final JpqQueryRSQLVisitor<A, T> jpqQueryRSQLVisitor = new JpqQueryRSQLVisitor<>(root, cb, plan,
                     virtualPropertyReplacer);
-            final List<Predicate> accept = rootNode.<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
+            final List<Predicate> accept = plan.rootNode.<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
 
             if (accept != null && !accept.isEmpty()) {
                 return cb.and(accept.toArray(new Predicate[accept.size()]));
@@ -169,58 +230,84 @@ public final class RSQLUtility {
         }
     }
 
+    private static final class QueryPlanKey {
+        private final Class<?> enumType;
+        private final String rsql;
+
+        private QueryPlanKey(final Class<?> enumType, final String rsql) {
+            this.enumType = enumType;
+            this.rsql = rsql;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * enumType.hashCode() + rsql.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof QueryPlanKey)) {
+                return false;
+            }
+            final QueryPlanKey other = (QueryPlanKey) obj;
+            return enumType.equals(other.enumType) && rsql.equals(other.rsql);
+        }
+    }
+
     /**
-     * An implementation of the {@link RSQLVisitor} to visit the parsed tokens
-     * and build jpa where clauses.
-     *
-     *
+     * The parsed RSQL query with the field enums and property paths of all
+     * comparisons resolved and validated, i.e. everything that does not
+     * depend on the JPA {@link Root} the query is bound to. The plan is
+     * immutable apart from the memorized value conversions and shared by all
+     * threads.
      *
      * @param <A>
      *            the enum for providing the field name of the entity field to
      *            filter on.
-     * @param <T>
-     *            the entity type referenced by the root
      */
-    private static final class JpqQueryRSQLVisitor<A extends Enum<A> & FieldNameProvider, T>
-            implements RSQLVisitor<List<Predicate>, String> {
-        public static final Character LIKE_WILDCARD = '*';
-
-        private final Root<T> root;
-        private final CriteriaBuilder cb;
+    private static final class QueryPlan<A extends Enum<A> & FieldNameProvider> {
+        private final Node rootNode;
         private final Class<A> enumType;
-        private final VirtualPropertyReplacer virtualPropertyReplacer;
+        private final Map<ComparisonNode, ResolvedComparison<A>> comparisons = new IdentityHashMap<>();
 
-        private final SimpleTypeConverter simpleTypeConverter;
-
-        private JpqQueryRSQLVisitor(final Root<T> root, final CriteriaBuilder cb, final Class<A> enumType,
-                VirtualPropertyReplacer virtualPropertyReplacer) {
-            this.root = root;
-            this.cb = cb;
+        private QueryPlan(final Node rootNode, final Class<A> enumType) {
+            this.rootNode = rootNode;
             this.enumType = enumType;
-            this.virtualPropertyReplacer = virtualPropertyReplacer;
-            simpleTypeConverter = new SimpleTypeConverter();
+            resolve(rootNode);
         }
 
-        @Override
-        public List<Predicate> visit(final AndNode node, final String param) {
-            final List<Predicate> childs = acceptChilds(node);
-            if (!childs.isEmpty()) {
-                return toSingleList(cb.and(childs.toArray(new Predicate[childs.size()])));
-            }
-            return toSingleList(cb.conjunction());
+        private ResolvedComparison<A> getComparison(final ComparisonNode node) {
+            return comparisons.get(node);
         }
 
-        @Override
-        public List<Predicate> visit(final OrNode node, final String param) {
-            final List<Predicate> childs = acceptChilds(node);
-            if (!childs.isEmpty()) {
-                return toSingleList(cb.or(childs.toArray(new Predicate[childs.size()])));
+        private void resolve(final Node node) {
+            if (node instanceof LogicalNode) {
+                ((LogicalNode) node).getChildren().forEach(this::resolve);
+            } else if (node instanceof ComparisonNode) {
+                final ComparisonNode comparison = (ComparisonNode) node;
+                comparisons.put(comparison, resolve(comparison));
             }
-            return toSingleList(cb.conjunction());
         }
 
-        private static List<Predicate> toSingleList(final Predicate predicate) {
-            return Collections.singletonList(predicate);
+        // Exception squid:S2095 - see
+        // https://jira.sonarsource.com/browse/SONARJAVA-1478
+        @SuppressWarnings({ "squid:S2095" })
+        private ResolvedComparison<A> resolve(final ComparisonNode node) {
+            A fieldName = null;
+            try {
+                fieldName = getFieldEnumByName(node);
+            } catch (final IllegalArgumentException e) {
+                throw new RSQLParameterUnsupportedFieldException("The given search parameter field {"
+                        + node.getSelector() + "} does not exist, must be one of the following fields {"
+                        + Arrays.stream(enumType.getEnumConstants()).map(v -> v.name().toLowerCase())
+                                .collect(Collectors.toList())
+                        + "}", e);
+
+            }
+            return new ResolvedComparison<>(node, fieldName, getAndValidatePropertyFieldName(fieldName, node));
         }
 
         private String getAndValidatePropertyFieldName(final A propertyEnum, final ComparisonNode node) {
@@ -279,54 +366,6 @@ public final class RSQLUtility {
                     new Exception());
         }
 
-        private Path<Object> getFieldPath(final A enumField, final String finalProperty) {
-            Path<Object> fieldPath = null;
-            final String[] split = finalProperty.split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
-            if (split.length == 0) {
-                return root.get(split[0]);
-            }
-
-            for (int i = 0; i < split.length; i++) {
-                final boolean isMapKeyField = enumField.isMap() && i == (split.length - 1);
-                if (isMapKeyField) {
-                    return fieldPath;
-                }
-
-                final String fieldNameSplit = split[i];
-                fieldPath = (fieldPath != null) ? fieldPath.get(fieldNameSplit) : root.get(fieldNameSplit);
-            }
-            return fieldPath;
-        }
-
-        @Override
-        // Exception squid:S2095 - see
-        // https://jira.sonarsource.com/browse/SONARJAVA-1478
-        @SuppressWarnings({ "squid:S2095" })
-        public List<Predicate> visit(final ComparisonNode node, final String param) {
-            A fieldName = null;
-            try {
-                fieldName = getFieldEnumByName(node);
-            } catch (final IllegalArgumentException e) {
-                throw new RSQLParameterUnsupportedFieldException("The given search parameter field {"
-                        + node.getSelector() + "} does not exist, must be one of the following fields {"
-                        + Arrays.stream(enumType.getEnumConstants()).map(v -> v.name().toLowerCase())
-                                .collect(Collectors.toList())
-                        + "}", e);
-
-            }
-            final String finalProperty = getAndValidatePropertyFieldName(fieldName, node);
-
-            final List<String> values = node.getArguments();
-            final List<Object> transformedValue = new ArrayList<>();
-            final Path<Object> fieldPath = getFieldPath(fieldName, finalProperty);
-
-            for (final String value : values) {
-                transformedValue.add(convertValueIfNecessary(node, fieldName, value, fieldPath));
-            }
-
-            return mapToPredicate(node, fieldPath, node.getArguments(), transformedValue, fieldName);
-        }
-
         // Exception squid:S2095 - see
         // https://jira.sonarsource.com/browse/SONARJAVA-1478
         @SuppressWarnings({ "squid:S2095" })
@@ -364,6 +403,131 @@ public final class RSQLUtility {
             LOGGER.debug("get fieldidentifier by name {} of enum type {}", enumName, enumType);
             return Enum.valueOf(enumType, enumName.toUpperCase());
         }
+    }
+
+    private static final class ResolvedComparison<A extends Enum<A> & FieldNameProvider> {
+        private final ComparisonNode node;
+        private final A field;
+        private final String propertyPath;
+        private volatile TransformedValues transformedValues;
+
+        private ResolvedComparison(final ComparisonNode node, final A field, final String propertyPath) {
+            this.node = node;
+            this.field = field;
+            this.propertyPath = propertyPath;
+        }
+    }
+
+    private static final class TransformedValues {
+        private final Class<?> javaType;
+        private final List<Object> values;
+
+        private TransformedValues(final Class<?> javaType, final List<Object> values) {
+            this.javaType = javaType;
+            this.values = Collections.unmodifiableList(values);
+        }
+    }
+
+    /**
+     * An implementation of the {@link RSQLVisitor} to visit the parsed tokens
+     * and build jpa where clauses.
+     *
+     *
+     *
+     * @param <A>
+     *            the enum for providing the field name of the entity field to
+     *            filter on.
+     * @param <T>
+     *            the entity type referenced by the root
+     */
+    private static final class JpqQueryRSQLVisitor<A extends Enum<A> & FieldNameProvider, T>
+            implements RSQLVisitor<List<Predicate>, String> {
+        public static final Character LIKE_WILDCARD = '*';
+
+        private final Root<T> root;
+        private final CriteriaBuilder cb;
+        private final QueryPlan<A> plan;
+        private final VirtualPropertyReplacer virtualPropertyReplacer;
+
+        private final SimpleTypeConverter simpleTypeConverter;
+
+        private JpqQueryRSQLVisitor(final Root<T> root, final CriteriaBuilder cb, final QueryPlan<A> plan,
+                VirtualPropertyReplacer virtualPropertyReplacer) {
+            this.root = root;
+            this.cb = cb;
+            this.plan = plan;
+            this.virtualPropertyReplacer = virtualPropertyReplacer;
+            simpleTypeConverter = new SimpleTypeConverter();
+        }
+
+        @Override
+        public List<Predicate> visit(final AndNode node, final String param) {
+            final List<Predicate> childs = acceptChilds(node);
+            if (!childs.isEmpty()) {
+                return toSingleList(cb.and(childs.toArray(new Predicate[childs.size()])));
+            }
+            return toSingleList(cb.conjunction());
+        }
+
+        @Override
+        public List<Predicate> visit(final OrNode node, final String param) {
+            final List<Predicate> childs = acceptChilds(node);
+            if (!childs.isEmpty()) {
+                return toSingleList(cb.or(childs.toArray(new Predicate[childs.size()])));
+            }
+            return toSingleList(cb.conjunction());
+        }
+
+        private static List<Predicate> toSingleList(final Predicate predicate) {
+            return Collections.singletonList(predicate);
+        }
+
+        private Path<Object> getFieldPath(final A enumField, final String finalProperty) {
+            Path<Object> fieldPath = null;
+            final String[] split = finalProperty.split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
+            if (split.length == 0) {
+                return root.get(split[0]);
+            }
+
+            for (int i = 0; i < split.length; i++) {
+                final boolean isMapKeyField = enumField.isMap() && i == (split.length - 1);
+                if (isMapKeyField) {
+                    return fieldPath;
+                }
+
+                final String fieldNameSplit = split[i];
+                fieldPath = (fieldPath != null) ? fieldPath.get(fieldNameSplit) : root.get(fieldNameSplit);
+            }
+            return fieldPath;
+        }
+
+        @Override
+        public List<Predicate> visit(final ComparisonNode node, final String param) {
+            final ResolvedComparison<A> comparison = plan.getComparison(node);
+            final A fieldName = comparison.field;
+            final Path<Object> fieldPath = getFieldPath(fieldName, comparison.propertyPath);
+
+            return mapToPredicate(node, fieldPath, node.getArguments(), getTransformedValues(comparison, fieldPath),
+                    comparison);
+        }
+
+        private List<Object> getTransformedValues(final ResolvedComparison<A> comparison,
+                final Path<Object> fieldPath) {
+            // the conversion depends on the java type of the path, which is
+            // the same for every root of the entity type
+            final Class<? extends Object> javaType = fieldPath.getJavaType();
+            final TransformedValues transformed = comparison.transformedValues;
+            if (transformed != null && transformed.javaType == javaType) {
+                return transformed.values;
+            }
+
+            final List<Object> transformedValues = new ArrayList<>();
+            for (final String value : comparison.node.getArguments()) {
+                transformedValues.add(convertValueIfNecessary(comparison.node, comparison.field, value, fieldPath));
+            }
+            comparison.transformedValues = new TransformedValues(javaType, transformedValues);
+            return comparison.transformedValues.values;
+        }
 
         private Object convertValueIfNecessary(final ComparisonNode node, final A fieldName, final String value,
                 final Path<Object> fieldPath) {
@@ -436,7 +600,9 @@ public final class RSQLUtility {
         }
 
         private List<Predicate> mapToPredicate(final ComparisonNode node, final Path<Object> fieldPath,
-                final List<String> values, final List<Object> transformedValues, final A enumField) {
+                final List<String> values, final List<Object> transformedValues,
+                final ResolvedComparison<A> comparison) {
+            final A enumField = comparison.field;
             // only 'equal' and 'notEqual' can handle transformed value like
             // enums. The JPA API cannot handle object types for greaterThan etc
             // methods.
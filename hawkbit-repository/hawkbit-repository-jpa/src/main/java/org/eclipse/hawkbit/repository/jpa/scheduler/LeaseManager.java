@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.scheduler;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Database backed leases which allow the nodes of a cluster to coordinate
+ * their scheduled work. A lease is identified by a key and owned by at most
+ * one node until it expires. A node that crashes loses its leases after the
+ * expiry, i.e. the work fails over to the other nodes.
+ *
+ * Leases can be used to elect a single leader, e.g. by acquiring a well known
+ * key on every run, or to make sure that a unit of work, e.g. per tenant, is
+ * done by one node at a time. The owner of a lease acquires it again as long
+ * as it has not expired, i.e. the work is not balanced between the nodes but
+ * stays with the node that acquired it first. A node that holds a lease for
+ * longer work has to {@link #renew(String, long)} it before it expires. A lease
+ * is kept until it expires unless the owner gives it up with
+ * {@link #release(String)}, which lets other nodes take over immediately.
+ *
+ * The expiry is based on the clock of the database, so the clocks of the
+ * nodes do not need to be in sync.
+ */
+public class LeaseManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeaseManager.class);
+
+    private static final String NOW_QUERY = "SELECT CURRENT_TIMESTAMP";
+
+    private static final String ACQUIRE_STATEMENT = "UPDATE sp_lease SET owner = ?, expires_at = ? WHERE lease_key = ? AND (owner = ? OR expires_at < ?)";
+
+    private static final String RENEW_STATEMENT = "UPDATE sp_lease SET expires_at = ? WHERE lease_key = ? AND owner = ?";
+
+    private static final String INSERT_STATEMENT = "INSERT INTO sp_lease (lease_key, owner, expires_at) VALUES (?, ?, ?)";
+
+    private static final String RELEASE_STATEMENT = "DELETE FROM sp_lease WHERE lease_key = ? AND owner = ?";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor.
+     *
+     * @param jdbcTemplate
+     *            to access the lease table
+     * @param transactionManager
+     *            to acquire the leases in their own transaction
+     */
+    public LeaseManager(final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        final DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+        def.setName("lease");
+        def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate = new TransactionTemplate(transactionManager, def);
+    }
+
+    /**
+     * @return the ID of this node as owner of leases
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Acquires the lease with the given key if it is not owned by another node
+     * or has expired. If this node owns the lease already it is renewed.
+     *
+     * @param key
+     *            of the lease
+     * @param leaseDuration
+     *            in milliseconds after which the lease expires
+     * @return <code>true</code> if this node owns the lease now
+     */
+    public boolean tryAcquire(final String key, final long leaseDuration) {
+        try {
+            return transactionTemplate.execute(status -> {
+                final Timestamp now = now();
+                final Timestamp expiresAt = new Timestamp(now.getTime() + leaseDuration);
+                if (jdbcTemplate.update(ACQUIRE_STATEMENT, nodeId, expiresAt, key, nodeId, now) > 0) {
+                    return true;
+                }
+                return insert(key, expiresAt);
+            });
+        } catch (final DataAccessException e) {
+            LOGGER.error("Failed to acquire lease {}", key, e);
+            return false;
+        }
+    }
+
+    /**
+     * Extends the lease with the given key if it is still owned by this node.
+     *
+     * @param key
+     *            of the lease
+     * @param leaseDuration
+     *            in milliseconds from now after which the lease expires
+     * @return <code>true</code> if the lease has been extended,
+     *         <code>false</code> if it has been taken over by another node in
+     *         the meantime
+     */
+    public boolean renew(final String key, final long leaseDuration) {
+        try {
+            return transactionTemplate.execute(status -> jdbcTemplate.update(RENEW_STATEMENT,
+                    new Timestamp(now().getTime() + leaseDuration), key, nodeId) > 0);
+        } catch (final DataAccessException e) {
+            LOGGER.error("Failed to renew lease {}", key, e);
+            return false;
+        }
+    }
+
+    // the timestamp is converted from and to the time zone of the JVM, so
+    // the expiry written by every node is based on the database time
+    private Timestamp now() {
+        return jdbcTemplate.queryForObject(NOW_QUERY, Timestamp.class);
+    }
+
+    private boolean insert(final String key, final Timestamp expiresAt) {
+        try {
+            return jdbcTemplate.update(INSERT_STATEMENT, key, nodeId, expiresAt) > 0;
+        } catch (final DuplicateKeyException e) {
+            LOGGER.trace("Lease {} is owned by another node", key, e);
+            return false;
+        }
+    }
+
+    /**
+     * Releases the lease with the given key if it is owned by this node.
+     *
+     * @param key
+     *            of the lease
+     */
+    public void release(final String key) {
+        try {
+            transactionTemplate.execute(status -> jdbcTemplate.update(RELEASE_STATEMENT, key, nodeId));
+        } catch (final DataAccessException e) {
+            LOGGER.error("Failed to release lease {}", key, e);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.RepositoryProperties.TenantScheduler;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs a periodic task of a scheduler for all tenants on a bounded worker
+ * pool, so that a tenant with a long running check does not delay the checks
+ * of all other tenants.
+ *
+ * <ul>
+ * <li>A task is never executed twice for the same tenant at the same time.
+ * If the check of a tenant is still running from a previous run the tenant is
+ * skipped.</li>
+ * <li>The order of the tenants is rotated with every run so that the same
+ * tenants are not always queued last.</li>
+ * <li>Checks exceeding the tenant time budget are logged and counted. The
+ * tenant is skipped for as many following runs as periods it has exceeded the
+ * budget by, so a tenant with slow checks cannot occupy the pool.</li>
+ * <li>If leases are enabled a tenant is checked by only one node of a cluster
+ * per period. The node which acquires the lease of the tenant runs the check,
+ * renews the lease while the check is running and keeps it for one more period
+ * after the check is done. Other nodes skip the tenant meanwhile, the owner
+ * acquires the lease again on its next run. A tenant therefore stays with the
+ * node that acquired it first, the tenants are not balanced between the
+ * nodes. If the owner fails its lease expires and another node takes over the
+ * tenant.</li>
+ * </ul>
+ */
+public class TenantTaskExecutor implements PublicMetrics, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantTaskExecutor.class);
+
+    private static final String METRIC_PREFIX = "hawkbit.scheduler.";
+
+    private final SystemManagement systemManagement;
+
+    private final SystemSecurityContext systemSecurityContext;
+
+    private final LeaseManager leaseManager;
+
+    private final TenantScheduler properties;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService leaseRenewer;
+
+    private final Map<String, TaskStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system for a tenant
+     * @param leaseManager
+     *            to coordinate the checks within a cluster
+     * @param repositoryProperties
+     *            for the pool configuration
+     */
+    public TenantTaskExecutor(final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final LeaseManager leaseManager,
+            final RepositoryProperties repositoryProperties) {
+        this.systemManagement = systemManagement;
+        this.systemSecurityContext = systemSecurityContext;
+        this.leaseManager = leaseManager;
+        this.properties = repositoryProperties.getTenantScheduler();
+
+        final int poolSize = Math.max(1, properties.getPoolSize());
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("tenant-scheduler-%d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("tenant-scheduler-lease-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Runs the given task for every tenant in the system security context of
+     * the tenant and waits until all checks are done or the configured
+     * maximum wait time is reached.
+     *
+     * @param taskName
+     *            name of the task used for logging, metrics and leases
+     * @param period
+     *            of the task in milliseconds
+     * @param task
+     *            to run for each tenant
+     */
+    public void runForAllTenants(final String taskName, final long period, final Runnable task) {
+        final TaskStatistics taskStatistics = statistics.computeIfAbsent(taskName, TaskStatistics::new);
+        final long start = System.currentTimeMillis();
+
+        // workaround eclipselink that is currently not possible to
+        // execute a query without multitenancy if MultiTenant
+        // annotation is used.
+        // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
+        // iterate through all tenants and execute the task for each
+        // tenant separately.
+        final List<String> tenants = taskStatistics
+                .rotate(systemSecurityContext.runAsSystem(systemManagement::findTenants));
+        LOGGER.info("Running {} for {} tenants", taskName, tenants.size());
+
+        final List<Future<?>> futures = new ArrayList<>(tenants.size());
+        for (final String tenant : tenants) {
+            if (taskStatistics.isDeferred(tenant)) {
+                LOGGER.debug("{} for tenant {} exceeded its time budget, skipping tenant", taskName, tenant);
+                taskStatistics.deferred.incrementAndGet();
+                continue;
+            }
+            if (!taskStatistics.running.add(tenant)) {
+                LOGGER.warn("{} for tenant {} is still running, skipping tenant", taskName, tenant);
+                taskStatistics.skipped.incrementAndGet();
+                continue;
+            }
+            try {
+                futures.add(executor.submit(() -> runForTenant(taskStatistics, tenant, period, task)));
+            } catch (final RejectedExecutionException e) {
+                LOGGER.error("{} for tenant {} rejected", taskName, tenant, e);
+                taskStatistics.running.remove(tenant);
+                taskStatistics.skipped.incrementAndGet();
+            }
+        }
+
+        awaitCompletion(taskName, futures, start + properties.getMaxWait());
+        taskStatistics.lastRunDuration = System.currentTimeMillis() - start;
+        taskStatistics.lastRunTenants = tenants.size();
+    }
+
+    private void runForTenant(final TaskStatistics taskStatistics, final String tenant, final long period,
+            final Runnable task) {
+        final String leaseKey = taskStatistics.name + ":" + tenant.toUpperCase();
+        // the lease has to outlive the check, it is renewed while the check
+        // is running and held for one period afterwards
+        final long leaseDuration = properties.getMaxWait();
+        if (properties.isLeaseEnabled() && !leaseManager.tryAcquire(leaseKey, leaseDuration)) {
+            LOGGER.debug("{} for tenant {} is handled by another node", taskStatistics.name, tenant);
+            taskStatistics.leasedByOthers.incrementAndGet();
+            taskStatistics.running.remove(tenant);
+            return;
+        }
+
+        final ScheduledFuture<?> heartbeat = properties.isLeaseEnabled()
+                ? scheduleLeaseRenewal(taskStatistics, tenant, leaseKey, leaseDuration) : null;
+        final long start = System.currentTimeMillis();
+        try {
+            systemSecurityContext.runAsSystemAsTenant(() -> {
+                task.run();
+                return null;
+            }, tenant);
+        } catch (final RuntimeException e) {
+            LOGGER.error("{} for tenant {} failed", taskStatistics.name, tenant, e);
+            taskStatistics.failed.incrementAndGet();
+        } finally {
+            if (heartbeat != null) {
+                heartbeat.cancel(false);
+                // not released, so that the other nodes do not check the
+                // tenant again within the same period
+                leaseManager.renew(leaseKey, period);
+            }
+            final long duration = System.currentTimeMillis() - start;
+            taskStatistics.tenantDurations.put(tenant, duration);
+            taskStatistics.running.remove(tenant);
+            final long overrun = duration - properties.getTenantTimeBudget();
+            if (overrun > 0) {
+                final int skippedRuns = (int) Math.min(Integer.MAX_VALUE, (overrun + period - 1) / Math.max(1, period));
+                LOGGER.warn("{} for tenant {} took {} ms and exceeded the time budget of {} ms, skipping next {} runs",
+                        taskStatistics.name, tenant, duration, properties.getTenantTimeBudget(), skippedRuns);
+                taskStatistics.overruns.incrementAndGet();
+                taskStatistics.pendingSkips.put(tenant, skippedRuns);
+            }
+        }
+    }
+
+    private ScheduledFuture<?> scheduleLeaseRenewal(final TaskStatistics taskStatistics, final String tenant,
+            final String leaseKey, final long leaseDuration) {
+        final long interval = Math.max(1, leaseDuration / 3);
+        return leaseRenewer.scheduleAtFixedRate(() -> {
+            if (!leaseManager.renew(leaseKey, leaseDuration)) {
+                LOGGER.warn("{} for tenant {} lost its lease while running", taskStatistics.name, tenant);
+                taskStatistics.leasesLost.incrementAndGet();
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private static void awaitCompletion(final String taskName, final List<Future<?>> futures, final long deadline) {
+        int pending = 0;
+        for (final Future<?> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                LOGGER.trace("{} did not finish in time", taskName, e);
+                pending++;
+            } catch (final ExecutionException e) {
+                LOGGER.error("{} failed", taskName, e);
+            } catch (final InterruptedException e) {
+                LOGGER.warn("Interrupted while waiting for {}", taskName, e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        if (pending > 0) {
+            LOGGER.warn("{} is still running for {} tenants, continuing in background", taskName, pending);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        leaseRenewer.shutdownNow();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>(METRIC_PREFIX + "backlog", executor.getQueue().size()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "active", executor.getActiveCount()));
+
+        for (final TaskStatistics taskStatistics : statistics.values()) {
+            final String prefix = METRIC_PREFIX + taskStatistics.name + ".";
+            metrics.add(new Metric<>(prefix + "duration", taskStatistics.lastRunDuration));
+            metrics.add(new Metric<>(prefix + "tenants", taskStatistics.lastRunTenants));
+            metrics.add(new Metric<>(prefix + "running", taskStatistics.running.size()));
+            metrics.add(new Metric<>(prefix + "skipped", taskStatistics.skipped.get()));
+            metrics.add(new Metric<>(prefix + "failed", taskStatistics.failed.get()));
+            metrics.add(new Metric<>(prefix + "overruns", taskStatistics.overruns.get()));
+            metrics.add(new Metric<>(prefix + "deferred", taskStatistics.deferred.get()));
+            metrics.add(new Metric<>(prefix + "leasedByOthers", taskStatistics.leasedByOthers.get()));
+            metrics.add(new Metric<>(prefix + "leasesLost", taskStatistics.leasesLost.get()));
+            taskStatistics.tenantDurations.forEach((tenant, duration) -> metrics
+                    .add(new Metric<>(prefix + "tenant." + tenant.toLowerCase() + ".duration", duration)));
+        }
+        return metrics;
+    }
+
+    private static final class TaskStatistics {
+        private final String name;
+        private final Set<String> running = ConcurrentHashMap.newKeySet();
+        private final Map<String, Long> tenantDurations = new ConcurrentHashMap<>();
+        private final Map<String, Integer> pendingSkips = new ConcurrentHashMap<>();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong overruns = new AtomicLong();
+        private final AtomicLong deferred = new AtomicLong();
+        private final AtomicLong leasedByOthers = new AtomicLong();
+        private final AtomicLong leasesLost = new AtomicLong();
+        private final AtomicInteger offset = new AtomicInteger();
+        private volatile long lastRunDuration;
+        private volatile int lastRunTenants;
+
+        private TaskStatistics(final String name) {
+            this.name = name;
+        }
+
+        // a tenant with pending skips is not running, i.e. its skips are only
+        // modified by the scheduler thread
+        private boolean isDeferred(final String tenant) {
+            final Integer skips = pendingSkips.remove(tenant);
+            if (skips == null) {
+                return false;
+            }
+            if (skips > 1) {
+                pendingSkips.put(tenant, skips - 1);
+            }
+            return true;
+        }
+
+        private List<String> rotate(final List<String> tenants) {
+            if (tenants.isEmpty()) {
+                return tenants;
+            }
+            final List<String> rotated = new ArrayList<>(tenants);
+            Collections.rotate(rotated, -Math.floorMod(offset.getAndIncrement(), rotated.size()));
+            return rotated;
+        }
+    }
+}
@@ -237,6 +237,18 @@ public final class TargetSpecifications {
                 distributionSetId);
     }
 
+    /**
+     * {@link Specification} for retrieving {@link Target}s by their technical
+     * IDs.
+     *
+     * @param targetIds
+     *            the IDs of the targets
+     * @return the {@link Target} {@link Specification}
+     */
+    public static Specification<JpaTarget> hasIdIn(final Collection<Long> targetIds) {
+        return (targetRoot, query, cb) -> targetRoot.get(JpaTarget_.id).in(targetIds);
+    }
+
     /**
      * {@link Specification} for retrieving {@link Target}s that don't have the given
      * distribution set in their action history
@@ -0,0 +1,3 @@
+    alter table sp_action add column status_count integer not null default 0;
+
+    update sp_action set status_count = (select count(*) from sp_action_status s where s.action = sp_action.id);
@@ -0,0 +1,6 @@
+    create table sp_lease (
+        lease_key varchar(128) not null,
+        owner varchar(64) not null,
+        expires_at datetime not null,
+        primary key (lease_key)
+    );
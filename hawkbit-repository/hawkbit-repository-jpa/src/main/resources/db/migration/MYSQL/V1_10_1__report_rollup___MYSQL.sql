@@ -0,0 +1,16 @@
+    create table sp_report_rollup (
+        tenant varchar(40) not null,
+        series varchar(32) not null,
+        bucket bigint not null,
+        counter bigint not null,
+        primary key (tenant, series, bucket)
+    );
+
+    create table sp_report_watermark (
+        tenant varchar(40) not null,
+        series varchar(32) not null,
+        rolled_up_to bigint not null,
+        primary key (tenant, series)
+    );
+
+    create index sp_idx_action_03 on sp_action (tenant, created_at);
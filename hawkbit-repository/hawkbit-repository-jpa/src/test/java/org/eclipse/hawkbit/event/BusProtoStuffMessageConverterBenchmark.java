@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.integration.support.MutableMessageHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import com.google.common.collect.Maps;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+/**
+ * JMH benchmark of the serialization and deserialization of the remote entity
+ * events which are sent most often during a rollout. The benchmark is not
+ * part of the default build, run it by
+ * {@code mvn test -Pbenchmark -pl hawkbit-repository/hawkbit-repository-jpa}.
+ *
+ * The deserialization is measured for messages with the type ID header and
+ * for messages with the class name header only, as sent by nodes of older
+ * versions. The allocations per operation are reported by the GC profiler.
+ */
+@Features("Benchmarks - Repository")
+@Stories("Protostuff Message Converter")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BusProtoStuffMessageConverterBenchmark {
+
+    private static final String TENANT = "DEFAULT";
+
+    private static final String APPLICATION_ID = "node-1";
+
+    @Param({ "TargetCreatedEvent", "TargetUpdatedEvent", "CancelTargetAssignmentEvent", "ActionCreatedEvent",
+            "ActionUpdatedEvent", "RolloutUpdatedEvent", "RolloutGroupUpdatedEvent" })
+    private String eventType;
+
+    private final BusProtoStuffMessageConverter converter = new BusProtoStuffMessageConverter();
+
+    private RemoteEntityEvent<?> event;
+
+    private Message<?> message;
+
+    private Message<?> classNameOnlyMessage;
+
+    @Test
+    @Description("Runs the serialization and deserialization benchmarks of the main remote entity events.")
+    public void runBenchmarks() throws Exception {
+        final Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(BusProtoStuffMessageConverterBenchmark.class.getName()).addProfiler(GCProfiler.class).build())
+                        .run();
+
+        assertThat(results).hasSize(21);
+    }
+
+    /**
+     * Creates the event and its serialized messages.
+     */
+    @Setup
+    public void setUp() {
+        event = createEvent(eventType);
+        message = serialize();
+        classNameOnlyMessage = MessageBuilder.withPayload(message.getPayload())
+                .setHeader(MessageHeaders.CONTENT_TYPE, BusProtoStuffMessageConverter.APPLICATION_BINARY_PROTOSTUFF)
+                .setHeader("__Class__", event.getClass().getName()).build();
+
+        assertThat(deserialize()).isInstanceOf(event.getClass());
+        assertThat(deserializeClassNameOnly()).isInstanceOf(event.getClass());
+    }
+
+    @Benchmark
+    public Message<?> serialize() {
+        final Map<String, Object> headers = Maps.newLinkedHashMap();
+        headers.put(MessageHeaders.CONTENT_TYPE, BusProtoStuffMessageConverter.APPLICATION_BINARY_PROTOSTUFF);
+        return converter.toMessage(event, new MutableMessageHeaders(headers));
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return converter.fromMessage(message, RemoteEntityEvent.class);
+    }
+
+    @Benchmark
+    public Object deserializeClassNameOnly() {
+        return converter.fromMessage(classNameOnlyMessage, RemoteEntityEvent.class);
+    }
+
+    private static RemoteEntityEvent<?> createEvent(final String eventType) {
+        final JpaTarget target = new JpaTarget("controller-4711", "securityToken");
+        target.setId(4711L);
+        target.setTenant(TENANT);
+        target.getTargetInfo().setAddress("amqp://vhost/controller-4711");
+
+        final JpaRollout rollout = new JpaRollout();
+        rollout.setId(17L);
+        rollout.setTenant(TENANT);
+
+        final JpaRolloutGroup group = new JpaRolloutGroup();
+        group.setId(42L);
+        group.setTenant(TENANT);
+        group.setRollout(rollout);
+
+        final JpaAction action = new JpaAction();
+        action.setId(815L);
+        action.setTenant(TENANT);
+        action.setTarget(target);
+        action.setRollout(rollout);
+        action.setRolloutGroup(group);
+
+        switch (eventType) {
+        case "TargetCreatedEvent":
+            return new TargetCreatedEvent(target, APPLICATION_ID);
+        case "TargetUpdatedEvent":
+            return new TargetUpdatedEvent(target, APPLICATION_ID);
+        case "CancelTargetAssignmentEvent":
+            return new CancelTargetAssignmentEvent(target, action.getId(), APPLICATION_ID);
+        case "ActionCreatedEvent":
+            return new ActionCreatedEvent(action, APPLICATION_ID);
+        case "ActionUpdatedEvent":
+            return new ActionUpdatedEvent(action, APPLICATION_ID);
+        case "RolloutUpdatedEvent":
+            return new RolloutUpdatedEvent(rollout, APPLICATION_ID);
+        case "RolloutGroupUpdatedEvent":
+            return new RolloutGroupUpdatedEvent(group, APPLICATION_ID);
+        default:
+            throw new IllegalArgumentException("Unknown event type " + eventType);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.junit.Test;
+import org.springframework.integration.support.MutableMessageHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.support.MessageBuilder;
+
+import com.google.common.collect.Maps;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+/**
+ * Test the headers of the {@link BusProtoStuffMessageConverter} between nodes
+ * of different versions.
+ */
+@Features("Component Tests - Repository")
+@Stories("Protostuff Message Converter")
+public class BusProtoStuffMessageConverterTest {
+
+    private static final String TYPE_HEADER = "__Type__";
+
+    private static final String CLASS_HEADER = "__Class__";
+
+    private static final long ENTITY_ID = 4711L;
+
+    private final TargetDeletedEvent event = new TargetDeletedEvent("tenant", ENTITY_ID, "Node");
+
+    @Test
+    @Description("Verifies that the type ID and the class name are sent by default, so that nodes of older "
+            + "versions which read the class name only can read the event.")
+    public void typeIdAndClassNameAreSentByDefault() {
+        final Message<?> message = toMessage(new BusProtoStuffMessageConverter());
+
+        assertThat(message.getHeaders().get(TYPE_HEADER)).isEqualTo(EventType.idOf(TargetDeletedEvent.class));
+        assertThat(message.getHeaders().get(CLASS_HEADER)).isEqualTo(TargetDeletedEvent.class.getName());
+        assertEvent(fromMessage(message));
+
+        // an older node reads the class name only
+        assertEvent(fromMessage(withHeaders(message, null, TargetDeletedEvent.class.getName())));
+    }
+
+    @Test
+    @Description("Verifies that only the type ID is sent if enabled.")
+    public void typeIdOnlyIsSentIfEnabled() {
+        final Message<?> message = toMessage(new BusProtoStuffMessageConverter(true));
+
+        assertThat(message.getHeaders().get(TYPE_HEADER)).isEqualTo(EventType.idOf(TargetDeletedEvent.class));
+        assertThat(message.getHeaders().containsKey(CLASS_HEADER)).isFalse();
+        assertEvent(fromMessage(message));
+    }
+
+    @Test
+    @Description("Verifies that an unknown type ID of a newer node falls back to the class name and fails "
+            + "without it.")
+    public void unknownTypeIdFallsBackToClassName() {
+        final Message<?> message = toMessage(new BusProtoStuffMessageConverter());
+
+        assertEvent(fromMessage(withHeaders(message, 9999, TargetDeletedEvent.class.getName())));
+
+        try {
+            fromMessage(withHeaders(message, 9999, null));
+            fail("Missing MessageConversionException for unknown event type");
+        } catch (final MessageConversionException e) {
+            // expected
+        }
+    }
+
+    private Message<?> toMessage(final BusProtoStuffMessageConverter converter) {
+        final Map<String, Object> headers = Maps.newLinkedHashMap();
+        headers.put(MessageHeaders.CONTENT_TYPE, BusProtoStuffMessageConverter.APPLICATION_BINARY_PROTOSTUFF);
+        return converter.toMessage(event, new MutableMessageHeaders(headers));
+    }
+
+    private static Message<?> withHeaders(final Message<?> message, final Object typeId, final String className) {
+        final MessageBuilder<?> builder = MessageBuilder.withPayload(message.getPayload())
+                .setHeader(MessageHeaders.CONTENT_TYPE, BusProtoStuffMessageConverter.APPLICATION_BINARY_PROTOSTUFF);
+        if (typeId != null) {
+            builder.setHeader(TYPE_HEADER, typeId);
+        }
+        if (className != null) {
+            builder.setHeader(CLASS_HEADER, className);
+        }
+        return builder.build();
+    }
+
+    private static Object fromMessage(final Message<?> message) {
+        return new BusProtoStuffMessageConverter().fromMessage(message, TargetDeletedEvent.class);
+    }
+
+    private static void assertEvent(final Object deserialized) {
+        assertThat(deserialized).isInstanceOf(TargetDeletedEvent.class);
+        assertThat(((TargetDeletedEvent) deserialized).getEntityId()).isEqualTo(ENTITY_ID);
+        assertThat(((TargetDeletedEvent) deserialized).getTenant()).isEqualTo("tenant");
+    }
+}
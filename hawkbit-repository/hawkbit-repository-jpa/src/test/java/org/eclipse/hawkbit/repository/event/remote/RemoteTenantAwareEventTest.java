@@ -11,6 +11,9 @@ package org.eclipse.hawkbit.repository.event.remote;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
@@ -75,14 +78,30 @@ public class RemoteTenantAwareEventTest extends AbstractRemoteEventTest {
         assertTargetAssignDistributionSetEvent(action, underTest);
     }
 
+    @Test
+    @Description("Verifies that the created event of a target import works")
+    public void testTargetsCreatedEvent() {
+        final Map<String, Long> targets = new HashMap<>();
+        targets.put("target1", 1L);
+        targets.put("target2", 2L);
+        final TargetsCreatedEvent createdEvent = new TargetsCreatedEvent("DEFAULT", targets,
+                serviceMatcher.getServiceId());
+
+        TargetsCreatedEvent underTest = (TargetsCreatedEvent) createProtoStuffEvent(createdEvent);
+        assertThat(underTest.getTenant()).isEqualTo("DEFAULT");
+        assertThat(underTest.getTargets()).isEqualTo(targets);
+
+        underTest = (TargetsCreatedEvent) createJacksonEvent(createdEvent);
+        assertThat(underTest.getTenant()).isEqualTo("DEFAULT");
+        assertThat(underTest.getTargets()).isEqualTo(targets);
+    }
+
     private void assertTargetAssignDistributionSetEvent(final Action action,
             final TargetAssignDistributionSetEvent underTest) {
-        assertThat(underTest.getActionId()).isNotNull();
-        assertThat(underTest.getControllerId()).isNotNull();
+        assertThat(underTest.getActions()).hasSize(1);
         assertThat(underTest.getDistributionSetId()).isNotNull();
 
-        assertThat(underTest.getActionId()).isEqualTo(action.getId());
-        assertThat(underTest.getControllerId()).isEqualTo(action.getTarget().getControllerId());
+        assertThat(underTest.getActions().get(action.getTarget().getControllerId())).isEqualTo(action.getId());
         assertThat(underTest.getDistributionSetId()).isEqualTo(action.getDistributionSet().getId());
     }
 
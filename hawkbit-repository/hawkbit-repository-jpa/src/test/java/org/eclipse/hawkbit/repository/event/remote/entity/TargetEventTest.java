@@ -45,6 +45,7 @@ public class TargetEventTest extends AbstractRemoteEntityEventTest<Target> {
                 assignmentEvent);
 
         assertThat(underTest.getActionId()).isNotNull();
+        assertThat(underTest.getControllerId()).isEqualTo(target.getControllerId());
     }
 
     @Override
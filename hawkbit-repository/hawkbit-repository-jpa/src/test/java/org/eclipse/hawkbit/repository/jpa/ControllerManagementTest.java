@@ -11,23 +11,41 @@ package org.eclipse.hawkbit.repository.jpa;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.validation.ConstraintViolationException;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.polling.TargetPollBuffer;
+import org.eclipse.hawkbit.repository.jpa.retention.ActionStatusCompactor;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor;
+import org.eclipse.hawkbit.repository.model.DeploymentDescriptor.ModuleDescriptor;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetPollInfo;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationKey;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.google.common.collect.Lists;
 
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
@@ -39,6 +57,15 @@ public class ControllerManagementTest extends AbstractJpaIntegrationTest {
     @Autowired
     private RepositoryProperties repositoryProperties;
 
+    @Autowired
+    private TargetPollBuffer targetPollBuffer;
+
+    @Autowired
+    private ActionStatusCompactor actionStatusCompactor;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
     @Test
     @Description("Controller adds a new action status.")
     public void controllerAddsActionStatus() {
@@ -96,6 +123,81 @@ public class ControllerManagementTest extends AbstractJpaIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that the poll info of a controller contains the oldest active action and registers the "
+            + "target if it does not exist.")
+    public void findOrRegisterTargetPollInfoReturnsOldestActiveAction() {
+        TargetPollInfo pollInfo = controllerManagament.findOrRegisterTargetPollInfo("Poller", null);
+        assertThat(pollInfo).as("target should be registered").isNotNull();
+        assertThat(pollInfo.hasActiveAction()).as("target should not have an active action").isFalse();
+        assertThat(pollInfo.isRequestControllerAttributes()).isTrue();
+
+        final Target target = targetManagement.findTargetByControllerID("Poller");
+        // a required migration step is not canceled by the next assignment,
+        // so both actions stay active
+        final DistributionSet dsA = testdataFactory.createDistributionSet("a", true);
+        final DistributionSet dsB = testdataFactory.createDistributionSet("b");
+        deploymentManagement.assignDistributionSet(dsA, Lists.newArrayList(target));
+        deploymentManagement.assignDistributionSet(dsB, Lists.newArrayList(target));
+        final Action oldestAction = deploymentManagement.findActiveActionsByTarget(target).get(0);
+        assertThat(oldestAction.getDistributionSet().getId()).isEqualTo(dsA.getId());
+
+        pollInfo = controllerManagament.findOrRegisterTargetPollInfo("Poller", null);
+        assertThat(pollInfo.getTargetId()).isEqualTo(target.getId());
+        assertThat(pollInfo.getActionId()).as("oldest active action expected").isEqualTo(oldestAction.getId());
+        assertThat(pollInfo.isActionCancelingOrCanceled()).isFalse();
+        assertThat(targetRepository.count()).as("Only 1 target should be registred").isEqualTo(1L);
+    }
+
+    @Test
+    @Description("Verifies that a poll of a registered target updates the last poll time and the address.")
+    public void findOrRegisterTargetPollInfoUpdatesLastPoll() throws InterruptedException {
+        controllerManagament.findOrRegisterTargetPollInfo("Poller", URI.create("http://127.0.0.1"));
+        final Long registeredPoll = targetManagement.findTargetByControllerIDWithDetails("Poller").getTargetInfo()
+                .getLastTargetQuery();
+
+        Thread.sleep(10);
+        controllerManagament.findOrRegisterTargetPollInfo("Poller", URI.create("http://127.0.0.2"));
+
+        final Target polled = targetManagement.findTargetByControllerIDWithDetails("Poller");
+        assertThat(polled.getTargetInfo().getUpdateStatus()).isEqualTo(TargetUpdateStatus.REGISTERED);
+        assertThat(polled.getTargetInfo().getLastTargetQuery()).isGreaterThan(registeredPoll);
+        assertThat(polled.getTargetInfo().getAddress()).isEqualTo(URI.create("http://127.0.0.2"));
+
+        controllerManagament.findOrRegisterTargetPollInfo("Poller", null);
+        assertThat(targetManagement.findTargetByControllerIDWithDetails("Poller").getTargetInfo().getAddress())
+                .as("address is kept if the poll has none").isEqualTo(URI.create("http://127.0.0.2"));
+    }
+
+    @Test
+    @Description("Verifies that a poll of a registered target publishes an update event of the target, which is "
+            + "marked as poll update as long as the address of the target does not change.")
+    public void findOrRegisterTargetPollInfoPublishesPollUpdate() throws InterruptedException {
+        final Long targetId = controllerManagament
+                .findOrRegisterTargetPollInfo("Poller", URI.create("http://127.0.0.1")).getTargetId();
+
+        final BlockingQueue<TargetUpdatedEvent> events = new LinkedBlockingQueue<>();
+        applicationContext.addApplicationListener(new ApplicationListener<TargetUpdatedEvent>() {
+            @Override
+            public void onApplicationEvent(final TargetUpdatedEvent event) {
+                if (targetId.equals(event.getEntityId())) {
+                    events.add(event);
+                }
+            }
+        });
+
+        controllerManagament.findOrRegisterTargetPollInfo("Poller", URI.create("http://127.0.0.1"));
+        TargetUpdatedEvent event = events.poll(5, TimeUnit.SECONDS);
+        assertThat(event).as("poll should publish an update event").isNotNull();
+        assertThat(event.isPollUpdate()).isTrue();
+        assertThat(event.getEntity().getControllerId()).isEqualTo("Poller");
+
+        controllerManagament.findOrRegisterTargetPollInfo("Poller", URI.create("http://127.0.0.2"));
+        event = events.poll(5, TimeUnit.SECONDS);
+        assertThat(event).as("poll should publish an update event").isNotNull();
+        assertThat(event.isPollUpdate()).as("a changed address is no poll update").isFalse();
+    }
+
     @Test
     @Description("Controller trys to finish an update process after it has been finished by an error action status.")
     public void tryToFinishUpdateProcessMoreThanOnce() {
@@ -188,6 +290,133 @@ public class ControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(deploymentManagement.findActionStatusByAction(pageReq, action).getNumberOfElements()).isEqualTo(4);
     }
 
+    @Test
+    @Description("Verifies that the deployment descriptor of a distribution set is cached and evicted if an "
+            + "artifact is added to one of its modules.")
+    public void deploymentDescriptorIsCachedAndEvictedOnArtifactChange() {
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        final SoftwareModule module = ds.getModules().iterator().next();
+
+        final DeploymentDescriptor descriptor = controllerManagament.findDeploymentDescriptor(ds.getId());
+        assertThat(descriptor.getModules()).hasSize(ds.getModules().size());
+        assertThat(descriptor.getModules().stream().mapToInt(m -> m.getArtifacts().size()).sum()).isEqualTo(0);
+        assertThat(controllerManagament.findDeploymentDescriptor(ds.getId())).isSameAs(descriptor);
+
+        testdataFactory.createArtifacts(module.getId());
+
+        final DeploymentDescriptor changed = controllerManagament.findDeploymentDescriptor(ds.getId());
+        assertThat(changed).isNotSameAs(descriptor);
+        final ModuleDescriptor changedModule = changed.getModules().stream()
+                .filter(m -> m.getId().equals(module.getId())).findFirst().get();
+        assertThat(changedModule.getTypeKey()).isEqualTo(module.getType().getKey());
+        assertThat(changedModule.getArtifacts()).hasSize(3);
+    }
+
+    @Test
+    @Description("Verifies that the last poll time is written behind in batches if enabled and is visible through "
+            + "the target management before it is flushed.")
+    public void lastTargetQueryIsWrittenBehindIfEnabled() {
+        repositoryProperties.getPollWriteBehind().setEnabled(true);
+        try {
+            final Target target = controllerManagament.findOrRegisterTargetIfItDoesNotexist("Poller", null);
+            final Long registeredPoll = target.getTargetInfo().getLastTargetQuery();
+
+            controllerManagament.updateLastTargetQuery("Poller", URI.create("http://127.0.0.1"));
+            assertThat(targetPollBuffer.size()).as("Poll should be buffered").isEqualTo(1);
+            assertThat(readPersistedLastTargetQuery(target)).as("Poll should not be persisted yet")
+                    .isEqualTo(registeredPoll);
+
+            final Long bufferedPoll = targetManagement.findTargetByControllerID("Poller").getTargetInfo()
+                    .getLastTargetQuery();
+            assertThat(bufferedPoll).as("Buffered poll should be visible").isGreaterThanOrEqualTo(registeredPoll);
+            assertThat(targetManagement.findTargetByControllerID("Poller").getTargetInfo().getAddress())
+                    .isEqualTo(URI.create("http://127.0.0.1"));
+
+            targetPollBuffer.flush();
+            assertThat(targetPollBuffer.size()).as("Buffer should be empty after flush").isEqualTo(0);
+            assertThat(readPersistedLastTargetQuery(target)).as("Poll should be persisted").isEqualTo(bufferedPoll);
+        } finally {
+            repositoryProperties.getPollWriteBehind().setEnabled(false);
+        }
+    }
+
+    @Test
+    @Description("Verifies that the status history of a closed action is compacted according to the retention policy "
+            + "of the tenant and that the status counter of the action follows.")
+    public void closedActionStatusHistoryIsCompacted() {
+        repositoryProperties.setRejectActionStatusForClosedAction(false);
+        final Action action = prepareFinishedUpdate("Compacted");
+
+        for (int i = 0; i < 2; i++) {
+            controllerManagament.addInformationalActionStatus(new JpaActionStatus((JpaAction) action,
+                    Action.Status.DOWNLOAD, System.currentTimeMillis(), "download"));
+        }
+        for (int i = 0; i < 3; i++) {
+            controllerManagament.addUpdateActionStatus(new JpaActionStatus((JpaAction) action,
+                    Action.Status.RUNNING, System.currentTimeMillis(), "late " + i));
+        }
+        assertThat(readPersistedStatusCount(action)).isEqualTo(8);
+
+        tenantConfigurationManagement.addOrUpdateConfiguration(TenantConfigurationKey.ACTION_STATUS_RETENTION_ENABLED,
+                true);
+        tenantConfigurationManagement
+                .addOrUpdateConfiguration(TenantConfigurationKey.ACTION_STATUS_RETENTION_KEEP_LAST, 2);
+        try {
+            actionStatusCompactor.compact(tenantAware.getCurrentTenant());
+        } finally {
+            tenantConfigurationManagement.deleteConfiguration(TenantConfigurationKey.ACTION_STATUS_RETENTION_ENABLED);
+            tenantConfigurationManagement
+                    .deleteConfiguration(TenantConfigurationKey.ACTION_STATUS_RETENTION_KEEP_LAST);
+        }
+
+        // downloads are dropped, the initial running status and the last two
+        // entries are kept
+        final List<ActionStatus> history = deploymentManagement.findActionStatusByAction(pageReq, action)
+                .getContent();
+        assertThat(history).hasSize(3);
+        assertThat(history.stream().map(ActionStatus::getStatus).collect(Collectors.toList())).doesNotContain(
+                Action.Status.DOWNLOAD, Action.Status.FINISHED);
+        assertThat(readPersistedStatusCount(action)).isEqualTo(3);
+    }
+
+    @Test
+    @Description("Verifies that the download entries are dropped from short status histories which are kept "
+            + "completely otherwise and that a repeated compaction does not change the status counter again.")
+    public void downloadStatusIsDroppedFromShortHistory() {
+        repositoryProperties.setRejectActionStatusForClosedAction(false);
+        final Action action = prepareFinishedUpdate("ShortHistory");
+        controllerManagament.addInformationalActionStatus(new JpaActionStatus((JpaAction) action,
+                Action.Status.DOWNLOAD, System.currentTimeMillis(), "download"));
+        assertThat(readPersistedStatusCount(action)).isEqualTo(4);
+
+        tenantConfigurationManagement.addOrUpdateConfiguration(TenantConfigurationKey.ACTION_STATUS_RETENTION_ENABLED,
+                true);
+        try {
+            actionStatusCompactor.compact(tenantAware.getCurrentTenant());
+            actionStatusCompactor.compact(tenantAware.getCurrentTenant());
+        } finally {
+            tenantConfigurationManagement.deleteConfiguration(TenantConfigurationKey.ACTION_STATUS_RETENTION_ENABLED);
+        }
+
+        final List<ActionStatus> history = deploymentManagement.findActionStatusByAction(pageReq, action)
+                .getContent();
+        assertThat(history).hasSize(3);
+        assertThat(history.stream().map(ActionStatus::getStatus).collect(Collectors.toList()))
+                .doesNotContain(Action.Status.DOWNLOAD);
+        assertThat(readPersistedStatusCount(action)).isEqualTo(3);
+    }
+
+    private int readPersistedStatusCount(final Action action) {
+        return ((Number) entityManager.createNativeQuery("select status_count from sp_action where id = ?1")
+                .setParameter(1, action.getId()).getSingleResult()).intValue();
+    }
+
+    private Long readPersistedLastTargetQuery(final Target target) {
+        return ((Number) entityManager
+                .createNativeQuery("select last_target_query from sp_target_info where target_id = ?1")
+                .setParameter(1, target.getId()).getSingleResult()).longValue();
+    }
+
     private Action prepareFinishedUpdate(final String controllerId) {
         // mock
         final Target target = new JpaTarget(controllerId);
@@ -946,11 +946,12 @@ public class DeploymentManagementTest extends AbstractJpaIntegrationTest {
         for (final Target myt : targets) {
             boolean found = false;
             for (final TargetAssignDistributionSetEvent event : events) {
-                if (event.getControllerId().equals(myt.getControllerId())) {
+                if (event.getActions().containsKey(myt.getControllerId())) {
                     found = true;
                     final List<Action> activeActionsByTarget = deploymentManagement.findActiveActionsByTarget(myt);
                     assertThat(activeActionsByTarget).as("size of active actions for target is wrong").isNotEmpty();
-                    assertThat(event.getActionId()).as("Action id in database and event do not match")
+                    assertThat(event.getActions().get(myt.getControllerId()))
+                            .as("Action id in database and event do not match")
                             .isEqualTo(activeActionsByTarget.get(0).getId());
 
                     assertThat(distributionSetManagement.findDistributionSetById(event.getDistributionSetId())
@@ -1017,6 +1018,10 @@ public class DeploymentManagementTest extends AbstractJpaIntegrationTest {
 
     }
 
+    /**
+     * Collects the {@link TargetAssignDistributionSetEvent}s and counts the
+     * assigned targets, as one event contains several targets.
+     */
     protected static class EventHandlerStub implements ApplicationListener<TargetAssignDistributionSetEvent> {
         private final List<TargetAssignDistributionSetEvent> events = Collections.synchronizedList(new LinkedList<>());
         private CountDownLatch latch;
@@ -1024,7 +1029,7 @@ public class DeploymentManagementTest extends AbstractJpaIntegrationTest {
 
         /**
          * @param expectedNumberOfEvents
-         *            the expectedNumberOfEvents to set
+         *            the expected number of assigned targets
          */
         public void setExpectedNumberOfEvents(final int expectedNumberOfEvents) {
             events.clear();
@@ -1037,8 +1042,10 @@ public class DeploymentManagementTest extends AbstractJpaIntegrationTest {
             latch.await(timeout, unit);
             final List<TargetAssignDistributionSetEvent> handledEvents = Collections
                     .unmodifiableList(new LinkedList<>(events));
-            assertThat(handledEvents).as("Did not receive the expected amount of events (" + expectedNumberOfEvents
-                    + ") within timeout. Received events are " + handledEvents).hasSize(expectedNumberOfEvents);
+            assertThat(handledEvents.stream().mapToInt(event -> event.getActions().size()).sum())
+                    .as("Did not receive the expected amount of assigned targets (" + expectedNumberOfEvents
+                            + ") within timeout. Received events are " + handledEvents)
+                    .isEqualTo(expectedNumberOfEvents);
             return handledEvents;
 
         }
@@ -1049,7 +1056,7 @@ public class DeploymentManagementTest extends AbstractJpaIntegrationTest {
                 return;
             }
             events.add(event);
-            latch.countDown();
+            event.getActions().forEach((controllerId, actionId) -> latch.countDown());
 
         }
     }
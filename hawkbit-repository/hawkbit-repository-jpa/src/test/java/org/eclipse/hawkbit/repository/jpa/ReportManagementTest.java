@@ -25,6 +25,7 @@ import org.eclipse.hawkbit.repository.ReportManagement.DateTypes;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo;
+import org.eclipse.hawkbit.repository.jpa.report.ReportRollupStore;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
@@ -65,6 +66,9 @@ public class ReportManagementTest extends AbstractJpaIntegrationTest {
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private ReportRollupStore reportRollupStore;
+
     @After
     public void afterTest() {
         auditingHandler.setDateTimeProvider(CurrentDateTimeProvider.INSTANCE);
@@ -116,6 +120,61 @@ public class ReportManagementTest extends AbstractJpaIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that the statistics combine the rolled up months with the targets created after the rollup.")
+    public void targetsCreatedOverPeriodWithRollup() {
+        final int maxMonthBackAmountCreateTargets = 4;
+
+        final DynamicDateTimeProvider dynamicDateTimeProvider = new DynamicDateTimeProvider();
+        auditingHandler.setDateTimeProvider(dynamicDateTimeProvider);
+
+        // the targets of the past months are rolled up
+        for (int month = 1; month <= maxMonthBackAmountCreateTargets; month++) {
+            dynamicDateTimeProvider.nowMinusMonths(month);
+            targetManagement.createTarget(new JpaTarget("t" + month));
+        }
+        reportRollupStore.rollup(tenantAware.getCurrentTenant());
+
+        // the target of the current month is counted live
+        dynamicDateTimeProvider.now();
+        targetManagement.createTarget(new JpaTarget("t0"));
+
+        final LocalDateTime to = LocalDateTime.now();
+        final LocalDateTime from = to.minusMonths(maxMonthBackAmountCreateTargets);
+        final DataReportSeries<LocalDate> targetsCreatedOverPeriod = reportManagement
+                .targetsCreatedOverPeriod(DateTypes.perMonth(), from, to);
+
+        assertThat(targetsCreatedOverPeriod.getData()).as("created over period has wrong size")
+                .hasSize(maxMonthBackAmountCreateTargets + 1);
+        for (final DataReportSeriesItem<LocalDate> reportItem : targetsCreatedOverPeriod.getData()) {
+            assertThat(reportItem.getData().intValue()).as("Target for each month").isEqualTo(1);
+        }
+        assertThat(targetsCreatedOverPeriod.getData().get(maxMonthBackAmountCreateTargets).getType())
+                .as("current month is last").isEqualTo(to.toLocalDate().withDayOfMonth(1));
+    }
+
+    @Test
+    @Description("Verifies that targets which are committed after a rollup with a creation time before it are counted "
+            + "by the next rollup.")
+    public void lateTargetsAreCountedByNextRollup() {
+        final DynamicDateTimeProvider dynamicDateTimeProvider = new DynamicDateTimeProvider();
+        auditingHandler.setDateTimeProvider(dynamicDateTimeProvider);
+
+        dynamicDateTimeProvider.nowMinusHours(3);
+        targetManagement.createTarget(new JpaTarget("early"));
+        reportRollupStore.rollup(tenantAware.getCurrentTenant());
+
+        dynamicDateTimeProvider.nowMinusHours(2);
+        targetManagement.createTarget(new JpaTarget("late"));
+        reportRollupStore.rollup(tenantAware.getCurrentTenant());
+
+        final LocalDateTime to = LocalDateTime.now();
+        final DataReportSeries<LocalDate> targetsCreatedOverPeriod = reportManagement
+                .targetsCreatedOverPeriod(DateTypes.perMonth(), to.minusMonths(1), to);
+        assertThat(targetsCreatedOverPeriod.getData().stream().mapToLong(item -> item.getData().longValue()).sum())
+                .as("created targets").isEqualTo(2L);
+    }
+
     @Test
     @Description("Tests correct statistics calculation including a correct cache evict.")
     public void targetsFeedbackOverPeriod() {
@@ -581,6 +640,11 @@ public class ReportManagementTest extends AbstractJpaIntegrationTest {
             datetime.add(Calendar.MONTH, -amount);
         }
 
+        public void nowMinusHours(final int amount) {
+            datetime = Calendar.getInstance();
+            datetime.add(Calendar.HOUR_OF_DAY, -amount);
+        }
+
         /**
          * @param datetime
          *            the datetime to set
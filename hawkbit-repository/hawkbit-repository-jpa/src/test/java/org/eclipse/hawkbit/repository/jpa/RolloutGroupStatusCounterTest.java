@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
+import org.eclipse.hawkbit.repository.RolloutGroupManagement;
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounter;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupErrorAction;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupErrorCondition;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupStatus;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupSuccessCondition;
+import org.eclipse.hawkbit.repository.model.RolloutGroupConditionBuilder;
+import org.eclipse.hawkbit.repository.model.RolloutGroupConditions;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.test.context.TestPropertySource;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+/**
+ * Runs rollouts with counters that are never reloaded from the database, so
+ * the rollout can only finish if every status change is applied to them.
+ */
+@Features("Component Tests - Repository")
+@Stories("Rollout Management")
+@TestPropertySource(properties = "hawkbit.rollout.statusCounter.reconcileInterval=3600000")
+public class RolloutGroupStatusCounterTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private RolloutManagement rolloutManagement;
+
+    @Autowired
+    private RolloutGroupManagement rolloutGroupManagement;
+
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
+    @Test
+    @Description("Verifies that feedback of the controllers as well as cancellations and force quits update the counters and the rollout finishes.")
+    public void rolloutFinishesWithCountersUpdatedByStatusChanges() {
+        final Rollout rollout = createAndStartRollout(4, 2);
+
+        // loads the counters of the first group
+        rolloutManagement.checkRunningRollouts(0);
+        final List<RolloutGroup> groups = findGroups(rollout);
+        assertThat(rolloutGroupStatusCounter.countOpen(groups.get(0).getId())).isEqualTo(2);
+
+        for (final Action action : deploymentManagement.findActionsByRolloutAndStatus(rollout, Status.RUNNING)) {
+            addActionStatus(action, Status.FINISHED);
+        }
+        assertThat(rolloutGroupStatusCounter.countByStatus(groups.get(0).getId(), Status.FINISHED)).isEqualTo(2);
+        assertThat(rolloutGroupStatusCounter.countOpen(groups.get(0).getId())).isEqualTo(0);
+
+        // finishes the first group and starts the second one
+        rolloutManagement.checkRunningRollouts(0);
+        assertThat(findGroups(rollout).get(0).getStatus()).isEqualTo(RolloutGroupStatus.FINISHED);
+        assertThat(findGroups(rollout).get(1).getStatus()).isEqualTo(RolloutGroupStatus.RUNNING);
+
+        // loads the counters of the second group
+        rolloutManagement.checkRunningRollouts(0);
+        final Long secondGroupId = groups.get(1).getId();
+        assertThat(rolloutGroupStatusCounter.countByStatus(secondGroupId, Status.RUNNING)).isEqualTo(2);
+
+        final List<Action> runningActions = deploymentManagement.findActionsByRolloutAndStatus(rollout,
+                Status.RUNNING);
+        final Action canceled = deploymentManagement.cancelAction(runningActions.get(0),
+                runningActions.get(0).getTarget());
+        assertThat(rolloutGroupStatusCounter.countByStatus(secondGroupId, Status.CANCELING)).isEqualTo(1);
+
+        deploymentManagement.forceQuitAction(deploymentManagement.findAction(canceled.getId()));
+        assertThat(rolloutGroupStatusCounter.countByStatus(secondGroupId, Status.CANCELED)).isEqualTo(1);
+        assertThat(rolloutGroupStatusCounter.countOpen(secondGroupId)).isEqualTo(1);
+
+        addActionStatus(runningActions.get(1), Status.FINISHED);
+        assertThat(rolloutGroupStatusCounter.countOpen(secondGroupId)).isEqualTo(0);
+
+        rolloutManagement.checkRunningRollouts(0);
+        findGroups(rollout).forEach(group -> assertThat(group.getStatus()).isEqualTo(RolloutGroupStatus.FINISHED));
+        assertThat(rolloutManagement.findRolloutById(rollout.getId()).getStatus()).isEqualTo(RolloutStatus.FINISHED);
+    }
+
+    @Test
+    @Description("Verifies that a manual assignment which cancels scheduled actions of a rollout in bulk evicts the counters.")
+    public void bulkCancellationOfScheduledActionsEvictsCounters() {
+        final Rollout rollout = createAndStartRollout(4, 2);
+        final List<RolloutGroup> groups = findGroups(rollout);
+        final Long secondGroupId = groups.get(1).getId();
+        assertThat(rolloutGroupStatusCounter.countByStatus(secondGroupId, Status.SCHEDULED)).isEqualTo(2);
+
+        final List<Action> scheduledActions = deploymentManagement.findActionsByRolloutAndStatus(rollout,
+                Status.SCHEDULED);
+        deploymentManagement.assignDistributionSet(testdataFactory.createDistributionSet("manual").getId(),
+                scheduledActions.get(0).getTarget().getControllerId());
+
+        assertThat(rolloutGroupStatusCounter.countByStatus(secondGroupId, Status.SCHEDULED)).isEqualTo(1);
+        assertThat(rolloutGroupStatusCounter.countByStatus(secondGroupId, Status.CANCELED)).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that the next group is not started if the error threshold is exceeded in the database, "
+            + "although the counters do not know the errors yet, e.g. as they were reported to another node.")
+    public void nextGroupIsNotStartedIfErrorThresholdIsExceededWithStaleCounters() {
+        final Rollout rollout = createAndStartRollout(10, 2, "40", "20");
+
+        // loads the counters of the first group
+        rolloutManagement.checkRunningRollouts(0);
+        final List<RolloutGroup> groups = findGroups(rollout);
+        final Long firstGroupId = groups.get(0).getId();
+
+        final List<Action> runningActions = deploymentManagement.findActionsByRolloutAndStatus(rollout,
+                Status.RUNNING);
+        assertThat(runningActions).hasSize(5);
+        addActionStatus(runningActions.get(0), Status.FINISHED);
+        addActionStatus(runningActions.get(1), Status.FINISHED);
+
+        // errors handled by another node do not change the counters of this
+        // node
+        for (final Action action : runningActions.subList(2, 4)) {
+            final JpaAction jpaAction = actionRepository.findOne(action.getId());
+            jpaAction.setStatus(Status.ERROR);
+            actionRepository.save(jpaAction);
+        }
+        assertThat(rolloutGroupStatusCounter.countByStatus(firstGroupId, Status.ERROR)).isEqualTo(0);
+
+        rolloutManagement.checkRunningRollouts(0);
+        assertThat(findGroups(rollout).get(1).getStatus()).isEqualTo(RolloutGroupStatus.SCHEDULED);
+        assertThat(rolloutManagement.findRolloutById(rollout.getId()).getStatus()).isEqualTo(RolloutStatus.PAUSED);
+    }
+
+    private Rollout createAndStartRollout(final int amountTargets, final int amountGroups) {
+        return createAndStartRollout(amountTargets, amountGroups, "50", "80");
+    }
+
+    private Rollout createAndStartRollout(final int amountTargets, final int amountGroups,
+            final String successThreshold, final String errorThreshold) {
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("counter");
+        targetManagement.createTargets(testdataFactory.generateTargets(amountTargets, "counter-", "counter"));
+
+        final RolloutGroupConditions conditions = new RolloutGroupConditionBuilder()
+                .successCondition(RolloutGroupSuccessCondition.THRESHOLD, successThreshold)
+                .errorCondition(RolloutGroupErrorCondition.THRESHOLD, errorThreshold)
+                .errorAction(RolloutGroupErrorAction.PAUSE, null).build();
+        final Rollout rolloutToCreate = new JpaRollout();
+        rolloutToCreate.setName("counter-rollout");
+        rolloutToCreate.setTargetFilterQuery("controllerId==counter-*");
+        rolloutToCreate.setDistributionSet(distributionSet);
+        final Rollout rollout = rolloutManagement.createRollout(rolloutToCreate, amountGroups, conditions);
+        rolloutManagement.startRollout(rollout);
+        return rollout;
+    }
+
+    private List<RolloutGroup> findGroups(final Rollout rollout) {
+        return rolloutGroupManagement.findRolloutGroupsByRolloutId(rollout.getId(),
+                new OffsetBasedPageRequest(0, 10, new Sort(Direction.ASC, "id"))).getContent();
+    }
+
+    private void addActionStatus(final Action action, final Status status) {
+        controllerManagament.addUpdateActionStatus(
+                new JpaActionStatus((JpaAction) action, status, System.currentTimeMillis(), ""));
+    }
+}
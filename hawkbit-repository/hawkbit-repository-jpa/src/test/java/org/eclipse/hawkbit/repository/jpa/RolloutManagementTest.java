@@ -15,13 +15,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
 import org.eclipse.hawkbit.repository.RolloutGroupManagement;
 import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.jpa.DeploymentManagementTest.EventHandlerStub;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.jpa.utils.MultipleInvokeHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.SuccessCondition;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -43,8 +47,10 @@ import org.eclipse.hawkbit.repository.model.TotalTargetCountStatus;
 import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Description;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
@@ -69,6 +75,9 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
     @Autowired
     private RolloutGroupManagement rolloutGroupManagement;
 
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
     @Test
     @Description("Verifying that the rollout is created correctly, executing the filter and split up the targets in the correct group size.")
     public void creatingRolloutIsCorrectPersisted() {
@@ -88,6 +97,45 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
         assertThat(rolloutGroups).hasSize(amountGroups);
     }
 
+    @Test
+    @Description("Verifying that groups with more targets than are assigned by one statement contain every target "
+            + "of the filter exactly once, split up in the order of the target IDs.")
+    public void creatingRolloutAssignsLargeGroupsInChunks() {
+        // more than two chunks of 500 targets per group
+        final int amountTargetsForRollout = 2403;
+        final int amountOtherTargets = 30;
+        final int amountGroups = 2;
+        final Rollout createdRollout = createSimpleTestRolloutWithTargetsAndDistributionSet(amountTargetsForRollout,
+                amountOtherTargets, amountGroups, "50", "80");
+
+        final List<RolloutGroup> rolloutGroups = rolloutGroupManagement.findRolloutGroupsByRolloutId(
+                createdRollout.getId(), new OffsetBasedPageRequest(0, 10, new Sort(Direction.ASC, "id")))
+                .getContent();
+        assertThat(rolloutGroups).hasSize(amountGroups);
+
+        final List<Long> expectedTargetIds = new ArrayList<>();
+        targetManagement.findTargetsAll("controllerId==rollout-*", new PageRequest(0, 3000, Direction.ASC, "id"))
+                .forEach(target -> expectedTargetIds.add(target.getId()));
+        assertThat(expectedTargetIds).hasSize(amountTargetsForRollout);
+
+        final List<Long> assignedTargetIds = new ArrayList<>();
+        for (final RolloutGroup group : rolloutGroups) {
+            final List<Long> groupTargetIds = new ArrayList<>();
+            rolloutGroupManagement.findRolloutGroupTargets(group, new PageRequest(0, 3000, Direction.ASC, "id"))
+                    .forEach(target -> groupTargetIds.add(target.getId()));
+            assertThat(groupTargetIds).hasSize(group.getTotalTargets());
+            assertThat(rolloutGroupManagement.countTargetsOfRolloutsGroup(group.getId()))
+                    .isEqualTo(group.getTotalTargets());
+            assignedTargetIds.addAll(groupTargetIds);
+        }
+
+        assertThat(rolloutGroups.get(0).getTotalTargets()).isEqualTo(1202);
+        assertThat(rolloutGroups.get(1).getTotalTargets()).isEqualTo(1201);
+        // both groups are ordered by ID and the first group holds the lower
+        // IDs, so all IDs in sequence equal the IDs of the filter
+        assertThat(assignedTargetIds).isEqualTo(expectedTargetIds);
+    }
+
     @Test
     @Description("Verifying that when the rollout is started the actions for all targets in the rollout is created and the state of the first group is running as well as the corresponding actions")
     public void startRolloutSetFirstGroupAndActionsInRunningStateAndOthersInScheduleState() {
@@ -158,6 +206,35 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
                         + group.getStatus() + " state"));
     }
 
+    @Test
+    @Description("Verifying that the actions of the next group are started together and announced by one assignment event instead of one event per target")
+    public void checkRunningRolloutsStartsNextGroupWithOneAssignmentEvent() throws InterruptedException {
+        final int amountTargetsForRollout = 10;
+        final int amountOtherTargets = 0;
+        final int amountGroups = 2;
+        final String successCondition = "50";
+        final String errorCondition = "80";
+        final Rollout createdRollout = createAndStartRollout(amountTargetsForRollout, amountOtherTargets, amountGroups,
+                successCondition, errorCondition);
+
+        final EventHandlerStub eventHandlerStub = new EventHandlerStub();
+        applicationContext.addApplicationListener(eventHandlerStub);
+        eventHandlerStub.setExpectedNumberOfEvents(amountTargetsForRollout / amountGroups);
+
+        final List<Action> runningActions = deploymentManagement.findActionsByRolloutAndStatus(createdRollout,
+                Status.RUNNING);
+        finishAction(runningActions.get(0));
+        finishAction(runningActions.get(1));
+        finishAction(runningActions.get(2));
+        rolloutManagement.checkRunningRollouts(0);
+
+        final List<TargetAssignDistributionSetEvent> events = eventHandlerStub.getEvents(10, TimeUnit.SECONDS);
+        assertThat(events).hasSize(1);
+        assertThat(deploymentManagement.findActionsByRolloutAndStatus(createdRollout, Status.SCHEDULED)).isEmpty();
+        assertThat(deploymentManagement.findActionsByRolloutAndStatus(createdRollout, Status.RUNNING))
+                .hasSize(amountTargetsForRollout - 3);
+    }
+
     @Test
     @Title("Deleting targets of a rollout")
     @Description("Verfiying that next group is started when targets of the group have been deleted.")
@@ -979,6 +1056,15 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
 
         myRollout = rolloutManagement.findRolloutById(myRollout.getId());
         assertThat(myRollout.getStatus()).isEqualTo(RolloutStatus.READY);
+        assertThat(myRollout.getRolloutGroupsCreated()).isEqualTo(amountGroups);
+        // every group is created in its own transaction
+        final List<JpaRolloutGroup> groups = rolloutGroupRepository.findByRolloutOrderByIdAsc((JpaRollout) myRollout);
+        assertThat(groups).hasSize(amountGroups);
+        assertThat(groups.get(0).getParent()).isNull();
+        for (int i = 1; i < groups.size(); i++) {
+            assertThat(groups.get(i).getParent().getId()).isEqualTo(groups.get(i - 1).getId());
+            assertThat(groups.get(i).getTotalTargets()).isEqualTo(amountTargetsForRollout / amountGroups);
+        }
         rolloutManagement.startRolloutAsync(myRollout);
 
         conditionRolloutTargetCount = new SuccessConditionRolloutStatus(RolloutStatus.RUNNING);
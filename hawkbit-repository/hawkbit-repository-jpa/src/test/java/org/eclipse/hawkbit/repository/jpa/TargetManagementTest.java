@@ -29,7 +29,10 @@ import javax.persistence.Query;
 import javax.validation.ConstraintViolationException;
 
 import org.eclipse.hawkbit.im.authentication.SpPermission;
+import org.eclipse.hawkbit.repository.KeysetCursor;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
+import org.eclipse.hawkbit.repository.exception.InvalidPagingCursorException;
 import org.eclipse.hawkbit.repository.exception.TenantNotExistException;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
@@ -42,11 +45,15 @@ import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.Tag;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetIdName;
+import org.eclipse.hawkbit.repository.model.TargetImportResult;
 import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
 import org.eclipse.hawkbit.repository.test.util.WithUser;
 import org.junit.Test;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 
 import com.google.common.collect.Iterables;
 
@@ -118,6 +125,114 @@ public class TargetManagementTest extends AbstractJpaIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that the bulk import creates the targets with their info and attributes in batches and "
+            + "rejects invalid and existing targets without failing the batch.")
+    public void importTargetsInBatches() {
+        targetManagement.createTarget(new JpaTarget("existing"));
+
+        final List<Target> targets = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Target target = entityFactory.generateTarget("bulk" + i);
+            target.setDescription("imported");
+            target.getTargetInfo().setAddress("http://127.0.0.1");
+            target.getTargetInfo().getControllerAttributes().put("serial", "S" + i);
+            targets.add(target);
+        }
+        targets.add(new JpaTarget("existing"));
+        targets.add(new JpaTarget(""));
+        targets.add(new JpaTarget("bulk0"));
+        targets.add(new JpaTarget("bulkLast"));
+
+        final List<TargetImportResult> results = new ArrayList<>();
+        targetManagement.importTargets(targets.iterator(), results::add);
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).getBatch()).isEqualTo(1);
+        assertThat(results.get(0).getCreated()).hasSize(1000);
+        assertThat(results.get(0).getRejected()).isEmpty();
+        assertThat(results.get(1).getCreated()).containsOnly("bulkLast");
+        assertThat(results.get(1).getRejected().stream().map(TargetImportResult.Rejected::getControllerId)
+                .collect(Collectors.toList())).containsOnly("existing", "", "bulk0");
+        assertThat(targetRepository.count()).isEqualTo(1002);
+
+        final Target imported = targetManagement.findTargetByControllerIDWithDetails("bulk1");
+        assertThat(imported.getName()).isEqualTo("bulk1");
+        assertThat(imported.getDescription()).isEqualTo("imported");
+        assertThat(imported.getSecurityToken()).isNotNull();
+        assertThat(imported.getTargetInfo().getUpdateStatus()).isEqualTo(TargetUpdateStatus.UNKNOWN);
+        assertThat(imported.getTargetInfo().getAddress()).isEqualTo(URI.create("http://127.0.0.1"));
+        assertThat(imported.getTargetInfo().getControllerAttributes().get("serial")).isEqualTo("S1");
+    }
+
+    @Test
+    @Description("Verifies that the bulk import stores the security tokens also for a user that is allowed to "
+            + "create targets but not to read their security tokens.")
+    @WithUser(allSpPermissions = true, removeFromAllPermission = { SpPermission.READ_TARGET_SEC_TOKEN })
+    public void importTargetsWithoutReadSecurityTokenPermission() {
+        final List<Target> targets = new ArrayList<>();
+        targets.add(new JpaTarget("noTokenPermission1", "token1"));
+        targets.add(new JpaTarget("noTokenPermission2", "token2"));
+
+        final List<TargetImportResult> results = new ArrayList<>();
+        targetManagement.importTargets(targets.iterator(), results::add);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getCreated()).containsOnly("noTokenPermission1", "noTokenPermission2");
+        assertThat(results.get(0).getRejected()).isEmpty();
+
+        final String storedToken = systemSecurityContext.runAsSystem(
+                () -> targetManagement.findTargetByControllerID("noTokenPermission2").getSecurityToken());
+        assertThat(storedToken).isEqualTo("token2");
+    }
+
+    @Test
+    @Description("Verifies that the keyset pagination returns all targets exactly once in the order of the offset "
+            + "pagination, also for sort keys with duplicates and null values.")
+    public void findTargetsWithKeysetPagination() {
+        final List<Target> targets = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            final Target target = new JpaTarget("keyset" + i);
+            target.setName("name" + i % 4);
+            target.setDescription(i % 3 == 0 ? null : "description" + i % 5);
+            targets.add(target);
+        }
+        targetManagement.createTargets(targets);
+
+        for (final Sort sort : new Sort[] { new Sort(Direction.ASC, "name"),
+                new Sort(new Sort.Order(Direction.DESC, "description"), new Sort.Order(Direction.ASC, "name")),
+                new Sort(Direction.ASC, "targetInfo.updateStatus") }) {
+            final List<Long> expected = targetManagement.findTargetsAll(new PageRequest(0, 100, sort.and(
+                    new Sort(Direction.ASC, "id")))).getContent().stream().map(Target::getId)
+                    .collect(Collectors.toList());
+
+            final List<Long> paged = new ArrayList<>();
+            KeysetCursor cursor = null;
+            KeysetSlice<Target> slice;
+            do {
+                slice = targetManagement.findTargetsAfter(null, cursor, new PageRequest(0, 4, sort), false);
+                slice.getContent().forEach(target -> paged.add(target.getId()));
+                cursor = slice.getNext() != null ? KeysetCursor.decode(slice.getNext().encode()) : null;
+            } while (cursor != null);
+
+            assertThat(slice.getTotal()).isNull();
+            assertThat(paged).as("keyset order by " + sort).isEqualTo(expected);
+        }
+
+        final KeysetSlice<Target> filtered = targetManagement.findTargetsAfter("name==name1", null,
+                new PageRequest(0, 4, new Sort(Direction.ASC, "name")), true);
+        assertThat(filtered.getTotal()).isEqualTo(6L);
+        assertThat(filtered.getContent()).hasSize(4);
+
+        try {
+            targetManagement.findTargetsAfter("name==name1", filtered.getNext(),
+                    new PageRequest(0, 4, new Sort(Direction.ASC, "description")), false);
+            fail("cursor of another sorting should not be accepted");
+        } catch (final InvalidPagingCursorException e) {
+            // expected
+        }
+    }
+
     @Test
     @Description("Ensures that targets can assigned and unassigned to a target tag. Not exists target will be ignored for the assignment.")
     public void assignAndUnassignTargetsToTag() {
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.hawkbit.repository.AutoAssignProperties;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTargetFilterQuery;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.test.context.TestPropertySource;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+/**
+ * Test class for {@link AutoAssignTargetQueue}. The queue is fed
+ * asynchronously by the target events, so the tests wait for the queue
+ * instead of relying on the timing of the events. The schedulers are
+ * effectively disabled and the checks are triggered by the tests.
+ */
+@Features("Component Tests - Repository")
+@Stories("Auto assign target queue")
+@TestPropertySource(properties = { "hawkbit.autoassign.incremental.enabled=true",
+        "hawkbit.autoassign.incremental.fixedDelay=3600000", "hawkbit.autoassign.scheduler.fixedDelay=3600000" })
+public class AutoAssignTargetQueueTest extends AbstractJpaIntegrationTest {
+
+    private static final long TIMEOUT = 10000;
+
+    @Autowired
+    private AutoAssignTargetQueue autoAssignTargetQueue;
+
+    @Autowired
+    private AutoAssignChecker autoAssignChecker;
+
+    @Autowired
+    private AutoAssignProperties autoAssignProperties;
+
+    @Test
+    @Description("Verifies that created and updated targets which match an auto assign filter get the distribution set while targets which are not queued are left to the full check.")
+    public void queuedTargetsAreAssigned() {
+        autoAssignTargetQueue.checkQueuedTargets();
+
+        // matches the filter, but is checked before the filter exists
+        final Target early = targetManagement.createTarget(testdataFactory.generateTarget("early", "auto"));
+        waitFor(() -> metric("size") > 0);
+        autoAssignTargetQueue.checkQueuedTargets();
+
+        final DistributionSet set = testdataFactory.createDistributionSet("auto");
+        targetFilterQueryManagement.createTargetFilterQuery(
+                new JpaTargetFilterQuery("auto", "description==auto", (JpaDistributionSet) set));
+
+        final Target created = targetManagement.createTarget(testdataFactory.generateTarget("created", "auto"));
+        final Target updated = targetManagement.createTarget(testdataFactory.generateTarget("updated", "other"));
+        waitUntilAssigned(created, set);
+        autoAssignTargetQueue.checkQueuedTargets();
+        assertThat(assignedSet(updated)).as("assigned DS of not matching target").isNull();
+        assertThat(assignedSet(early)).as("assigned DS of not queued target").isNull();
+
+        updated.setDescription("auto");
+        targetManagement.updateTarget(updated);
+        waitUntilAssigned(updated, set);
+        assertThat(assignedSet(early)).as("assigned DS of not queued target").isNull();
+
+        autoAssignChecker.check();
+        assertThat(assignedSet(early)).as("assigned DS after full check").isEqualTo(set);
+    }
+
+    @Test
+    @Description("Verifies that targets exceeding the queue limit are dropped and assigned by the full check.")
+    public void droppedTargetsAreAssignedByFullCheck() {
+        final int maxPending = autoAssignProperties.getIncremental().getMaxPending();
+        autoAssignProperties.getIncremental().setMaxPending(3);
+        try {
+            final DistributionSet set = testdataFactory.createDistributionSet("overflow");
+            targetFilterQueryManagement.createTargetFilterQuery(
+                    new JpaTargetFilterQuery("overflow", "description==overflow", (JpaDistributionSet) set));
+            autoAssignTargetQueue.checkQueuedTargets();
+
+            final long dropped = metric("dropped");
+            final List<Target> targets = targetManagement
+                    .createTargets(testdataFactory.generateTargets(5, "overflow-", "overflow"));
+            waitFor(() -> metric("dropped") >= dropped + 2);
+
+            autoAssignTargetQueue.checkQueuedTargets();
+            assertThat(targets.stream().filter(target -> set.equals(assignedSet(target))).count())
+                    .as("targets assigned from the queue").isLessThanOrEqualTo(3);
+
+            autoAssignChecker.check();
+            targets.forEach(target -> assertThat(assignedSet(target)).as("assigned DS after full check")
+                    .isEqualTo(set));
+        } finally {
+            autoAssignProperties.getIncremental().setMaxPending(maxPending);
+        }
+    }
+
+    @Test
+    @Description("Verifies that updates which only change the last poll time of a target are not queued.")
+    public void pollUpdatesAreNotQueued() {
+        final Target target = targetManagement.createTarget(testdataFactory.generateTarget("polling", "auto"));
+        waitFor(() -> metric("size") > 0);
+        autoAssignTargetQueue.checkQueuedTargets();
+        assertThat(metric("size")).as("queued targets after check").isEqualTo(0);
+
+        final String applicationId = EventPublisherHolder.getInstance().getApplicationId();
+        autoAssignTargetQueue.onTargetUpdated(new TargetUpdatedEvent(target, applicationId, true));
+        assertThat(metric("size")).as("queued targets after poll update").isEqualTo(0);
+
+        autoAssignTargetQueue.onTargetUpdated(new TargetUpdatedEvent(target, applicationId, false));
+        assertThat(metric("size")).as("queued targets after update").isEqualTo(1);
+    }
+
+    private void waitUntilAssigned(final Target target, final DistributionSet set) {
+        waitFor(() -> {
+            autoAssignTargetQueue.checkQueuedTargets();
+            return set.equals(assignedSet(target));
+        });
+    }
+
+    private DistributionSet assignedSet(final Target target) {
+        return targetManagement.findTargetByControllerID(target.getControllerId()).getAssignedDistributionSet();
+    }
+
+    private long metric(final String name) {
+        return autoAssignTargetQueue.metrics().stream()
+                .filter(metric -> metric.getName().equals("hawkbit.autoassign.queue." + name))
+                .map(Metric::getValue).mapToLong(Number::longValue).findFirst().orElse(0L);
+    }
+
+    private static void waitFor(final BooleanSupplier condition) {
+        final long end = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("time waited for the queue").isLessThan(end);
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
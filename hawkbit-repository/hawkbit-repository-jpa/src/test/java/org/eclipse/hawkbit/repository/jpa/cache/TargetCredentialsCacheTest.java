@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.cache;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetSecurityTokenChangedEvent;
+import org.eclipse.hawkbit.repository.model.TargetCredentials;
+import org.junit.Before;
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Target credentials cache")
+public class TargetCredentialsCacheTest {
+
+    private static final String TENANT = "tenant";
+
+    private static final Long TARGET_ID = 1L;
+
+    private static final String CONTROLLER_ID = "controller";
+
+    private final AtomicReference<String> storedToken = new AtomicReference<>("token");
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<TargetCredentials> loader = () -> {
+        loads.incrementAndGet();
+        return new TargetCredentials(TARGET_ID, CONTROLLER_ID, storedToken.get());
+    };
+
+    private TargetCredentialsCache cache;
+
+    @Before
+    public void setup() {
+        final RepositoryProperties properties = new RepositoryProperties();
+        properties.getCredentialsCache().setTtl(60000);
+        cache = new TargetCredentialsCache(properties);
+    }
+
+    @Test
+    @Description("Verifies that cached credentials are used by controller ID and by target ID.")
+    public void cachedCredentialsAreUsed() {
+        cache.getByControllerId(TENANT, CONTROLLER_ID, loader);
+        cache.getByControllerId(TENANT, CONTROLLER_ID, loader);
+        cache.getByTargetId(TENANT, TARGET_ID, loader);
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that the credentials contain the hash and not the plain security token.")
+    public void credentialsContainHashOfSecurityToken() {
+        final TargetCredentials credentials = cache.getByControllerId(TENANT, CONTROLLER_ID, loader);
+
+        assertThat(credentials.getSecurityTokenHash()).isNotEqualTo("token")
+                .isEqualTo(TargetCredentials.hashSecurityToken("token"));
+        assertThat(credentials.toString()).doesNotContain("token");
+    }
+
+    @Test
+    @Description("Verifies that a changed security token is used after the event of the change.")
+    public void changedSecurityTokenEvictsCredentials() {
+        cache.getByControllerId(TENANT, CONTROLLER_ID, loader);
+        storedToken.set("changed");
+
+        cache.onTargetChanged(new TargetSecurityTokenChangedEvent(TENANT, TARGET_ID, "node"));
+
+        assertThat(cache.getByControllerId(TENANT, CONTROLLER_ID, loader).getSecurityTokenHash())
+                .isEqualTo(TargetCredentials.hashSecurityToken("changed"));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @Description("Verifies that deleted targets are evicted for the controller ID and the target ID.")
+    public void deletedTargetEvictsCredentials() {
+        cache.getByTargetId(TENANT, TARGET_ID, loader);
+
+        cache.onTargetChanged(new TargetDeletedEvent(TENANT, TARGET_ID, "node"));
+        cache.getByControllerId(TENANT, CONTROLLER_ID, loader);
+        assertThat(loads.get()).isEqualTo(2);
+
+        cache.onTargetChanged(new TargetDeletedEvent(TENANT, TARGET_ID, "node"));
+        cache.getByTargetId(TENANT, TARGET_ID, loader);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @Description("Verifies that the events of other tenants keep the credentials.")
+    public void eventsOfOtherTenantsKeepCredentials() {
+        cache.getByControllerId(TENANT, CONTROLLER_ID, loader);
+
+        cache.onTargetChanged(new TargetSecurityTokenChangedEvent("other", TARGET_ID, "node"));
+        cache.getByControllerId(TENANT, CONTROLLER_ID, loader);
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+}
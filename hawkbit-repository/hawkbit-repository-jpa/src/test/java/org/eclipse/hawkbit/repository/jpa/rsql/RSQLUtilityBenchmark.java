@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.RSQLOperators;
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+/**
+ * JMH benchmark of the evaluation of an RSQL target filter with a cached query
+ * plan, without a cached plan and of the parsing as it was done before the
+ * query plans were cached, i.e. with a new parser for every query. The
+ * benchmark is not part of the default build, run it by
+ * {@code mvn test -Pbenchmark -pl hawkbit-repository/hawkbit-repository-jpa}.
+ *
+ * The criteria API is replaced by proxies which return shared proxies, so the
+ * scores contain the RSQL handling only and no query building of the JPA
+ * provider.
+ */
+@Features("Benchmarks - Repository")
+@Stories("RSQL search utility")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RSQLUtilityBenchmark {
+
+    private static final String TARGET_FILTER = "name==target*;(updatestatus==pending,updatestatus==error);"
+            + "assignedds.name==ds1;ipaddress=in=(10.0.0.1,10.0.0.2,10.0.0.3)";
+
+    private static final Predicate PREDICATE = proxy(Predicate.class);
+
+    private static final Root<Object> ROOT = proxy(Root.class);
+
+    private static final CriteriaBuilder CB = proxy(CriteriaBuilder.class);
+
+    @Test
+    @Description("Runs the RSQL benchmarks and verifies that the cached query plan is not slower than parsing the "
+            + "query on every evaluation.")
+    public void runBenchmarks() throws Exception {
+        final Collection<RunResult> results = new Runner(
+                new OptionsBuilder().include(RSQLUtilityBenchmark.class.getName()).build()).run();
+
+        assertThat(results).hasSize(3);
+        final double cached = score(results, "cachedQueryPlan");
+        final double uncached = score(results, "uncachedQueryPlan");
+        assertThat(cached).isLessThanOrEqualTo(uncached);
+    }
+
+    /**
+     * The query plan of the filter is taken from the cache, as for the count
+     * and the data query of every page of a filtered list.
+     */
+    @Benchmark
+    public Predicate cachedQueryPlan() {
+        return RSQLUtility.parse(TARGET_FILTER, TargetFields.class, null).toPredicate(ROOT, null, CB);
+    }
+
+    /**
+     * The filter is parsed and its fields are validated again before the
+     * predicate is built, as for every evaluation before the plans were
+     * cached.
+     */
+    @Benchmark
+    public Predicate uncachedQueryPlan() {
+        RSQLUtility.invalidateQueryPlanCache();
+        return RSQLUtility.parse(TARGET_FILTER, TargetFields.class, null).toPredicate(ROOT, null, CB);
+    }
+
+    /**
+     * Creates the parser with its operators for every query as it was done by
+     * every evaluation before the parser was shared.
+     */
+    @Benchmark
+    public Node parseWithNewParser() {
+        final Set<ComparisonOperator> operators = RSQLOperators.defaultOperators();
+        operators.add(new ComparisonOperator("=li=", false));
+        return new RSQLParser(operators).parse(TARGET_FILTER.toLowerCase());
+    }
+
+    private static double score(final Collection<RunResult> results, final String benchmark) {
+        return results.stream().filter(result -> result.getParams().getBenchmark().endsWith("." + benchmark))
+                .findFirst().map(result -> result.getPrimaryResult().getScore())
+                .orElseThrow(() -> new IllegalStateException("No result of benchmark " + benchmark));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<?> type) {
+        return (T) Proxy.newProxyInstance(RSQLUtilityBenchmark.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    final Class<?> returnType = method.getReturnType();
+                    if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (Class.class.equals(returnType)) {
+                        return String.class;
+                    }
+                    if (Predicate.class.equals(returnType)) {
+                        return PREDICATE;
+                    }
+                    if (returnType.isAssignableFrom(Root.class)) {
+                        return ROOT;
+                    }
+                    if (Boolean.TYPE.equals(returnType)) {
+                        return false;
+                    }
+                    return null;
+                });
+    }
+}
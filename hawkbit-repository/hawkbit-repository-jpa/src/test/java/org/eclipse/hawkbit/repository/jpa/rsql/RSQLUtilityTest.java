@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rsql;
 
+import static org.fest.assertions.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
@@ -274,6 +275,27 @@ public class RSQLUtilityTest {
         }
     }
 
+    @Test
+    @Description("Verifies that a cached query plan is bound to the root and criteria builder of every query.")
+    public void cachedQueryPlanBuildsPredicateForEveryQuery() {
+        reset(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+        final String correctRsql = "testfield==bumlux,testfield=in=(bumlux)";
+        when(baseSoftwareModuleRootMock.get("testfield")).thenReturn(baseSoftwareModuleRootMock);
+        when(baseSoftwareModuleRootMock.getJavaType()).thenReturn((Class) TestValueEnum.class);
+        final long hits = RSQLUtility.getQueryPlanCacheStats().hitCount();
+
+        // test
+        RSQLUtility.parse(correctRsql, TestFieldEnum.class, null).toPredicate(baseSoftwareModuleRootMock,
+                criteriaQueryMock, criteriaBuilderMock);
+        RSQLUtility.parse(correctRsql.toUpperCase(), TestFieldEnum.class, null)
+                .toPredicate(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+
+        // verification
+        assertThat(RSQLUtility.getQueryPlanCacheStats().hitCount()).isGreaterThan(hits);
+        verify(criteriaBuilderMock, times(2)).equal(eq(baseSoftwareModuleRootMock), eq(TestValueEnum.BUMLUX));
+        verify(criteriaBuilderMock, times(2)).or(any(Predicate.class), any(Predicate.class));
+    }
+
     @Test
     @Description("Tests the resolution of overdue_ts placeholder in context of a RSQL expression.")
     public void correctRsqlWithOverdueMacro() {
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.scheduler;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+/**
+ * Test class for {@link LeaseManager}. The nodes of a cluster are simulated
+ * by separate {@link LeaseManager} instances on the same database.
+ */
+@Features("Component Tests - Repository")
+@Stories("Scheduler leases")
+public class LeaseManagerTest extends AbstractJpaIntegrationTest {
+
+    private static final long LONG_LEASE = 60_000L;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LeaseManager node1;
+
+    private LeaseManager node2;
+
+    private String key;
+
+    @Before
+    public void setupNodes() {
+        node1 = new LeaseManager(new JdbcTemplate(dataSource), transactionManager);
+        node2 = new LeaseManager(new JdbcTemplate(dataSource), transactionManager);
+        key = "test:" + UUID.randomUUID();
+    }
+
+    @Test
+    @Description("Verifies that a lease is owned by one node only and can be acquired again by its owner.")
+    public void leaseIsOwnedByOneNode() {
+        assertThat(node1.tryAcquire(key, LONG_LEASE)).isTrue();
+        assertThat(node2.tryAcquire(key, LONG_LEASE)).isFalse();
+        assertThat(node1.tryAcquire(key, LONG_LEASE)).isTrue();
+        assertThat(node2.renew(key, LONG_LEASE)).isFalse();
+    }
+
+    @Test
+    @Description("Verifies that a renewed lease does not expire and an expired lease is taken over.")
+    public void renewedLeaseDoesNotExpire() throws InterruptedException {
+        assertThat(node1.tryAcquire(key, 500)).isTrue();
+        assertThat(node1.renew(key, LONG_LEASE)).isTrue();
+        Thread.sleep(1000);
+        assertThat(node2.tryAcquire(key, LONG_LEASE)).isFalse();
+
+        assertThat(node1.renew(key, 500)).isTrue();
+        Thread.sleep(1000);
+        assertThat(node2.tryAcquire(key, LONG_LEASE)).isTrue();
+        assertThat(node1.renew(key, LONG_LEASE)).isFalse();
+    }
+
+    @Test
+    @Description("Verifies that only the owner releases a lease and a released lease is taken over.")
+    public void releasedLeaseIsAcquiredByAnotherNode() {
+        assertThat(node1.tryAcquire(key, LONG_LEASE)).isTrue();
+        node2.release(key);
+        assertThat(node2.tryAcquire(key, LONG_LEASE)).isFalse();
+
+        node1.release(key);
+        assertThat(node2.tryAcquire(key, LONG_LEASE)).isTrue();
+        assertThat(node1.tryAcquire(key, LONG_LEASE)).isFalse();
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.scheduler;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@RunWith(MockitoJUnitRunner.class)
+@Features("Component Tests - Repository")
+@Stories("Tenant task executor")
+public class TenantTaskExecutorTest {
+
+    private static final String SLOW_TENANT = "SLOW";
+
+    private static final String FAST_TENANT = "FAST";
+
+    @Mock
+    private SystemManagement systemManagement;
+
+    @Mock
+    private SystemSecurityContext systemSecurityContext;
+
+    @Mock
+    private LeaseManager leaseManager;
+
+    private RepositoryProperties properties;
+
+    private TenantTaskExecutor tenantTaskExecutor;
+
+    private final List<String> checkedTenants = Collections.synchronizedList(new ArrayList<>());
+
+    private final ThreadLocal<String> currentTenant = new ThreadLocal<>();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        properties = new RepositoryProperties();
+        properties.getTenantScheduler().setTenantTimeBudget(50);
+        properties.getTenantScheduler().setLeaseEnabled(false);
+
+        when(systemManagement.findTenants()).thenReturn(Arrays.asList(SLOW_TENANT, FAST_TENANT));
+        when(systemSecurityContext.runAsSystem(any(Callable.class)))
+                .thenAnswer(invocation -> ((Callable<?>) invocation.getArguments()[0]).call());
+        when(systemSecurityContext.runAsSystemAsTenant(any(Callable.class), anyString())).thenAnswer(invocation -> {
+            currentTenant.set((String) invocation.getArguments()[1]);
+            try {
+                return ((Callable<?>) invocation.getArguments()[0]).call();
+            } finally {
+                currentTenant.remove();
+            }
+        });
+
+        tenantTaskExecutor = new TenantTaskExecutor(systemManagement, systemSecurityContext, leaseManager,
+                properties);
+    }
+
+    @After
+    public void shutdown() {
+        tenantTaskExecutor.destroy();
+    }
+
+    @Test
+    @Description("Verifies that a tenant exceeding the time budget is skipped for the periods it has exceeded it by.")
+    public void tenantExceedingTimeBudgetIsSkipped() {
+        // exceeds the budget by less than one period
+        runChecks(1000);
+        assertThat(checkedTenants).containsOnly(SLOW_TENANT, FAST_TENANT);
+
+        runChecks(1000);
+        assertThat(checkedTenants).containsOnly(FAST_TENANT);
+
+        runChecks(1000);
+        assertThat(checkedTenants).containsOnly(SLOW_TENANT, FAST_TENANT);
+
+        // exceeds the budget by more than one period
+        runChecks(100);
+        assertThat(checkedTenants).containsOnly(SLOW_TENANT, FAST_TENANT);
+        runChecks(100);
+        assertThat(checkedTenants).containsOnly(FAST_TENANT);
+        runChecks(100);
+        assertThat(checkedTenants).containsOnly(FAST_TENANT);
+        runChecks(100);
+        assertThat(checkedTenants).containsOnly(SLOW_TENANT, FAST_TENANT);
+    }
+
+    @Test
+    @Description("Verifies that the lease of a tenant is held for one period after the check instead of being "
+            + "released, so that other nodes do not check the tenant again within the same period.")
+    public void leaseIsHeldForOnePeriodAfterCheck() {
+        properties.getTenantScheduler().setLeaseEnabled(true);
+        when(leaseManager.tryAcquire(anyString(), anyLong())).thenReturn(true);
+        tenantTaskExecutor.destroy();
+        tenantTaskExecutor = new TenantTaskExecutor(systemManagement, systemSecurityContext, leaseManager,
+                properties);
+
+        runChecks(1000);
+
+        assertThat(checkedTenants).containsOnly(SLOW_TENANT, FAST_TENANT);
+        verify(leaseManager).renew("test:" + FAST_TENANT, 1000);
+        verify(leaseManager).renew("test:" + SLOW_TENANT, 1000);
+        verify(leaseManager, never()).release(anyString());
+    }
+
+    @Test
+    @Description("Verifies that a tenant is skipped if its lease is held by another node.")
+    public void tenantLeasedByOtherNodeIsSkipped() {
+        properties.getTenantScheduler().setLeaseEnabled(true);
+        when(leaseManager.tryAcquire(eq("test:" + FAST_TENANT), anyLong())).thenReturn(true);
+        tenantTaskExecutor.destroy();
+        tenantTaskExecutor = new TenantTaskExecutor(systemManagement, systemSecurityContext, leaseManager,
+                properties);
+
+        runChecks(1000);
+
+        assertThat(checkedTenants).containsOnly(FAST_TENANT);
+    }
+
+    private void runChecks(final long period) {
+        checkedTenants.clear();
+        tenantTaskExecutor.runForAllTenants("test", period, this::check);
+    }
+
+    private void check() {
+        checkedTenants.add(currentTenant.get());
+        if (SLOW_TENANT.equals(currentTenant.get())) {
+            try {
+                Thread.sleep(200);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
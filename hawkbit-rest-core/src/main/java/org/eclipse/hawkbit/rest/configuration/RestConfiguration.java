@@ -8,18 +8,15 @@
  */
 package org.eclipse.hawkbit.rest.configuration;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.hawkbit.rest.util.FilterHttpResponse;
-import org.eclipse.hawkbit.rest.util.HttpResponseFactoryBean;
 import org.eclipse.hawkbit.rest.util.RequestResponseContextHolder;
-import org.springframework.beans.factory.FactoryBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Scope;
 import org.springframework.hateoas.config.EnableHypermediaSupport;
 import org.springframework.hateoas.config.EnableHypermediaSupport.HypermediaType;
-import org.springframework.web.context.WebApplicationContext;
 
 /**
  * Configuration for Rest api.
@@ -37,18 +34,10 @@ public class RestConfiguration {
     }
 
     /**
-     * Create factory bean for {@link HttpServletResponse}.
+     * Create holder for the {@link HttpServletRequest} and
+     * {@link HttpServletResponse} of the current thread.
      */
     @Bean
-    public FactoryBean<HttpServletResponse> httpResponseFactoryBean() {
-        return new HttpResponseFactoryBean();
-    }
-
-    /**
-     * Create factory bean for {@link HttpServletResponse}.
-     */
-    @Bean
-    @Scope(value = WebApplicationContext.SCOPE_REQUEST)
     public RequestResponseContextHolder requestResponseContextHolder() {
         return new RequestResponseContextHolder();
     }
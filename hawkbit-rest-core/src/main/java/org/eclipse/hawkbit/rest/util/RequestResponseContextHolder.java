@@ -8,36 +8,41 @@
  */
 package org.eclipse.hawkbit.rest.util;
 
-import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
- * Store the request and response for the rest resources.
+ * Provides the request and response of the current thread for the rest
+ * resources. The holder does not keep any request data itself, so it can be
+ * used by singleton resources.
  */
 public class RequestResponseContextHolder {
 
     private HttpServletRequest httpServletRequest;
 
-    private HttpServletResponse httpServletResponse;
+    private FilterHttpResponse filterHttpResponse;
 
     public HttpServletRequest getHttpServletRequest() {
         return httpServletRequest;
     }
 
     public HttpServletResponse getHttpServletResponse() {
-        return httpServletResponse;
+        return filterHttpResponse.getHttpServletReponse();
     }
 
+    /**
+     * @param httpServletRequest
+     *            proxy that delegates to the request of the current thread
+     */
     @Autowired
     public void setHttpServletRequest(final HttpServletRequest httpServletRequest) {
         this.httpServletRequest = httpServletRequest;
     }
 
-    @Resource(name = HttpResponseFactoryBean.FACTORY_BEAN_NAME)
-    public void setHttpServletResponse(final HttpServletResponse httpServletResponse) {
-        this.httpServletResponse = httpServletResponse;
+    @Autowired
+    public void setFilterHttpResponse(final FilterHttpResponse filterHttpResponse) {
+        this.filterHttpResponse = filterHttpResponse;
     }
 }
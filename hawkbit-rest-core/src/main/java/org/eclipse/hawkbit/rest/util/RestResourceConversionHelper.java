@@ -27,6 +27,11 @@ import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -35,6 +40,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.SeekableDbArtifact;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
@@ -53,6 +59,10 @@ public final class RestResourceConversionHelper {
 
     private static final int BUFFER_SIZE = 4096;
 
+    // chunk size of channel transfers, small enough to keep the download
+    // progress events fine grained
+    private static final int TRANSFER_CHUNK_SIZE = 64 * 1024;
+
     private RestResourceConversionHelper() {
 
     }
@@ -83,7 +93,9 @@ public final class RestResourceConversionHelper {
      * </p>
      *
      * <p>
-     * The request supports RFC7233 range requests.
+     * The request supports RFC7233 range requests. If the file is a
+     * {@link SeekableDbArtifact} the ranges are read by position from its
+     * channel instead of skipping through the input stream.
      * </p>
      *
      * @param artifact
@@ -180,9 +192,8 @@ public final class RestResourceConversionHelper {
         response.setHeader(CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
         response.setHeader(CONTENT_LENGTH, String.valueOf(r.getLength()));
 
-        try {
-            copyStreams(file.getFileInputStream(), response.getOutputStream(), controllerManagement, statusId,
-                    r.getStart(), r.getLength());
+        try (final SeekableByteChannel channel = openChannel(file)) {
+            copyRange(file, channel, response.getOutputStream(), controllerManagement, statusId, r);
         } catch (final IOException e) {
             LOG.error("fullfileRequest of file ({}) failed!", artifact.getFilename(), e);
             throw new FileSteamingFailedException(artifact.getFilename());
@@ -246,7 +257,8 @@ public final class RestResourceConversionHelper {
         response.setContentType("multipart/byteranges; boundary=" + MULTIPART_BOUNDARY);
         response.setStatus(SC_PARTIAL_CONTENT);
 
-        try {
+        // the channel is opened once and positioned for every range
+        try (final SeekableByteChannel channel = openChannel(file)) {
             for (final ByteRange r : ranges) {
                 // Add multipart boundary and header fields for every range.
                 response.getOutputStream().println();
@@ -255,8 +267,7 @@ public final class RestResourceConversionHelper {
                         .println("Content-Range: bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
 
                 // Copy single part range of multi part range.
-                copyStreams(file.getFileInputStream(), response.getOutputStream(), controllerManagement, statusId,
-                        r.getStart(), r.getLength());
+                copyRange(file, channel, response.getOutputStream(), controllerManagement, statusId, r);
             }
 
             // End with final multipart boundary.
@@ -276,33 +287,103 @@ public final class RestResourceConversionHelper {
         response.setHeader(CONTENT_LENGTH, String.valueOf(r.getLength()));
         response.setStatus(SC_PARTIAL_CONTENT);
 
-        try {
-            copyStreams(file.getFileInputStream(), response.getOutputStream(), controllerManagement, statusId,
-                    r.getStart(), r.getLength());
+        try (final SeekableByteChannel channel = openChannel(file)) {
+            copyRange(file, channel, response.getOutputStream(), controllerManagement, statusId, r);
         } catch (final IOException e) {
             LOG.error("standardRangeRequest of file ({}) failed!", artifact.getFilename(), e);
             throw new FileSteamingFailedException(artifact.getFilename());
         }
     }
 
-    private static long copyStreams(final InputStream from, final OutputStream to,
-            final ControllerManagement controllerManagement, final Long statusId, final long start, final long length)
+    private static SeekableByteChannel openChannel(final DbArtifact file) throws IOException {
+        if (file instanceof SeekableDbArtifact) {
+            return ((SeekableDbArtifact) file).openChannel();
+        }
+        return null;
+    }
+
+    private static long copyRange(final DbArtifact file, final SeekableByteChannel channel, final OutputStream to,
+            final ControllerManagement controllerManagement, final Long statusId, final ByteRange range)
             throws IOException {
+        final DownloadProgress progress = new DownloadProgress(controllerManagement, statusId, range.getLength());
+
+        if (channel == null) {
+            return copyStreams(file.getFileInputStream(), to, progress, range.getStart(), range.getLength());
+        }
+        if (channel instanceof FileChannel) {
+            return transferChannel((FileChannel) channel, to, progress, range.getStart(), range.getLength());
+        }
+        return copyChannel(channel, to, progress, range.getStart(), range.getLength());
+    }
+
+    /**
+     * Transfers a range of a file to the response. The servlet response is an
+     * {@link OutputStream} and not a socket channel, so
+     * {@link FileChannel#transferTo(long, long, WritableByteChannel)} cannot
+     * hand the transfer to the operating system. It reads the file into a
+     * temporary direct buffer instead and the wrapping channel copies it to a
+     * heap array for the stream. The benefit over the stream copy is the
+     * positional read of the range start, not a zero-copy transfer.
+     */
+    private static long transferChannel(final FileChannel from, final OutputStream to,
+            final DownloadProgress progress, final long start, final long length) throws IOException {
+        checkNotNull(to);
+        // not closed as this would close the response stream
+        final WritableByteChannel target = Channels.newChannel(to);
+        long total = 0;
+
+        while (total < length) {
+            final long transferred = from.transferTo(start + total, Math.min(TRANSFER_CHUNK_SIZE, length - total),
+                    target);
+            if (transferred <= 0) {
+                break;
+            }
+            total += transferred;
+            progress.shipped(transferred, total);
+        }
+        return total;
+    }
+
+    private static long copyChannel(final SeekableByteChannel from, final OutputStream to,
+            final DownloadProgress progress, final long start, final long length) throws IOException {
+        checkNotNull(to);
+        final WritableByteChannel target = Channels.newChannel(to);
+        final ByteBuffer buf = ByteBuffer.allocate((int) Math.min(TRANSFER_CHUNK_SIZE, Math.max(length, 1)));
+        long total = 0;
+
+        from.position(start);
+        while (total < length) {
+            buf.clear();
+            buf.limit((int) Math.min(buf.capacity(), length - total));
+            final int r = from.read(buf);
+            if (r == -1) {
+                break;
+            }
+            buf.flip();
+            while (buf.hasRemaining()) {
+                target.write(buf);
+            }
+            total += r;
+            progress.shipped(r, total);
+        }
+        return total;
+    }
+
+    private static long copyStreams(final InputStream from, final OutputStream to, final DownloadProgress progress,
+            final long start, final long length) throws IOException {
         checkNotNull(from);
         checkNotNull(to);
         final byte[] buf = new byte[BUFFER_SIZE];
         long total = 0;
-        int progressPercent = 1;
 
         // skipp until start is reached
         long skipped = 0;
         do {
-            skipped += from.skip(start);
+            skipped += from.skip(start - skipped);
         } while (skipped < start);
 
         long toRead = length;
         boolean toContinue = true;
-        long shippedSinceLastEvent = 0;
 
         while (toContinue) {
             final int r = from.read(buf);
@@ -314,26 +395,49 @@ public final class RestResourceConversionHelper {
             if (toRead > 0) {
                 to.write(buf, 0, r);
                 total += r;
-                shippedSinceLastEvent += r;
+                progress.shipped(r, total);
             } else {
                 to.write(buf, 0, (int) toRead + r);
                 total += toRead + r;
-                shippedSinceLastEvent += toRead + r;
+                progress.shipped(toRead + r, total);
                 toContinue = false;
             }
+        }
+        return total;
+    }
 
-            if (controllerManagement != null) {
-                final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, DOWN);
+    /**
+     * Publishes download progress events every 10 percent of a range.
+     */
+    private static final class DownloadProgress {
+        private final ControllerManagement controllerManagement;
+        private final Long statusId;
+        private final long length;
+        private int progressPercent = 1;
+        private long shippedSinceLastEvent;
+
+        private DownloadProgress(final ControllerManagement controllerManagement, final Long statusId,
+                final long length) {
+            this.controllerManagement = controllerManagement;
+            this.statusId = statusId;
+            this.length = length;
+        }
 
-                // every 10 percent an event
-                if (newPercent == 100 || newPercent > progressPercent + 10) {
-                    progressPercent = newPercent;
-                    controllerManagement.downloadProgress(statusId, length, shippedSinceLastEvent, total);
-                    shippedSinceLastEvent = 0;
-                }
+        private void shipped(final long shipped, final long total) {
+            if (controllerManagement == null) {
+                return;
+            }
+
+            shippedSinceLastEvent += shipped;
+            final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, DOWN);
+
+            // every 10 percent an event
+            if (newPercent == 100 || newPercent > progressPercent + 10) {
+                progressPercent = newPercent;
+                controllerManagement.downloadProgress(statusId, length, shippedSinceLastEvent, total);
+                shippedSinceLastEvent = 0;
             }
         }
-        return total;
     }
 
     /**
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.rest.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.SeekableDbArtifact;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+/**
+ * JMH benchmark of artifact downloads of a file through the input stream copy
+ * loop, which was the only download path before artifacts could provide a
+ * channel, compared to the {@link FileChannel} path. The benchmark is not part
+ * of the default build, run it by
+ * {@code mvn test -Pbenchmark -pl hawkbit-rest-core}.
+ *
+ * The response stream discards the bytes and the benchmark runs in a single
+ * thread without any network, so the average time of a download is the CPU
+ * time it takes on the server. The allocations per download are reported by
+ * the GC profiler.
+ */
+@Features("Benchmarks - Management API")
+@Stories("Artifact download")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RestResourceConversionHelperBenchmark {
+
+    private static final int ARTIFACT_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * A full download, a range of the second half of the artifact and a
+     * multipart range request.
+     */
+    @Param({ "", "bytes=4194304-", "bytes=0-1023,1048576-2097151,-4096" })
+    private String range;
+
+    private File file;
+
+    private Artifact artifact;
+
+    private HttpServletResponse response;
+
+    @Test
+    @Description("Runs the download benchmarks of the stream copy loop and the file channel.")
+    public void runBenchmarks() throws Exception {
+        final Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(RestResourceConversionHelperBenchmark.class.getName()).addProfiler(GCProfiler.class).build())
+                        .run();
+
+        assertThat(results).hasSize(6);
+    }
+
+    /**
+     * Creates the artifact file and a response which discards the written
+     * bytes.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        final byte[] content = new byte[ARTIFACT_SIZE];
+        new Random(42).nextBytes(content);
+        file = File.createTempFile("artifact", ".bin");
+        Files.write(file.toPath(), content);
+
+        artifact = mock(Artifact.class);
+        when(artifact.getSha1Hash()).thenReturn("sha1");
+        when(artifact.getFilename()).thenReturn("artifact.bin");
+        when(artifact.getCreatedAt()).thenReturn(System.currentTimeMillis());
+        when(artifact.getSize()).thenReturn((long) ARTIFACT_SIZE);
+
+        final ServletOutputStream discard = new DiscardingServletOutputStream();
+        response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(discard);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    /**
+     * The artifact is read through its input stream, positioned by skipping
+     * and copied through a heap buffer.
+     */
+    @Benchmark
+    public Object streamCopy() {
+        final DbArtifact dbArtifact = new DbArtifact() {
+            @Override
+            public InputStream getFileInputStream() {
+                try {
+                    return Files.newInputStream(file.toPath());
+                } catch (final IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        dbArtifact.setSize((long) ARTIFACT_SIZE);
+        return download(dbArtifact);
+    }
+
+    /**
+     * The artifact is read from a {@link FileChannel} positioned at the range
+     * start and transferred to the response stream.
+     */
+    @Benchmark
+    public Object fileChannel() {
+        final FileArtifact dbArtifact = new FileArtifact(file);
+        dbArtifact.setSize((long) ARTIFACT_SIZE);
+        return download(dbArtifact);
+    }
+
+    private Object download(final DbArtifact dbArtifact) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        if (!range.isEmpty()) {
+            request.addHeader("Range", range);
+        }
+        return RestResourceConversionHelper.writeFileResponse(artifact, response, request, dbArtifact);
+    }
+
+    private static final class FileArtifact extends DbArtifact implements SeekableDbArtifact {
+        private final File file;
+
+        private FileArtifact(final File file) {
+            this.file = file;
+        }
+
+        @Override
+        public SeekableByteChannel openChannel() throws IOException {
+            return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        }
+    }
+
+    private static final class DiscardingServletOutputStream extends ServletOutputStream {
+        @Override
+        public void write(final int b) {
+            // discarded
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            // discarded
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            // not needed for blocking writes
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.rest.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.SeekableDbArtifact;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Component Tests - Management API")
+@Stories("Artifact download")
+public class RestResourceConversionHelperTest {
+
+    private static final int ARTIFACT_SIZE = 200 * 1024 + 17;
+
+    private final byte[] content = new byte[ARTIFACT_SIZE];
+
+    private File file;
+
+    private Artifact artifact;
+
+    @Before
+    public void setUp() throws IOException {
+        new Random(42).nextBytes(content);
+        file = File.createTempFile("artifact", ".bin");
+        Files.write(file.toPath(), content);
+
+        artifact = mock(Artifact.class);
+        when(artifact.getSha1Hash()).thenReturn("sha1");
+        when(artifact.getFilename()).thenReturn("artifact.bin");
+        when(artifact.getCreatedAt()).thenReturn(System.currentTimeMillis());
+        when(artifact.getSize()).thenReturn((long) ARTIFACT_SIZE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Test
+    @Description("Verifies that a full download of a seekable artifact is identical to the stream based download.")
+    public void fullDownloadOfSeekableArtifact() throws IOException {
+        final MockHttpServletResponse stream = download(streamArtifact(), null);
+        final MockHttpServletResponse seekable = download(seekableArtifact(), null);
+
+        assertThat(seekable.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(seekable.getContentAsByteArray()).isEqualTo(content);
+        assertThat(seekable.getContentAsByteArray()).isEqualTo(stream.getContentAsByteArray());
+    }
+
+    @Test
+    @Description("Verifies that a single range of a seekable artifact is read from the requested offset.")
+    public void rangeDownloadOfSeekableArtifact() throws IOException {
+        final MockHttpServletResponse stream = download(streamArtifact(), "bytes=100000-");
+        final MockHttpServletResponse seekable = download(seekableArtifact(), "bytes=100000-");
+
+        assertThat(seekable.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(seekable.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 100000, ARTIFACT_SIZE));
+        assertThat(seekable.getContentAsByteArray()).isEqualTo(stream.getContentAsByteArray());
+    }
+
+    @Test
+    @Description("Verifies that a multipart range request of a seekable artifact is identical to the stream based download.")
+    public void multipartRangeDownloadOfSeekableArtifact() throws IOException {
+        final String ranges = "bytes=0-99,70000-140000,-500";
+        final MockHttpServletResponse stream = download(streamArtifact(), ranges);
+        final MockHttpServletResponse seekable = download(seekableArtifact(), ranges);
+
+        assertThat(seekable.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(seekable.getContentAsByteArray()).isEqualTo(stream.getContentAsByteArray());
+    }
+
+    private MockHttpServletResponse download(final DbArtifact dbArtifact, final String range) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        if (range != null) {
+            request.addHeader("Range", range);
+        }
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final HttpStatus status = RestResourceConversionHelper
+                .writeFileResponse(artifact, response, request, dbArtifact).getStatusCode();
+        response.setStatus(status.value());
+        return response;
+    }
+
+    private DbArtifact streamArtifact() {
+        // like the GridFS artifact a new stream is opened on every call
+        final DbArtifact dbArtifact = new DbArtifact() {
+            @Override
+            public InputStream getFileInputStream() {
+                return new ByteArrayInputStream(content);
+            }
+        };
+        dbArtifact.setSize((long) ARTIFACT_SIZE);
+        return dbArtifact;
+    }
+
+    private DbArtifact seekableArtifact() {
+        final FileArtifact dbArtifact = new FileArtifact(file);
+        dbArtifact.setSize((long) ARTIFACT_SIZE);
+        return dbArtifact;
+    }
+
+    private static final class FileArtifact extends DbArtifact implements SeekableDbArtifact {
+        private final File file;
+
+        private FileArtifact(final File file) {
+            this.file = file;
+        }
+
+        @Override
+        public SeekableByteChannel openChannel() throws IOException {
+            return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        }
+    }
+}
@@ -8,11 +8,10 @@
  */
 package org.eclipse.hawkbit.security;
 
-import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.hawkbit.security.SecurityConstants.SECURITY_LOG_PREFIX;
 
 import java.io.IOException;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.servlet.FilterChain;
@@ -20,6 +19,8 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.eclipse.hawkbit.security.HawkbitSecurityProperties.Dos.Filter;
+import org.eclipse.hawkbit.security.RequestRateLimiter.RequestType;
 import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,13 +28,11 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-
 /**
  * Filter for protection against denial of service attacks. It reduces the
  * maximum number of request per seconds which can be separately configured for
- * read (GET) and write (PUT/POST/DELETE) requests.
+ * read (GET), write (PUT/POST/DELETE) and download requests, see
+ * {@link RequestRateLimiter}.
  */
 public class DosFilter extends OncePerRequestFilter {
 
@@ -41,16 +40,11 @@ public class DosFilter extends OncePerRequestFilter {
     private static final Logger LOG_DOS = LoggerFactory.getLogger(SECURITY_LOG_PREFIX + ".dos");
     private static final Logger LOG_BLACKLIST = LoggerFactory.getLogger(SECURITY_LOG_PREFIX + ".blacklist");
 
-    private final Pattern ipAdressBlacklist;
-
-    private final Cache<String, AtomicInteger> readCountCache = CacheBuilder.newBuilder().expireAfterAccess(1, SECONDS)
-            .build();
+    private static final Pattern CONTROLLER_PATH = Pattern.compile("^/([^/]+)/controller/");
 
-    private final Cache<String, AtomicInteger> writeCountCache = CacheBuilder.newBuilder().expireAfterAccess(1, SECONDS)
-            .build();
+    private final Pattern ipAdressBlacklist;
 
-    private final Integer maxRead;
-    private final Integer maxWrite;
+    private final RequestRateLimiter rateLimiter;
 
     private final Pattern whitelist;
 
@@ -76,9 +70,28 @@ public class DosFilter extends OncePerRequestFilter {
      */
     public DosFilter(final Integer maxRead, final Integer maxWrite, final String ipDosWhiteListPattern,
             final String ipBlackListPattern, final String forwardHeader) {
+        this(new RequestRateLimiter(limits(maxRead, maxWrite)), ipDosWhiteListPattern, ipBlackListPattern,
+                forwardHeader);
+    }
 
-        this.maxRead = maxRead;
-        this.maxWrite = maxWrite;
+    /**
+     * Filter constructor including configuration.
+     *
+     * @param rateLimiter
+     *            which limits the requests per client
+     * @param ipDosWhiteListPattern
+     *            {@link Pattern} with with white list of peer IP addresses for
+     *            DOS filter
+     * @param ipBlackListPattern
+     *            {@link Pattern} with black listed IP addresses
+     * @param forwardHeader
+     *            the header containing the forwarded IP address e.g.
+     *            {@code x-forwarded-for}
+     */
+    public DosFilter(final RequestRateLimiter rateLimiter, final String ipDosWhiteListPattern,
+            final String ipBlackListPattern, final String forwardHeader) {
+
+        this.rateLimiter = rateLimiter;
         this.forwardHeader = forwardHeader;
 
         if (ipBlackListPattern != null && !ipBlackListPattern.isEmpty()) {
@@ -94,6 +107,14 @@ public class DosFilter extends OncePerRequestFilter {
         }
     }
 
+    private static Filter limits(final Integer maxRead, final Integer maxWrite) {
+        final Filter limits = new Filter();
+        limits.setMaxRead(maxRead);
+        limits.setMaxWrite(maxWrite);
+        limits.setMaxDownload(maxRead);
+        return limits;
+    }
+
     @Override
     protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
             final FilterChain filterChain) throws ServletException, IOException {
@@ -108,14 +129,7 @@ public class DosFilter extends OncePerRequestFilter {
             processChain = checkAgainstBlacklist(response, ip);
 
             if (processChain && (whitelist == null || !whitelist.matcher(ip).find())) {
-                // read request
-                if (HttpMethod.valueOf(request.getMethod()) == HttpMethod.GET) {
-                    processChain = handleReadRequest(response, ip);
-                }
-                // write request
-                else {
-                    processChain = handleWriteRequest(response, ip);
-                }
+                processChain = handleRequest(request, response, ip);
             }
         }
 
@@ -147,35 +161,33 @@ public class DosFilter extends OncePerRequestFilter {
         return false;
     }
 
-    private boolean handleWriteRequest(final HttpServletResponse response, final String ip) {
-        boolean processChain = true;
-        final AtomicInteger count = writeCountCache.getIfPresent(ip);
-
-        if (count == null) {
-            writeCountCache.put(ip, new AtomicInteger());
-        } else if (count.getAndIncrement() > maxWrite) {
-            LOG_DOS.info("Registered DOS attack! Client {} is above configured WRITE request threshold ({})!", ip,
-                    maxWrite);
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            processChain = false;
+    private boolean handleRequest(final HttpServletRequest request, final HttpServletResponse response,
+            final String ip) {
+        final boolean read = HttpMethod.valueOf(request.getMethod()) == HttpMethod.GET;
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        final Matcher controllerPath = CONTROLLER_PATH.matcher(path);
+
+        final RequestType type;
+        final String tenant;
+        if (controllerPath.find()) {
+            tenant = controllerPath.group(1);
+            if (!read) {
+                type = RequestType.DDI_WRITE;
+            } else if (path.contains("/artifacts/")) {
+                type = RequestType.DDI_DOWNLOAD;
+            } else {
+                type = RequestType.DDI_READ;
+            }
+        } else {
+            tenant = null;
+            type = read ? RequestType.MGMT_READ : RequestType.MGMT_WRITE;
         }
 
-        return processChain;
-    }
-
-    private boolean handleReadRequest(final HttpServletResponse response, final String ip) {
-        boolean processChain = true;
-        final AtomicInteger count = readCountCache.getIfPresent(ip);
-
-        if (count == null) {
-            readCountCache.put(ip, new AtomicInteger());
-        } else if (count.getAndIncrement() > maxRead) {
-            LOG_DOS.info("Registered DOS attack! Client {} is above configured READ request threshold ({})!", ip,
-                    maxRead);
+        if (!rateLimiter.tryAcquire(type, tenant, ip)) {
+            LOG_DOS.info("Registered DOS attack! Client {} is above configured {} request threshold!", ip, type);
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            processChain = false;
+            return false;
         }
-
-        return processChain;
+        return true;
     }
 }
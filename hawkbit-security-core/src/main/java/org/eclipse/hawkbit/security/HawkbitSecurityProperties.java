@@ -8,6 +8,9 @@
  */
 package org.eclipse.hawkbit.security;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -141,6 +144,25 @@ public class HawkbitSecurityProperties {
              */
             int maxWrite = 50;
 
+            /**
+             * Maximum number of allowed DDI artifact download requests per
+             * second per client.
+             */
+            int maxDownload = 50;
+
+            /**
+             * Number of clients the filter keeps track of per request type.
+             * The least active clients are dropped first if more clients are
+             * active.
+             */
+            int maxClients = 65536;
+
+            /**
+             * Limits of the DDI requests of single tenants which override the
+             * global ones, by tenant.
+             */
+            private final Map<String, Limits> tenants = new HashMap<>();
+
             public String getWhitelist() {
                 return whitelist;
             }
@@ -165,6 +187,63 @@ public class HawkbitSecurityProperties {
                 this.maxWrite = maxWrite;
             }
 
+            public int getMaxDownload() {
+                return maxDownload;
+            }
+
+            public void setMaxDownload(final int maxDownload) {
+                this.maxDownload = maxDownload;
+            }
+
+            public int getMaxClients() {
+                return maxClients;
+            }
+
+            public void setMaxClients(final int maxClients) {
+                this.maxClients = maxClients;
+            }
+
+            public Map<String, Limits> getTenants() {
+                return tenants;
+            }
+
+            /**
+             * Request limits of a tenant, <code>null</code> for the global
+             * limit.
+             */
+            public static class Limits {
+
+                private Integer maxRead;
+
+                private Integer maxWrite;
+
+                private Integer maxDownload;
+
+                public Integer getMaxRead() {
+                    return maxRead;
+                }
+
+                public void setMaxRead(final Integer maxRead) {
+                    this.maxRead = maxRead;
+                }
+
+                public Integer getMaxWrite() {
+                    return maxWrite;
+                }
+
+                public void setMaxWrite(final Integer maxWrite) {
+                    this.maxWrite = maxWrite;
+                }
+
+                public Integer getMaxDownload() {
+                    return maxDownload;
+                }
+
+                public void setMaxDownload(final Integer maxDownload) {
+                    this.maxDownload = maxDownload;
+                }
+            }
+
         }
     }
 }
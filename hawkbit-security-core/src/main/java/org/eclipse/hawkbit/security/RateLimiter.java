@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free rate limiter for a large number of clients with a fixed memory
+ * footprint. Every client has a token bucket with a capacity of one second of
+ * requests, implemented by the generic cell rate algorithm, i.e. the state of
+ * a client is a single theoretical arrival time which is updated by compare
+ * and set.
+ *
+ * The clients are identified by a 64 bit key and stored in an open addressing
+ * table of fixed size. If all slots that are probed for a new client are in
+ * use the slot of the least active client is taken over. That client starts
+ * with a full bucket when it comes back.
+ */
+public class RateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final int MAX_PROBES = 8;
+
+    private static final long EMPTY = 0L;
+
+    private final AtomicLongArray keys;
+
+    // theoretical arrival time of the next request per slot, relative to the
+    // creation of the limiter so that 0 is always in the past
+    private final AtomicLongArray arrivals;
+
+    private final int mask;
+
+    private final long origin = System.nanoTime();
+
+    private final LongAdder allowed = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    private final LongAdder evicted = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            number of clients that are tracked, rounded up to the next
+     *            power of two
+     */
+    public RateLimiter(final int capacity) {
+        final int size = Integer.highestOneBit(Math.max(capacity, MAX_PROBES) - 1) << 1;
+        keys = new AtomicLongArray(size);
+        arrivals = new AtomicLongArray(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Acquires a permit for a request of the given client.
+     *
+     * @param key
+     *            of the client
+     * @param permitsPerSecond
+     *            the allowed number of requests per second of the client,
+     *            <code>0</code> or less for no limit
+     * @return <code>true</code> if the request is allowed
+     */
+    public boolean tryAcquire(final long key, final int permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            return true;
+        }
+        return tryAcquire(key, permitsPerSecond, System.nanoTime() - origin);
+    }
+
+    boolean tryAcquire(final long key, final int permitsPerSecond, final long now) {
+        final long interval = NANOS_PER_SECOND / permitsPerSecond;
+        final long tolerance = NANOS_PER_SECOND - interval;
+        final int slot = slotOf(key == EMPTY ? 1L : key);
+
+        for (;;) {
+            final long arrival = arrivals.get(slot);
+            final long next = Math.max(arrival, now);
+            if (next - now > tolerance) {
+                throttled.increment();
+                return false;
+            }
+            if (arrivals.compareAndSet(slot, arrival, next + interval)) {
+                allowed.increment();
+                return true;
+            }
+        }
+    }
+
+    private int slotOf(final long key) {
+        final int start = spread(key) & mask;
+        int victim = start;
+        long victimArrival = Long.MAX_VALUE;
+
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            final int slot = (start + probe) & mask;
+            final long current = keys.get(slot);
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                if (keys.compareAndSet(slot, EMPTY, key) || keys.get(slot) == key) {
+                    return slot;
+                }
+                continue;
+            }
+            final long arrival = arrivals.get(slot);
+            if (arrival < victimArrival) {
+                victim = slot;
+                victimArrival = arrival;
+            }
+        }
+
+        // all probed slots are in use, take over the one with the oldest
+        // arrival, i.e. the most idle client
+        final long previous = keys.get(victim);
+        if (previous != key && keys.compareAndSet(victim, previous, key)) {
+            arrivals.set(victim, 0L);
+            evicted.increment();
+        }
+        return victim;
+    }
+
+    private static int spread(final long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Computes the key of a client, e.g. the IP address, combined with a
+     * scope such as the tenant. Avoids an allocation per request.
+     *
+     * @param scope
+     *            of the client, might be <code>null</code>
+     * @param client
+     *            identifier
+     * @return the 64 bit key
+     */
+    public static long keyOf(final String scope, final String client) {
+        // FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        if (scope != null) {
+            for (int i = 0; i < scope.length(); i++) {
+                hash = (hash ^ Character.toUpperCase(scope.charAt(i))) * 0x100000001b3L;
+            }
+        }
+        hash = (hash ^ '/') * 0x100000001b3L;
+        for (int i = 0; i < client.length(); i++) {
+            hash = (hash ^ client.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * @return number of slots of the table, i.e. the maximum number of
+     *         tracked clients
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return number of allowed requests
+     */
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    /**
+     * @return number of throttled requests
+     */
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    /**
+     * @return number of clients which have been replaced by another client
+     *         as the table has been full
+     */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.eclipse.hawkbit.security.HawkbitSecurityProperties.Dos.Filter;
+import org.eclipse.hawkbit.security.HawkbitSecurityProperties.Dos.Filter.Limits;
+
+/**
+ * Limits the requests per second of the clients by {@link RequestType}. Every
+ * request type has its own {@link RateLimiter}, i.e. the downloads of a
+ * client do not count against its polls. The limits of the DDI requests can
+ * be overridden per tenant, in that case the clients are tracked per tenant
+ * as well.
+ */
+public class RequestRateLimiter {
+
+    /**
+     * The type of a request with its own limit.
+     */
+    public enum RequestType {
+        /**
+         * Read (GET) requests of the DDI API, i.e. polls.
+         */
+        DDI_READ(Filter::getMaxRead, Limits::getMaxRead),
+
+        /**
+         * Artifact downloads of the DDI API.
+         */
+        DDI_DOWNLOAD(Filter::getMaxDownload, Limits::getMaxDownload),
+
+        /**
+         * Write (PUT/POST/etc.) requests of the DDI API, i.e. feedback.
+         */
+        DDI_WRITE(Filter::getMaxWrite, Limits::getMaxWrite),
+
+        /**
+         * Read (GET) requests of the management API.
+         */
+        MGMT_READ(Filter::getMaxRead, null),
+
+        /**
+         * Write (PUT/POST/etc.) requests of the management API.
+         */
+        MGMT_WRITE(Filter::getMaxWrite, null);
+
+        private final Function<Filter, Integer> globalLimit;
+        private final Function<Limits, Integer> tenantLimit;
+
+        RequestType(final Function<Filter, Integer> globalLimit, final Function<Limits, Integer> tenantLimit) {
+            this.globalLimit = globalLimit;
+            this.tenantLimit = tenantLimit;
+        }
+    }
+
+    private final Map<RequestType, RateLimiter> limiters = new EnumMap<>(RequestType.class);
+
+    private final Map<RequestType, Integer> globalLimits = new EnumMap<>(RequestType.class);
+
+    private final Map<String, Limits> tenantLimits = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * Constructor.
+     *
+     * @param properties
+     *            the filter configuration with the limits
+     */
+    public RequestRateLimiter(final Filter properties) {
+        for (final RequestType type : RequestType.values()) {
+            limiters.put(type, new RateLimiter(properties.getMaxClients()));
+            globalLimits.put(type, type.globalLimit.apply(properties));
+        }
+        tenantLimits.putAll(properties.getTenants());
+    }
+
+    /**
+     * Acquires a permit for a request of the given client.
+     *
+     * @param type
+     *            of the request
+     * @param tenant
+     *            of the request, <code>null</code> if unknown
+     * @param client
+     *            the IP address of the client
+     * @return <code>true</code> if the request is allowed
+     */
+    public boolean tryAcquire(final RequestType type, final String tenant, final String client) {
+        final Integer limit = tenantLimit(type, tenant);
+        if (limit != null) {
+            return limiters.get(type).tryAcquire(RateLimiter.keyOf(tenant, client), limit);
+        }
+        return limiters.get(type).tryAcquire(RateLimiter.keyOf(null, client), globalLimits.get(type));
+    }
+
+    private Integer tenantLimit(final RequestType type, final String tenant) {
+        if (tenant == null || type.tenantLimit == null || tenantLimits.isEmpty()) {
+            return null;
+        }
+        final Limits limits = tenantLimits.get(tenant);
+        return limits != null ? type.tenantLimit.apply(limits) : null;
+    }
+
+    /**
+     * @param type
+     *            of the request
+     * @return the limit of the type configured for all tenants
+     */
+    public int getLimit(final RequestType type) {
+        return globalLimits.get(type);
+    }
+
+    /**
+     * @param type
+     *            of the request
+     * @return the {@link RateLimiter} of the type for statistics
+     */
+    public RateLimiter getRateLimiter(final RequestType type) {
+        return limiters.get(type);
+    }
+}
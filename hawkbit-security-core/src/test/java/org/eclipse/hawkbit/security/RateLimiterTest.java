@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Security")
+@Stories("Rate Limiter")
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @Description("Verifies that a client gets the configured number of requests per second and is throttled above.")
+    public void clientIsThrottledAboveLimit() {
+        final RateLimiter limiter = new RateLimiter(16);
+        final long client = RateLimiter.keyOf(null, "10.0.0.1");
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(client, 10, SECOND)).as("request " + i).isTrue();
+        }
+        assertThat(limiter.tryAcquire(client, 10, SECOND)).isFalse();
+        assertThat(limiter.getThrottled()).isEqualTo(1);
+
+        // the bucket refills with the configured rate
+        assertThat(limiter.tryAcquire(client, 10, SECOND + SECOND / 10)).isTrue();
+        assertThat(limiter.tryAcquire(client, 10, SECOND + SECOND / 10)).isFalse();
+    }
+
+    @Test
+    @Description("Verifies that a client that keeps polling below the limit is never throttled.")
+    public void continuousLoadBelowLimitIsAllowed() {
+        final RateLimiter limiter = new RateLimiter(16);
+        final long client = RateLimiter.keyOf(null, "10.0.0.1");
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.tryAcquire(client, 10, SECOND + i * (SECOND / 9))).isTrue();
+        }
+        assertThat(limiter.getThrottled()).isEqualTo(0);
+    }
+
+    @Test
+    @Description("Verifies that clients are tracked independently and by tenant and that the table stays bounded "
+            + "with more clients than slots.")
+    public void clientsAreIndependentAndTableIsBounded() {
+        final RateLimiter limiter = new RateLimiter(64);
+        final long client = RateLimiter.keyOf("tenant", "10.0.0.1");
+
+        assertThat(limiter.tryAcquire(client, 1, SECOND)).isTrue();
+        assertThat(limiter.tryAcquire(client, 1, SECOND)).isFalse();
+        assertThat(limiter.tryAcquire(RateLimiter.keyOf("other", "10.0.0.1"), 1, SECOND)).isTrue();
+        assertThat(limiter.tryAcquire(RateLimiter.keyOf("tenant", "10.0.0.2"), 1, SECOND)).isTrue();
+        assertThat(RateLimiter.keyOf("TENANT", "10.0.0.1")).isEqualTo(client);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(limiter.tryAcquire(RateLimiter.keyOf(null, "10.1." + i / 256 + "." + i % 256), 1, SECOND))
+                    .isTrue();
+        }
+        assertThat(limiter.capacity()).isEqualTo(64);
+        assertThat(limiter.getEvicted()).isGreaterThan(0);
+    }
+}
@@ -8,12 +8,10 @@
  */
 package org.eclipse.hawkbit.security;
 
-import java.util.Optional;
-
 import org.eclipse.hawkbit.dmf.json.model.TenantSecurityToken;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
-import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetCredentials;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationKey;
 import org.slf4j.Logger;
@@ -68,7 +66,9 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
         if ((authHeader != null) && authHeader.startsWith(TARGET_SECURITY_TOKEN_AUTH_SCHEME)) {
             LOGGER.debug("found authorization header with scheme {} using target security token for authentication",
                     TARGET_SECURITY_TOKEN_AUTH_SCHEME);
-            return new HeaderAuthentication(controllerId, authHeader.substring(OFFSET_TARGET_TOKEN));
+            // compared with the hash of the credentials of the target
+            return new HeaderAuthentication(controllerId,
+                    TargetCredentials.hashSecurityToken(authHeader.substring(OFFSET_TARGET_TOKEN)));
         }
         LOGGER.debug(
                 "security token filter is enabled but requst does not contain either the necessary path variables {} or the authorization header with scheme {}",
@@ -78,31 +78,31 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
 
     @Override
     public HeaderAuthentication getPreAuthenticatedCredentials(final TenantSecurityToken securityToken) {
-        final Target target = systemSecurityContext.runAsSystemAsTenant(() -> {
-            if (securityToken.getTargetId() != null) {
-                return controllerManagement.findByTargetId(securityToken.getTargetId());
-            }
-            return controllerManagement.findByControllerId(securityToken.getControllerId());
-        }, securityToken.getTenant());
-
-        if (target == null) {
+        final TargetCredentials credentials = findCredentials(securityToken);
+        if (credentials == null) {
             return null;
         }
-        final String targetSecurityToken = systemSecurityContext.runAsSystemAsTenant(() -> target.getSecurityToken(),
-                securityToken.getTenant());
-        return new HeaderAuthentication(target.getControllerId(), targetSecurityToken);
+        return new HeaderAuthentication(credentials.getControllerId(), credentials.getSecurityTokenHash());
     }
 
     private String resolveControllerId(final TenantSecurityToken securityToken) {
         if (securityToken.getControllerId() != null) {
             return securityToken.getControllerId();
         }
-        final Optional<Target> foundTarget = Optional.ofNullable(systemSecurityContext.runAsSystemAsTenant(
-                () -> controllerManagement.findByTargetId(securityToken.getTargetId()), securityToken.getTenant()));
-        if (!foundTarget.isPresent()) {
+        final TargetCredentials credentials = findCredentials(securityToken);
+        if (credentials == null) {
             return null;
         }
-        return foundTarget.get().getControllerId();
+        return credentials.getControllerId();
+    }
+
+    private TargetCredentials findCredentials(final TenantSecurityToken securityToken) {
+        return systemSecurityContext.runAsSystemAsTenant(() -> {
+            if (securityToken.getTargetId() != null) {
+                return controllerManagement.findCredentialsByTargetId(securityToken.getTargetId());
+            }
+            return controllerManagement.findCredentialsByControllerId(securityToken.getControllerId());
+        }, securityToken.getTenant());
     }
 
     @Override
@@ -17,11 +17,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.Executor;
 
 import org.eclipse.hawkbit.repository.DeploymentManagement;
@@ -31,6 +34,7 @@ import org.eclipse.hawkbit.repository.TagManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetImportResult;
 import org.eclipse.hawkbit.ui.common.DistributionSetIdName;
 import org.eclipse.hawkbit.ui.common.tagdetails.AbstractTagToken.TagData;
 import org.eclipse.hawkbit.ui.components.HawkbitErrorNotificationMessage;
@@ -202,11 +206,9 @@ public class BulkUploadHandler extends CustomComponent
         }
 
         private void readFileStream(final InputStream tempStream) {
-            String line;
             try (final BufferedReader reader = new BufferedReader(
                     new InputStreamReader(tempStream, Charset.defaultCharset()))) {
                 LOG.info("Bulk file upload started");
-                long innerCounter = 0;
                 final double totalFileSize = getTotalNumberOfLines();
 
                 /**
@@ -215,12 +217,12 @@ public class BulkUploadHandler extends CustomComponent
                  * below event.
                  */
                 eventBus.publish(this, new TargetTableEvent(TargetComponentEvent.BULK_UPLOAD_PROCESS_STARTED));
-                while ((line = reader.readLine()) != null) {
-                    innerCounter++;
-                    readEachLine(line, innerCounter, totalFileSize);
-                }
+                final TargetLineIterator lines = new TargetLineIterator(reader,
+                        HawkbitCommonUtil.trimAndNullIfEmpty(descTextArea.getValue()));
+                targetManagement.importTargets(lines,
+                        result -> onBatchImported(result, lines.getLineCount(), totalFileSize));
 
-            } catch (final IOException e) {
+            } catch (final IOException | UncheckedIOException e) {
                 LOG.error("Error reading file {}", tempFile.getName(), e);
             } catch (final RuntimeException e) {
                 uiInstance.getErrorHandler().error(new ConnectorErrorEvent(uiInstance, e));
@@ -235,6 +237,19 @@ public class BulkUploadHandler extends CustomComponent
             resetCounts();
         }
 
+        private void onBatchImported(final TargetImportResult result, final long lineCount,
+                final double totalFileSize) {
+            final TargetBulkUpload bulkUpload = managementUIState.getTargetTableFilters().getBulkUpload();
+            bulkUpload.getTargetsCreated().addAll(result.getCreated());
+            successfullTargetCount += result.getCreated().size();
+            failedTargetCount += result.getRejected().size();
+
+            bulkUpload.setProgressBarCurrentValue((float) (lineCount / totalFileSize));
+            bulkUpload.setSucessfulUploadCount(successfullTargetCount);
+            bulkUpload.setFailedUploadCount(failedTargetCount);
+            eventBus.publish(this, new TargetTableEvent(TargetComponentEvent.BULK_TARGET_CREATED));
+        }
+
         private void syncCountAfterUpload() {
             if (managementUIState.getTargetTableFilters().getBulkUpload()
                     .getSucessfulUploadCount() != successfullTargetCount) {
@@ -279,29 +294,6 @@ public class BulkUploadHandler extends CustomComponent
             tempFile = null;
         }
 
-        private void readEachLine(final String line, final double innerCounter, final double totalFileSize) {
-            final String csvDelimiter = ",";
-            final String[] targets = line.split(csvDelimiter);
-            if (targets.length == 2) {
-                final String controllerId = targets[0];
-                final String targetName = targets[1];
-                addNewTarget(controllerId, targetName);
-            } else {
-                failedTargetCount++;
-            }
-            final float current = managementUIState.getTargetTableFilters().getBulkUpload()
-                    .getProgressBarCurrentValue();
-            final float next = (float) (innerCounter / totalFileSize);
-            if (Math.abs(next - 0.1) < 0.00001 || current - next >= 0 || next - current >= 0.05
-                    || Math.abs(next - 1) < 0.00001) {
-                managementUIState.getTargetTableFilters().getBulkUpload().setProgressBarCurrentValue(next);
-                managementUIState.getTargetTableFilters().getBulkUpload()
-                        .setSucessfulUploadCount(successfullTargetCount);
-                managementUIState.getTargetTableFilters().getBulkUpload().setFailedUploadCount(failedTargetCount);
-                eventBus.publish(this, new TargetTableEvent(TargetComponentEvent.BULK_TARGET_CREATED));
-            }
-        }
-
         private void doAssignments() {
             final StringBuilder errorMessage = new StringBuilder();
             String dsAssignmentFailedMsg = null;
@@ -390,21 +382,70 @@ public class BulkUploadHandler extends CustomComponent
                 eventBus.publish(this, new BulkUploadValidationMessageEvent(errorMessage.toString()));
             }
         }
+    }
+
+    /**
+     * Reads the targets of the CSV file line by line, lines that are not of
+     * the format <code>controllerId,name</code> are counted as failed.
+     */
+    private class TargetLineIterator implements Iterator<Target> {
+        private final BufferedReader reader;
+        private final String description;
+        private long lineCount;
+        private Target next;
+
+        TargetLineIterator(final BufferedReader reader, final String description) {
+            this.reader = reader;
+            this.description = description;
+        }
 
-        private void addNewTarget(final String controllerId, final String name) {
-            final String newControllerId = HawkbitCommonUtil.trimAndNullIfEmpty(controllerId);
-            if (mandatoryCheck(newControllerId) && duplicateCheck(newControllerId)) {
-                final String newName = HawkbitCommonUtil.trimAndNullIfEmpty(name);
-                final String newDesc = HawkbitCommonUtil.trimAndNullIfEmpty(descTextArea.getValue());
-
-                /* create new target entity */
-                final Target newTarget = entityFactory.generateTarget(newControllerId);
-                setTargetValues(newTarget, newName, newDesc);
-                targetManagement.createTarget(newTarget);
-                managementUIState.getTargetTableFilters().getBulkUpload().getTargetsCreated().add(newControllerId);
-                successfullTargetCount++;
+        long getLineCount() {
+            return lineCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                final String line = readLine();
+                if (line == null) {
+                    return false;
+                }
+                lineCount++;
+                next = parseLine(line);
             }
+            return true;
+        }
 
+        @Override
+        public Target next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Target target = next;
+            next = null;
+            return target;
+        }
+
+        private String readLine() {
+            try {
+                return reader.readLine();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Target parseLine(final String line) {
+            final String[] values = line.split(",");
+            final String controllerId = values.length == 2 ? HawkbitCommonUtil.trimAndNullIfEmpty(values[0]) : null;
+            if (controllerId == null) {
+                failedTargetCount++;
+                return null;
+            }
+
+            /* create new target entity */
+            final Target target = entityFactory.generateTarget(controllerId);
+            setTargetValues(target, HawkbitCommonUtil.trimAndNullIfEmpty(values[1]), description);
+            return target;
         }
     }
 
@@ -418,25 +459,6 @@ public class BulkUploadHandler extends CustomComponent
         target.setDescription(description);
     }
 
-    private boolean mandatoryCheck(final String newControlllerId) {
-        if (newControlllerId == null) {
-            failedTargetCount++;
-            return false;
-        } else {
-            return true;
-        }
-    }
-
-    private boolean duplicateCheck(final String newControlllerId) {
-        final Target existingTarget = targetManagement.findTargetByControllerID(newControlllerId.trim());
-        if (existingTarget != null) {
-            failedTargetCount++;
-            return false;
-        } else {
-            return true;
-        }
-    }
-
     private static class NullOutputStream extends OutputStream {
         /**
          * null output stream.
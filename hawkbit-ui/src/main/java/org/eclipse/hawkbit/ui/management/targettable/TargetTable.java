@@ -57,6 +57,7 @@ import org.eclipse.hawkbit.ui.push.CancelTargetAssignmentEventContainer;
 import org.eclipse.hawkbit.ui.push.TargetCreatedEventContainer;
 import org.eclipse.hawkbit.ui.push.TargetDeletedEventContainer;
 import org.eclipse.hawkbit.ui.push.TargetUpdatedEventContainer;
+import org.eclipse.hawkbit.ui.push.TargetsCreatedEventContainer;
 import org.eclipse.hawkbit.ui.utils.AssignInstalledDSTooltipGenerator;
 import org.eclipse.hawkbit.ui.utils.HawkbitCommonUtil;
 import org.eclipse.hawkbit.ui.utils.SPDateTimeUtil;
@@ -190,6 +191,11 @@ public class TargetTable extends AbstractTable<Target, TargetIdName> {
         refreshTargets();
     }
 
+    @EventBusListenerMethod(scope = EventScope.SESSION)
+    void onTargetsCreatedEvents(final TargetsCreatedEventContainer holder) {
+        refreshTargets();
+    }
+
     @EventBusListenerMethod(scope = EventScope.SESSION)
     void onEvent(final DragEvent dragEvent) {
         if (dragEvent == DragEvent.TARGET_TAG_DRAG || dragEvent == DragEvent.DISTRIBUTION_DRAG) {
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ui.push;
+
+import java.util.List;
+
+import org.eclipse.hawkbit.repository.event.remote.TargetsCreatedEvent;
+
+/**
+ * EventHolder for {@link TargetsCreatedEvent}s.
+ *
+ */
+public class TargetsCreatedEventContainer implements EventContainer<TargetsCreatedEvent> {
+    private final List<TargetsCreatedEvent> events;
+
+    TargetsCreatedEventContainer(final List<TargetsCreatedEvent> events) {
+        this.events = events;
+    }
+
+    @Override
+    public List<TargetsCreatedEvent> getEvents() {
+        return events;
+    }
+
+}
@@ -0,0 +1,299 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ui.push;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.event.TenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
+import org.eclipse.hawkbit.ui.push.event.RolloutChangeEvent;
+import org.eclipse.hawkbit.ui.push.event.RolloutGroupChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Collects the repository events for the UI once per tenant and dispatches
+ * them periodically to all subscribed UIs of the tenant, see
+ * {@link DelayedEventBusPushStrategy}.
+ *
+ * Events of the same entity are merged within a dispatch period, i.e. only
+ * the latest event per entity and event type is dispatched. The events of a
+ * tenant are grouped into their {@link EventContainer}s once per period and
+ * the same containers are published to every UI of the tenant.
+ */
+public class UIEventDispatcher implements ApplicationListener<ApplicationEvent>, InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UIEventDispatcher.class);
+
+    static final int MAX_PENDING_EVENTS = 10_000;
+
+    private final Map<String, Map<Object, TenantAwareEvent>> pending = new ConcurrentHashMap<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Map<Class<?>, Function<List<TenantAwareEvent>, EventContainer<TenantAwareEvent>>> containers = new HashMap<>();
+
+    private final ScheduledExecutorService executorService;
+
+    private ScheduledFuture<?> jobHandle;
+
+    /**
+     * A UI which receives the events of its tenant.
+     */
+    public interface Subscriber {
+
+        /**
+         * @return the tenant of the UI or <code>null</code> if the UI has no
+         *         authenticated user
+         */
+        String getTenant();
+
+        /**
+         * Publishes the events to the UI. Called by the dispatcher thread,
+         * i.e. the implementation must not block.
+         *
+         * @param events
+         *            the grouped events of the tenant of the UI
+         */
+        void dispatch(List<EventContainer<TenantAwareEvent>> events);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param eventProvider
+     *            with the supported events and their containers
+     * @param executorService
+     *            to run the periodic dispatch
+     */
+    @SuppressWarnings("unchecked")
+    public UIEventDispatcher(final UIEventProvider eventProvider, final ScheduledExecutorService executorService) {
+        this.executorService = executorService;
+
+        eventProvider.getEvents().forEach((eventType, containerType) -> {
+            try {
+                final Constructor<EventContainer<TenantAwareEvent>> constructor = (Constructor<EventContainer<TenantAwareEvent>>) containerType
+                        .getDeclaredConstructor(List.class);
+                constructor.setAccessible(true);
+                containers.put(eventType, events -> newContainer(constructor, events));
+            } catch (final NoSuchMethodException e) {
+                LOG.error("Event container {} has no list constructor, events {} are not pushed to the UI!",
+                        containerType, eventType, e);
+            }
+        });
+    }
+
+    private static EventContainer<TenantAwareEvent> newContainer(
+            final Constructor<EventContainer<TenantAwareEvent>> constructor, final List<TenantAwareEvent> events) {
+        try {
+            return constructor.newInstance(events);
+        } catch (final ReflectiveOperationException e) {
+            LOG.error("Failed to create EventHolder!", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        jobHandle = executorService.scheduleWithFixedDelay(this::dispatch, 10_000, 1_000, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (jobHandle != null) {
+            jobHandle.cancel(true);
+        }
+    }
+
+    /**
+     * Subscribes a UI for the events of its tenant.
+     *
+     * @param subscriber
+     *            of the UI
+     */
+    public void subscribe(final Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Removes the subscription of a UI.
+     *
+     * @param subscriber
+     *            of the UI
+     */
+    public void unsubscribe(final Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * An application event publisher subscriber which collects the
+     * {@link TenantAwareEvent}s from the repository for the UI.
+     *
+     * @param applicationEvent
+     *            the entity event which has been published from the repository
+     */
+    @Override
+    public void onApplicationEvent(final ApplicationEvent applicationEvent) {
+        if (!(applicationEvent instanceof TenantAwareEvent)) {
+            return;
+        }
+
+        final TenantAwareEvent event = (TenantAwareEvent) applicationEvent;
+        if (event.getTenant() == null) {
+            return;
+        }
+
+        collectRolloutEvent(event);
+        // to dispatch too many events which are not interested on the UI
+        if (!containers.containsKey(event.getClass())) {
+            LOG.trace("Event is not supported in the UI!!! Dropped event is {}", event);
+            return;
+        }
+        offerEvent(event);
+    }
+
+    private void collectRolloutEvent(final TenantAwareEvent event) {
+        Long rolloutId = null;
+        Long rolloutGroupId = null;
+        if (event instanceof AbstractActionEvent) {
+            rolloutId = ((AbstractActionEvent) event).getRolloutId();
+            rolloutGroupId = ((AbstractActionEvent) event).getRolloutGroupId();
+        } else if (event instanceof RolloutUpdatedEvent) {
+            rolloutId = ((RolloutUpdatedEvent) event).getEntityId();
+        } else if (event instanceof RolloutGroupCreatedEvent) {
+            rolloutId = ((RolloutGroupCreatedEvent) event).getRolloutId();
+            rolloutGroupId = ((RolloutGroupCreatedEvent) event).getEntityId();
+        } else if (event instanceof RolloutGroupUpdatedEvent) {
+            rolloutId = ((RolloutGroupUpdatedEvent) event).getRolloutId();
+            rolloutGroupId = ((RolloutGroupUpdatedEvent) event).getEntityId();
+        }
+
+        if (rolloutId == null) {
+            return;
+        }
+        offerEvent(new RolloutChangeEvent(event.getTenant(), rolloutId));
+
+        if (rolloutGroupId != null) {
+            offerEvent(new RolloutGroupChangeEvent(event.getTenant(), rolloutId, rolloutGroupId));
+        }
+    }
+
+    private void offerEvent(final TenantAwareEvent event) {
+        pending.compute(event.getTenant().toUpperCase(), (tenant, events) -> {
+            final Map<Object, TenantAwareEvent> queued = events != null ? events : new LinkedHashMap<>();
+            final Object key = keyOf(event);
+            if (queued.size() < MAX_PENDING_EVENTS || queued.containsKey(key)) {
+                // replace an older event of the same entity but keep its
+                // position
+                queued.put(key, event);
+            } else {
+                LOG.warn("Event limit is reached, cannot add more events!!! Dropped event is {}", event);
+            }
+            return queued;
+        });
+    }
+
+    private static Object keyOf(final TenantAwareEvent event) {
+        if (event instanceof RemoteIdEvent && ((RemoteIdEvent) event).getEntityId() != null) {
+            return new EntityKey(event.getClass(), ((RemoteIdEvent) event).getEntityId());
+        }
+        // the UI events are compared by their content, others by identity
+        return event;
+    }
+
+    private void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        final long timestamp = System.currentTimeMillis();
+        final Map<String, List<EventContainer<TenantAwareEvent>>> snapshots = new HashMap<>();
+        for (final String tenant : new ArrayList<>(pending.keySet())) {
+            // the map is only modified within compute, so after the removal it
+            // is owned by this thread and new events go into a new map
+            final Map<Object, TenantAwareEvent> events = pending.remove(tenant);
+            if (events != null && !events.isEmpty()) {
+                snapshots.put(tenant, groupEvents(events.values()));
+            }
+        }
+
+        for (final Subscriber subscriber : subscribers) {
+            final String tenant = subscriber.getTenant();
+            final List<EventContainer<TenantAwareEvent>> events = tenant != null
+                    ? snapshots.get(tenant.toUpperCase()) : null;
+            if (events == null) {
+                continue;
+            }
+            try {
+                subscriber.dispatch(events);
+            } catch (final RuntimeException e) {
+                LOG.warn("Failed to dispatch events to UI {}", subscriber, e);
+            }
+        }
+
+        LOG.debug("UI event dispatcher sent events of {} tenants to {} UIs in {} ms", snapshots.size(),
+                subscribers.size(), System.currentTimeMillis() - timestamp);
+    }
+
+    private List<EventContainer<TenantAwareEvent>> groupEvents(final Collection<TenantAwareEvent> events) {
+        return Collections.unmodifiableList(events.stream()
+                .collect(Collectors.groupingBy(TenantAwareEvent::getClass, LinkedHashMap::new, Collectors.toList()))
+                .entrySet().stream().map(entry -> containers.get(entry.getKey()).apply(entry.getValue()))
+                .filter(container -> container != null).collect(Collectors.toList()));
+    }
+
+    private static final class EntityKey {
+        private final Class<?> type;
+        private final Long entityId;
+
+        private EntityKey(final Class<?> type, final Long entityId) {
+            this.type = type;
+            this.entityId = entityId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + entityId.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof EntityKey)) {
+                return false;
+            }
+            final EntityKey other = (EntityKey) obj;
+            return entityId.equals(other.entityId) && type.equals(other.type);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ui.push;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.event.TenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetTagDeletedEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Management UI")
+@Stories("UI event dispatcher")
+@RunWith(MockitoJUnitRunner.class)
+public class UIEventDispatcherTest {
+
+    private static final String TENANT_A = "tenantA";
+
+    private static final String TENANT_B = "tenantB";
+
+    @Mock
+    private ScheduledExecutorService executorService;
+
+    private UIEventDispatcher dispatcher;
+
+    private Runnable dispatch;
+
+    @Before
+    public void setup() {
+        dispatcher = new UIEventDispatcher(new HawkbitEventProvider(), executorService);
+        dispatcher.afterPropertiesSet();
+
+        final ArgumentCaptor<Runnable> job = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).scheduleWithFixedDelay(job.capture(), anyLong(), anyLong(), any(TimeUnit.class));
+        dispatch = job.getValue();
+    }
+
+    @Test
+    @Description("Verifies that events of the same entity are merged and dispatched once to every UI of their tenant only.")
+    public void eventsAreMergedAndDispatchedToTheirTenant() {
+        final RecordingSubscriber uiA1 = subscribe(TENANT_A);
+        final RecordingSubscriber uiA2 = subscribe(TENANT_A.toUpperCase());
+        final RecordingSubscriber uiB = subscribe(TENANT_B);
+
+        dispatcher.onApplicationEvent(new TargetDeletedEvent(TENANT_A, 1L, "node"));
+        dispatcher.onApplicationEvent(new TargetDeletedEvent(TENANT_A, 1L, "node"));
+        dispatcher.onApplicationEvent(new TargetDeletedEvent(TENANT_A, 2L, "node"));
+        // same entity ID, but another entity type
+        dispatcher.onApplicationEvent(new TargetTagDeletedEvent(TENANT_A, 1L, "node"));
+        dispatcher.onApplicationEvent(new TargetDeletedEvent(TENANT_B, 1L, "node"));
+        dispatch.run();
+
+        assertThat(uiA1.entityIds(TargetDeletedEvent.class)).containsExactly(1L, 2L);
+        assertThat(uiA1.entityIds(TargetTagDeletedEvent.class)).containsExactly(1L);
+        assertThat(uiA2.events).isEqualTo(uiA1.events);
+        assertThat(uiB.entityIds(TargetDeletedEvent.class)).containsExactly(1L);
+        assertThat(uiB.entityIds(TargetTagDeletedEvent.class)).isEmpty();
+
+        // nothing is dispatched again without new events
+        dispatch.run();
+        assertThat(uiA1.dispatches).isEqualTo(1);
+        assertThat(uiB.dispatches).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that unsubscribed UIs and UIs without a tenant receive no events.")
+    public void unsubscribedUisReceiveNoEvents() {
+        final RecordingSubscriber unsubscribed = subscribe(TENANT_A);
+        final RecordingSubscriber anonymous = subscribe(null);
+        dispatcher.unsubscribe(unsubscribed);
+
+        dispatcher.onApplicationEvent(new TargetDeletedEvent(TENANT_A, 1L, "node"));
+        dispatch.run();
+
+        assertThat(unsubscribed.dispatches).isEqualTo(0);
+        assertThat(anonymous.dispatches).isEqualTo(0);
+    }
+
+    @Test
+    @Description("Verifies that events beyond the limit of pending events of a tenant are dropped, while events of already pending entities are still merged.")
+    public void eventsBeyondLimitAreDropped() {
+        final RecordingSubscriber ui = subscribe(TENANT_A);
+
+        for (long id = 1; id <= UIEventDispatcher.MAX_PENDING_EVENTS + 10; id++) {
+            dispatcher.onApplicationEvent(new TargetDeletedEvent(TENANT_A, id, "node"));
+        }
+        final TargetDeletedEvent latest = new TargetDeletedEvent(TENANT_A, 1L, "node");
+        dispatcher.onApplicationEvent(latest);
+        dispatch.run();
+
+        final List<Long> entityIds = ui.entityIds(TargetDeletedEvent.class);
+        assertThat(entityIds).hasSize(UIEventDispatcher.MAX_PENDING_EVENTS);
+        assertThat(entityIds).doesNotContain((long) UIEventDispatcher.MAX_PENDING_EVENTS + 1);
+        assertThat(ui.events.get(0)).isSameAs(latest);
+
+        // the limit applies per dispatch period
+        dispatcher.onApplicationEvent(new TargetDeletedEvent(TENANT_A, 1L, "node"));
+        dispatch.run();
+        assertThat(ui.dispatches).isEqualTo(2);
+    }
+
+    private RecordingSubscriber subscribe(final String tenant) {
+        final RecordingSubscriber subscriber = new RecordingSubscriber(tenant);
+        dispatcher.subscribe(subscriber);
+        return subscriber;
+    }
+
+    private static final class RecordingSubscriber implements UIEventDispatcher.Subscriber {
+        private final String tenant;
+        private final List<TenantAwareEvent> events = new ArrayList<>();
+        private int dispatches;
+
+        private RecordingSubscriber(final String tenant) {
+            this.tenant = tenant;
+        }
+
+        @Override
+        public String getTenant() {
+            return tenant;
+        }
+
+        @Override
+        public void dispatch(final List<EventContainer<TenantAwareEvent>> containers) {
+            dispatches++;
+            events.clear();
+            containers.forEach(container -> events.addAll(container.getEvents()));
+        }
+
+        private List<Long> entityIds(final Class<?> eventType) {
+            final List<Long> ids = new ArrayList<>();
+            events.stream().filter(eventType::isInstance)
+                    .forEach(event -> ids.add(((RemoteIdEvent) event).getEntityId()));
+            return ids;
+        }
+    }
+}